@@ -0,0 +1,193 @@
+package controller;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+
+/**
+ * Runs the operations requested through a GUI on a single background thread, keeping the Event
+ * Dispatch Thread free to repaint and respond to input. Tasks run one at a time in the order they
+ * were submitted, so the application is never accessed by two tasks at once. Results, progress, and
+ * errors are always delivered on the Event Dispatch Thread. A task's result is dropped when a newer
+ * task has been submitted before it finished, since the newer task's result supersedes it, but
+ * any exception it threw is still reported.
+ */
+public class BackgroundTaskRunner {
+
+  private final ExecutorService executor;
+  private final IntConsumer progress;
+  private final Consumer<String> errors;
+  private final AtomicLong submitted;
+  private final Queue<SwingWorker<?, ?>> pending;
+  private int batchTotal;
+  private int batchFinished;
+
+  /**
+   * Constructs a {@code BackgroundTaskRunner} reporting to the given callbacks.
+   *
+   * @param progress receives the percentage of the tasks submitted since the runner was last idle
+   *                 which have finished
+   * @param errors   receives the messages of exceptions thrown by tasks
+   * @throws IllegalArgumentException if either callback is null
+   */
+  public BackgroundTaskRunner(IntConsumer progress, Consumer<String> errors)
+      throws IllegalArgumentException {
+    if (progress == null || errors == null) {
+      throw new IllegalArgumentException("Callbacks cannot be null");
+    }
+
+    this.executor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "LIME background task");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.progress = progress;
+    this.errors = errors;
+    this.submitted = new AtomicLong();
+    this.pending = new ConcurrentLinkedQueue<>();
+    this.batchTotal = 0;
+    this.batchFinished = 0;
+  }
+
+  /**
+   * Submits the given task, which has no result to publish.
+   *
+   * @param task the task to run in the background
+   * @return a future which completes once the task has run
+   * @throws IllegalArgumentException if given task is null
+   */
+  public Future<?> submit(Runnable task) throws IllegalArgumentException {
+    return submit(task, () -> null, result -> { });
+  }
+
+  /**
+   * Submits the given task. Once it has run, the result is computed in the background and passed
+   * to the given consumer on the Event Dispatch Thread, unless another task has been submitted in
+   * the meantime.
+   *
+   * @param task    the task to run in the background
+   * @param result  computes the result of the task in the background
+   * @param publish receives the result on the Event Dispatch Thread
+   * @param <T>     the type of the task's result
+   * @return a future which completes once the task has run
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public <T> Future<T> submit(Runnable task, Supplier<T> result, Consumer<T> publish)
+      throws IllegalArgumentException {
+    if (task == null || result == null || publish == null) {
+      throw new IllegalArgumentException("Task, result, and publish cannot be null");
+    }
+
+    long ticket = submitted.incrementAndGet();
+
+    SwingWorker<T, Void> worker = new SwingWorker<T, Void>() {
+      private volatile boolean superseded;
+
+      @Override
+      protected T doInBackground() {
+        task.run();
+
+        // A newer task will publish its own result, so computing this one would be wasted work.
+        superseded = ticket != submitted.get();
+
+        return superseded ? null : result.get();
+      }
+
+      @Override
+      protected void done() {
+        pending.remove(this);
+        reportProgress(true);
+
+        if (isCancelled()) {
+          return;
+        }
+
+        try {
+          T value = get();
+
+          if (!superseded && ticket == submitted.get()) {
+            publish.accept(value);
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+          errors.accept(e.getCause().getMessage());
+        }
+      }
+    };
+
+    pending.add(worker);
+    reportProgress(false);
+    executor.execute(worker);
+
+    return worker;
+  }
+
+  /**
+   * Cancels every task which has not started running yet. The task currently running, if any, is
+   * allowed to finish so that the application is never left partially modified, but its result is
+   * not published. Any exception it throws is still reported.
+   */
+  public void cancelPending() {
+    submitted.incrementAndGet();
+
+    for (SwingWorker<?, ?> worker : pending) {
+      if (worker.getState() == SwingWorker.StateValue.PENDING) {
+        worker.cancel(false);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of submitted tasks which have not finished yet.
+   *
+   * @return the number of unfinished tasks
+   */
+  public int getPendingCount() {
+    return pending.size();
+  }
+
+  /**
+   * Cancels every task which has not started running yet and stops accepting new tasks.
+   */
+  public void shutdown() {
+    cancelPending();
+    executor.shutdown();
+  }
+
+  // Counts a submitted or finished task towards the tasks submitted since the runner was last
+  // idle, reporting the percentage of them which have finished.
+  private void reportProgress(boolean finished) {
+    int percent;
+
+    synchronized (this) {
+      if (finished) {
+        batchFinished++;
+      } else {
+        if (batchFinished == batchTotal) {
+          batchTotal = 0;
+          batchFinished = 0;
+        }
+
+        batchTotal++;
+      }
+
+      percent = 100 * batchFinished / batchTotal;
+    }
+
+    if (SwingUtilities.isEventDispatchThread()) {
+      progress.accept(percent);
+    } else {
+      SwingUtilities.invokeLater(() -> progress.accept(percent));
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package controller;
+
+import java.util.Random;
+import model.picture.BlendMode;
+import model.picture.Blender;
+import model.picture.Blender.Path;
+
+/**
+ * Represents the main() method which times blending two large images with every blend mode along
+ * both the packed and the planar path of {@code Blender}, printing the average time of each.
+ */
+public class BlendBenchmark {
+
+  /**
+   * Main method used to run the benchmark.
+   *
+   * @param args optionally the side length in pixels of the square images to blend (default 2048)
+   *             followed by the number of timed runs of each mode and path (default 10)
+   */
+  public static void main(String[] args) {
+    int size = args.length > 0 ? Integer.parseInt(args[0]) : 2048;
+    int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+    int[] source = createImage(size, new Random(1));
+    int[] destination = createImage(size, new Random(2));
+    int[] scratch = new int[destination.length];
+
+    System.out.printf("Blending %dx%d images, averaged over %d runs%n", size, size, runs);
+    System.out.printf("%-12s%12s%12s%n", "Mode", "Packed (ms)", "Planar (ms)");
+
+    for (BlendMode mode : BlendMode.values()) {
+      double[] times = new double[Path.values().length];
+
+      for (Path path : Path.values()) {
+        // Untimed runs let the JIT compiler optimize each path before it is measured.
+        for (int i = 0; i < 10; i++) {
+          System.arraycopy(destination, 0, scratch, 0, scratch.length);
+          Blender.blend(mode, source, scratch, path);
+        }
+
+        long total = 0;
+
+        for (int i = 0; i < runs; i++) {
+          System.arraycopy(destination, 0, scratch, 0, scratch.length);
+          long start = System.nanoTime();
+          Blender.blend(mode, source, scratch, path);
+          total += System.nanoTime() - start;
+        }
+
+        times[path.ordinal()] = total / 1e6 / runs;
+      }
+
+      System.out.printf("%-12s%12.2f%12.2f%n", mode, times[Path.PACKED.ordinal()],
+          times[Path.PLANAR.ordinal()]);
+    }
+  }
+
+  // Returns the premultiplied ARGB values of a square image of the given side length with random
+  // colors and opacities.
+  private static int[] createImage(int size, Random random) {
+    int[] argb = new int[size * size];
+
+    for (int i = 0; i < argb.length; i++) {
+      int alpha = random.nextInt(256);
+      int value = alpha << 24;
+
+      for (int shift = 0; shift < 24; shift += 8) {
+        value |= random.nextInt(alpha + 1) << shift;
+      }
+
+      argb[i] = value;
+    }
+
+    return argb;
+  }
+}
@@ -0,0 +1,108 @@
+package controller;
+
+import java.awt.Point;
+import java.util.Random;
+import model.application.Application;
+import model.picture.Convolution.Path;
+import model.picture.ConvolutionPlanner;
+import model.picture.ConvolutionPlanner.Algorithm;
+import model.picture.Kernel;
+import model.picture.Picture;
+import model.pixel.IPixel;
+import model.pixel.Pixel;
+
+/**
+ * Represents the main() method which times filtering a large image with a 3x3 blur and a 5x5
+ * sharpen kernel along both the legacy and the planar path of {@code Picture.filter}, then with a
+ * 31x31 soft-focus kernel using the direct and FFT algorithms, printing the average time of each.
+ */
+public class ConvolutionBenchmark {
+
+  /**
+   * Main method used to run the benchmark.
+   *
+   * @param args optionally the side length in pixels of the square image to filter (default 1024)
+   *             followed by the number of timed runs of each kernel and path (default 5)
+   */
+  public static void main(String[] args) {
+    int size = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+    int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+    Random random = new Random(1);
+    IPixel[][] pixels = new IPixel[size][size];
+
+    for (int h = 0; h < size; h++) {
+      for (int w = 0; w < size; w++) {
+        pixels[h][w] = new Pixel(new Point(w, h), 255, random.nextInt(256), random.nextInt(256),
+            random.nextInt(256));
+      }
+    }
+
+    Picture image = new Picture(size, size, 255, pixels);
+
+    System.out.printf("Filtering a %dx%d image, averaged over %d runs%n", size, size, runs);
+    System.out.printf("%-12s%12s%12s%n", "Kernel", "Legacy (ms)", "Planar (ms)");
+
+    time("blur 3x3", image, Application.BLUR_KERNEL, runs);
+    time("sharpen 5x5", image, Application.SHARPEN_KERNEL, runs);
+
+    double[][] weights = new double[31][31];
+
+    for (double[] row : weights) {
+      for (int w = 0; w < row.length; w++) {
+        row[w] = random.nextDouble() / 480;
+      }
+    }
+
+    Kernel softFocus = new Kernel(weights);
+
+    System.out.printf("%n%-12s%12s%12s%n", "Kernel", "Direct (ms)", "FFT (ms)");
+    System.out.printf("%-12s%12.2f%12.2f%n", "focus 31x31",
+        time(image, softFocus, Algorithm.DIRECT, runs),
+        time(image, softFocus, Algorithm.FFT, runs));
+    System.out.printf("Planner chooses %s%n",
+        ConvolutionPlanner.getDefault().choose(softFocus, size, size));
+  }
+
+  // Returns the average time in milliseconds of filtering the given image with the given kernel
+  // using the given algorithm.
+  private static double time(Picture image, Kernel kernel, Algorithm algorithm, int runs) {
+    // An untimed run lets the JIT compiler optimize the algorithm before it is measured.
+    image.filter(kernel, algorithm);
+
+    long total = 0;
+
+    for (int i = 0; i < runs; i++) {
+      long start = System.nanoTime();
+      image.filter(kernel, algorithm);
+      total += System.nanoTime() - start;
+    }
+
+    return total / 1e6 / runs;
+  }
+
+  // Prints the average time of filtering the given image with the given kernel along each path.
+  private static void time(String name, Picture image, Kernel kernel, int runs) {
+    double[] times = new double[Path.values().length];
+
+    for (Path path : Path.values()) {
+      // Untimed runs let the JIT compiler optimize each path before it is measured.
+      for (int i = 0; i < 2; i++) {
+        image.filter(kernel, path);
+      }
+
+      long total = 0;
+
+      for (int i = 0; i < runs; i++) {
+        long start = System.nanoTime();
+        image.filter(kernel, path);
+        total += System.nanoTime() - start;
+      }
+
+      times[path.ordinal()] = total / 1e6 / runs;
+    }
+
+    System.out.printf("%-12s%12.2f%12.2f%n", name, times[Path.LEGACY.ordinal()],
+        times[Path.PLANAR.ordinal()]);
+  }
+}
@@ -1,14 +1,26 @@
 package controller;
 
 import controller.commands.ExtraCreditFactory;
+import controller.commands.IFactory;
+import controller.commands.ProxyFactory;
+import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import model.application.GUIModel;
 import model.application.ILayeredApplication;
+import model.application.IModelObserver;
+import model.application.LIMEApplication;
+import model.application.ThumbnailCache;
+import model.picture.ILayer;
 import model.picture.IPicture;
 import model.pixel.IPixel;
-import model.application.GUIModel;
-import model.application.IModelObserver;
+import view.IApplicationView;
 import view.IGUIView;
 
 /**
@@ -16,11 +28,29 @@ import view.IGUIView;
  */
 public class GUIController extends Controller implements ActionListener {
 
+  // Maximum width and height of the proxies edited in place of loaded images.
+  protected static final int PREVIEW_SIZE = 1024;
+
+  // Milliseconds to wait after the last change to a previewed operation before previewing it.
+  protected static final int PREVIEW_DELAY = 250;
+
   protected IModelObserver<IPicture<IPixel>> model;
   protected IGUIView guiView;
+  protected final BackgroundTaskRunner runner;
+  protected final IFactory factory;
+  private final BackgroundTaskRunner thumbnailRunner;
+  private final ThumbnailCache thumbnails;
+  private final ILayeredApplication app;
+  private final BackgroundTaskRunner previewRunner;
+  private final PreviewRenderer previewRenderer;
+  private final Timer previewTimer;
+  private IPicture<IPixel> displayed;
+  private boolean previewingExtraCredit;
 
   /**
-   * Creates a {@code GUIController} with the given application and {@code IGUIView}.
+   * Creates a {@code GUIController} with the given application and {@code IGUIView}. Loaded images
+   * are edited through reduced-resolution proxies, and the commands are replayed on a new
+   * {@code LIMEApplication} at full resolution whenever an image is saved.
    *
    * @param model the model used to query for information (may not be used)
    * @param view  the GUI-supporting view
@@ -28,17 +58,167 @@ public class GUIController extends Controller implements ActionListener {
    */
   public GUIController(ILayeredApplication model, IGUIView view) throws
       IllegalArgumentException {
-    super(model, view);
+    this(model, new LIMEApplication(), view);
+  }
+
+  /**
+   * Creates a {@code GUIController} with the given applications and {@code IGUIView}. Loaded
+   * images are edited through reduced-resolution proxies in the first application, and the
+   * commands are replayed on the second application at full resolution whenever an image is saved.
+   *
+   * @param model          the model used to query for information (may not be used)
+   * @param fullResolution the application commands are replayed on before saving, which should
+   *                       start out the same as the model
+   * @param view           the GUI-supporting view
+   * @throws IllegalArgumentException if either application or the view is null
+   */
+  public GUIController(ILayeredApplication model, ILayeredApplication fullResolution,
+      IGUIView view) throws IllegalArgumentException {
+    super(model, new DispatchedView(view));
     this.model = new GUIModel(model);
     this.guiView = view;
+    this.runner = new BackgroundTaskRunner(view::renderProgress, view::renderMessage);
+    this.factory = new ProxyFactory(new ExtraCreditFactory(), fullResolution, PREVIEW_SIZE);
+    this.thumbnailRunner = new BackgroundTaskRunner(percent -> { }, message -> { });
+    this.thumbnails = new ThumbnailCache();
+    this.app = model;
+    this.previewRunner = new BackgroundTaskRunner(percent -> { }, message -> { });
+    this.previewRenderer = new PreviewRenderer(new ExtraCreditFactory());
+    this.previewTimer = new Timer(PREVIEW_DELAY, e -> renderPreview());
+    this.previewTimer.setRepeats(false);
+    this.displayed = null;
+    this.previewingExtraCredit = false;
     this.guiView.setActionListener(this);
   }
 
   /**
-   * Updates the {@code IGUIView} to display the application's top-most visible layer's image.
+   * Forwards messages rendered by commands running in the background to the Event Dispatch
+   * Thread.
+   */
+  private static class DispatchedView implements IApplicationView {
+
+    private final IApplicationView view;
+
+    private DispatchedView(IApplicationView view) {
+      if (view == null) {
+        throw new IllegalArgumentException("Null arguments are not allowed.");
+      }
+
+      this.view = view;
+    }
+
+    @Override
+    public void renderMessage(String s) {
+      if (SwingUtilities.isEventDispatchThread()) {
+        view.renderMessage(s);
+      } else {
+        SwingUtilities.invokeLater(() -> view.renderMessage(s));
+      }
+    }
+
+    @Override
+    public void visualizeCommands() {
+      if (SwingUtilities.isEventDispatchThread()) {
+        view.visualizeCommands();
+      } else {
+        SwingUtilities.invokeLater(view::visualizeCommands);
+      }
+    }
+  }
+
+  /**
+   * Updates the {@code IGUIView} to display the composite of the visible layers of the
+   * application's current image.
    */
   protected void displayTopMostVisibleImage() {
-    guiView.displayImage(model.createBufferedImage(model.getTopMostVisible()));
+    display(new Snapshot());
+  }
+
+  /**
+   * The composite of the visible layers and the layers of the application's current image at one point in
+   * time, taken while no commands are running.
+   */
+  private class Snapshot {
+
+    private final IPicture<IPixel> image;
+    private final List<ILayer<IPicture<IPixel>>> layers;
+
+    private Snapshot() {
+      this.image = model.getComposite();
+      this.layers = app.getCurrentImage() == null
+          ? new ArrayList<>() : app.getCurrentImage().getLayers();
+    }
+  }
+
+  // Displays the given snapshot's image, previewing the selected operation on it if live previews
+  // are enabled, and updates the layer thumbnails in the background.
+  private void display(Snapshot snapshot) {
+    displayed = snapshot.image;
+    guiView.displayPicture(snapshot.image);
+    schedulePreview();
+
+    thumbnailRunner.submit(() -> { }, () -> thumbnails.getThumbnails(snapshot.layers),
+        guiView::displayThumbnails);
+  }
+
+  /**
+   * Runs the commands read from the given readable in the background, then displays the
+   * application's top-most visible layer's image unless newer commands have been submitted since.
+   * The image to display and the layers to show thumbnails of are chosen in the background, while
+   * the image's visible tiles are drawn on the Event Dispatch Thread. Thumbnails are only created
+   * again for layers whose image has changed.
+   *
+   * @param rd      the readable containing the commands
+   * @param factory the factory for knowing where to parse commands
+   */
+  protected void startAppInBackground(Readable rd, IFactory factory) {
+    runner.submit(() -> startApp(rd, factory), Snapshot::new, this::display);
+  }
+
+  /**
+   * Previews the selected operation on the visible region of the displayed image once it has not
+   * changed for {@code PREVIEW_DELAY} milliseconds, if live previews are enabled. Each change
+   * restarts the delay, so typing an argument only previews the final value.
+   */
+  protected void schedulePreview() {
+    if (guiView.isLivePreview()) {
+      previewTimer.restart();
+    }
+  }
+
+  /**
+   * Stops displaying the preview and discards any previews which have not been displayed yet.
+   */
+  protected void cancelPreview() {
+    previewTimer.stop();
+    previewRunner.cancelPending();
+    guiView.displayPreview(null, null);
+  }
+
+  // Computes the preview of the selected operation in the background, discarding any older
+  // previews which have not been displayed yet.
+  private void renderPreview() {
+    IPicture<IPixel> source = displayed;
+    Rectangle region = guiView.getVisibleRegion();
+
+    if (!guiView.isLivePreview() || source == null || region == null) {
+      return;
+    }
+
+    Scanner scan = new Scanner(previewingExtraCredit
+        ? guiView.previewExtraCredit() : guiView.previewFilter());
+
+    if (!scan.hasNextLine()) {
+      return;
+    }
+
+    String command = scan.nextLine();
+    double zoom = guiView.getZoom();
+
+    previewRunner.cancelPending();
+    previewRunner.submit(() -> { },
+        () -> previewRenderer.render(source, region, zoom, command),
+        preview -> guiView.displayPreview(preview, region));
   }
 
   @Override
@@ -49,40 +229,64 @@ public class GUIController extends Controller implements ActionListener {
           guiView.switchCurrentCreate();
           break;
         case "Create Button":
-          startApp(guiView.createLayer(), new ExtraCreditFactory());
-          displayTopMostVisibleImage();
+          startAppInBackground(guiView.createLayer(), factory);
           break;
         case "Apply Button":
-          startApp(guiView.applyFilter(), new ExtraCreditFactory());
-          displayTopMostVisibleImage();
+          cancelPreview();
+          startAppInBackground(guiView.applyFilter(), factory);
           break;
-        case "Save Button":
-          startApp(guiView.openSaveFile(), new ExtraCreditFactory());
+        case "Save Button": {
+          Readable save = guiView.openSaveFile();
+          runner.submit(() -> startApp(save, factory));
           break;
+        }
         case "Layer Options":
-          startApp(guiView.getCurrentLayer(), new ExtraCreditFactory());
-          displayTopMostVisibleImage();
+          startAppInBackground(guiView.getCurrentLayer(), factory);
           break;
         case "Open Button":
           guiView.openFiles();
           break;
         case "Load Button":
-          startApp(guiView.loadImage(), new ExtraCreditFactory());
-          displayTopMostVisibleImage();
+          startAppInBackground(guiView.loadImage(), factory);
           break;
-        case "Script Button":
-          try {
-            startApp(guiView.getScript(), new ExtraCreditFactory());
-          } catch (FileNotFoundException exception) {
-            exception.printStackTrace();
-          }
+        case "Script Button": {
+          String script = guiView.getScript();
+          runner.submit(() -> {
+            try {
+              startApp(script, factory);
+            } catch (FileNotFoundException exception) {
+              exception.printStackTrace();
+            }
+          });
           break;
+        }
         case "Extra Credit Options":
           guiView.switchCurrentExtraCredit();
+          previewingExtraCredit = true;
+          schedulePreview();
           break;
-        case "Apply Function":
-          startApp(guiView.applyExtraCredit(), new ExtraCreditFactory());
-          displayTopMostVisibleImage();
+        case "Apply Function": {
+          // Reading the arguments clears their fields, which schedules a preview of nothing, so
+          // the preview is only cancelled afterwards.
+          Readable extraCredit = guiView.applyExtraCredit();
+          cancelPreview();
+          startAppInBackground(extraCredit, factory);
+          break;
+        }
+        case "Filter Preview":
+          previewingExtraCredit = false;
+          schedulePreview();
+          break;
+        case "Extra Credit Preview":
+          previewingExtraCredit = true;
+          schedulePreview();
+          break;
+        case "Live Preview":
+          if (guiView.isLivePreview()) {
+            schedulePreview();
+          } else {
+            cancelPreview();
+          }
           break;
         default:
           throw new IllegalArgumentException("Invalid action event");
@@ -19,7 +19,8 @@ public class JarMain {
    *
    * @param args command line inputs determining how the program is run: "-text": runs the program
    *             with the text view and console "-script FilePath": runs the program by running the
-   *             specified script "-interactive": runs the program with the GUI view
+   *             specified script "-stream FilePath": runs the specified script by streaming its
+   *             image rather than loading it "-interactive": runs the program with the GUI view
    */
   public static void main(String[] args) throws FileNotFoundException {
     ILayeredApplication app = new LIMEApplication();
@@ -35,6 +36,11 @@ public class JarMain {
         c.startApp(args[1], new ExtraCreditFactory());
         break;
       }
+      case "-stream": {
+        StreamController c = new StreamController(System.out);
+        c.startApp(args[1]);
+        break;
+      }
       case "-interactive": {
         GUIView.setDefaultLookAndFeelDecorated(false);
         GUIView frame = new GUIView();
@@ -0,0 +1,151 @@
+package controller;
+
+import controller.commands.ICommand;
+import controller.commands.IFactory;
+import java.awt.Rectangle;
+import model.application.ILayeredApplication;
+import model.application.ImageUtil;
+import model.application.LIMEApplication;
+import model.picture.IPicture;
+import model.picture.LayeredPicture;
+import model.pixel.IPixel;
+import view.IApplicationView;
+
+/**
+ * Computes previews of commands on the visible region of an image at display resolution. The region
+ * is sampled down to the number of screen pixels it covers and the command is run on a separate
+ * application holding only that sample, so previews take time proportional to the screen rather
+ * than the image. Commands whose arguments depend on the image's size are scaled to the region:
+ * mosaics keep the same density of seeds, downsizing keeps the same ratio, and the spatial extents
+ * of blurs, unsharp masks, rank filters, and bilateral filters shrink with the sample, while their
+ * amounts, thresholds, and range standard deviations are left alone.
+ */
+public class PreviewRenderer {
+
+  private final IFactory factory;
+
+  /**
+   * Constructs a {@code PreviewRenderer} creating commands through the given factory.
+   *
+   * @param factory the factory creating the previewed commands
+   * @throws IllegalArgumentException if given factory is null
+   */
+  public PreviewRenderer(IFactory factory) throws IllegalArgumentException {
+    if (factory == null) {
+      throw new IllegalArgumentException("Factory cannot be null");
+    }
+
+    this.factory = factory;
+  }
+
+  /**
+   * Returns the result of running the given command on the given region of the given image, at the
+   * resolution the region is displayed at.
+   *
+   * @param source  the image to preview the command on
+   * @param region  the region of the image to preview, in image pixels
+   * @param zoom    the zoom level the image is displayed at
+   * @param command the command to preview
+   * @return the preview, to be displayed stretched over the region
+   * @throws IllegalArgumentException if any argument is null, the region is not within the image,
+   *                                  the zoom level is not positive, or the command fails
+   */
+  public IPicture<IPixel> render(IPicture<IPixel> source, Rectangle region, double zoom,
+      String command) throws IllegalArgumentException {
+    if (source == null || region == null || command == null) {
+      throw new IllegalArgumentException("Arguments cannot be null");
+    } else if (region.isEmpty() || !new Rectangle(source.getWidth(), source.getHeight())
+        .contains(region)) {
+      throw new IllegalArgumentException("Region is not within the image");
+    } else if (!(zoom > 0)) {
+      throw new IllegalArgumentException("Zoom level must be positive");
+    }
+
+    double scale = Math.min(1, zoom);
+    IPicture<IPixel> sample = ImageUtil.sample(source, region,
+        Math.max(1, (int) Math.round(region.width * scale)),
+        Math.max(1, (int) Math.round(region.height * scale)));
+
+    ILayeredApplication app = new LIMEApplication();
+    app.addImage(new LayeredPicture());
+    app.setCurrentPicture(0);
+    app.createLayer("preview");
+    app.setCurrentLayer("preview");
+    app.setImage(sample);
+
+    ICommand created = factory.create(scale(command, source, region, sample, scale), app);
+
+    if (created == null) {
+      throw new IllegalArgumentException("Command cannot be previewed");
+    }
+
+    created.apply(new IApplicationView() {
+      @Override
+      public void renderMessage(String s) {
+        // Previews do not report messages.
+      }
+
+      @Override
+      public void visualizeCommands() {
+        // Previews do not visualize commands.
+      }
+    });
+
+    return app.getCurrentImage().getCurrentLayer().getImage();
+  }
+
+  // Scales the size-dependent arguments of commands from the image to the sample, which is the
+  // given scale of the region.
+  private static String scale(String command, IPicture<IPixel> source, Rectangle region,
+      IPicture<IPixel> sample, double scale) {
+    String[] parts = command.trim().split(" ");
+
+    try {
+      if (parts.length >= 2 && parts.length <= 4 && parts[0].equals("mosaic")) {
+        double visible = (double) region.width * region.height
+            / ((double) source.getWidth() * source.getHeight());
+
+        long seeds = Math.round(Integer.parseInt(parts[1]) * visible);
+
+        parts[1] = String.valueOf(Math.max(1,
+            Math.min((long) sample.getWidth() * sample.getHeight(), seeds)));
+
+        return String.join(" ", parts);
+      } else if (parts.length == 3 && parts[0].equals("downsize")) {
+        long width = Math.round((double) Integer.parseInt(parts[1]) * region.width
+            / source.getWidth());
+        long height = Math.round((double) Integer.parseInt(parts[2]) * region.height
+            / source.getHeight());
+
+        return String.format("downsize %d %d", Math.max(1, Math.min(sample.getWidth(), width)),
+            Math.max(1, Math.min(sample.getHeight(), height)));
+      } else if (parts.length == 2 && parts[0].equals("blur")) {
+        return "blur " + scaleLength(parts[1], scale, 0.5);
+      } else if ((parts.length == 3 || parts.length == 4) && parts[0].equals("sharpen")) {
+        parts[2] = scaleLength(parts[2], scale, 0.5);
+
+        return String.join(" ", parts);
+      } else if (parts.length == 2 && (parts[0].equals("median") || parts[0].equals("min")
+          || parts[0].equals("max"))) {
+        int radius = Integer.parseInt(parts[1]);
+
+        return parts[0] + " " + (radius >= 0 ? Math.round(radius * scale) : radius);
+      } else if (parts.length == 3 && parts[0].equals("bilateral")) {
+        return "bilateral " + scaleLength(parts[1], scale, 1) + " " + parts[2];
+      }
+    } catch (NumberFormatException e) {
+      // Invalid arguments are left for the command to report.
+    }
+
+    return command.trim();
+  }
+
+  // Scales the given length, keeping it no smaller than the smallest length the command accepts
+  // unless it was already too small, so that invalid lengths are still reported.
+  private static String scaleLength(String length, double scale, double minimum)
+      throws NumberFormatException {
+    double value = Double.parseDouble(length);
+
+    return value >= minimum ? String.valueOf(Math.max(minimum, value * scale)) : length;
+  }
+}
@@ -0,0 +1,200 @@
+package controller;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Scanner;
+import model.application.ImportExportUtil.FileType;
+import model.application.StripePipeline;
+
+/**
+ * A controller which runs scripts on a single PPM image by streaming it through a
+ * {@code StripePipeline} rather than loading it, so that images larger than the heap can be
+ * processed. Only scripts using one layer, PPM files, and the blur, sharpen, sepia, and monochrome
+ * operations can be streamed.
+ */
+public class StreamController {
+
+  private final Appendable output;
+  private StripePipeline pipeline;
+  private String source;
+  private String layer;
+
+  /**
+   * Creates a controller which outputs any results to the provided appendable.
+   *
+   * @param output the {@code Appendable} to output results to
+   * @throws IllegalArgumentException if given appendable is null
+   */
+  public StreamController(Appendable output) throws IllegalArgumentException {
+    if (output == null) {
+      throw new IllegalArgumentException("Null arguments are not allowed.");
+    }
+
+    this.output = output;
+    this.pipeline = new StripePipeline();
+    this.source = null;
+    this.layer = null;
+  }
+
+  /**
+   * Runs the script specified by the given filepath.
+   *
+   * @param filename the file path of the script file
+   * @throws FileNotFoundException    if the file path does not lead to a script file
+   * @throws IllegalArgumentException filename is null or empty
+   */
+  public void startApp(String filename) throws FileNotFoundException, IllegalArgumentException {
+    if (filename == null || filename.isEmpty()) {
+      throw new IllegalArgumentException("Filename is null and/or empty");
+    }
+
+    useApp(new Scanner(new FileInputStream(filename)));
+  }
+
+  /**
+   * Runs the script read from the given readable.
+   *
+   * @param rd the readable to read the script from
+   * @throws IllegalArgumentException if given readable is null
+   */
+  public void startApp(Readable rd) throws IllegalArgumentException {
+    if (rd == null) {
+      throw new IllegalArgumentException("Readable is null");
+    }
+
+    useApp(new Scanner(rd));
+  }
+
+  // Runs each line read by the given scanner until it is exhausted or the script quits.
+  private void useApp(Scanner scan) {
+    while (scan.hasNextLine()) {
+      String line = scan.nextLine().trim();
+
+      if (line.equals("q") || line.equals("Q")) {
+        return;
+      } else if (line.isEmpty()) {
+        continue;
+      }
+
+      try {
+        apply(line.split(" "));
+      } catch (IllegalArgumentException e) {
+        renderMessage(e.getMessage());
+      }
+    }
+  }
+
+  // Adds the given command to the pipeline, or streams the pipeline if the command saves.
+  private void apply(String[] command) throws IllegalArgumentException {
+    switch (command[0]) {
+      case "create":
+      case "current":
+        useLayer(command);
+        break;
+      case "load":
+        load(String.join(" ", Arrays.copyOfRange(command, 1, command.length)));
+        break;
+      case "blur":
+        if (command.length > 1) {
+          throw new IllegalArgumentException("Gaussian blurs cannot be streamed");
+        }
+
+        requireSource();
+        pipeline.addBlur();
+        renderMessage("Blurred the current layer");
+        break;
+      case "sharpen":
+        if (command.length > 1) {
+          throw new IllegalArgumentException("Unsharp masks cannot be streamed");
+        }
+
+        requireSource();
+        pipeline.addSharpen();
+        renderMessage("Sharpened the current layer");
+        break;
+      case "sepia":
+        requireSource();
+        pipeline.addSepiaTone();
+        renderMessage("Sepia toned the current layer");
+        break;
+      case "monochrome":
+        requireSource();
+        pipeline.addMonochrome();
+        renderMessage("Made the current layer monochrome");
+        break;
+      case "save":
+        save(command);
+        break;
+      default:
+        throw new IllegalArgumentException("Command cannot be streamed: " + command[0]);
+    }
+  }
+
+  // Accepts layer commands as long as they refer to a single layer.
+  private void useLayer(String[] command) throws IllegalArgumentException {
+    if (command.length < 2 || (command[0].equals("create") && command.length != 3)) {
+      throw new IllegalArgumentException("Not a valid command, please try again");
+    }
+
+    String name = command[command.length - 1];
+
+    if (layer == null) {
+      layer = name;
+    } else if (!layer.equals(name)) {
+      throw new IllegalArgumentException("Only a single layer can be streamed");
+    }
+  }
+
+  // Sets the image to stream, discarding any previous operations.
+  private void load(String filepath) throws IllegalArgumentException {
+    if (!filepath.endsWith(FileType.PPM.getExtension())) {
+      throw new IllegalArgumentException("Only PPM images can be streamed");
+    }
+
+    source = filepath;
+    pipeline = new StripePipeline();
+    renderMessage("Loaded " + filepath);
+  }
+
+  // Streams the loaded image through the pipeline to the file given by the command.
+  private void save(String[] command) throws IllegalArgumentException {
+    requireSource();
+
+    if (command.length < 3) {
+      throw new IllegalArgumentException("Not a valid command, please try again");
+    } else if (!command[command.length - 1].equals(FileType.PPM.getExtension())) {
+      throw new IllegalArgumentException("Only PPM images can be streamed");
+    }
+
+    String filepath = String.join(" ",
+        Arrays.copyOfRange(command, 1, command.length - 1));
+    String destination = filepath.contains(FileType.PPM.getExtension())
+        ? filepath : filepath + FileType.PPM.getExtension();
+
+    try {
+      pipeline.run(source, destination);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("The File has an IO error.");
+    }
+
+    renderMessage("Successfully exported to: " + filepath);
+  }
+
+  // Ensures an image has been loaded.
+  private void requireSource() throws IllegalArgumentException {
+    if (source == null) {
+      throw new IllegalArgumentException("No image has been loaded");
+    }
+  }
+
+  // Outputs the given message.
+  private void renderMessage(String s) {
+    try {
+      output.append(String.format("%s\n", s));
+    } catch (IOException i) {
+      System.out.println(s);
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package controller.commands;
+
+import model.application.ILayeredApplication;
+import model.picture.IPicture;
+import model.pixel.IPixel;
+import view.IApplicationView;
+
+/**
+ * A {@code BilateralCommand} smooths the current layer while preserving its edges, given the
+ * spatial and range standard deviations of the smoothing, as in "bilateral 16 20".
+ */
+public class BilateralCommand extends AbstractCommand {
+
+  /**
+   * Creates a BilateralCommand using the constructor provided by AbstractCommand.
+   *
+   * @param command a string for the commands to be parsed out of
+   * @param app     a model to call the methods from
+   */
+  public BilateralCommand(String command, ILayeredApplication app) {
+    super(command, app);
+  }
+
+  @Override
+  public void apply(IApplicationView view) throws IllegalArgumentException {
+    super.conditionsMet(3, app);
+    IPicture<IPixel> image = app.getCurrentImage().getCurrentLayer().getImage();
+
+    if (image == null) {
+      throw new IllegalArgumentException("Current layer has no image to filter");
+    }
+
+    double spatialSigma;
+    double rangeSigma;
+
+    try {
+      spatialSigma = Double.parseDouble(command[1]);
+      rangeSigma = Double.parseDouble(command[2]);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Standard deviations must be numbers");
+    }
+
+    app.setImage(image.bilateralFilter(spatialSigma, rangeSigma));
+
+    view.renderMessage(String.format("Smoothed Current Image: %s with spatial sigma %s and range "
+        + "sigma %s", app.getCurrentImage().getCurrentLayer().getName(), command[1], command[2]));
+  }
+}
@@ -0,0 +1,40 @@
+package controller.commands;
+
+import model.application.ILayeredApplication;
+import model.picture.BlendMode;
+import view.IApplicationView;
+
+/**
+ * A {@code BlendCommand} is a command that sets how the current layer is blended with the layers
+ * below it, given the name of a blend mode such as "multiply" or "screen".
+ */
+public class BlendCommand extends AbstractCommand {
+
+  /**
+   * Creates a BlendCommand using the abstract constructor provided by AbstractCommand.
+   *
+   * @param command the string of the command it is being asked to do
+   * @param app     the application in which to call the appropriate method
+   */
+  public BlendCommand(String command, ILayeredApplication app) {
+    super(command, app);
+  }
+
+  @Override
+  public void apply(IApplicationView view) throws IllegalArgumentException {
+    super.conditionsMet(2, app);
+
+    BlendMode mode;
+
+    try {
+      mode = BlendMode.valueOf(command[1].toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Not a valid blend mode");
+    }
+
+    app.setBlendMode(mode);
+
+    view.renderMessage(String.format("Layer now blends with mode %s",
+        command[1].toLowerCase()));
+  }
+}
@@ -8,7 +8,8 @@ import model.pixel.IPixel;
 import view.IApplicationView;
 
 /**
- * An ICommand that blurs the current layer.
+ * An ICommand that blurs the current layer, either with the fixed blur kernel or, when given a
+ * standard deviation such as "blur 2.5", with a Gaussian of that standard deviation.
  */
 public class BlurCommand extends AbstractCommand {
 
@@ -24,12 +25,22 @@ public class BlurCommand extends AbstractCommand {
 
   @Override
   public void apply(IApplicationView view) throws IllegalArgumentException {
-    super.conditionsMet(1, app);
+    super.conditionsMet(command.length == 2 ? 2 : 1, app);
     ILayeredPicture<ILayer<IPicture<IPixel>>> curImage = app.getCurrentImage();
 
     int curLayerInt = curImage.getLayers().indexOf(curImage.getCurrentLayer());
 
-    ILayeredPicture<ILayer<IPicture<IPixel>>> result = app.blur(curLayerInt);
+    ILayeredPicture<ILayer<IPicture<IPixel>>> result;
+
+    if (command.length == 2) {
+      try {
+        result = app.blur(curLayerInt, Double.parseDouble(command[1]));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Standard deviation must be a number");
+      }
+    } else {
+      result = app.blur(curLayerInt);
+    }
 
     result.setCurrentLayer(app.getCurrentImage().getCurrentLayer().getName());
 
@@ -31,10 +31,22 @@ public class CommandFactory implements IFactory {
         return new SetCurrentCommand(command, app);
       case "load":
         return new LoadCommand(command, app);
+      case "loadRegion":
+        return new LoadRegionCommand(command, app);
       case "blur":
         return new BlurCommand(command, app);
       case "sharpen":
         return new SharpenCommand(command, app);
+      case "filter":
+        return new FilterCommand(command, app);
+      case "median":
+      case "min":
+      case "max":
+        return new RankFilterCommand(command, app);
+      case "bilateral":
+        return new BilateralCommand(command, app);
+      case "edges":
+        return new EdgesCommand(command, app);
       case "sepia":
         return new SepiaCommand(command, app);
       case "monochrome":
@@ -49,6 +61,8 @@ public class CommandFactory implements IFactory {
         return new InvisibleCommand(command, app);
       case "visible":
         return new VisibleCommand(command, app);
+      case "blend":
+        return new BlendCommand(command, app);
       case "q":
       case "Q":
         return null;
@@ -0,0 +1,38 @@
+package controller.commands;
+
+import model.application.ILayeredApplication;
+import model.picture.IPicture;
+import model.pixel.IPixel;
+import view.IApplicationView;
+
+/**
+ * An {@code EdgesCommand} replaces the current layer with the magnitudes of the Sobel gradients of
+ * its color channels, so that edges are bright and flat areas are dark.
+ */
+public class EdgesCommand extends AbstractCommand {
+
+  /**
+   * Creates an EdgesCommand using the constructor provided by AbstractCommand.
+   *
+   * @param command a string for the commands to be parsed out of
+   * @param app     a model to call the methods from
+   */
+  public EdgesCommand(String command, ILayeredApplication app) {
+    super(command, app);
+  }
+
+  @Override
+  public void apply(IApplicationView view) throws IllegalArgumentException {
+    super.conditionsMet(1, app);
+    IPicture<IPixel> image = app.getCurrentImage().getCurrentLayer().getImage();
+
+    if (image == null) {
+      throw new IllegalArgumentException("Current layer has no image to detect edges in");
+    }
+
+    app.setImage(image.detectEdges());
+
+    view.renderMessage("Detected Edges of Current Image: "
+        + app.getCurrentImage().getCurrentLayer().getName());
+  }
+}
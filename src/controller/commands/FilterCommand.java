@@ -0,0 +1,49 @@
+package controller.commands;
+
+import java.util.Arrays;
+import model.application.ILayeredApplication;
+import model.application.ImportExportUtil;
+import model.picture.IPicture;
+import model.picture.Kernel;
+import model.pixel.IPixel;
+import view.IApplicationView;
+
+/**
+ * A {@code FilterCommand} filters the current layer with a custom kernel read from the text file at
+ * the given filepath, in the format read by {@code ImportExportUtil.importKernel}.
+ */
+public class FilterCommand extends AbstractCommand {
+
+  /**
+   * Creates a FilterCommand using the constructor provided by AbstractCommand.
+   *
+   * @param command a string for the commands to be parsed out of
+   * @param app     a model to call the methods from
+   */
+  public FilterCommand(String command, ILayeredApplication app) {
+    super(command, app);
+  }
+
+  @Override
+  public void apply(IApplicationView view) throws IllegalArgumentException {
+    if (command.length < 2) {
+      throw new IllegalArgumentException("Command length is invalid");
+    }
+
+    super.conditionsMet(command.length, app);
+    IPicture<IPixel> image = app.getCurrentImage().getCurrentLayer().getImage();
+
+    if (image == null) {
+      throw new IllegalArgumentException("Current layer has no image to filter");
+    }
+
+    String filepath = String.join(" ", Arrays.copyOfRange(command, 1, command.length));
+    Kernel kernel = ImportExportUtil.importKernel(filepath);
+
+    app.setImage(image.filter(kernel));
+
+    view.renderMessage(String.format("Filtered Current Image: %s with %dx%d kernel from %s",
+        app.getCurrentImage().getCurrentLayer().getName(), kernel.getSize(), kernel.getSize(),
+        filepath));
+  }
+}
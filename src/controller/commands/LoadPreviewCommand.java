@@ -0,0 +1,42 @@
+package controller.commands;
+
+import model.application.ILayeredApplication;
+import view.IApplicationView;
+
+/**
+ * A {@code LoadPreviewCommand} sets a reduced-resolution preview of a given image to a layer's
+ * image using the image's filepath. The image is decoded at full resolution once it is needed.
+ */
+public class LoadPreviewCommand extends AbstractCommand {
+
+  private final int maxDimension;
+
+  /**
+   * Creates a LoadPreviewCommand using the constructor provided by AbstractCommand.
+   *
+   * @param command      a string for the commands to be parsed out of
+   * @param app          a model to call the methods from
+   * @param maxDimension the maximum width and height of the preview
+   */
+  public LoadPreviewCommand(String command, ILayeredApplication app, int maxDimension) {
+    super(command, app);
+    this.maxDimension = maxDimension;
+  }
+
+  @Override
+  public void apply(IApplicationView view) throws IllegalArgumentException {
+    super.conditionsMet(command.length, app);
+    StringBuilder filepath = new StringBuilder();
+
+    for (int i = 1; i < command.length; i++) {
+      if (i != command.length - 1) {
+        filepath.append(String.format("%s ", command[i]));
+      } else {
+        filepath.append(command[i]);
+      }
+    }
+
+    app.loadPreview(filepath.toString(), maxDimension);
+    view.renderMessage("Loaded preview of " + filepath);
+  }
+}
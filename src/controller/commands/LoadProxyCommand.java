@@ -0,0 +1,51 @@
+package controller.commands;
+
+import model.application.ILayeredApplication;
+import model.picture.ILayer;
+import model.picture.ILayeredPicture;
+import model.picture.IPicture;
+import model.picture.ProxyPicture;
+import model.pixel.IPixel;
+import view.IApplicationView;
+
+/**
+ * A {@code LoadProxyCommand} sets a reduced-resolution proxy of a given image to a layer's image
+ * using the image's filepath. Unlike a preview, the proxy is never decoded at full resolution, so
+ * every later operation on the layer runs at the proxy's resolution. A layered image sized by the
+ * load takes the proxy's size, so that its composite matches the proxy.
+ */
+public class LoadProxyCommand extends LoadPreviewCommand {
+
+  /**
+   * Creates a LoadProxyCommand using the constructor provided by AbstractCommand.
+   *
+   * @param command      a string for the commands to be parsed out of
+   * @param app          a model to call the methods from
+   * @param maxDimension the maximum width and height of the proxy
+   */
+  public LoadProxyCommand(String command, ILayeredApplication app, int maxDimension) {
+    super(command, app, maxDimension);
+  }
+
+  @Override
+  public void apply(IApplicationView view) throws IllegalArgumentException {
+    ILayeredPicture<ILayer<IPicture<IPixel>>> image = app.getCurrentImage();
+    boolean sized = image != null && (image.getWidth() != 0 || image.getHeight() != 0);
+
+    super.apply(view);
+
+    ILayer<IPicture<IPixel>> layer = app.getCurrentImage().getCurrentLayer();
+
+    if (layer != null && layer.getImage() instanceof ProxyPicture) {
+      IPicture<IPixel> proxy = ((ProxyPicture) layer.getImage()).getPreview();
+
+      app.setImage(proxy);
+
+      // The layered image took the full-resolution size when loading, but is edited as the proxy.
+      if (!sized) {
+        app.getCurrentImage().setWidth(proxy.getWidth());
+        app.getCurrentImage().setHeight(proxy.getHeight());
+      }
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package controller.commands;
+
+import java.awt.Rectangle;
+import model.application.ILayeredApplication;
+import view.IApplicationView;
+
+/**
+ * A {@code LoadRegionCommand} replaces the current layer with a layer referencing a rectangular
+ * region of an image file, given the region's position and size followed by the image's filepath.
+ */
+public class LoadRegionCommand extends AbstractCommand {
+
+  /**
+   * Creates a LoadRegionCommand using the constructor provided by AbstractCommand.
+   *
+   * @param command a string for the commands to be parsed out of
+   * @param app     a model to call the methods from
+   */
+  public LoadRegionCommand(String command, ILayeredApplication app) {
+    super(command, app);
+  }
+
+  @Override
+  public void apply(IApplicationView view) throws IllegalArgumentException {
+    if (command.length < 6) {
+      throw new IllegalArgumentException("Command length is invalid");
+    }
+
+    super.conditionsMet(command.length, app);
+
+    Rectangle region;
+
+    try {
+      region = new Rectangle(Integer.parseInt(command[1]), Integer.parseInt(command[2]),
+          Integer.parseInt(command[3]), Integer.parseInt(command[4]));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Region must be given as four integers");
+    }
+
+    StringBuilder filepath = new StringBuilder();
+
+    for (int i = 5; i < command.length; i++) {
+      if (i != command.length - 1) {
+        filepath.append(String.format("%s ", command[i]));
+      } else {
+        filepath.append(command[i]);
+      }
+    }
+
+    app.loadRegion(filepath.toString(), region);
+    view.renderMessage("Loaded region of " + filepath);
+  }
+}
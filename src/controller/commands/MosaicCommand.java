@@ -4,7 +4,10 @@ import model.application.IExtraCredit;
 import view.IApplicationView;
 
 /**
- * A {@code MosaicCommand} makes the given image monochrome.
+ * A {@code MosaicCommand} makes the given image a mosaic with the given number of tiles, as in
+ * "mosaic 500", placing more of the tiles along edges when followed by "edges", as in
+ * "mosaic 500 edges". Either may end with the seed placing the tiles, as in "mosaic 500 edges 42",
+ * so that the same mosaic can be made again.
  */
 public class MosaicCommand extends AbstractCommand {
 
@@ -23,8 +26,25 @@ public class MosaicCommand extends AbstractCommand {
 
   @Override
   public void apply(IApplicationView view) throws IllegalArgumentException {
-    super.conditionsMet(2, app);
+    boolean edgeAware = command.length > 2 && command[2].equals("edges");
+    int seedIndex = edgeAware ? 3 : 2;
+    Long seed = null;
 
-    app.mosaic(Integer.parseInt(command[1]));
+    if (command.length == seedIndex + 1) {
+      try {
+        seed = Long.parseLong(command[seedIndex]);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Mosaic can only be followed by the word edges and a "
+            + "random seed");
+      }
+    }
+
+    super.conditionsMet(seed == null ? seedIndex : seedIndex + 1, app);
+
+    if (seed == null) {
+      app.mosaic(Integer.parseInt(command[1]), edgeAware);
+    } else {
+      app.mosaic(Integer.parseInt(command[1]), edgeAware, seed);
+    }
   }
 }
@@ -0,0 +1,131 @@
+package controller.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import model.application.ILayeredApplication;
+import view.IApplicationView;
+
+/**
+ * Factory class which lets an application be edited through reduced-resolution proxies of its
+ * images, while keeping a full-resolution copy of the application for exporting. Each "load"
+ * command loads a proxy no larger than the given size, and every command other than "save" and
+ * "saveAll" is recorded once it has been applied without error. The "save" and "saveAll" commands
+ * first replay the commands recorded since the last export on the full-resolution application
+ * through the given factory, then export from it and forget the replayed commands. Commands are
+ * therefore created by the same factory at both resolutions, so interactive commands take time
+ * proportional to the proxy's size rather than the source's. A command that fails at full
+ * resolution after succeeding on the proxies is reported and stops the export, since the exported
+ * image would otherwise differ from the one being edited, and is then forgotten. Mosaics are given
+ * a random seed when created, so that replaying them places their tiles where they were placed on
+ * the proxies.
+ */
+public class ProxyFactory implements IFactory {
+  private final IFactory factory;
+  private final ILayeredApplication fullResolution;
+  private final int maxDimension;
+  private final List<String> history;
+  private final Random random;
+
+  /**
+   * Constructs a {@code ProxyFactory} with the given command factory, full-resolution application,
+   * and proxy size.
+   *
+   * @param factory        the factory creating commands at both resolutions
+   * @param fullResolution the application the commands are replayed on before exporting, which
+   *                       should start out the same as the application being edited
+   * @param maxDimension   the maximum width and height of loaded proxies
+   * @throws IllegalArgumentException if factory or application is null or maxDimension is not
+   *                                  positive
+   */
+  public ProxyFactory(IFactory factory, ILayeredApplication fullResolution, int maxDimension)
+      throws IllegalArgumentException {
+    if (factory == null || fullResolution == null) {
+      throw new IllegalArgumentException("Factory and application cannot be null");
+    } else if (maxDimension <= 0) {
+      throw new IllegalArgumentException("Maximum dimension must be positive");
+    }
+
+    this.factory = factory;
+    this.fullResolution = fullResolution;
+    this.maxDimension = maxDimension;
+    this.history = new ArrayList<>();
+    this.random = new Random();
+  }
+
+  @Override
+  public ICommand create(String command, ILayeredApplication application) {
+    String name = command.split(" ")[0];
+
+    if (name.equals("save") || name.equals("saveAll")) {
+      ICommand export = factory.create(command, fullResolution);
+
+      return view -> {
+        replay();
+        export.apply(view);
+      };
+    }
+
+    String recorded = name.equals("mosaic") ? withSeed(command) : command;
+    ICommand created = name.equals("load")
+        ? new LoadProxyCommand(recorded, application, maxDimension)
+        : factory.create(recorded, application);
+
+    if (created == null) {
+      return null;
+    }
+
+    return view -> {
+      created.apply(view);
+      history.add(recorded);
+    };
+  }
+
+  /**
+   * Returns the commands applied since the last export, in the order they were applied.
+   *
+   * @return the recorded commands
+   */
+  public List<String> getHistory() {
+    return new ArrayList<>(history);
+  }
+
+  // Returns the given mosaic command ending with a random seed, so that replaying it places the
+  // tiles where they were placed on the proxies.
+  private String withSeed(String command) {
+    String[] parts = command.trim().split(" ");
+
+    if (parts.length == 2 || (parts.length == 3 && parts[2].equals("edges"))) {
+      return command.trim() + " " + random.nextLong();
+    }
+
+    return command;
+  }
+
+  // Applies the commands recorded since the last export to the full-resolution application, then
+  // forgets them. Messages are not rendered again, since each command already ran on the proxies.
+  private void replay() throws IllegalArgumentException {
+    IApplicationView silent = new IApplicationView() {
+      @Override
+      public void renderMessage(String s) {
+        // Messages were already rendered when the command ran on the proxies.
+      }
+
+      @Override
+      public void visualizeCommands() {
+        // Left empty since commands are not visualized during replay.
+      }
+    };
+
+    while (!history.isEmpty()) {
+      String command = history.remove(0);
+
+      try {
+        factory.create(command, fullResolution).apply(silent);
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Could not apply \"" + command
+            + "\" at full resolution, so nothing was exported: " + e.getMessage());
+      }
+    }
+  }
+}
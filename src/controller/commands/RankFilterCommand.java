@@ -0,0 +1,49 @@
+package controller.commands;
+
+import model.application.ILayeredApplication;
+import model.picture.IPicture;
+import model.picture.RankFilter;
+import model.pixel.IPixel;
+import view.IApplicationView;
+
+/**
+ * A {@code RankFilterCommand} replaces each pixel of the current layer with the median, minimum, or
+ * maximum of the pixels within the given radius of it, as in "median 2", "min 1", or "max 3".
+ */
+public class RankFilterCommand extends AbstractCommand {
+
+  /**
+   * Creates a RankFilterCommand using the constructor provided by AbstractCommand.
+   *
+   * @param command a string for the commands to be parsed out of
+   * @param app     a model to call the methods from
+   */
+  public RankFilterCommand(String command, ILayeredApplication app) {
+    super(command, app);
+  }
+
+  @Override
+  public void apply(IApplicationView view) throws IllegalArgumentException {
+    super.conditionsMet(2, app);
+    IPicture<IPixel> image = app.getCurrentImage().getCurrentLayer().getImage();
+
+    if (image == null) {
+      throw new IllegalArgumentException("Current layer has no image to filter");
+    }
+
+    RankFilter.Rank rank = RankFilter.Rank.valueOf(command[0].toUpperCase());
+    int radius;
+
+    try {
+      radius = Integer.parseInt(command[1]);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Radius must be an integer");
+    }
+
+    app.setImage(image.rankFilter(rank, radius));
+
+    view.renderMessage(String.format("Filtered Current Image: %s with the %s of each %dx%d window",
+        app.getCurrentImage().getCurrentLayer().getName(), command[0], 2 * radius + 1,
+        2 * radius + 1));
+  }
+}
@@ -33,17 +33,23 @@ public class SaveAllCommand extends AbstractCommand {
       }
     }
 
+    int reused;
+
     if (command[command.length - 1].contains(".ppm")) {
-      app.exportImage(app.getCurrentImage(), filepath.toString(), FileType.PPM);
+      reused = app.exportCurrentImage(filepath.toString(), FileType.PPM);
     } else if (command[command.length - 1].contains(".png")) {
-      app.exportImage(app.getCurrentImage(), filepath.toString(), FileType.PNG);
+      reused = app.exportCurrentImage(filepath.toString(), FileType.PNG);
     } else if (command[command.length - 1].contains(".jpeg")) {
-      app.exportImage(app.getCurrentImage(), filepath.toString(), FileType.JPEG);
+      reused = app.exportCurrentImage(filepath.toString(), FileType.JPEG);
     } else {
       throw new IllegalArgumentException("Given command is not one of the defined types, "
           + "png, jpeg, or ppm");
     }
 
     view.renderMessage("Successfully exported to: " + filepath);
+
+    if (reused > 0) {
+      view.renderMessage("Skipped " + reused + " unchanged layer(s)");
+    }
   }
 }
\ No newline at end of file
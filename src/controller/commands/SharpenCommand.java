@@ -9,7 +9,8 @@ import view.IApplicationView;
 
 /**
  * {@code ICommands} object in charge of sharpening the application's current image's current
- * layer's image.
+ * layer's image, either with the fixed sharpen kernel or, when given an amount and a radius such as
+ * "sharpen 1.5 2" and optionally a threshold such as "sharpen 1.5 2 4", with an unsharp mask.
  */
 public class SharpenCommand extends AbstractCommand {
 
@@ -25,12 +26,25 @@ public class SharpenCommand extends AbstractCommand {
 
   @Override
   public void apply(IApplicationView view) throws IllegalArgumentException {
-    super.conditionsMet(1, app);
+    super.conditionsMet(command.length == 3 || command.length == 4 ? command.length : 1, app);
     ILayeredPicture<ILayer<IPicture<IPixel>>> curImage = app.getCurrentImage();
 
     int curLayerInt = curImage.getLayers().indexOf(curImage.getCurrentLayer());
 
-    ILayeredPicture<ILayer<IPicture<IPixel>>> result = app.sharpen(curLayerInt);
+    ILayeredPicture<ILayer<IPicture<IPixel>>> result;
+
+    if (command.length > 1) {
+      try {
+        result = app.sharpen(curLayerInt, Double.parseDouble(command[1]),
+            Double.parseDouble(command[2]),
+            command.length == 4 ? Integer.parseInt(command[3]) : 0);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Amount and radius must be numbers and threshold must "
+            + "be an integer");
+      }
+    } else {
+      result = app.sharpen(curLayerInt);
+    }
 
     result.setCurrentLayer(app.getCurrentImage().getCurrentLayer().getName());
 
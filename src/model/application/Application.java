@@ -8,6 +8,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import model.picture.IPicture;
+import model.picture.Kernel;
 import model.picture.Picture;
 import model.pixel.ColorChannel;
 import model.pixel.IPixel;
@@ -20,6 +21,26 @@ import model.pixel.Pixel;
  */
 public class Application implements IApplication<IPicture<IPixel>> {
 
+  // Kernels used by blur() and sharpen().
+  public static final Kernel BLUR_KERNEL = new Kernel(new double[][]{{0.0625, 0.125, 0.0625},
+      {0.125, 0.25, 0.125},
+      {0.0625, 0.125, 0.0625}});
+
+  public static final Kernel SHARPEN_KERNEL = new Kernel(new double[][]{
+      {-0.125, -0.125, -0.125, -0.125, -0.125},
+      {-0.125, 0.25, 0.25, 0.25, -0.125},
+      {-0.125, 0.25, 1, 0.25, -0.125},
+      {-0.125, 0.25, 0.25, 0.25, -0.125},
+      {-0.125, -0.125, -0.125, -0.125, -0.125}});
+
+  static final double[][] MONOCHROME_MATRIX = {{0.2126, 0.7152, 0.0722},
+      {0.2126, 0.7152, 0.0722},
+      {0.2126, 0.7152, 0.0722}};
+
+  static final double[][] SEPIA_MATRIX = {{0.393, 0.769, 0.189},
+      {0.349, 0.686, 0.168},
+      {0.272, 0.534, 0.131}};
+
   protected final List<IPicture<IPixel>> images;
 
   /**
@@ -81,11 +102,16 @@ public class Application implements IApplication<IPicture<IPixel>> {
       throw new IllegalArgumentException("Index cannot be negative or out of bounds");
     }
 
-    double[][] blurKernel = {{0.0625, 0.125, 0.0625},
-        {0.125, 0.25, 0.125},
-        {0.0625, 0.125, 0.0625}};
+    return images.get(index).filter(BLUR_KERNEL);
+  }
+
+  @Override
+  public IPicture<IPixel> blur(int index, double sigma) throws IllegalArgumentException {
+    if (index < 0 || index >= images.size()) {
+      throw new IllegalArgumentException("Index cannot be negative or out of bounds");
+    }
 
-    return images.get(index).filter(blurKernel);
+    return images.get(index).gaussianBlur(sigma);
   }
 
   @Override
@@ -94,13 +120,17 @@ public class Application implements IApplication<IPicture<IPixel>> {
       throw new IllegalArgumentException("Index cannot be negative or out of bounds");
     }
 
-    double[][] sharpenKernel = {{-0.125, -0.125, -0.125, -0.125, -0.125},
-        {-0.125, 0.25, 0.25, 0.25, -0.125},
-        {-0.125, 0.25, 1, 0.25, -0.125},
-        {-0.125, 0.25, 0.25, 0.25, -0.125},
-        {-0.125, -0.125, -0.125, -0.125, -0.125}};
+    return images.get(index).filter(SHARPEN_KERNEL);
+  }
 
-    return images.get(index).filter(sharpenKernel);
+  @Override
+  public IPicture<IPixel> sharpen(int index, double amount, double radius, int threshold)
+      throws IllegalArgumentException {
+    if (index < 0 || index >= images.size()) {
+      throw new IllegalArgumentException("Index cannot be negative or out of bounds");
+    }
+
+    return images.get(index).unsharpMask(amount, radius, threshold);
   }
 
   @Override
@@ -109,11 +139,7 @@ public class Application implements IApplication<IPicture<IPixel>> {
       throw new IllegalArgumentException("Index cannot be negative or out of bounds");
     }
 
-    double[][] monochromeMatrix = {{0.2126, 0.7152, 0.0722},
-        {0.2126, 0.7152, 0.0722},
-        {0.2126, 0.7152, 0.0722}};
-
-    return images.get(index).colorTransform(monochromeMatrix);
+    return images.get(index).colorTransform(MONOCHROME_MATRIX);
   }
 
   @Override
@@ -122,11 +148,7 @@ public class Application implements IApplication<IPicture<IPixel>> {
       throw new IllegalArgumentException("Index cannot be negative or out of bounds");
     }
 
-    double[][] monochromeMatrix = {{0.393, 0.769, 0.189},
-        {0.349, 0.686, 0.168},
-        {0.272, 0.534, 0.131}};
-
-    return images.get(index).colorTransform(monochromeMatrix);
+    return images.get(index).colorTransform(SEPIA_MATRIX);
   }
 
   @Override
@@ -0,0 +1,175 @@
+package model.application;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import model.application.ImportExportUtil.FileType;
+import model.picture.IPicture;
+import model.pixel.IPixel;
+
+/**
+ * A bounded, least-recently-used cache of decoded images keyed by each file's canonical path, size,
+ * and last-modified time, so that a file which changes on disk is decoded again. Images handed out
+ * by this cache are shared between callers, which is safe since {@code IPicture} implementations
+ * cannot be mutated once constructed. Eviction is based on the estimated number of bytes held by
+ * the cached images.
+ */
+public class DecodeCache {
+
+  // Rough size of one IPixel and its Point, plus the array slot referencing it.
+  static final long BYTES_PER_PIXEL = 64;
+
+  // Default capacity, a quarter of the maximum heap size.
+  public static final long DEFAULT_CAPACITY = Runtime.getRuntime().maxMemory() / 4;
+
+  private final long capacity;
+  private final Map<Key, IPicture<IPixel>> entries;
+  private long size;
+
+  /**
+   * Identifies one version of a file on disk.
+   */
+  private static class Key {
+
+    private final String path;
+    private final long length;
+    private final long lastModified;
+
+    private Key(File file) throws IOException {
+      this.path = file.getCanonicalPath();
+      this.length = file.length();
+      this.lastModified = file.lastModified();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      } else if (!(other instanceof Key)) {
+        return false;
+      }
+
+      return path.equals(((Key) other).path)
+          && length == ((Key) other).length
+          && lastModified == ((Key) other).lastModified;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, length, lastModified);
+    }
+  }
+
+  /**
+   * Constructs a {@code DecodeCache} holding at most the given number of bytes of decoded images.
+   *
+   * @param capacity the maximum estimated size in bytes of all cached images
+   * @throws IllegalArgumentException if capacity is negative
+   */
+  public DecodeCache(long capacity) throws IllegalArgumentException {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity cannot be negative");
+    }
+
+    this.capacity = capacity;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    this.size = 0;
+  }
+
+  /**
+   * Constructs a {@code DecodeCache} with the default capacity.
+   */
+  public DecodeCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Returns the decoded image of the given file, decoding it only if the file is not cached or has
+   * changed since it was cached.
+   *
+   * @param filename path to the desired image with extension
+   * @param type     supported file type in {@code FileType} enumeration
+   * @return the shared decoded image
+   * @throws IllegalArgumentException if filename or type is null, or the file does not exist
+   * @throws IOException              if an IO exception occurs
+   */
+  public IPicture<IPixel> load(String filename, FileType type)
+      throws IllegalArgumentException, IOException {
+    if (filename == null) {
+      throw new IllegalArgumentException("File path cannot be null");
+    } else if (type == null) {
+      throw new IllegalArgumentException("File type cannot be null");
+    }
+
+    File file = new File(filename);
+
+    if (!file.isFile()) {
+      return ImportExportUtil.importImageRegular(filename, type);
+    }
+
+    Key key = new Key(file);
+
+    synchronized (this) {
+      IPicture<IPixel> cached = entries.get(key);
+
+      if (cached != null) {
+        return cached;
+      }
+    }
+
+    IPicture<IPixel> image = ImportExportUtil.importImageRegular(filename, type);
+    put(key, image);
+
+    return image;
+  }
+
+  // Adds the given image to this cache, evicting the least recently used images until this cache
+  // is within its capacity. Images larger than the capacity are not cached.
+  private synchronized void put(Key key, IPicture<IPixel> image) {
+    long bytes = sizeOf(image);
+
+    if (bytes > capacity) {
+      return;
+    }
+
+    IPicture<IPixel> previous = entries.put(key, image);
+
+    if (previous != null) {
+      size -= sizeOf(previous);
+    }
+
+    size += bytes;
+
+    Iterator<IPicture<IPixel>> eldest = entries.values().iterator();
+
+    while (size > capacity && eldest.hasNext()) {
+      size -= sizeOf(eldest.next());
+      eldest.remove();
+    }
+  }
+
+  /**
+   * Returns the estimated number of bytes held by all cached images.
+   *
+   * @return the estimated size of this cache in bytes
+   */
+  public synchronized long getSize() {
+    return size;
+  }
+
+  /**
+   * Removes every image from this cache.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    size = 0;
+  }
+
+  // Estimates the number of bytes held by the given image.
+  static long sizeOf(IPicture<IPixel> image) {
+    return (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+  }
+}
@@ -0,0 +1,112 @@
+package model.application;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import model.application.ImportExportUtil.FileType;
+import model.picture.ILayer;
+import model.picture.IPicture;
+import model.pixel.IPixel;
+
+/**
+ * Records the layers written to files when exporting layered images, so that layers whose content
+ * has not changed since they were last written to the same file are not written again. A layer is
+ * taken to be unchanged if it has the same generation as when it was written, or otherwise if it
+ * has the same dimensions and tile hashes and the file still holds exactly its content. Files
+ * changed by someone else since they were written are always rewritten. Each application keeps its
+ * own record, so exports from one application never reuse files written by another.
+ */
+public class ExportRecord {
+
+  // Layers written by this record's exports, keyed by the canonical path of the written file.
+  private final Map<String, SavedLayer> saved;
+
+  /**
+   * Record of a layer's content at the time it was last written to a file, along with the state of
+   * that file right after writing so that files changed by someone else are rewritten.
+   */
+  private static class SavedLayer {
+
+    private final long generation;
+    private final int width;
+    private final int height;
+    private final long[] tileHashes;
+    private final long lastModified;
+    private final long length;
+
+    private SavedLayer(ILayer<IPicture<IPixel>> layer, File file) {
+      this.generation = layer.getGeneration();
+      this.width = layer.getImage().getWidth();
+      this.height = layer.getImage().getHeight();
+      this.tileHashes = layer.getTileHashes();
+      this.lastModified = file.lastModified();
+      this.length = file.length();
+    }
+  }
+
+  /**
+   * Constructs an empty {@code ExportRecord}.
+   */
+  public ExportRecord() {
+    this.saved = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Returns whether the given file still holds the content of the given layer, as it was when this
+   * record last saw the layer written there.
+   *
+   * @param layer the layer to be exported
+   * @param file  the file the layer is to be exported to
+   * @param type  the file type the layer is to be exported as
+   * @return whether the file need not be written again
+   * @throws IllegalArgumentException if any argument is null
+   * @throws IOException              if the file's canonical path cannot be found
+   */
+  public boolean isCurrent(ILayer<IPicture<IPixel>> layer, File file, FileType type)
+      throws IllegalArgumentException, IOException {
+    if (layer == null || file == null || type == null) {
+      throw new IllegalArgumentException("Arguments cannot be null");
+    }
+
+    SavedLayer written = saved.get(file.getCanonicalPath());
+    IPicture<IPixel> image = layer.getImage();
+
+    if (written == null || image == null || !file.isFile()
+        || file.lastModified() != written.lastModified || file.length() != written.length) {
+      return false;
+    } else if (written.generation == layer.getGeneration()) {
+      return true;
+    } else if (type == FileType.JPEG || image.getWidth() != written.width
+        || image.getHeight() != written.height
+        || !Arrays.equals(written.tileHashes, layer.getTileHashes())) {
+      // Lossy files cannot be compared with the layer, so they are rewritten once it changes.
+      return false;
+    }
+
+    // Tile hashes can collide, so the layer is only reused once the file is known to match.
+    try {
+      return image.equals(ImportExportUtil.importImageRegular(file.getPath(), type));
+    } catch (IllegalArgumentException | IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Records that the given layer has just been written to the given file.
+   *
+   * @param layer the layer written
+   * @param file  the file it was written to
+   * @throws IllegalArgumentException if either argument is null or the layer has no image
+   * @throws IOException              if the file's canonical path cannot be found
+   */
+  public void record(ILayer<IPicture<IPixel>> layer, File file)
+      throws IllegalArgumentException, IOException {
+    if (layer == null || file == null || layer.getImage() == null) {
+      throw new IllegalArgumentException("Layer and file cannot be null");
+    }
+
+    saved.put(file.getCanonicalPath(), new SavedLayer(layer, file));
+  }
+}
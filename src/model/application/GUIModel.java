@@ -1,11 +1,13 @@
 package model.application;
 
-import java.awt.Color;
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.List;
 import model.picture.ILayer;
 import model.picture.IPicture;
-import model.pixel.ColorChannel;
+import model.picture.ProxyPicture;
 import model.pixel.IPixel;
 
 /**
@@ -15,6 +17,8 @@ import model.pixel.IPixel;
 public class GUIModel implements IModelObserver<IPicture<IPixel>> {
 
   ILayeredApplication app;
+  private BufferedImage buffer;
+  private IPicture<IPixel> rendered;
 
   /**
    * Constructs a {@code GUIModel} with the given application.
@@ -40,7 +44,12 @@ public class GUIModel implements IModelObserver<IPicture<IPixel>> {
         && currentLayer.getVisibility()) {
       topImage = currentLayer.getImage();
     } else {
-      for (ILayer<IPicture<IPixel>> layer : app.getCurrentImage().getLayers()) {
+      List<ILayer<IPicture<IPixel>>> layers = app.getCurrentImage().getLayers();
+
+      // Layers are listed from bottommost to topmost.
+      for (int i = layers.size() - 1; i >= 0; i--) {
+        ILayer<IPicture<IPixel>> layer = layers.get(i);
+
         if (layer != null && layer.getImage() != null && layer.getVisibility()) {
           topImage = layer.getImage();
           break;
@@ -51,30 +60,57 @@ public class GUIModel implements IModelObserver<IPicture<IPixel>> {
     return topImage;
   }
 
+  @Override
+  public IPicture<IPixel> getComposite() {
+    if (app.getCurrentImage() == null) {
+      return null;
+    }
+
+    return app.getCurrentImage().getComposite();
+  }
+
   @Override
   public Image createBufferedImage(IPicture<IPixel> image) {
     if (image == null) {
       return null;
     }
 
-    BufferedImage bf =
-        new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
-
-    IPixel[][] pixelSequence = image.getPixelSequence();
+    return createBufferedImage(image, new Rectangle(0, 0, image.getWidth(), image.getHeight()));
+  }
 
-    for (int h = 0; h < image.getHeight(); h++) {
-      for (int w = 0; w < image.getWidth(); w++) {
-        IPixel pixel = pixelSequence[h][w];
+  @Override
+  public Image createBufferedImage(IPicture<IPixel> image, Rectangle dirty)
+      throws IllegalArgumentException {
+    if (dirty == null) {
+      throw new IllegalArgumentException("Given region is null");
+    } else if (image == null) {
+      return null;
+    } else if (image instanceof ProxyPicture) {
+      image = ((ProxyPicture) image).getPreview();
+    }
 
-        int red = pixel.getChannelValue(ColorChannel.RED);
-        int green = pixel.getChannelValue(ColorChannel.GREEN);
-        int blue = pixel.getChannelValue(ColorChannel.BLUE);
+    int width = image.getWidth();
+    int height = image.getHeight();
 
-        Color c = new Color(red, green, blue);
-        bf.setRGB(w, h, c.getRGB());
+    // Pictures are never mutated, so redrawing the same picture leaves the buffer unchanged.
+    if (buffer != null && buffer.getWidth() == width && buffer.getHeight() == height) {
+      if (image == rendered) {
+        return buffer;
       }
+
+      dirty = dirty.intersection(new Rectangle(0, 0, width, height));
+    } else {
+      buffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      dirty = new Rectangle(0, 0, width, height);
+    }
+
+    if (!dirty.isEmpty()) {
+      int[] data = ((DataBufferInt) buffer.getRaster().getDataBuffer()).getData();
+      image.getPackedRGB(dirty, data, dirty.y * width + dirty.x, width);
     }
 
-    return bf;
+    rendered = image;
+
+    return buffer;
   }
-}
\ No newline at end of file
+}
@@ -52,6 +52,18 @@ public interface IApplication<I> {
    */
   I blur(int index) throws IllegalArgumentException;
 
+  /**
+   * Blurs the specified image with a Gaussian of the given standard deviation, taking the same time
+   * whatever the standard deviation.
+   *
+   * @param index the index of the desired image
+   * @param sigma the standard deviation of the Gaussian, in pixels
+   * @return a blurred version of the specified picture
+   * @throws IllegalArgumentException if index is negative or out of bounds, or sigma is below 0.5
+   *                                  or not finite
+   */
+  I blur(int index, double sigma) throws IllegalArgumentException;
+
   /**
    * Sharpens the specified image. Currently sharpens with a fixed kernel.
    *
@@ -61,6 +73,23 @@ public interface IApplication<I> {
    */
   I sharpen(int index) throws IllegalArgumentException;
 
+  /**
+   * Sharpens the specified image with an unsharp mask, adding the given amount of each value's
+   * difference from a Gaussian blur of the given radius whenever that difference is at least the
+   * given threshold.
+   *
+   * @param index     the index of the desired image
+   * @param amount    the fraction of the difference from the blur which is added to each value
+   * @param radius    the standard deviation of the blur, in pixels
+   * @param threshold the smallest difference from the blur which is sharpened
+   * @return a sharpened version of the specified picture
+   * @throws IllegalArgumentException if index is negative or out of bounds, amount is negative or
+   *                                  not finite, radius is below 0.5 or not finite, or threshold is
+   *                                  negative
+   */
+  I sharpen(int index, double amount, double radius, int threshold)
+      throws IllegalArgumentException;
+
   /**
    * Converts the specified image to monochrome (greyscale). Currently uses a fixed matrix.
    *
@@ -17,6 +17,29 @@ public interface IExtraCredit extends ILayeredApplication {
    */
   void mosaic(int numOfSeeds);
 
+  /**
+   * Splits the image into "tiles" as {@link #mosaic(int)} does, optionally placing the seeds of the
+   * tiles where the image has strong edges more often than where it is flat, so that the tiles are
+   * smaller along edges and keep more of the image's detail.
+   *
+   * @param numOfSeeds the number of "tiles" the user wishes to create
+   * @param edgeAware  whether seeds are placed more often along edges
+   */
+  void mosaic(int numOfSeeds, boolean edgeAware);
+
+  /**
+   * Splits the image into "tiles" as {@link #mosaic(int, boolean)} does, placing the seeds of the
+   * tiles with a random number generator started from the given seed. The same seed makes the same
+   * mosaic of the same image. Without edges, it also places the tiles at the same relative
+   * positions in images of any size, so a mosaic made on a reduced-resolution copy of an image
+   * closely matches the one made on the image itself.
+   *
+   * @param numOfSeeds the number of "tiles" the user wishes to create
+   * @param edgeAware  whether seeds are placed more often along edges
+   * @param seed       the seed of the random number generator placing the tiles
+   */
+  void mosaic(int numOfSeeds, boolean edgeAware, long seed);
+
   /**
    * Downsizing is a method that reduces the width and height of all of the images to the specified
    * width and height.
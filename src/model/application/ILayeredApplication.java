@@ -1,6 +1,8 @@
 package model.application;
 
+import java.awt.Rectangle;
 import model.application.ImportExportUtil.FileType;
+import model.picture.BlendMode;
 import model.picture.ILayer;
 import model.picture.ILayeredPicture;
 import model.picture.IPicture;
@@ -104,6 +106,14 @@ public interface ILayeredApplication
    */
   void setVisibility(boolean visible);
 
+  /**
+   * Sets how the current image's current layer is blended with the layers below it.
+   *
+   * @param mode the desired blend mode
+   * @throws IllegalArgumentException if given mode is null
+   */
+  void setBlendMode(BlendMode mode) throws IllegalArgumentException;
+
   /**
    * Exports the top-most visible layer of the current image as the given type to the given
    * location. Top-most visible layer is either the current layer if it contains a non-null image,
@@ -116,7 +126,46 @@ public interface ILayeredApplication
   void exportTopMostVisibleLayer(String filepath, FileType type) throws IllegalArgumentException;
 
   /**
-   * Imports the image at the given file path into the current image's current layer.
+   * Exports every layer of the current image as the given type along with a text file at the given
+   * location describing the layered image. Layers whose content has not changed since they were
+   * last exported to the same location are not rewritten.
+   *
+   * @param filepath the desired filepath of the text file without extension
+   * @param type     type supported file type in {@code FileType} enumeration
+   * @return the number of layers whose existing files were reused
+   * @throws IllegalArgumentException if filepath is null, empty, or starts with '.', or type is
+   *                                  null
+   */
+  int exportCurrentImage(String filepath, FileType type) throws IllegalArgumentException;
+
+  /**
+   * Imports the image at the given file path into the current image's current layer. Loading a
+   * file which has not changed since it was last loaded may reuse the previously decoded image.
    */
   void load(String filename);
+
+  /**
+   * Imports a reduced-resolution preview of the image at the given file path into the current
+   * image's current layer. The image is only decoded at full resolution once an operation or export
+   * needs its pixels.
+   *
+   * @param filename     the path of the image with extension
+   * @param maxDimension the maximum width and height of the preview
+   * @throws IllegalArgumentException if filename is null, empty, has an unsupported extension, or
+   *                                  does not lead to a file, or maxDimension is not positive
+   */
+  void loadPreview(String filename, int maxDimension) throws IllegalArgumentException;
+
+  /**
+   * Replaces the current image's current layer with a layer of the same name and visibility which
+   * references the given region of the image at the given file path. Only the pixels within the
+   * region are ever decoded, so operations and exports on the layer only touch those pixels.
+   *
+   * @param filename the path of the image with extension
+   * @param region   the region of the image, in pixels
+   * @throws IllegalArgumentException if filename is null, empty, has an unsupported extension, or
+   *                                  does not lead to a file, or region is null, empty, or not
+   *                                  within the image
+   */
+  void loadRegion(String filename, Rectangle region) throws IllegalArgumentException;
 }
\ No newline at end of file
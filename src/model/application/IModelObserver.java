@@ -1,6 +1,7 @@
 package model.application;
 
 import java.awt.Image;
+import java.awt.Rectangle;
 
 /**
  * Interface representing a class containing methods which provide information regarding an
@@ -11,18 +12,41 @@ public interface IModelObserver<I> {
 
   /**
    * Returns an application's top-most visible layer's image. Top-most visible layer is either the
-   * current layer if it contains a non-null image, or the first layer with a non-null image derived
-   * from the layer hashmap.
+   * current layer if it contains a non-null image, or the topmost visible layer with a non-null
+   * image.
    *
    * @return the top-most visible layer's image
    */
   I getTopMostVisible();
 
   /**
-   * Creates a {@code BufferedImage} from the given image.
+   * Returns the composite of the visible layers of an application's current image, drawn from
+   * bottommost to topmost.
+   *
+   * @return the composite image, or null if there is no current image or no visible layer
+   *         contains an image
+   */
+  I getComposite();
+
+  /**
+   * Creates a {@code BufferedImage} from the given image. Images which have not been decoded at
+   * full resolution yet are drawn from their reduced-resolution preview. The returned buffered
+   * image may be reused and overwritten by later calls.
    *
    * @param image the image to convert to a buffered image
    * @return the buffered imag version of the given image
    */
   Image createBufferedImage(I image);
+
+  /**
+   * Creates a {@code BufferedImage} from the given image, only redrawing the given region if the
+   * previously created buffered image has the same dimensions. Used when only that region of the
+   * image differs from the previously given image.
+   *
+   * @param image the image to convert to a buffered image
+   * @param dirty the region of the image which changed
+   * @return the buffered image version of the given image
+   * @throws IllegalArgumentException if the given region is null
+   */
+  Image createBufferedImage(I image, Rectangle dirty) throws IllegalArgumentException;
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package model.application;
 
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.util.Scanner;
 import java.io.FileNotFoundException;
 import java.io.FileInputStream;
@@ -11,7 +12,7 @@ import model.pixel.Pixel;
 
 /**
  * This class contains utility methods to import a PPM image from a file and create an {@code
- * IPicture} with the appropriate fields.
+ * IPicture} with the appropriate fields, and to sample reduced-resolution copies of images.
  */
 public class ImageUtil {
 
@@ -72,4 +73,68 @@ public class ImageUtil {
 
     return new Picture(width, height, maxValue, sequence);
   }
+
+  /**
+   * Creates a new {@code IPicture} of the given size from the given region of the given image,
+   * using the nearest pixel of the region for each pixel. Only the sampled pixels are read, so
+   * sampling a small copy of a large image takes time proportional to the copy's size. Channel
+   * values above 255 are clamped to 255.
+   *
+   * @param source the image to sample
+   * @param region the region of the image to sample
+   * @param width  the width of the sampled image
+   * @param height the height of the sampled image
+   * @return the sampled image
+   * @throws IllegalArgumentException if the image or region is null, the region is empty or not
+   *                                  within the image, or the width or height is not positive
+   */
+  public static IPicture<IPixel> sample(IPicture<IPixel> source, Rectangle region, int width,
+      int height) throws IllegalArgumentException {
+    if (source == null || region == null) {
+      throw new IllegalArgumentException("Image and region cannot be null");
+    } else if (region.isEmpty()
+        || !new Rectangle(source.getWidth(), source.getHeight()).contains(region)) {
+      throw new IllegalArgumentException("Region is not within the image");
+    } else if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Width and height must be positive");
+    }
+
+    IPixel[][] pixels = new IPixel[height][width];
+    int[] columns = new int[width];
+
+    for (int w = 0; w < width; w++) {
+      columns[w] = (int) ((long) w * region.width / width);
+    }
+
+    // Reading whole rows is cheaper unless most of each row would be skipped.
+    boolean readRows = region.width <= 4 * width;
+    int[] row = new int[readRows ? region.width : 1];
+    Rectangle span = new Rectangle();
+
+    for (int h = 0; h < height; h++) {
+      int y = region.y + (int) ((long) h * region.height / height);
+
+      if (readRows) {
+        span.setBounds(region.x, y, region.width, 1);
+        source.getPackedRGB(span, row, 0, region.width);
+      }
+
+      for (int w = 0; w < width; w++) {
+        int rgb;
+
+        if (readRows) {
+          rgb = row[columns[w]];
+        } else {
+          span.setBounds(region.x + columns[w], y, 1, 1);
+          source.getPackedRGB(span, row, 0, 1);
+          rgb = row[0];
+        }
+
+        pixels[h][w] = new Pixel(new Point(w, h), 255, rgb >> 16 & 0xFF, rgb >> 8 & 0xFF,
+            rgb & 0xFF);
+      }
+    }
+
+    return new Picture(width, height, 255, pixels);
+  }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package model.application;
 
 import java.awt.Color;
+import java.awt.Dimension;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileInputStream;
@@ -9,12 +11,17 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Scanner;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import model.picture.ILayer;
 import model.picture.ILayeredPicture;
 import model.picture.IPicture;
+import model.picture.Kernel;
 import model.picture.Layer;
 import model.picture.LayeredPicture;
 import model.picture.Picture;
@@ -73,32 +80,248 @@ public class ImportExportUtil {
         }
       case PNG:
       case JPEG:
-        BufferedImage bf = ImageIO.read(new FileInputStream(filename));
+        return toPicture(ImageIO.read(new FileInputStream(filename)));
+      default:
+        throw new IllegalArgumentException("Invalid type");
+    }
+  }
+
+  // Converts the given buffered image into the IPicture<IPixel> representation of an image.
+  private static IPicture<IPixel> toPicture(BufferedImage bf) {
+    int width = bf.getWidth();
+    int height = bf.getHeight();
 
-        int width = bf.getWidth();
-        int height = bf.getHeight();
+    IPixel[][] pixels = new IPixel[height][width];
 
-        IPixel[][] pixels = new IPixel[height][width];
+    for (int h = 0; h < height; h++) {
+      for (int w = 0; w < width; w++) {
+        Color argb = new Color(bf.getRGB(w, h), true);
 
-        for (int h = 0; h < height; h++) {
-          for (int w = 0; w < width; w++) {
-            Color rgb = new Color(bf.getRGB(w, h));
+        int red = argb.getRed();
+        int blue = argb.getBlue();
+        int green = argb.getGreen();
+        int alpha = argb.getAlpha();
 
-            int red = rgb.getRed();
-            int blue = rgb.getBlue();
-            int green = rgb.getGreen();
+        IPixel pixel = new Pixel(new Point(w, h), 255, red, green, blue, alpha);
+        pixels[h][w] = pixel;
+      }
+    }
+
+    return new Picture(width, height, 255, pixels);
+  }
 
-            IPixel pixel = new Pixel(new Point(w, h), 255, red, green, blue);
-            pixels[h][w] = pixel;
+  /**
+   * Imports a reduced-resolution version of the image of the specified file type at the specified
+   * file path, without decoding the image at full resolution. Only every n-th row and column of the
+   * image is kept, where n is the smallest step which fits the image within the given maximum
+   * dimension. Images which already fit are imported at full resolution.
+   *
+   * @param filename     path to the desired image with extension
+   * @param type         supported file type in {@code FileType} enumeration
+   * @param maxDimension the maximum width and height of the imported image
+   * @return the {@code IPicture<IPixel>} representation of the reduced-resolution image
+   * @throws IllegalArgumentException if given file path is null or does not lead to a file, type is
+   *                                  null, or maxDimension is not positive
+   * @throws IOException              if an IO exception occurs
+   */
+  public static IPicture<IPixel> importImagePreview(String filename, FileType type,
+      int maxDimension) throws IllegalArgumentException, IOException {
+    if (filename == null) {
+      throw new IllegalArgumentException("File path cannot be null");
+    } else if (type == null) {
+      throw new IllegalArgumentException("File type cannot be null");
+    } else if (maxDimension <= 0) {
+      throw new IllegalArgumentException("Maximum dimension must be positive");
+    } else if (!new File(filename).isFile()) {
+      throw new IllegalArgumentException("File not found");
+    }
+
+    switch (type) {
+      case PPM:
+        try (PPMReader reader = new PPMReader(filename)) {
+          int step = subsampling(reader.getWidth(), reader.getHeight(), maxDimension);
+          int width = (reader.getWidth() + step - 1) / step;
+          int height = (reader.getHeight() + step - 1) / step;
+
+          IPixel[][] pixels = new IPixel[height][width];
+
+          for (int h = 0; h < reader.getHeight(); h++) {
+            if (h % step != 0) {
+              reader.skipValues(3L * reader.getWidth());
+              continue;
+            }
+
+            for (int w = 0; w < reader.getWidth(); w++) {
+              if (w % step != 0) {
+                reader.skipValues(3);
+                continue;
+              }
+
+              int r = reader.nextValue();
+              int g = reader.nextValue();
+              int b = reader.nextValue();
+              pixels[h / step][w / step] = new Pixel(new Point(w / step, h / step), r, g, b);
+            }
           }
+
+          return new Picture(width, height, reader.getMaxVal(), pixels);
         }
+      case PNG:
+      case JPEG:
+        try (ImageInputStream input = ImageIO.createImageInputStream(new File(filename))) {
+          ImageReader reader = getReader(input);
+
+          try {
+            int step = subsampling(reader.getWidth(0), reader.getHeight(0), maxDimension);
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(step, step, 0, 0);
 
-        return new Picture(width, height, 255, pixels);
+            return toPicture(reader.read(0, param));
+          } finally {
+            reader.dispose();
+          }
+        }
       default:
         throw new IllegalArgumentException("Invalid type");
     }
   }
 
+  /**
+   * Imports the given rectangular region of the image of the specified file type at the specified
+   * file path, without decoding the rest of the image. PPM files are read up to the last row of the
+   * region, only building pixels within the region, while other formats decode the region alone.
+   * Pixel coordinates of the imported image are relative to the top-left corner of the region.
+   *
+   * @param filename path to the desired image with extension
+   * @param type     supported file type in {@code FileType} enumeration
+   * @param region   the region of the image to import, in pixels
+   * @return the {@code IPicture<IPixel>} representation of the region
+   * @throws IllegalArgumentException if given file path is null or does not lead to a file, type or
+   *                                  region is null, or region is empty or not within the image
+   * @throws IOException              if an IO exception occurs
+   */
+  public static IPicture<IPixel> importImageRegion(String filename, FileType type,
+      Rectangle region) throws IllegalArgumentException, IOException {
+    if (region == null) {
+      throw new IllegalArgumentException("Region cannot be null");
+    }
+
+    Dimension size = readDimensions(filename, type);
+
+    if (region.isEmpty() || region.x < 0 || region.y < 0
+        || region.x + region.width > size.width || region.y + region.height > size.height) {
+      throw new IllegalArgumentException("Region is empty or not within the image");
+    }
+
+    switch (type) {
+      case PPM:
+        try (PPMReader reader = new PPMReader(filename)) {
+          IPixel[][] pixels = new IPixel[region.height][region.width];
+
+          reader.skipValues(3L * reader.getWidth() * region.y);
+
+          for (int h = 0; h < region.height; h++) {
+            reader.skipValues(3L * region.x);
+
+            for (int w = 0; w < region.width; w++) {
+              int r = reader.nextValue();
+              int g = reader.nextValue();
+              int b = reader.nextValue();
+              pixels[h][w] = new Pixel(new Point(w, h), r, g, b);
+            }
+
+            if (h < region.height - 1) {
+              reader.skipValues(3L * (reader.getWidth() - region.x - region.width));
+            }
+          }
+
+          return new Picture(region.width, region.height, reader.getMaxVal(), pixels);
+        }
+      case PNG:
+      case JPEG:
+        try (ImageInputStream input = ImageIO.createImageInputStream(new File(filename))) {
+          ImageReader reader = getReader(input);
+
+          try {
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceRegion(region);
+
+            return toPicture(reader.read(0, param));
+          } finally {
+            reader.dispose();
+          }
+        }
+      default:
+        throw new IllegalArgumentException("Invalid type");
+    }
+  }
+
+  /**
+   * Reads the width and height of the image of the specified file type at the specified file path
+   * without decoding its pixels.
+   *
+   * @param filename path to the desired image with extension
+   * @param type     supported file type in {@code FileType} enumeration
+   * @return the dimensions of the image
+   * @throws IllegalArgumentException if given file path is null or does not lead to a file, or type
+   *                                  is null
+   * @throws IOException              if an IO exception occurs
+   */
+  public static Dimension readDimensions(String filename, FileType type)
+      throws IllegalArgumentException, IOException {
+    if (filename == null) {
+      throw new IllegalArgumentException("File path cannot be null");
+    } else if (type == null) {
+      throw new IllegalArgumentException("File type cannot be null");
+    } else if (!new File(filename).isFile()) {
+      throw new IllegalArgumentException("File not found");
+    }
+
+    switch (type) {
+      case PPM:
+        try (PPMReader reader = new PPMReader(filename)) {
+          return new Dimension(reader.getWidth(), reader.getHeight());
+        }
+      case PNG:
+      case JPEG:
+        try (ImageInputStream input = ImageIO.createImageInputStream(new File(filename))) {
+          ImageReader reader = getReader(input);
+
+          try {
+            return new Dimension(reader.getWidth(0), reader.getHeight(0));
+          } finally {
+            reader.dispose();
+          }
+        }
+      default:
+        throw new IllegalArgumentException("Invalid type");
+    }
+  }
+
+  // Returns an image reader reading from the given stream.
+  private static ImageReader getReader(ImageInputStream input) throws IOException {
+    if (input == null) {
+      throw new IOException("Given image cannot be read");
+    }
+
+    Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+
+    if (!readers.hasNext()) {
+      throw new IOException("No reader supports the given image");
+    }
+
+    ImageReader reader = readers.next();
+    reader.setInput(input, true, true);
+
+    return reader;
+  }
+
+  // Returns the smallest step between kept rows and columns which fits an image of the given
+  // dimensions within the given maximum dimension.
+  private static int subsampling(int width, int height, int maxDimension) {
+    return Math.max(1, (Math.max(width, height) + maxDimension - 1) / maxDimension);
+  }
+
   /**
    * Exports the given image with the given name as the given file type.
    *
@@ -137,11 +360,12 @@ public class ImportExportUtil {
   }
 
   // Helper which creates the buffered image representing the desired image and exporting it
-  // with the given name as the given file type.
+  // with the given name as the given file type. PNG files keep each pixel's alpha channel value.
   private static void writeFile(IPicture<IPixel> image, String name, String filetype)
       throws IOException {
-    BufferedImage bf =
-        new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+    boolean hasAlpha = filetype.equals("png");
+    BufferedImage bf = new BufferedImage(image.getWidth(), image.getHeight(),
+        hasAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
 
     IPixel[][] pixelSequence = image.getPixelSequence();
 
@@ -153,7 +377,9 @@ public class ImportExportUtil {
         int green = pixel.getChannelValue(ColorChannel.GREEN);
         int blue = pixel.getChannelValue(ColorChannel.BLUE);
 
-        Color c = new Color(red, green, blue);
+        int alpha = hasAlpha ? pixel.getChannelValue(ColorChannel.ALPHA) : 255;
+
+        Color c = new Color(red, green, blue, alpha);
         bf.setRGB(w, h, c.getRGB());
       }
     }
@@ -212,10 +438,69 @@ public class ImportExportUtil {
     }
   }
 
+  /**
+   * Imports the kernel in the specified text file. Each non-empty line holds one row of the kernel
+   * as weights separated by whitespace, where each weight is either a decimal number or a fraction
+   * such as {@code 1/16}. Anything after a '#' on a line is a comment.
+   *
+   * @param filename path to the text file containing the kernel
+   * @return the kernel described by the file
+   * @throws IllegalArgumentException if filename is null, the file wasn't found or could not be
+   *                                  read, a weight is not a number or fraction, or the kernel is
+   *                                  not odd and square
+   */
+  public static Kernel importKernel(String filename) throws IllegalArgumentException {
+    if (filename == null) {
+      throw new IllegalArgumentException("File path cannot be null");
+    }
+
+    List<double[]> rows = new ArrayList<>();
+
+    try (Scanner scan = new Scanner(new FileInputStream(filename))) {
+      while (scan.hasNextLine()) {
+        String line = scan.nextLine();
+        int comment = line.indexOf('#');
+        String[] weights = (comment < 0 ? line : line.substring(0, comment)).trim().split("\\s+");
+
+        if (weights[0].isEmpty()) {
+          continue;
+        }
+
+        double[] row = new double[weights.length];
+
+        for (int i = 0; i < weights.length; i++) {
+          row[i] = parseWeight(weights[i]);
+        }
+
+        rows.add(row);
+      }
+    } catch (FileNotFoundException e) {
+      throw new IllegalArgumentException("File wasn't found");
+    }
+
+    return new Kernel(rows.toArray(new double[0][]));
+  }
+
+  // Returns the value of the given decimal number or fraction.
+  private static double parseWeight(String weight) throws IllegalArgumentException {
+    int slash = weight.indexOf('/');
+
+    try {
+      if (slash < 0) {
+        return Double.parseDouble(weight);
+      }
+
+      return Double.parseDouble(weight.substring(0, slash))
+          / Double.parseDouble(weight.substring(slash + 1));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Kernel weight is not a number: " + weight);
+    }
+  }
+
   /**
    * Exports the given layered image as several regular images for each layer's image and as the
    * given file type and creates a text file with the layered image's data and the location of each
-   * layer's picture.
+   * layer's picture. Every layer's image is written.
    *
    * @param image    layered image to export
    * @param filename the name of the text file containing the layered image data without extension
@@ -225,15 +510,38 @@ public class ImportExportUtil {
    */
   public static void exportImageLayered(ILayeredPicture<ILayer<IPicture<IPixel>>> image,
       String filename, FileType type) {
+    exportImageLayered(image, filename, type, new ExportRecord());
+  }
+
+  /**
+   * Exports the given layered image as several regular images for each layer's image and as the
+   * given file type and creates a text file with the layered image's data and the location of each
+   * layer's picture. Layers whose content has not changed since the given record saw them exported
+   * to the same location are not rewritten, and their existing files are reused.
+   *
+   * @param image    layered image to export
+   * @param filename the name of the text file containing the layered image data without extension
+   * @param type     type supported file type in {@code FileType} enumeration
+   * @param record   the record of layers previously exported, which is updated with the layers
+   *                 written
+   * @return the number of layers whose existing files were reused
+   * @throws IllegalArgumentException if image or record is null, name is null, empty, or starts
+   *                                  with '.', or type is null
+   */
+  public static int exportImageLayered(ILayeredPicture<ILayer<IPicture<IPixel>>> image,
+      String filename, FileType type, ExportRecord record) {
     if (image == null) {
       throw new IllegalArgumentException("Given image cannot be null");
     } else if (filename == null || filename.isEmpty() || filename.charAt(0) == '.') {
       throw new IllegalArgumentException("File name is invalid");
     } else if (type == null) {
       throw new IllegalArgumentException("File type cannot be null");
+    } else if (record == null) {
+      throw new IllegalArgumentException("Export record cannot be null");
     }
 
     StringBuilder textFile = new StringBuilder();
+    int skipped = 0;
 
     textFile.append(
         String.format("%d %d %d\n", image.getWidth(), image.getHeight(), image.getMaxVal()));
@@ -245,7 +553,15 @@ public class ImportExportUtil {
           String.format("%s %b %s\n", layer.getName(), layer.getVisibility(), imagePath));
 
       try {
+        File file = new File(imagePath);
+
+        if (record.isCurrent(layer, file, type)) {
+          skipped++;
+          continue;
+        }
+
         exportImageRegular(layer.getImage(), String.format("%s", layer.getName()), type);
+        record.record(layer, file);
       } catch (IOException e) {
         throw new IllegalArgumentException("IO exception occurred");
       }
@@ -260,5 +576,7 @@ public class ImportExportUtil {
     } catch (IOException e) {
       throw new IllegalArgumentException("IO exception occurred");
     }
+
+    return skipped;
   }
 }
\ No newline at end of file
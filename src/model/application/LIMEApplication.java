@@ -1,14 +1,19 @@
 package model.application;
 
+import java.awt.Dimension;
+import java.awt.Rectangle;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import model.application.ImportExportUtil.FileType;
+import model.picture.BlendMode;
 import model.picture.ILayer;
 import model.picture.ILayeredPicture;
 import model.picture.IPicture;
 import model.picture.Layer;
 import model.picture.LayeredPicture;
+import model.picture.ProxyPicture;
+import model.picture.RegionLayer;
 import model.pixel.IPixel;
 
 /**
@@ -20,6 +25,9 @@ public class LIMEApplication implements ILayeredApplication {
 
   protected final List<ILayeredPicture<ILayer<IPicture<IPixel>>>> images;
   protected int currentImage;
+  protected final DecodeCache decodeCache;
+  protected final PictureStore pictureStore;
+  protected final ExportRecord exportRecord;
 
   /**
    * Constructs a {@code LIMEApplication} from the given list of multi-layered images.
@@ -35,6 +43,9 @@ public class LIMEApplication implements ILayeredApplication {
 
     this.images = images;
     this.currentImage = 0;
+    this.decodeCache = new DecodeCache();
+    this.pictureStore = new PictureStore();
+    this.exportRecord = new ExportRecord();
   }
 
   /**
@@ -106,7 +117,12 @@ public class LIMEApplication implements ILayeredApplication {
       throw new IllegalArgumentException("Index is negative or out of bounds");
     }
 
-    images.remove(index);
+    ILayeredPicture<ILayer<IPicture<IPixel>>> image = images.remove(index);
+
+    // Layers are detached rather than copied so that unedited regions are not decoded.
+    for (String name : image.getLayerNames()) {
+      releaseImage(image.removeLayer(name));
+    }
   }
 
   @Override
@@ -118,6 +134,16 @@ public class LIMEApplication implements ILayeredApplication {
     return returnLayeredImage(addLayersToApp().blur(index), index);
   }
 
+  @Override
+  public ILayeredPicture<ILayer<IPicture<IPixel>>> blur(int index, double sigma)
+      throws IllegalArgumentException {
+    if (index < 0 || index >= images.get(currentImage).getLayers().size()) {
+      throw new IllegalArgumentException("Index is negative or out of bounds");
+    }
+
+    return returnLayeredImage(addLayersToApp().blur(index, sigma), index);
+  }
+
   // Returns an application containing all the images that each layer of the current image contains.
   private IApplication<IPicture<IPixel>> addLayersToApp() {
     IApplication<IPicture<IPixel>> app = new Application();
@@ -161,6 +187,16 @@ public class LIMEApplication implements ILayeredApplication {
     return returnLayeredImage(addLayersToApp().sharpen(index), index);
   }
 
+  @Override
+  public ILayeredPicture<ILayer<IPicture<IPixel>>> sharpen(int index, double amount,
+      double radius, int threshold) throws IllegalArgumentException {
+    if (index < 0 || index >= images.get(currentImage).getLayers().size()) {
+      throw new IllegalArgumentException("Index is negative or out of bounds");
+    }
+
+    return returnLayeredImage(addLayersToApp().sharpen(index, amount, radius, threshold), index);
+  }
+
   @Override
   public ILayeredPicture<ILayer<IPicture<IPixel>>> monochrome(int index)
       throws IllegalArgumentException {
@@ -240,7 +276,18 @@ public class LIMEApplication implements ILayeredApplication {
       throw new IllegalArgumentException("File type cannot be null");
     }
 
-    ImportExportUtil.exportImageLayered(image, filename, type);
+    ImportExportUtil.exportImageLayered(image, filename, type, exportRecord);
+  }
+
+  @Override
+  public int exportCurrentImage(String filepath, FileType type) throws IllegalArgumentException {
+    if (filepath == null || filepath.isEmpty() || filepath.charAt(0) == '.') {
+      throw new IllegalArgumentException("File name is invalid");
+    } else if (type == null) {
+      throw new IllegalArgumentException("File type cannot be null");
+    }
+
+    return ImportExportUtil.exportImageLayered(getCurrentImage(), filepath, type, exportRecord);
   }
 
   @Override
@@ -257,9 +304,12 @@ public class LIMEApplication implements ILayeredApplication {
         && currentLayer.getVisibility()) {
       exportLayer = currentLayer;
     } else {
-      for (ILayer<IPicture<IPixel>> layer : getCurrentImage().getLayers()) {
-        if (layer.getVisibility()) {
-          exportLayer = layer;
+      List<ILayer<IPicture<IPixel>>> layers = getCurrentImage().getLayers();
+
+      // Layers are listed from bottommost to topmost.
+      for (int i = layers.size() - 1; i >= 0; i--) {
+        if (layers.get(i).getVisibility()) {
+          exportLayer = layers.get(i);
           break;
         }
       }
@@ -283,7 +333,10 @@ public class LIMEApplication implements ILayeredApplication {
       throw new IllegalArgumentException("Given image is null");
     }
 
-    getCurrentImage().getCurrentLayer().setImage(image);
+    ILayer<IPicture<IPixel>> currentLayer = getCurrentImage().getCurrentLayer();
+
+    releaseImage(currentLayer);
+    currentLayer.setImage(pictureStore.acquire(image));
   }
 
   @Override
@@ -298,6 +351,10 @@ public class LIMEApplication implements ILayeredApplication {
   @Override
   public void createLayer(ILayer<IPicture<IPixel>> layer) {
     getCurrentImage().addLayer(layer);
+
+    if (layer != null && layer.getImage() != null) {
+      layer.setImage(pictureStore.acquire(layer.getImage()));
+    }
   }
 
   @Override
@@ -335,12 +392,16 @@ public class LIMEApplication implements ILayeredApplication {
 
   @Override
   public void removeLayer(String name) throws IllegalArgumentException {
-    getCurrentImage().removeLayer(name);
+    releaseImage(getCurrentImage().removeLayer(name));
   }
 
   @Override
   public void removeLayer(ILayer<IPicture<IPixel>> layer) throws IllegalArgumentException {
-    getCurrentImage().removeLayer(layer);
+    if (layer == null) {
+      throw new IllegalArgumentException("Layer cannot be null");
+    }
+
+    removeLayer(layer.getName());
   }
 
   @Override
@@ -348,6 +409,11 @@ public class LIMEApplication implements ILayeredApplication {
     getCurrentImage().setVisibility(visible);
   }
 
+  @Override
+  public void setBlendMode(BlendMode mode) throws IllegalArgumentException {
+    getCurrentImage().setBlendMode(mode);
+  }
+
   @Override
   public void load(String filename) throws IllegalArgumentException {
     if (filename == null || filename.isEmpty()) {
@@ -355,30 +421,54 @@ public class LIMEApplication implements ILayeredApplication {
     }
 
     ILayeredPicture<ILayer<IPicture<IPixel>>> curPic = getCurrentImage();
+    FileType type = getFileType(filename);
+
     IPicture<IPixel> pic;
 
-    if (filename.contains(".ppm")) {
-      try {
-        pic = ImportExportUtil.importImageRegular(filename, FileType.PPM);
-      } catch (IOException i) {
-        throw new IllegalArgumentException("IOException occurred");
-      }
-    } else if (filename.contains(".jpeg")) {
-      try {
-        pic = ImportExportUtil.importImageRegular(filename, FileType.JPEG);
-      } catch (IOException i) {
-        throw new IllegalArgumentException("IOException occurred");
-      }
-    } else if (filename.contains(".png")) {
-      try {
-        pic = ImportExportUtil.importImageRegular(filename, FileType.PNG);
-      } catch (IOException i) {
-        throw new IllegalArgumentException("IOException occurred");
-      }
-    } else {
-      throw new IllegalArgumentException("Invalid ending");
+    try {
+      pic = decodeCache.load(filename, type);
+    } catch (IOException i) {
+      throw new IllegalArgumentException("IOException occurred");
+    }
+
+    releaseImage(curPic.getCurrentLayer());
+    curPic.setCurrentLayerTo(pictureStore.acquire(pic));
+
+    if (curPic.getHeight() == 0 && curPic.getWidth() == 0) {
+      curPic.setWidth(pic.getWidth());
+      curPic.setHeight(pic.getHeight());
+    }
+  }
+
+  @Override
+  public void loadPreview(String filename, int maxDimension) throws IllegalArgumentException {
+    if (filename == null || filename.isEmpty()) {
+      throw new IllegalArgumentException("Filename cannot be null or empty");
+    }
+
+    ILayeredPicture<ILayer<IPicture<IPixel>>> curPic = getCurrentImage();
+    FileType type = getFileType(filename);
+
+    IPicture<IPixel> pic;
+
+    try {
+      Dimension size = ImportExportUtil.readDimensions(filename, type);
+      IPicture<IPixel> preview =
+          ImportExportUtil.importImagePreview(filename, type, maxDimension);
+
+      pic = new ProxyPicture(preview, size.width, size.height, () -> {
+        try {
+          return decodeCache.load(filename, type);
+        } catch (IOException i) {
+          throw new IllegalStateException("IOException occurred");
+        }
+      });
+    } catch (IOException i) {
+      throw new IllegalArgumentException("IOException occurred");
     }
 
+    // The full-resolution content is unknown until decoded, so the proxy is not shared.
+    releaseImage(curPic.getCurrentLayer());
     curPic.setCurrentLayerTo(pic);
 
     if (curPic.getHeight() == 0 && curPic.getWidth() == 0) {
@@ -386,4 +476,67 @@ public class LIMEApplication implements ILayeredApplication {
       curPic.setHeight(pic.getHeight());
     }
   }
+
+  @Override
+  public void loadRegion(String filename, Rectangle region) throws IllegalArgumentException {
+    if (filename == null || filename.isEmpty()) {
+      throw new IllegalArgumentException("Filename cannot be null or empty");
+    } else if (region == null) {
+      throw new IllegalArgumentException("Region cannot be null");
+    }
+
+    ILayeredPicture<ILayer<IPicture<IPixel>>> curPic = getCurrentImage();
+    ILayer<IPicture<IPixel>> curLayer = curPic.getCurrentLayer();
+    FileType type = getFileType(filename);
+
+    try {
+      Dimension size = ImportExportUtil.readDimensions(filename, type);
+
+      if (region.isEmpty() || !new Rectangle(size).contains(region)) {
+        throw new IllegalArgumentException("Region is empty or not within the image");
+      }
+    } catch (IOException i) {
+      throw new IllegalArgumentException("IOException occurred");
+    }
+
+    ILayer<IPicture<IPixel>> regionLayer = new RegionLayer(curLayer.getName(),
+        curLayer.getVisibility(), filename, region, () -> {
+          try {
+            return ImportExportUtil.importImageRegion(filename, type, region);
+          } catch (IOException i) {
+            throw new IllegalStateException("IOException occurred");
+          }
+        });
+
+    if (curPic.getHeight() == 0 && curPic.getWidth() == 0) {
+      curPic.setWidth(region.width);
+      curPic.setHeight(region.height);
+    }
+
+    regionLayer.setBlendMode(curLayer.getBlendMode());
+    releaseImage(curLayer);
+    curPic.replaceLayer(curLayer.getName(), regionLayer);
+    curPic.setCurrentLayer(regionLayer.getName());
+  }
+
+  // Releases the given layer's reference to its shared image. Regions which have not been edited
+  // are not shared, so they are not decoded just to be released.
+  private void releaseImage(ILayer<IPicture<IPixel>> layer) {
+    if (!(layer instanceof RegionLayer) || ((RegionLayer) layer).isEdited()) {
+      pictureStore.release(layer.getImage());
+    }
+  }
+
+  // Returns the file type matching the extension of the given file path.
+  private FileType getFileType(String filename) throws IllegalArgumentException {
+    if (filename.contains(".ppm")) {
+      return FileType.PPM;
+    } else if (filename.contains(".jpeg")) {
+      return FileType.JPEG;
+    } else if (filename.contains(".png")) {
+      return FileType.PNG;
+    } else {
+      throw new IllegalArgumentException("Invalid ending");
+    }
+  }
 }
\ No newline at end of file
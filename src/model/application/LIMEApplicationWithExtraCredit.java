@@ -1,17 +1,23 @@
 package model.application;
 
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
 import model.application.ImportExportUtil.FileType;
+import model.picture.BlendMode;
 import model.picture.ExtraCreditPictureUtil;
 import model.picture.ILayer;
 import model.picture.ILayeredPicture;
 import model.picture.IPicture;
 import model.picture.Picture;
+import model.picture.SobelEdges;
 import model.pixel.ColorChannel;
 import model.pixel.IPixel;
 import model.pixel.Pixel;
@@ -89,6 +95,17 @@ public class LIMEApplicationWithExtraCredit implements IExtraCredit {
 
   @Override
   public void mosaic(int numOfSeeds) throws IllegalArgumentException {
+    mosaic(numOfSeeds, false);
+  }
+
+  @Override
+  public void mosaic(int numOfSeeds, boolean edgeAware) throws IllegalArgumentException {
+    mosaic(numOfSeeds, edgeAware, rand.nextLong());
+  }
+
+  @Override
+  public void mosaic(int numOfSeeds, boolean edgeAware, long seed)
+      throws IllegalArgumentException {
     IPicture<IPixel> curPic = app.getCurrentImage().getCurrentLayer().getImage();
 
     if (numOfSeeds > curPic.getHeight() * curPic.getWidth()) {
@@ -96,7 +113,13 @@ public class LIMEApplicationWithExtraCredit implements IExtraCredit {
     }
     IPixel[][] imageSubset = curPic.getPixelSequence();
 
-    populateRandLists(numOfSeeds, imageSubset);
+    rand.setSeed(seed);
+
+    if (edgeAware) {
+      populateEdgeLists(numOfSeeds, imageSubset, curPic);
+    } else {
+      populateRandLists(numOfSeeds, imageSubset);
+    }
     formTiles(imageSubset);
     IPixel[][] newImage = makeNewMosaicImage(imageSubset);
 
@@ -104,18 +127,61 @@ public class LIMEApplicationWithExtraCredit implements IExtraCredit {
         newImage));
   }
 
-  //populates the lists of seeds and coordinates with randomly chosen points
+  //populates the lists of seeds and coordinates with randomly chosen points, scaling random
+  //fractions of the image's size so that the same seed picks the same relative points at any size
   private void populateRandLists(int numOfSeeds, IPixel[][] imageSubset) {
+    Set<Point> chosen = new HashSet<>(randomSeedsCoords);
+
     while (randomSeedsCoords.size() < numOfSeeds) {
-      int width = rand.nextInt(imageSubset[0].length);
-      int height = rand.nextInt(imageSubset.length);
-      if (!randomSeedsCoords.contains(new Point(width, height))) {
+      int width = (int) (rand.nextDouble() * imageSubset[0].length);
+      int height = (int) (rand.nextDouble() * imageSubset.length);
+      if (chosen.add(new Point(width, height))) {
         randSeeds.add(new ArrayList<>(Collections.singletonList(imageSubset[height][width])));
         randomSeedsCoords.add(new Point(width, height));
       }
     }
   }
 
+  //populates the lists of seeds and coordinates with points chosen at random, where each pixel is
+  //chosen in proportion to the strength of the edge at it plus the average strength of every edge
+  private void populateEdgeLists(int numOfSeeds, IPixel[][] imageSubset,
+      IPicture<IPixel> curPic) {
+    int[][] edges = SobelEdges.magnitude(Picture.luminance(
+        curPic.getChannelValues(ColorChannel.RED), curPic.getChannelValues(ColorChannel.GREEN),
+        curPic.getChannelValues(ColorChannel.BLUE)));
+    int width = edges[0].length;
+    long[] cumulative = new long[edges.length * width];
+    long total = 0;
+
+    for (int[] row : edges) {
+      for (int edge : row) {
+        total += edge;
+      }
+    }
+
+    long base = total / cumulative.length + 1;
+    total = 0;
+
+    for (int i = 0; i < cumulative.length; i++) {
+      total += edges[i / width][i % width] + base;
+      cumulative[i] = total;
+    }
+
+    // Draws often repeat the pixels along strong edges, so chosen seeds are looked up in a set.
+    Set<Point> chosen = new HashSet<>(randomSeedsCoords);
+
+    while (randomSeedsCoords.size() < numOfSeeds) {
+      int index = Arrays.binarySearch(cumulative, (long) (rand.nextDouble() * total) + 1);
+      index = index < 0 ? -index - 1 : index;
+      Point seed = new Point(index % width, index / width);
+
+      if (chosen.add(seed)) {
+        randSeeds.add(new ArrayList<>(Collections.singletonList(imageSubset[seed.y][seed.x])));
+        randomSeedsCoords.add(seed);
+      }
+    }
+  }
+
   //forms the actual tiles by adding pixels closest to each seed to their specific array list
   private void formTiles(IPixel[][] imageSubset) {
     for (IPixel[] row : imageSubset) {
@@ -198,12 +264,24 @@ public class LIMEApplicationWithExtraCredit implements IExtraCredit {
     return app.blur(index);
   }
 
+  @Override
+  public ILayeredPicture<ILayer<IPicture<IPixel>>> blur(int index, double sigma)
+      throws IllegalArgumentException {
+    return app.blur(index, sigma);
+  }
+
   @Override
   public ILayeredPicture<ILayer<IPicture<IPixel>>> sharpen(int index)
       throws IllegalArgumentException {
     return app.sharpen(index);
   }
 
+  @Override
+  public ILayeredPicture<ILayer<IPicture<IPixel>>> sharpen(int index, double amount,
+      double radius, int threshold) throws IllegalArgumentException {
+    return app.sharpen(index, amount, radius, threshold);
+  }
+
   @Override
   public ILayeredPicture<ILayer<IPicture<IPixel>>> monochrome(int index)
       throws IllegalArgumentException {
@@ -302,14 +380,34 @@ public class LIMEApplicationWithExtraCredit implements IExtraCredit {
     app.setVisibility(visible);
   }
 
+  @Override
+  public void setBlendMode(BlendMode mode) throws IllegalArgumentException {
+    app.setBlendMode(mode);
+  }
+
   @Override
   public void exportTopMostVisibleLayer(String filepath, FileType type)
       throws IllegalArgumentException {
     app.exportTopMostVisibleLayer(filepath, type);
   }
 
+  @Override
+  public int exportCurrentImage(String filepath, FileType type) throws IllegalArgumentException {
+    return app.exportCurrentImage(filepath, type);
+  }
+
   @Override
   public void load(String filename) {
     app.load(filename);
   }
+
+  @Override
+  public void loadPreview(String filename, int maxDimension) throws IllegalArgumentException {
+    app.loadPreview(filename, maxDimension);
+  }
+
+  @Override
+  public void loadRegion(String filename, Rectangle region) throws IllegalArgumentException {
+    app.loadRegion(filename, region);
+  }
 }
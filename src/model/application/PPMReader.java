@@ -0,0 +1,152 @@
+package model.application;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the color channel values of a plain (P3) PPM file one at a time, without holding the whole
+ * file in memory. The header is read when the reader is constructed, after which the values are
+ * returned in the order they appear in the file: red, green, and blue for each pixel, row by row.
+ * Comments starting with '#' are ignored up to the end of their line.
+ */
+public class PPMReader implements Closeable {
+
+  private final InputStream in;
+  private final byte[] buffer;
+  private int position;
+  private int limit;
+  private final int width;
+  private final int height;
+  private final int maxVal;
+
+  /**
+   * Constructs a {@code PPMReader} for the PPM file at the given file path and reads its header.
+   *
+   * @param filename the path of the file
+   * @throws FileNotFoundException    if given file path does not lead to a file
+   * @throws IOException              if an IO exception occurs
+   * @throws IllegalArgumentException if given file path is null or does not lead to a PPM file
+   */
+  public PPMReader(String filename) throws IOException, IllegalArgumentException {
+    if (filename == null) {
+      throw new IllegalArgumentException("File is null or illegal");
+    }
+
+    this.in = new FileInputStream(filename);
+    this.buffer = new byte[1 << 16];
+    this.position = 0;
+    this.limit = 0;
+
+    try {
+      if (read() != 'P' || read() != '3') {
+        throw new IllegalArgumentException("Given file is not in PPM format");
+      }
+
+      this.width = nextValue();
+      this.height = nextValue();
+      this.maxVal = nextValue();
+    } catch (IOException | IllegalArgumentException e) {
+      in.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the width of the image in pixels.
+   *
+   * @return the width of the image
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Returns the height of the image in pixels.
+   *
+   * @return the height of the image
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Returns the maximum value of each color channel value in the image.
+   *
+   * @return the maximum value
+   */
+  public int getMaxVal() {
+    return maxVal;
+  }
+
+  /**
+   * Reads the next value from the file.
+   *
+   * @return the next non-negative integer in the file
+   * @throws IOException              if an IO exception occurs
+   * @throws IllegalArgumentException if the file ends or contains something other than a number
+   */
+  public int nextValue() throws IOException, IllegalArgumentException {
+    int c = read();
+
+    while (c == '#' || Character.isWhitespace(c)) {
+      if (c == '#') {
+        while (c != '\n' && c != '\r' && c != -1) {
+          c = read();
+        }
+      }
+
+      c = read();
+    }
+
+    if (c == -1) {
+      throw new IllegalArgumentException("Unexpected end of PPM file");
+    } else if (c < '0' || c > '9') {
+      throw new IllegalArgumentException("Given file is not in PPM format");
+    }
+
+    int value = 0;
+
+    while (c >= '0' && c <= '9') {
+      value = value * 10 + (c - '0');
+      c = read();
+    }
+
+    return value;
+  }
+
+  /**
+   * Reads and discards the given number of values from the file.
+   *
+   * @param count the number of values to skip
+   * @throws IOException              if an IO exception occurs
+   * @throws IllegalArgumentException if the file ends or contains something other than a number
+   */
+  public void skipValues(long count) throws IOException, IllegalArgumentException {
+    for (long i = 0; i < count; i++) {
+      nextValue();
+    }
+  }
+
+  // Reads the next byte of the file, or -1 at the end of the file.
+  private int read() throws IOException {
+    if (position == limit) {
+      limit = in.read(buffer, 0, buffer.length);
+      position = 0;
+
+      if (limit <= 0) {
+        limit = 0;
+        return -1;
+      }
+    }
+
+    return buffer[position++] & 0xFF;
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
@@ -0,0 +1,166 @@
+package model.application;
+
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import model.picture.IPicture;
+import model.pixel.ColorChannel;
+import model.pixel.IPixel;
+
+/**
+ * Shares the storage of images with identical content. Images are grouped by their dimensions, and
+ * an image is only hashed and compared for equality once another image of the same dimensions is
+ * in the store, so images of distinct sizes are shared without reading their content. Each shared
+ * image keeps a count of the references to it so that it can be dropped once nothing uses it.
+ *
+ * <p>Sharing relies on images never changing once constructed: writing to a shared image always
+ * produces a new image, which splits it from the other references. Images given to this store must
+ * therefore not be changed afterwards, including through the pixels they were constructed from.
+ */
+public class PictureStore {
+
+  private final Map<Dimension, List<Entry>> bySize;
+  private final Map<IPicture<IPixel>, Entry> byReference;
+
+  /**
+   * A shared image along with its content hash, computed once it is first needed, and the number
+   * of references to it.
+   */
+  private static class Entry {
+
+    private final IPicture<IPixel> image;
+    private Long hash;
+    private int references;
+
+    private Entry(IPicture<IPixel> image) {
+      this.image = image;
+      this.hash = null;
+      this.references = 0;
+    }
+
+    // Returns the content hash of this entry's image, computing it on first use.
+    private long getHash() {
+      if (hash == null) {
+        hash = contentHash(image);
+      }
+
+      return hash;
+    }
+  }
+
+  /**
+   * Constructs an empty {@code PictureStore}.
+   */
+  public PictureStore() {
+    this.bySize = new HashMap<>();
+    this.byReference = new IdentityHashMap<>();
+  }
+
+  /**
+   * Returns the shared image with the same content as the given image, adding the given image to
+   * this store if no such image exists, and counts a new reference to it.
+   *
+   * @param image the image to share
+   * @return the shared image equal to the given image
+   * @throws IllegalArgumentException if given image is null
+   */
+  public synchronized IPicture<IPixel> acquire(IPicture<IPixel> image)
+      throws IllegalArgumentException {
+    if (image == null) {
+      throw new IllegalArgumentException("Given image cannot be null");
+    }
+
+    Entry entry = byReference.get(image);
+
+    if (entry == null) {
+      List<Entry> candidates = bySize.computeIfAbsent(
+          new Dimension(image.getWidth(), image.getHeight()), size -> new ArrayList<>());
+      Entry added = new Entry(image);
+
+      for (Entry candidate : candidates) {
+        if (candidate.getHash() == added.getHash() && candidate.image.equals(image)) {
+          entry = candidate;
+          break;
+        }
+      }
+
+      if (entry == null) {
+        entry = added;
+        candidates.add(entry);
+        byReference.put(image, entry);
+      }
+    }
+
+    entry.references++;
+
+    return entry.image;
+  }
+
+  /**
+   * Removes a reference to the given shared image, dropping it from this store once it has no
+   * references left. Images which are not shared through this store are ignored.
+   *
+   * @param image the shared image that is no longer used
+   */
+  public synchronized void release(IPicture<IPixel> image) {
+    Entry entry = image == null ? null : byReference.get(image);
+
+    if (entry == null) {
+      return;
+    }
+
+    entry.references--;
+
+    if (entry.references <= 0) {
+      byReference.remove(image);
+
+      Dimension size = new Dimension(image.getWidth(), image.getHeight());
+      List<Entry> candidates = bySize.get(size);
+      candidates.remove(entry);
+
+      if (candidates.isEmpty()) {
+        bySize.remove(size);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of references to the given shared image.
+   *
+   * @param image the shared image
+   * @return the number of references, or 0 if the image is not shared through this store
+   */
+  public synchronized int getReferenceCount(IPicture<IPixel> image) {
+    Entry entry = byReference.get(image);
+
+    return entry == null ? 0 : entry.references;
+  }
+
+  /**
+   * Returns the number of distinct images held by this store.
+   *
+   * @return the number of distinct images
+   */
+  public synchronized int size() {
+    return byReference.size();
+  }
+
+  // Hashes the dimensions and color channel values of the given image.
+  private static long contentHash(IPicture<IPixel> image) {
+    long hash = 31L * image.getWidth() + image.getHeight();
+    hash = 31 * hash + image.getMaxVal();
+
+    for (ColorChannel channel : ColorChannel.values()) {
+      for (int[] row : image.getChannelValues(channel)) {
+        for (int value : row) {
+          hash = 31 * hash + value;
+        }
+      }
+    }
+
+    return hash;
+  }
+}
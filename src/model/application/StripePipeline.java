@@ -0,0 +1,327 @@
+package model.application;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies a chain of kernel filters and color transformations to a PPM file while streaming it,
+ * so that images larger than the heap can be processed with a fixed memory footprint. The source is
+ * read one row at a time and each row is written to the destination as soon as every operation in
+ * the chain has produced it. Each kernel only keeps a window of its input rows, extending half the
+ * kernel's size above and below the row being produced. Results are the same as applying each
+ * operation through {@code IPicture.filter} and {@code IPicture.colorTransform} in turn, with every
+ * value clamped between 0 and the source's maximum value.
+ */
+public class StripePipeline {
+
+  private final List<Operation> operations;
+
+  /**
+   * An operation in the chain, producing rows from the rows of the previous operation.
+   */
+  private interface Operation {
+
+    // Number of input rows needed above and below each output row.
+    int getRadius();
+
+    // Computes the output row from the input window, where window[radius] is the input row at the
+    // same position as the output row and rows outside the image are null.
+    void apply(int[][][] window, int[][] out, int maxVal);
+  }
+
+  /**
+   * Constructs a {@code StripePipeline} with no operations.
+   */
+  public StripePipeline() {
+    this.operations = new ArrayList<>();
+  }
+
+  /**
+   * Adds a filter with the given kernel to the end of the chain.
+   *
+   * @param kernel the odd and square kernel to filter with
+   * @throws IllegalArgumentException if given kernel is null, not odd, or not square
+   */
+  public void addKernel(double[][] kernel) throws IllegalArgumentException {
+    if (kernel == null || kernel.length % 2 == 0 || kernel.length != kernel[0].length) {
+      throw new IllegalArgumentException("Given kernel is not odd and square");
+    }
+
+    double[][] taps = new double[kernel.length][];
+
+    for (int i = 0; i < kernel.length; i++) {
+      taps[i] = kernel[i].clone();
+    }
+
+    operations.add(new Operation() {
+      @Override
+      public int getRadius() {
+        return taps.length / 2;
+      }
+
+      @Override
+      public void apply(int[][][] window, int[][] out, int maxVal) {
+        int radius = taps.length / 2;
+        int width = out[0].length;
+
+        for (int c = 0; c < out.length; c++) {
+          for (int x = 0; x < width; x++) {
+            int sum = 0;
+
+            // Taps outside the image add nothing, matching IPicture.getImageSubset's zero fill.
+            for (int h = 0; h < taps.length; h++) {
+              if (window[h] == null) {
+                continue;
+              }
+
+              int[] row = window[h][c];
+
+              for (int w = Math.max(0, radius - x); w < taps.length
+                  && x - radius + w < width; w++) {
+                sum += taps[h][w] * row[x - radius + w];
+              }
+            }
+
+            out[c][x] = clamp(sum, maxVal);
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Adds a color transformation with the given matrix to the end of the chain.
+   *
+   * @param matrix the 3x3 matrix to transform each pixel's red, green, and blue values with
+   * @throws IllegalArgumentException if given matrix is null or not 3x3
+   */
+  public void addMatrix(double[][] matrix) throws IllegalArgumentException {
+    if (matrix == null || matrix.length != 3 || matrix[0].length != 3) {
+      throw new IllegalArgumentException("Given matrix is not the same dimensions"
+          + " as the number of color channels");
+    }
+
+    double[][] rows = {matrix[0].clone(), matrix[1].clone(), matrix[2].clone()};
+
+    operations.add(new Operation() {
+      @Override
+      public int getRadius() {
+        return 0;
+      }
+
+      @Override
+      public void apply(int[][][] window, int[][] out, int maxVal) {
+        int[][] in = window[0];
+
+        for (int x = 0; x < out[0].length; x++) {
+          for (int c = 0; c < 3; c++) {
+            out[c][x] = clamp((int) (rows[c][0] * in[0][x] + rows[c][1] * in[1][x]
+                + rows[c][2] * in[2][x]), maxVal);
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Adds the same blur as {@code IApplication.blur} to the end of the chain.
+   */
+  public void addBlur() {
+    addKernel(Application.BLUR_KERNEL.getWeights());
+  }
+
+  /**
+   * Adds the same sharpen as {@code IApplication.sharpen} to the end of the chain.
+   */
+  public void addSharpen() {
+    addKernel(Application.SHARPEN_KERNEL.getWeights());
+  }
+
+  /**
+   * Adds the same monochrome as {@code IApplication.monochrome} to the end of the chain.
+   */
+  public void addMonochrome() {
+    addMatrix(Application.MONOCHROME_MATRIX);
+  }
+
+  /**
+   * Adds the same sepia tone as {@code IApplication.sepiaTone} to the end of the chain.
+   */
+  public void addSepiaTone() {
+    addMatrix(Application.SEPIA_MATRIX);
+  }
+
+  /**
+   * Returns the number of operations in the chain.
+   *
+   * @return the number of operations
+   */
+  public int size() {
+    return operations.size();
+  }
+
+  /**
+   * Streams the PPM file at the source path through the chain of operations into a new PPM file at
+   * the destination path.
+   *
+   * @param source      the path of the PPM file to read
+   * @param destination the path of the PPM file to write
+   * @throws IllegalArgumentException if either path is null, or the source is not a PPM file
+   * @throws IOException              if an IO exception occurs
+   */
+  public void run(String source, String destination)
+      throws IllegalArgumentException, IOException {
+    if (source == null || destination == null) {
+      throw new IllegalArgumentException("Source and destination cannot be null");
+    }
+
+    try (PPMReader reader = new PPMReader(source);
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(destination), 1 << 16)) {
+      int width = reader.getWidth();
+      int height = reader.getHeight();
+
+      Stage stage = new SourceStage(reader);
+
+      for (Operation operation : operations) {
+        stage = new OperationStage(stage, operation, width, height, reader.getMaxVal());
+      }
+
+      write(out, String.format("P3\n%d %d\n%d\n", width, height, reader.getMaxVal()));
+
+      for (int y = 0; y < height; y++) {
+        int[][] row = stage.next();
+
+        for (int x = 0; x < width; x++) {
+          for (int c = 0; c < 3; c++) {
+            write(out, row[c][x]);
+          }
+        }
+      }
+    }
+  }
+
+  // Clamps the given value between 0 and the given maximum value.
+  private static int clamp(int value, int maxVal) {
+    return Math.max(0, Math.min(maxVal, value));
+  }
+
+  // Writes the given string as ASCII.
+  private static void write(OutputStream out, String s) throws IOException {
+    for (int i = 0; i < s.length(); i++) {
+      out.write(s.charAt(i));
+    }
+  }
+
+  // Writes the given value followed by a newline.
+  private static void write(OutputStream out, int value) throws IOException {
+    write(out, Integer.toString(value));
+    out.write('\n');
+  }
+
+  /**
+   * Produces the rows of an image in order from top to bottom.
+   */
+  private interface Stage {
+
+    // Returns the next row as red, green, and blue channel values. The returned arrays may be
+    // reused by later calls.
+    int[][] next() throws IOException;
+  }
+
+  /**
+   * Stage reading rows from a PPM file.
+   */
+  private static class SourceStage implements Stage {
+
+    private final PPMReader reader;
+
+    private SourceStage(PPMReader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public int[][] next() throws IOException {
+      int[][] row = new int[3][reader.getWidth()];
+
+      for (int x = 0; x < reader.getWidth(); x++) {
+        row[0][x] = reader.nextValue();
+        row[1][x] = reader.nextValue();
+        row[2][x] = reader.nextValue();
+      }
+
+      return row;
+    }
+  }
+
+  /**
+   * Stage applying an operation to the rows of the previous stage, keeping a window of the input
+   * rows around the row being produced.
+   */
+  private static class OperationStage implements Stage {
+
+    private final Stage input;
+    private final Operation operation;
+    private final int height;
+    private final int maxVal;
+    private final int radius;
+    private final int[][][] rows;
+    private final int[][][] window;
+    private final int[][][] outputs;
+    private int produced;
+    private int read;
+
+    private OperationStage(Stage input, Operation operation, int width, int height, int maxVal) {
+      this.input = input;
+      this.operation = operation;
+      this.height = height;
+      this.maxVal = maxVal;
+      this.radius = operation.getRadius();
+      this.rows = new int[2 * radius + 1][][];
+      this.window = new int[2 * radius + 1][][];
+      this.outputs = new int[][][] {new int[3][width], new int[3][width]};
+      this.produced = 0;
+      this.read = 0;
+    }
+
+    @Override
+    public int[][] next() throws IOException {
+      int y = produced;
+
+      // Input rows are copied since the previous stage may reuse its arrays.
+      while (read <= y + radius && read < height) {
+        int[][] row = input.next();
+        int[][] copy = rows[read % rows.length];
+
+        if (copy == null) {
+          copy = new int[3][];
+          rows[read % rows.length] = copy;
+        }
+
+        for (int c = 0; c < 3; c++) {
+          if (copy[c] == null) {
+            copy[c] = row[c].clone();
+          } else {
+            System.arraycopy(row[c], 0, copy[c], 0, row[c].length);
+          }
+        }
+
+        read++;
+      }
+
+      for (int i = 0; i < window.length; i++) {
+        int source = y - radius + i;
+        window[i] = source < 0 || source >= height ? null : rows[source % rows.length];
+      }
+
+      int[][] out = outputs[y % 2];
+      operation.apply(window, out, maxVal);
+      produced++;
+
+      return out;
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package model.application;
+
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import model.picture.ILayer;
+import model.picture.IPicture;
+import model.picture.ProxyPicture;
+import model.pixel.IPixel;
+
+/**
+ * Creates small thumbnails of layers' images, keeping each layer's thumbnail until that layer's
+ * generation changes. Since a layer's generation only changes when its image is replaced, a
+ * thumbnail is only created again when its layer's image has changed. Thumbnails are sampled from
+ * the nearest pixels of each image, or from the reduced-resolution preview of images which have not
+ * been decoded at full resolution yet.
+ */
+public class ThumbnailCache {
+
+  // Default maximum width and height of thumbnails.
+  public static final int DEFAULT_SIZE = 64;
+
+  private final int maxDimension;
+  private final Map<String, Entry> entries;
+  private int created;
+
+  /**
+   * A thumbnail along with the generation of the layer it was created from.
+   */
+  private static class Entry {
+
+    private final long generation;
+    private final Image thumbnail;
+
+    private Entry(long generation, Image thumbnail) {
+      this.generation = generation;
+      this.thumbnail = thumbnail;
+    }
+  }
+
+  /**
+   * Constructs a {@code ThumbnailCache} creating thumbnails no larger than the given size.
+   *
+   * @param maxDimension the maximum width and height of thumbnails
+   * @throws IllegalArgumentException if maxDimension is not positive
+   */
+  public ThumbnailCache(int maxDimension) throws IllegalArgumentException {
+    if (maxDimension <= 0) {
+      throw new IllegalArgumentException("Maximum dimension must be positive");
+    }
+
+    this.maxDimension = maxDimension;
+    this.entries = new HashMap<>();
+    this.created = 0;
+  }
+
+  /**
+   * Constructs a {@code ThumbnailCache} creating thumbnails no larger than {@code DEFAULT_SIZE}.
+   */
+  public ThumbnailCache() {
+    this(DEFAULT_SIZE);
+  }
+
+  /**
+   * Returns the thumbnails of the given layers by name, in the same order as the layers. Layers
+   * without an image have a null thumbnail. Thumbnails of layers which are not given are discarded.
+   *
+   * @param layers the layers to return the thumbnails of
+   * @return the thumbnail of each layer by name
+   * @throws IllegalArgumentException if given list of layers is null
+   */
+  public synchronized Map<String, Image> getThumbnails(List<ILayer<IPicture<IPixel>>> layers)
+      throws IllegalArgumentException {
+    if (layers == null) {
+      throw new IllegalArgumentException("Layers cannot be null");
+    }
+
+    Map<String, Image> result = new LinkedHashMap<>();
+    Set<String> names = new HashSet<>();
+
+    for (ILayer<IPicture<IPixel>> layer : layers) {
+      names.add(layer.getName());
+
+      if (layer.getImage() == null) {
+        entries.remove(layer.getName());
+        result.put(layer.getName(), null);
+        continue;
+      }
+
+      Entry entry = entries.get(layer.getName());
+
+      if (entry == null || entry.generation != layer.getGeneration()) {
+        entry = new Entry(layer.getGeneration(), createThumbnail(layer.getImage()));
+        entries.put(layer.getName(), entry);
+        created++;
+      }
+
+      result.put(layer.getName(), entry.thumbnail);
+    }
+
+    entries.keySet().retainAll(names);
+
+    return result;
+  }
+
+  /**
+   * Returns the number of thumbnails this cache has created.
+   *
+   * @return the number of thumbnails created
+   */
+  public synchronized int getCreatedCount() {
+    return created;
+  }
+
+  // Samples a thumbnail of the given image, no larger than the maximum dimension.
+  private Image createThumbnail(IPicture<IPixel> image) {
+    if (image instanceof ProxyPicture && !((ProxyPicture) image).isResolved()) {
+      image = ((ProxyPicture) image).getPreview();
+    }
+
+    double scale = Math.min(1, (double) maxDimension
+        / Math.max(image.getWidth(), image.getHeight()));
+    int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+    int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+    IPicture<IPixel> sample = ImageUtil.sample(image,
+        new Rectangle(image.getWidth(), image.getHeight()), width, height);
+    BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+    sample.getPackedRGB(new Rectangle(width, height),
+        ((DataBufferInt) thumbnail.getRaster().getDataBuffer()).getData(), 0, width);
+
+    return thumbnail;
+  }
+}
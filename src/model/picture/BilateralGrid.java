@@ -0,0 +1,242 @@
+package model.picture;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Smooths planes of channel values while preserving edges by approximating a bilateral filter with
+ * the bilateral grid of Paris and Durand. Each value is splatted into the eight cells around it in
+ * a coarse three-dimensional grid indexed by its position, divided by the spatial standard
+ * deviation, and its guide value, divided by the range standard deviation, weighted by how close
+ * each cell is. The grid is blurred along each of its
+ * three dimensions, and each value is sliced back out by interpolating the grid trilinearly at its
+ * position and guide value. Values with very different guide values land far apart in the grid and
+ * so are not averaged together, which keeps edges sharp. The grid has far fewer cells than the
+ * planes have values, so the time taken is close to proportional to the number of values whatever
+ * the standard deviations.
+ *
+ * <p>The grid is a single {@code float} array holding, for each cell, the sum of each plane's
+ * splatted values followed by their count. The grid is blurred one line at a time in parallel and
+ * sliced one row at a time in parallel.
+ */
+public final class BilateralGrid {
+
+  // Cells of padding on each side of every dimension, which keeps blurring and slicing in bounds.
+  private static final int PADDING = 2;
+
+  private final double spatialSigma;
+  private final double rangeSigma;
+
+  /**
+   * Constructs a {@code BilateralGrid} with the given spatial and range standard deviations, which
+   * are the sizes of a cell of the grid.
+   *
+   * @param spatialSigma the standard deviation of the smoothing across positions, in pixels
+   * @param rangeSigma   the standard deviation of the smoothing across guide values
+   * @throws IllegalArgumentException if either standard deviation is below 1 or not finite
+   */
+  public BilateralGrid(double spatialSigma, double rangeSigma) throws IllegalArgumentException {
+    if (!(spatialSigma >= 1) || Double.isInfinite(spatialSigma)) {
+      throw new IllegalArgumentException("Spatial sigma must be finite and at least 1");
+    } else if (!(rangeSigma >= 1) || Double.isInfinite(rangeSigma)) {
+      throw new IllegalArgumentException("Range sigma must be finite and at least 1");
+    }
+
+    this.spatialSigma = spatialSigma;
+    this.rangeSigma = rangeSigma;
+  }
+
+  /**
+   * Returns the standard deviation of the smoothing across positions, in pixels.
+   *
+   * @return the spatial standard deviation
+   */
+  public double getSpatialSigma() {
+    return spatialSigma;
+  }
+
+  /**
+   * Returns the standard deviation of the smoothing across guide values.
+   *
+   * @return the range standard deviation
+   */
+  public double getRangeSigma() {
+    return rangeSigma;
+  }
+
+  /**
+   * Smooths each of the given planes of channel values, averaging values whose guide values are
+   * close together, and rounding each smoothed value to the nearest integer.
+   *
+   * @param planes the planes of channel values to smooth, each as rows of equal length
+   * @param guide  the non-negative guide values, as rows matching each plane
+   * @return the smoothed planes, each as rows matching the guide
+   * @throws IllegalArgumentException if any argument is null, a plane does not match the guide, or
+   *                                  a guide value is negative
+   */
+  public int[][][] filter(int[][][] planes, int[][] guide) throws IllegalArgumentException {
+    if (planes == null || guide == null) {
+      throw new IllegalArgumentException("Planes and guide cannot be null");
+    }
+
+    int height = guide.length;
+    int width = height == 0 ? 0 : guide[0].length;
+    int maxGuide = 0;
+
+    for (int[] row : guide) {
+      if (row == null || row.length != width) {
+        throw new IllegalArgumentException("Rows of the guide must be the same length");
+      }
+
+      for (int value : row) {
+        if (value < 0) {
+          throw new IllegalArgumentException("Guide values cannot be negative");
+        }
+
+        maxGuide = Math.max(maxGuide, value);
+      }
+    }
+
+    for (int[][] plane : planes) {
+      if (plane == null || plane.length != height) {
+        throw new IllegalArgumentException("Planes must match the guide");
+      }
+
+      for (int[] row : plane) {
+        if (row == null || row.length != width) {
+          throw new IllegalArgumentException("Planes must match the guide");
+        }
+      }
+    }
+
+    int stride = planes.length + 1;
+    int sizeX = (int) ((width - 1) / spatialSigma) + 1 + 2 * PADDING;
+    int sizeY = (int) ((height - 1) / spatialSigma) + 1 + 2 * PADDING;
+    int sizeZ = (int) (maxGuide / rangeSigma) + 1 + 2 * PADDING;
+    float[] grid = new float[sizeX * sizeY * sizeZ * stride];
+
+    // Splatting is sequential, since neighboring values land in the same cells.
+    double[] values = new double[stride];
+    values[planes.length] = 1;
+
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        for (int p = 0; p < planes.length; p++) {
+          values[p] = planes[p][y][x];
+        }
+
+        splat(grid, sizeX, sizeY, stride, x / spatialSigma + PADDING, y / spatialSigma + PADDING,
+            guide[y][x] / rangeSigma + PADDING, values);
+      }
+    }
+
+    blur(grid, sizeX, sizeY, sizeZ, stride, 1, sizeX, sizeY * sizeZ);
+    blur(grid, sizeX, sizeY, sizeZ, stride, sizeX, sizeY, sizeX * sizeZ);
+    blur(grid, sizeX, sizeY, sizeZ, stride, sizeX * sizeY, sizeZ, 1);
+
+    int[][][] result = new int[planes.length][height][width];
+
+    IntStream.range(0, height).parallel().forEach(y -> {
+      double[] sums = new double[stride];
+
+      for (int x = 0; x < width; x++) {
+        slice(grid, sizeX, sizeY, stride, x / spatialSigma + PADDING, y / spatialSigma + PADDING,
+            guide[y][x] / rangeSigma + PADDING, sums);
+
+        for (int p = 0; p < planes.length; p++) {
+          result[p][y][x] = sums[planes.length] > 0
+              ? (int) Math.round(sums[p] / sums[planes.length]) : planes[p][y][x];
+        }
+      }
+    });
+
+    return result;
+  }
+
+  // Blurs every line of the grid along one dimension with the weights 1/4, 1/2, 1/4, in parallel.
+  // Cells along a line are the given step apart, lines are the given length, and the lines are
+  // found by walking the cells of the other two dimensions.
+  private static void blur(float[] grid, int sizeX, int sizeY, int sizeZ, int stride, int step,
+      int length, int lines) {
+    IntStream.range(0, lines).parallel().forEach(line -> {
+      int start = lineStart(line, step, sizeX, sizeY);
+      float[] previous = new float[stride];
+      float[] current = new float[stride];
+
+      for (int i = 0; i < length; i++) {
+        int cell = (start + i * step) * stride;
+        int next = (start + (i + 1) * step) * stride;
+
+        for (int s = 0; s < stride; s++) {
+          current[s] = grid[cell + s];
+          float after = i + 1 < length ? grid[next + s] : 0;
+          grid[cell + s] = 0.25f * previous[s] + 0.5f * current[s] + 0.25f * after;
+          previous[s] = current[s];
+        }
+      }
+    });
+  }
+
+  // Returns the index of the first cell of the given line of the grid along the dimension with the
+  // given step.
+  private static int lineStart(int line, int step, int sizeX, int sizeY) {
+    if (step == 1) {
+      return line * sizeX;
+    } else if (step == sizeX) {
+      return line / sizeX * sizeX * sizeY + line % sizeX;
+    }
+
+    return line;
+  }
+
+  // Adds the given values to the eight cells around the given coordinates, weighted trilinearly by
+  // how close each cell is.
+  private static void splat(float[] grid, int sizeX, int sizeY, int stride, double x, double y,
+      double z, double[] values) {
+    int x0 = (int) x;
+    int y0 = (int) y;
+    int z0 = (int) z;
+    double fx = x - x0;
+    double fy = y - y0;
+    double fz = z - z0;
+
+    for (int corner = 0; corner < 8; corner++) {
+      int dx = corner & 1;
+      int dy = corner >> 1 & 1;
+      int dz = corner >> 2;
+      double weight = (dx == 0 ? 1 - fx : fx) * (dy == 0 ? 1 - fy : fy)
+          * (dz == 0 ? 1 - fz : fz);
+      int cell = (((z0 + dz) * sizeY + y0 + dy) * sizeX + x0 + dx) * stride;
+
+      for (int s = 0; s < stride; s++) {
+        grid[cell + s] += (float) (weight * values[s]);
+      }
+    }
+  }
+
+  // Fills the given sums with the grid interpolated trilinearly at the given coordinates.
+  private static void slice(float[] grid, int sizeX, int sizeY, int stride, double x, double y,
+      double z, double[] sums) {
+    int x0 = (int) x;
+    int y0 = (int) y;
+    int z0 = (int) z;
+    double fx = x - x0;
+    double fy = y - y0;
+    double fz = z - z0;
+
+    Arrays.fill(sums, 0);
+
+    for (int corner = 0; corner < 8; corner++) {
+      int dx = corner & 1;
+      int dy = corner >> 1 & 1;
+      int dz = corner >> 2;
+      double weight = (dx == 0 ? 1 - fx : fx) * (dy == 0 ? 1 - fy : fy)
+          * (dz == 0 ? 1 - fz : fz);
+      int cell = (((z0 + dz) * sizeY + y0 + dy) * sizeX + x0 + dx) * stride;
+
+      for (int s = 0; s < stride; s++) {
+        sums[s] += weight * grid[cell + s];
+      }
+    }
+  }
+}
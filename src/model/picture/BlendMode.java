@@ -0,0 +1,27 @@
+package model.picture;
+
+/**
+ * Represents the ways a layer's image can be blended with the composite of the layers below it.
+ * Every mode draws a layer over a fully transparent composite unchanged.
+ */
+public enum BlendMode {
+
+  // Draws the layer over the composite.
+  NORMAL,
+
+  // Multiplies the layer's colors with the composite's colors, which darkens the composite.
+  MULTIPLY,
+
+  // Multiplies the inverse of the layer's colors with the inverse of the composite's colors, which
+  // lightens the composite.
+  SCREEN,
+
+  // Multiplies the dark parts of the composite and screens its light parts.
+  OVERLAY,
+
+  // Adds the layer's colors and opacity to the composite's, clamping at the maximum value.
+  ADD,
+
+  // Subtracts the darker of the layer's and the composite's colors from the lighter one.
+  DIFFERENCE
+}
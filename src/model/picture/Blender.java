@@ -0,0 +1,296 @@
+package model.picture;
+
+/**
+ * Blends rows of premultiplied, packed ARGB values with a {@code BlendMode}. Rows are blended along
+ * one of two paths which produce identical results: the packed path blends one packed pixel at a
+ * time, while the planar path unpacks a block of pixels into primitive arrays and blends each
+ * channel with a loop per blend mode, which lets the JIT compiler use the processor's vector
+ * instructions. By default normal blending takes the packed path, which scales two channels per
+ * multiply, and every other mode takes the planar path. Setting the {@code lime.blend} system
+ * property to {@code packed} or {@code planar} forces every mode along that path.
+ */
+public final class Blender {
+
+  /**
+   * The paths along which rows can be blended.
+   */
+  public enum Path { PACKED, PLANAR }
+
+  // System property which forces one path by name.
+  public static final String PATH_PROPERTY = "lime.blend";
+
+  // Number of pixels unpacked into channel planes at once by the planar path.
+  private static final int BLOCK_SIZE = 1024;
+
+  private static final Path FORCED_PATH = parsePath(System.getProperty(PATH_PROPERTY));
+
+  private Blender() {
+  }
+
+  // Returns the path with the given name, or null if the name is null or not a path's name.
+  private static Path parsePath(String name) {
+    for (Path path : Path.values()) {
+      if (path.name().equalsIgnoreCase(name)) {
+        return path;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the path used for the given blend mode when none is given, which is the path forced by
+   * the {@code lime.blend} system property if it is set.
+   *
+   * @param mode the blend mode to find the path for
+   * @return the default path for the given mode
+   * @throws IllegalArgumentException if given mode is null
+   */
+  public static Path getDefaultPath(BlendMode mode) throws IllegalArgumentException {
+    if (mode == null) {
+      throw new IllegalArgumentException("Blend mode cannot be null");
+    } else if (FORCED_PATH != null) {
+      return FORCED_PATH;
+    }
+
+    return mode == BlendMode.NORMAL ? Path.PACKED : Path.PLANAR;
+  }
+
+  /**
+   * Blends each of the given source values into the destination value at the same index using the
+   * given blend mode along the mode's default path.
+   *
+   * @param mode        the blend mode to use
+   * @param source      the premultiplied ARGB values to blend
+   * @param destination the premultiplied ARGB values to blend into
+   * @throws IllegalArgumentException if any argument is null or the arrays differ in length
+   */
+  public static void blend(BlendMode mode, int[] source, int[] destination)
+      throws IllegalArgumentException {
+    blend(mode, source, destination, getDefaultPath(mode));
+  }
+
+  /**
+   * Blends each of the given source values into the destination value at the same index using the
+   * given blend mode along the given path.
+   *
+   * @param mode        the blend mode to use
+   * @param source      the premultiplied ARGB values to blend
+   * @param destination the premultiplied ARGB values to blend into
+   * @param path        the path to blend along
+   * @throws IllegalArgumentException if any argument is null or the arrays differ in length
+   */
+  public static void blend(BlendMode mode, int[] source, int[] destination, Path path)
+      throws IllegalArgumentException {
+    if (mode == null || source == null || destination == null || path == null) {
+      throw new IllegalArgumentException("Arguments cannot be null");
+    } else if (source.length != destination.length) {
+      throw new IllegalArgumentException("Source and destination must be the same length");
+    }
+
+    if (path == Path.PACKED) {
+      blendPacked(mode, source, destination);
+    } else {
+      blendPlanar(mode, source, destination);
+    }
+  }
+
+  // Blends the given rows one packed pixel at a time.
+  private static void blendPacked(BlendMode mode, int[] source, int[] destination) {
+    for (int i = 0; i < source.length; i++) {
+      int s = source[i];
+      int d = destination[i];
+
+      if (mode == BlendMode.NORMAL) {
+        destination[i] = over(s, d);
+        continue;
+      }
+
+      int sa = s >>> 24;
+      int da = d >>> 24;
+      int alpha = mode == BlendMode.ADD ? Math.min(255, sa + da) : sa + da - div255(sa * da);
+      int result = alpha << 24;
+
+      for (int shift = 0; shift < 24; shift += 8) {
+        int value = channel(mode, s >>> shift & 0xFF, d >>> shift & 0xFF, sa, da);
+        result |= clamp(value, alpha) << shift;
+      }
+
+      destination[i] = result;
+    }
+  }
+
+  // Returns the premultiplied ARGB value of the given source value drawn over the given
+  // destination value. Each destination channel is scaled by the source's transparency with one
+  // multiply for the red and blue channels and one for the alpha and green channels, then the
+  // source is added, which cannot overflow a channel since the source is premultiplied.
+  private static int over(int source, int destination) {
+    int alpha = source >>> 24;
+
+    if (alpha == 0xFF) {
+      return source;
+    } else if (alpha == 0) {
+      return destination;
+    }
+
+    int inverse = 0xFF - alpha;
+    int redBlue = (destination & 0x00FF00FF) * inverse + 0x00800080;
+    int alphaGreen = (destination >>> 8 & 0x00FF00FF) * inverse + 0x00800080;
+
+    // Divides each 16-bit product by 255, rounding to the nearest integer.
+    redBlue = (redBlue + (redBlue >>> 8 & 0x00FF00FF)) >>> 8 & 0x00FF00FF;
+    alphaGreen = (alphaGreen + (alphaGreen >>> 8 & 0x00FF00FF)) & 0xFF00FF00;
+
+    return source + (redBlue | alphaGreen);
+  }
+
+  // Returns the unclamped premultiplied value of one color channel blended with the given mode.
+  private static int channel(BlendMode mode, int s, int d, int sa, int da) {
+    switch (mode) {
+      case MULTIPLY:
+        return multiply(s, d, sa, da);
+      case SCREEN:
+        return screen(s, d);
+      case OVERLAY:
+        return overlay(s, d, sa, da);
+      case ADD:
+        return add(s, d);
+      case DIFFERENCE:
+        return difference(s, d, sa, da);
+      default:
+        return normal(s, d, sa);
+    }
+  }
+
+  // Blends the given rows by unpacking blocks of pixels into channel planes.
+  private static void blendPlanar(BlendMode mode, int[] source, int[] destination) {
+    int size = Math.min(BLOCK_SIZE, source.length);
+    int[] sa = new int[size];
+    int[] da = new int[size];
+    int[] alpha = new int[size];
+    int[][] planes = new int[3][size];
+
+    for (int start = 0; start < source.length; start += size) {
+      int length = Math.min(size, source.length - start);
+
+      for (int i = 0; i < length; i++) {
+        sa[i] = source[start + i] >>> 24;
+        da[i] = destination[start + i] >>> 24;
+      }
+
+      if (mode == BlendMode.ADD) {
+        for (int i = 0; i < length; i++) {
+          alpha[i] = Math.min(255, sa[i] + da[i]);
+        }
+      } else {
+        for (int i = 0; i < length; i++) {
+          alpha[i] = sa[i] + da[i] - div255(sa[i] * da[i]);
+        }
+      }
+
+      for (int c = 0; c < 3; c++) {
+        blendPlane(mode, source, destination, start, 16 - 8 * c, sa, da, alpha, planes[c],
+            length);
+      }
+
+      for (int i = 0; i < length; i++) {
+        destination[start + i] = alpha[i] << 24 | planes[0][i] << 16 | planes[1][i] << 8
+            | planes[2][i];
+      }
+    }
+  }
+
+  // Blends the channel at the given shift of a block of pixels into the given plane, with a
+  // separate loop for each mode so that each loop body is free of branches on the mode.
+  private static void blendPlane(BlendMode mode, int[] source, int[] destination, int start,
+      int shift, int[] sa, int[] da, int[] alpha, int[] plane, int length) {
+    switch (mode) {
+      case MULTIPLY:
+        for (int i = 0; i < length; i++) {
+          int s = source[start + i] >>> shift & 0xFF;
+          int d = destination[start + i] >>> shift & 0xFF;
+          plane[i] = clamp(multiply(s, d, sa[i], da[i]), alpha[i]);
+        }
+        break;
+      case SCREEN:
+        for (int i = 0; i < length; i++) {
+          int s = source[start + i] >>> shift & 0xFF;
+          int d = destination[start + i] >>> shift & 0xFF;
+          plane[i] = clamp(screen(s, d), alpha[i]);
+        }
+        break;
+      case OVERLAY:
+        for (int i = 0; i < length; i++) {
+          int s = source[start + i] >>> shift & 0xFF;
+          int d = destination[start + i] >>> shift & 0xFF;
+          plane[i] = clamp(overlay(s, d, sa[i], da[i]), alpha[i]);
+        }
+        break;
+      case ADD:
+        for (int i = 0; i < length; i++) {
+          int s = source[start + i] >>> shift & 0xFF;
+          int d = destination[start + i] >>> shift & 0xFF;
+          plane[i] = clamp(add(s, d), alpha[i]);
+        }
+        break;
+      case DIFFERENCE:
+        for (int i = 0; i < length; i++) {
+          int s = source[start + i] >>> shift & 0xFF;
+          int d = destination[start + i] >>> shift & 0xFF;
+          plane[i] = clamp(difference(s, d, sa[i], da[i]), alpha[i]);
+        }
+        break;
+      default:
+        for (int i = 0; i < length; i++) {
+          int s = source[start + i] >>> shift & 0xFF;
+          int d = destination[start + i] >>> shift & 0xFF;
+          plane[i] = clamp(normal(s, d, sa[i]), alpha[i]);
+        }
+        break;
+    }
+  }
+
+  // Clamps the given premultiplied channel value between 0 and the given alpha value.
+  private static int clamp(int value, int alpha) {
+    return Math.max(0, Math.min(alpha, value));
+  }
+
+  // The functions below each return one premultiplied color channel value blended from the
+  // premultiplied source and destination values and their alpha values, all between 0 and 255.
+
+  private static int normal(int s, int d, int sa) {
+    return s + div255(d * (255 - sa));
+  }
+
+  private static int multiply(int s, int d, int sa, int da) {
+    return div255(s * (255 - da)) + div255(d * (255 - sa)) + div255(s * d);
+  }
+
+  private static int screen(int s, int d) {
+    return s + d - div255(s * d);
+  }
+
+  private static int overlay(int s, int d, int sa, int da) {
+    int uncovered = div255(s * (255 - da)) + div255(d * (255 - sa));
+
+    if (2 * d <= da) {
+      return uncovered + 2 * div255(s * d);
+    }
+
+    return uncovered + div255(sa * da) - 2 * div255((sa - s) * (da - d));
+  }
+
+  private static int add(int s, int d) {
+    return Math.min(255, s + d);
+  }
+
+  private static int difference(int s, int d, int sa, int da) {
+    return s + d - 2 * Math.min(div255(s * da), div255(d * sa));
+  }
+
+  // Divides the given value between 0 and 255 * 255 by 255, rounding to the nearest integer.
+  private static int div255(int value) {
+    value += 128;
+    return (value + (value >> 8)) >> 8;
+  }
+}
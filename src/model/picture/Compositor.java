@@ -0,0 +1,215 @@
+package model.picture;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.List;
+import model.pixel.IPixel;
+
+/**
+ * Composites a stack of layers, ordered from bottommost to topmost, into a single image. Each layer
+ * is blended with its own blend mode on premultiplied, packed ARGB values where pixels outside of a
+ * layer's image are fully transparent. The composite of the visible layers below the current layer
+ * and the composite of the visible layers above it are cached separately, keyed by the generation,
+ * blend mode, and visibility of every layer in that part of the stack, so editing the current layer
+ * only blends the current layer's image between the two cached composites instead of
+ * recompositing the whole stack. The layers above are only cached as one composite while they all
+ * blend normally.
+ */
+public class Compositor {
+
+  private final Partial below;
+  private final Partial above;
+  private long[] resultKey;
+  private IPicture<IPixel> result;
+  private int blendCount;
+
+  /**
+   * Constructs a {@code Compositor} with nothing cached.
+   */
+  public Compositor() {
+    below = new Partial();
+    above = new Partial();
+    resultKey = null;
+    result = null;
+    blendCount = 0;
+  }
+
+  /**
+   * Returns the composite of the visible layers in the given stack, reusing any cached partial
+   * composite whose layers have not changed since it was created. The returned image is never
+   * mutated, so the same image is returned until a layer's image, visibility, or the stack itself
+   * changes. The composite keeps the blended packed values, so reading regions of it to display
+   * them does not create a pixel for each value.
+   *
+   * @param layers  the layers to composite ordered from bottommost to topmost
+   * @param current the index of the current layer within the given list, or -1 if no layer is
+   *                selected
+   * @param width   the width of the composite
+   * @param height  the height of the composite
+   * @return the composite image, or null if no visible layer contains an image or the given
+   *         dimensions are not positive
+   * @throws IllegalArgumentException if layers is null, contains a null layer, or the current index
+   *                                  is out of bounds
+   */
+  public synchronized IPicture<IPixel> composite(List<ILayer<IPicture<IPixel>>> layers,
+      int current, int width, int height) throws IllegalArgumentException {
+    if (layers == null || layers.contains(null)) {
+      throw new IllegalArgumentException("Given layers cannot be null");
+    } else if (current < -1 || current >= layers.size()) {
+      throw new IllegalArgumentException("Current layer index is out of bounds");
+    } else if (width <= 0 || height <= 0) {
+      return null;
+    }
+
+    long[] key = createKey(layers, 0, layers.size(), width, height);
+    key = Arrays.copyOf(key, key.length + 1);
+    key[key.length - 1] = current;
+
+    if (Arrays.equals(key, resultKey)) {
+      return result;
+    }
+
+    // Without a current layer every layer is treated as part of the composite below it.
+    int split = current < 0 ? layers.size() : current;
+    int[] belowArgb = below.update(layers, 0, split, width, height);
+    int[] argb = belowArgb == null ? null : belowArgb.clone();
+
+    if (current >= 0) {
+      ILayer<IPicture<IPixel>> layer = layers.get(current);
+      argb = blend(argb, pack(layer, width, height), layer.getBlendMode());
+
+      // Normal blending is associative, so layers above which all blend normally can be drawn
+      // as one cached composite. Other modes depend on what is below them.
+      if (isNormal(layers, current + 1, layers.size())) {
+        argb = blend(argb, above.update(layers, current + 1, layers.size(), width, height),
+            BlendMode.NORMAL);
+      } else {
+        for (int i = current + 1; i < layers.size(); i++) {
+          layer = layers.get(i);
+          argb = blend(argb, pack(layer, width, height), layer.getBlendMode());
+        }
+      }
+    }
+
+    resultKey = key;
+    result = argb == null ? null : new PackedPicture(width, height, argb);
+
+    return result;
+  }
+
+  /**
+   * Returns the number of layer or partial composite blends performed by this compositor so far.
+   * Blends whose source is entirely empty are not counted.
+   *
+   * @return the number of blends performed
+   */
+  public synchronized int getBlendCount() {
+    return blendCount;
+  }
+
+  // Blends the given source into the given destination with the given mode, writing into the
+  // destination when it exists. Either may be null when that part of the stack has nothing
+  // visible. Returns the blended values.
+  private int[] blend(int[] destination, int[] source, BlendMode mode) {
+    if (source == null) {
+      return destination;
+    }
+
+    blendCount++;
+
+    if (destination == null) {
+      return source;
+    }
+
+    Blender.blend(mode, source, destination);
+
+    return destination;
+  }
+
+  // Returns whether every visible layer in the given range blends normally.
+  private static boolean isNormal(List<ILayer<IPicture<IPixel>>> layers, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (layers.get(i).getVisibility() && layers.get(i).getBlendMode() != BlendMode.NORMAL) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  // Returns the premultiplied ARGB values of the given layer's image, or null if the layer is
+  // hidden or empty. Pixels which the image does not cover are left fully transparent.
+  private static int[] pack(ILayer<IPicture<IPixel>> layer, int width, int height) {
+    IPicture<IPixel> image = layer.getImage();
+
+    if (!layer.getVisibility() || image == null) {
+      return null;
+    }
+
+    int[] argb = new int[width * height];
+    Rectangle region = new Rectangle(0, 0, Math.min(width, image.getWidth()),
+        Math.min(height, image.getHeight()));
+
+    if (region.isEmpty()) {
+      return argb;
+    }
+
+    image.getPackedARGB(region, argb, 0, width);
+
+    return argb;
+  }
+
+  // Returns a key identifying the generation, blend mode, and visibility of each layer in the given
+  // range, and whether it is still a preview, along with the given dimensions.
+  private static long[] createKey(List<ILayer<IPicture<IPixel>>> layers, int from, int to,
+      int width, int height) {
+    long[] key = new long[to - from + 2];
+
+    for (int i = from; i < to; i++) {
+      ILayer<IPicture<IPixel>> layer = layers.get(i);
+      // Proxies are composited from their previews, so they are composited again once resolved.
+      boolean preview = layer.getImage() instanceof ProxyPicture
+          && !((ProxyPicture) layer.getImage()).isResolved();
+      key[i - from] = layer.getGeneration() << 5 | (preview ? 1 : 0) << 4
+          | layer.getBlendMode().ordinal() << 1 | (layer.getVisibility() ? 1 : 0);
+    }
+
+    key[key.length - 2] = width;
+    key[key.length - 1] = height;
+
+    return key;
+  }
+
+  /**
+   * A cached composite of one contiguous part of a layer stack.
+   */
+  private class Partial {
+
+    private long[] key;
+    private int[] argb;
+
+    // Returns the composite of the layers in the given range, recompositing them only if any of
+    // their generations, visibilities, or blend modes have changed since the last call. The returned values
+    // must not be modified.
+    private int[] update(List<ILayer<IPicture<IPixel>>> layers, int from, int to, int width,
+        int height) {
+      long[] newKey = createKey(layers, from, to, width, height);
+
+      if (Arrays.equals(newKey, key)) {
+        return argb;
+      }
+
+      int[] composite = null;
+
+      for (int i = from; i < to; i++) {
+        ILayer<IPicture<IPixel>> layer = layers.get(i);
+        composite = blend(composite, pack(layer, width, height), layer.getBlendMode());
+      }
+
+      key = newKey;
+      argb = composite;
+
+      return argb;
+    }
+  }
+}
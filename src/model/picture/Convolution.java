@@ -0,0 +1,204 @@
+package model.picture;
+
+import java.util.Arrays;
+
+/**
+ * Convolves planes of channel values with a kernel, producing the same sums as filtering one pixel
+ * at a time through {@code getImageSubset}, exactly for kernels whose weights are integers over a
+ * power-of-two denominator and within the error bounds of {@code FixedPointKernel} otherwise. Each
+ * output row is accumulated one kernel tap at a time over the whole row, so the innermost loop runs
+ * over primitive arrays without bounds checks on the image's edges, which lets the JIT compiler use
+ * the processor's vector instructions. Taps falling outside of the plane are skipped, matching the
+ * zero values an image subset holds there, and every tap's product is added and truncated in the
+ * same order as the pixel-at-a-time filter. The separable and summed-area table algorithms chosen
+ * by {@code ConvolutionPlanner} for some kernels are also provided here, which truncate each sum
+ * once rather than after every tap.
+ */
+public final class Convolution {
+
+  /**
+   * The paths along which an image can be filtered. The legacy path filters one pixel at a time
+   * while the planar path convolves each channel's plane at once.
+   */
+  public enum Path { LEGACY, PLANAR }
+
+  // System property which selects the default path by name.
+  public static final String PATH_PROPERTY = "lime.convolution";
+
+  private static final Path DEFAULT_PATH =
+      "legacy".equalsIgnoreCase(System.getProperty(PATH_PROPERTY)) ? Path.LEGACY : Path.PLANAR;
+
+  private Convolution() {
+  }
+
+  /**
+   * Returns the path images are filtered along, which is the planar path unless the
+   * {@code lime.convolution} system property is set to {@code legacy}.
+   *
+   * @return the default path
+   */
+  public static Path getDefaultPath() {
+    return DEFAULT_PATH;
+  }
+
+  /**
+   * Convolves the given plane of channel values with the given kernel, compiled by
+   * {@code FixedPointKernel} so that every tap is an integer multiply-add. The returned sums are
+   * not clamped.
+   *
+   * @param plane  the channel values to convolve, as rows of equal length
+   * @param kernel the odd and square kernel to convolve with
+   * @return the convolved sums, as rows matching the given plane
+   * @throws IllegalArgumentException if either argument is null, the kernel is not odd and square,
+   *                                  or the plane's rows differ in length
+   */
+  public static int[][] convolve(int[][] plane, double[][] kernel)
+      throws IllegalArgumentException {
+    if (plane == null || kernel == null) {
+      throw new IllegalArgumentException("Plane and kernel cannot be null");
+    }
+
+    return FixedPointKernel.compile(kernel).convolve(plane);
+  }
+
+  /**
+   * Convolves the given plane of channel values with the kernel which is the product of the given
+   * column and row, filtering each row with the row and then each column of the result with the
+   * column. The sums are accumulated as {@code double} values and truncated once, so they can
+   * differ from filtering with the kernel by at most its number of taps. The returned sums are not
+   * clamped.
+   *
+   * @param plane  the channel values to convolve, as rows of equal length
+   * @param column the weights of the kernel's column factor
+   * @param row    the weights of the kernel's row factor
+   * @return the convolved sums, as rows matching the given plane
+   * @throws IllegalArgumentException if any argument is null, the factors are not the same odd
+   *                                  length, or the plane's rows differ in length
+   */
+  public static int[][] convolveSeparable(int[][] plane, double[] column, double[] row)
+      throws IllegalArgumentException {
+    if (column == null || row == null || column.length % 2 == 0 || column.length != row.length) {
+      throw new IllegalArgumentException("Factors must be the same odd length");
+    }
+
+    int width = checkPlane(plane);
+    int height = plane.length;
+    int radius = row.length / 2;
+    double[][] horizontal = new double[height][width];
+    int[][] sums = new int[height][width];
+
+    for (int y = 0; y < height; y++) {
+      for (int w = 0; w < row.length; w++) {
+        addTap(horizontal[y], plane[y], row[w], w - radius, width);
+      }
+    }
+
+    double[] sum = new double[width];
+
+    for (int y = 0; y < height; y++) {
+      Arrays.fill(sum, 0);
+
+      for (int h = 0; h < column.length; h++) {
+        int sourceY = y + h - radius;
+
+        if (sourceY >= 0 && sourceY < height && column[h] != 0) {
+          double tap = column[h];
+          double[] source = horizontal[sourceY];
+
+          for (int x = 0; x < width; x++) {
+            sum[x] += tap * source[x];
+          }
+        }
+      }
+
+      for (int x = 0; x < width; x++) {
+        sums[y][x] = (int) sum[x];
+      }
+    }
+
+    return sums;
+  }
+
+  // Adds the product of the given weight and each source value, offset by the given number of
+  // columns, to the given sums, skipping values which fall outside of the row.
+  private static void addTap(double[] sum, int[] source, double weight, int offset, int width) {
+    if (weight == 0) {
+      return;
+    }
+
+    int end = Math.min(width, width - offset);
+
+    for (int x = Math.max(0, -offset); x < end; x++) {
+      sum[x] += weight * source[x + offset];
+    }
+  }
+
+  /**
+   * Convolves the given plane of channel values with a square kernel of the given size whose
+   * weights all equal the given weight, summing each window in constant time from a table of the
+   * sums of every rectangle starting at the plane's top-left corner. Each window's sum is
+   * multiplied by the weight and truncated once, so the result can differ from filtering with the
+   * kernel by at most its number of taps. The returned sums are not clamped.
+   *
+   * @param plane  the channel values to convolve, as rows of equal length
+   * @param size   the odd side length of the kernel
+   * @param weight the weight of every tap of the kernel
+   * @return the convolved sums, as rows matching the given plane
+   * @throws IllegalArgumentException if the plane is null or its rows differ in length, or the
+   *                                  size is not odd and positive
+   */
+  public static int[][] convolveBox(int[][] plane, int size, double weight)
+      throws IllegalArgumentException {
+    if (size <= 0 || size % 2 == 0) {
+      throw new IllegalArgumentException("Kernel size must be odd and positive");
+    }
+
+    int width = checkPlane(plane);
+    int height = plane.length;
+    int radius = size / 2;
+    long[][] table = new long[height + 1][width + 1];
+    int[][] sums = new int[height][width];
+
+    for (int y = 0; y < height; y++) {
+      long rowSum = 0;
+
+      for (int x = 0; x < width; x++) {
+        rowSum += plane[y][x];
+        table[y + 1][x + 1] = table[y][x + 1] + rowSum;
+      }
+    }
+
+    for (int y = 0; y < height; y++) {
+      int top = Math.max(0, y - radius);
+      int bottom = Math.min(height, y + radius + 1);
+
+      for (int x = 0; x < width; x++) {
+        int left = Math.max(0, x - radius);
+        int right = Math.min(width, x + radius + 1);
+        long window = table[bottom][right] - table[top][right] - table[bottom][left]
+            + table[top][left];
+
+        sums[y][x] = (int) (weight * window);
+      }
+    }
+
+    return sums;
+  }
+
+  // Returns the width of the given plane after checking its rows are all that length.
+  private static int checkPlane(int[][] plane) throws IllegalArgumentException {
+    if (plane == null) {
+      throw new IllegalArgumentException("Plane cannot be null");
+    }
+
+    int width = plane.length == 0 ? 0 : plane[0].length;
+
+    for (int[] row : plane) {
+      if (row == null || row.length != width) {
+        throw new IllegalArgumentException("Rows of the plane must be the same length");
+      }
+    }
+
+    return width;
+  }
+}
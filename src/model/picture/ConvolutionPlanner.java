@@ -0,0 +1,417 @@
+package model.picture;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Chooses the algorithm a plane is convolved with from a kernel's analysis and the image's size,
+ * by estimating each eligible algorithm's cost from costs measured on this machine. The direct
+ * algorithm runs the kernel's own plan and is the only one eligible for kernels whose plan is
+ * exact, so filtering with those kernels never depends on the machine. Kernels whose plan is fixed
+ * point are already within one per tap of filtering with {@code double} weights, so they may also
+ * be convolved with two one-dimensional passes when separable, with a summed-area table when
+ * uniform, or through the fast Fourier transform, which are within the same bound. Any algorithm
+ * which supports a kernel can still be chosen explicitly through {@code Picture.filter}.
+ *
+ * <p>The default planner's costs are read from the file named by the {@code lime.calibration}
+ * system property if it exists, and are otherwise measured by a short benchmark the first time the
+ * planner is used, then written to that file if the property is set. {@code Picture.filter} only
+ * uses the planner for kernels with more than one eligible algorithm, so filtering with exact
+ * kernels never triggers calibration.
+ *
+ * <p>Every choice is logged with its estimated costs at level {@code INFO} to the logger named
+ * after this class, so it is shown by default. Reading and measuring costs is logged at level
+ * {@code FINE}, and only failing to read or write them is logged at level {@code WARNING}.
+ */
+public final class ConvolutionPlanner {
+
+  /**
+   * The algorithms a plane can be convolved with.
+   */
+  public enum Algorithm { DIRECT, SEPARABLE, BOX, FFT }
+
+  // System property which names the file costs are read from and written to.
+  public static final String CALIBRATION_PROPERTY = "lime.calibration";
+
+  private static final Logger LOGGER = Logger.getLogger(ConvolutionPlanner.class.getName());
+
+  // Side length of the planes convolved while calibrating.
+  private static final int CALIBRATION_SIZE = 96;
+
+  // Number of untimed and timed runs of each algorithm while calibrating.
+  private static final int CALIBRATION_WARMUPS = 20;
+  private static final int CALIBRATION_RUNS = 5;
+
+  private static ConvolutionPlanner defaultPlanner;
+
+  private final Map<Algorithm, Double> costs;
+
+  /**
+   * Constructs a {@code ConvolutionPlanner} with the given cost of each algorithm, in nanoseconds
+   * per unit of work. A unit of work is one tap of one pixel for the direct algorithm, one tap of
+   * either pass of one pixel for the separable algorithm, one pixel for the box algorithm, and one
+   * butterfly for the FFT algorithm.
+   *
+   * @param costs the cost of each algorithm
+   * @throws IllegalArgumentException if costs is null or is missing an algorithm, or a cost is not
+   *                                  positive and finite
+   */
+  public ConvolutionPlanner(Map<Algorithm, Double> costs) throws IllegalArgumentException {
+    if (costs == null) {
+      throw new IllegalArgumentException("Costs cannot be null");
+    }
+
+    this.costs = new EnumMap<>(Algorithm.class);
+
+    for (Algorithm algorithm : Algorithm.values()) {
+      Double cost = costs.get(algorithm);
+
+      if (cost == null || !(cost > 0) || cost.isInfinite()) {
+        throw new IllegalArgumentException("Cost of every algorithm must be positive and finite");
+      }
+
+      this.costs.put(algorithm, cost);
+    }
+  }
+
+  /**
+   * Returns the planner used by {@code Picture.filter}, reading or measuring its costs the first
+   * time it is called as described by this class.
+   *
+   * @return the default planner
+   */
+  public static synchronized ConvolutionPlanner getDefault() {
+    if (defaultPlanner == null) {
+      String filename = System.getProperty(CALIBRATION_PROPERTY);
+
+      if (filename != null && new File(filename).isFile()) {
+        try {
+          defaultPlanner = load(filename);
+          LOGGER.fine("Read convolution costs " + defaultPlanner.costs + " from " + filename);
+        } catch (IllegalArgumentException e) {
+          LOGGER.warning("Could not read convolution costs from " + filename + ": "
+              + e.getMessage());
+        }
+      }
+
+      if (defaultPlanner == null) {
+        defaultPlanner = calibrate();
+        LOGGER.fine("Measured convolution costs " + defaultPlanner.costs);
+
+        if (filename != null) {
+          try {
+            defaultPlanner.save(filename);
+          } catch (IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Could not write convolution costs to " + filename, e);
+          }
+        }
+      }
+    }
+
+    return defaultPlanner;
+  }
+
+  /**
+   * Returns a planner whose costs are measured by convolving a small random plane with each
+   * algorithm.
+   *
+   * @return the calibrated planner
+   */
+  public static ConvolutionPlanner calibrate() {
+    Random random = new Random(1);
+    int[][] plane = new int[CALIBRATION_SIZE][CALIBRATION_SIZE];
+
+    for (int[] row : plane) {
+      for (int x = 0; x < row.length; x++) {
+        row[x] = random.nextInt(256);
+      }
+    }
+
+    double[][] weights = new double[9][9];
+
+    for (double[] row : weights) {
+      for (int x = 0; x < row.length; x++) {
+        row[x] = 0.3 + random.nextDouble();
+      }
+    }
+
+    Kernel direct = new Kernel(weights);
+    double[] factor = {0.1, 0.2, 0.3, 0.4, 0.5, 0.4, 0.3, 0.2, 0.1};
+    double pixels = (double) CALIBRATION_SIZE * CALIBRATION_SIZE;
+    Map<Algorithm, Double> costs = new EnumMap<>(Algorithm.class);
+
+    costs.put(Algorithm.DIRECT, time(() -> direct.convolve(plane)) / (pixels * 81));
+    costs.put(Algorithm.SEPARABLE,
+        time(() -> Convolution.convolveSeparable(plane, factor, factor)) / (pixels * 18));
+    costs.put(Algorithm.BOX, time(() -> Convolution.convolveBox(plane, 9, 0.3)) / pixels);
+
+    FftConvolution fft = new FftConvolution(direct);
+    costs.put(Algorithm.FFT, time(() -> fft.convolve(plane))
+        / FftConvolution.getButterflies(9, CALIBRATION_SIZE, CALIBRATION_SIZE));
+
+    return new ConvolutionPlanner(costs);
+  }
+
+  // Returns the fastest time in nanoseconds of several runs of the given task, after running it
+  // enough times for the JIT compiler to optimize it.
+  private static double time(Runnable task) {
+    for (int i = 0; i < CALIBRATION_WARMUPS; i++) {
+      task.run();
+    }
+
+    long best = Long.MAX_VALUE;
+
+    for (int i = 0; i < CALIBRATION_RUNS; i++) {
+      long start = System.nanoTime();
+      task.run();
+      best = Math.min(best, System.nanoTime() - start);
+    }
+
+    return Math.max(1, best);
+  }
+
+  /**
+   * Returns a planner with the costs in the given properties file, which holds the cost of each
+   * algorithm under its name in lower case.
+   *
+   * @param filename the path of the properties file
+   * @return the planner with the file's costs
+   * @throws IllegalArgumentException if filename is null, the file could not be read, or a cost is
+   *                                  missing, not a number, or not positive and finite
+   */
+  public static ConvolutionPlanner load(String filename) throws IllegalArgumentException {
+    if (filename == null) {
+      throw new IllegalArgumentException("File path cannot be null");
+    }
+
+    Properties properties = new Properties();
+
+    try (InputStream input = new FileInputStream(filename)) {
+      properties.load(input);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("File could not be read");
+    }
+
+    Map<Algorithm, Double> costs = new EnumMap<>(Algorithm.class);
+
+    for (Algorithm algorithm : Algorithm.values()) {
+      String cost = properties.getProperty(algorithm.name().toLowerCase());
+
+      try {
+        costs.put(algorithm, cost == null ? null : Double.valueOf(cost));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Cost is not a number: " + cost);
+      }
+    }
+
+    return new ConvolutionPlanner(costs);
+  }
+
+  /**
+   * Writes the costs of this planner to the given properties file in the format read by
+   * {@code load}.
+   *
+   * @param filename the path of the properties file
+   * @throws IllegalArgumentException if filename is null or the file could not be written
+   */
+  public void save(String filename) throws IllegalArgumentException {
+    if (filename == null) {
+      throw new IllegalArgumentException("File path cannot be null");
+    }
+
+    Properties properties = new Properties();
+
+    for (Map.Entry<Algorithm, Double> entry : costs.entrySet()) {
+      properties.setProperty(entry.getKey().name().toLowerCase(), entry.getValue().toString());
+    }
+
+    try (OutputStream output = new FileOutputStream(filename)) {
+      properties.store(output, "Convolution costs in nanoseconds per unit of work");
+    } catch (IOException e) {
+      throw new IllegalArgumentException("File could not be written");
+    }
+  }
+
+  /**
+   * Returns the cost of the given algorithm, in nanoseconds per unit of work.
+   *
+   * @param algorithm the algorithm to find the cost of
+   * @return the cost of the algorithm
+   * @throws IllegalArgumentException if algorithm is null
+   */
+  public double getCost(Algorithm algorithm) throws IllegalArgumentException {
+    if (algorithm == null) {
+      throw new IllegalArgumentException("Algorithm cannot be null");
+    }
+
+    return costs.get(algorithm);
+  }
+
+  /**
+   * Returns whether the given algorithm can convolve with the given kernel.
+   *
+   * @param algorithm the algorithm to check
+   * @param kernel    the kernel to convolve with
+   * @return whether the algorithm supports the kernel
+   * @throws IllegalArgumentException if either argument is null
+   */
+  public static boolean isSupported(Algorithm algorithm, Kernel kernel)
+      throws IllegalArgumentException {
+    if (algorithm == null || kernel == null) {
+      throw new IllegalArgumentException("Algorithm and kernel cannot be null");
+    }
+
+    switch (algorithm) {
+      case SEPARABLE:
+        return kernel.isSeparable();
+      case BOX:
+        return kernel.isUniform();
+      case FFT:
+        return kernel.getSize() < 1024;
+      default:
+        return true;
+    }
+  }
+
+  /**
+   * Returns whether the given algorithm can be chosen by a planner for the given kernel, which is
+   * only the direct algorithm for kernels whose plan is not fixed point.
+   *
+   * @param algorithm the algorithm to check
+   * @param kernel    the kernel to convolve with
+   * @return whether the algorithm is eligible for the kernel
+   * @throws IllegalArgumentException if either argument is null
+   */
+  public static boolean isEligible(Algorithm algorithm, Kernel kernel)
+      throws IllegalArgumentException {
+    return isSupported(algorithm, kernel) && (algorithm == Algorithm.DIRECT
+        || kernel.getPlan() == Kernel.Plan.FIXED_POINT);
+  }
+
+  /**
+   * Returns whether a planner has any algorithm besides the direct one to choose from for the
+   * given kernel. Kernels without a choice are always convolved directly, so they need no planner.
+   *
+   * @param kernel the kernel to convolve with
+   * @return whether an algorithm other than the direct one is eligible for the kernel
+   * @throws IllegalArgumentException if kernel is null
+   */
+  public static boolean hasChoice(Kernel kernel) throws IllegalArgumentException {
+    for (Algorithm algorithm : Algorithm.values()) {
+      if (algorithm != Algorithm.DIRECT && isEligible(algorithm, kernel)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Returns the estimated time in nanoseconds for the given algorithm to convolve a plane of the
+   * given size with the given kernel.
+   *
+   * @param algorithm the algorithm to estimate
+   * @param kernel    the kernel to convolve with
+   * @param width     the width of the plane
+   * @param height    the height of the plane
+   * @return the estimated time of the algorithm
+   * @throws IllegalArgumentException if algorithm or kernel is null
+   */
+  public double estimate(Algorithm algorithm, Kernel kernel, int width, int height)
+      throws IllegalArgumentException {
+    if (algorithm == null || kernel == null) {
+      throw new IllegalArgumentException("Algorithm and kernel cannot be null");
+    }
+
+    double pixels = (double) width * height;
+
+    switch (algorithm) {
+      case SEPARABLE:
+        return costs.get(algorithm) * pixels * 2 * kernel.getSize();
+      case BOX:
+        return costs.get(algorithm) * pixels;
+      case FFT:
+        return costs.get(algorithm) * FftConvolution.getButterflies(kernel.getSize(), width,
+            height);
+      default:
+        return costs.get(algorithm) * pixels * kernel.getNonZeroTaps();
+    }
+  }
+
+  /**
+   * Returns the eligible algorithm with the lowest estimated time to convolve a plane of the given
+   * size with the given kernel, logging the choice.
+   *
+   * @param kernel the kernel to convolve with
+   * @param width  the width of the plane
+   * @param height the height of the plane
+   * @return the chosen algorithm
+   * @throws IllegalArgumentException if kernel is null
+   */
+  public Algorithm choose(Kernel kernel, int width, int height) throws IllegalArgumentException {
+    if (kernel == null) {
+      throw new IllegalArgumentException("Kernel cannot be null");
+    }
+
+    Algorithm best = Algorithm.DIRECT;
+    Map<Algorithm, Double> estimates = new EnumMap<>(Algorithm.class);
+
+    for (Algorithm algorithm : Algorithm.values()) {
+      if (isEligible(algorithm, kernel)) {
+        estimates.put(algorithm, estimate(algorithm, kernel, width, height));
+
+        if (estimates.get(algorithm) < estimates.get(best)) {
+          best = algorithm;
+        }
+      }
+    }
+
+    if (LOGGER.isLoggable(Level.INFO)) {
+      LOGGER.info(String.format("Convolving %dx%d plane with %dx%d %s kernel using %s,"
+              + " estimated nanoseconds %s", width, height, kernel.getSize(), kernel.getSize(),
+          kernel.getPlan(), best, estimates));
+    }
+
+    return best;
+  }
+
+  /**
+   * Convolves the given plane of non-negative channel values with the given kernel using the given
+   * algorithm. The returned sums are not clamped.
+   *
+   * @param algorithm the algorithm to convolve with
+   * @param kernel    the kernel to convolve with
+   * @param plane     the channel values to convolve, as rows of equal length
+   * @return the convolved sums, as rows matching the given plane
+   * @throws IllegalArgumentException if any argument is null, the algorithm does not support the
+   *                                  kernel, or the plane's rows differ in length
+   */
+  public static int[][] convolve(Algorithm algorithm, Kernel kernel, int[][] plane)
+      throws IllegalArgumentException {
+    if (!isSupported(algorithm, kernel)) {
+      throw new IllegalArgumentException("Algorithm cannot convolve with the given kernel");
+    }
+
+    switch (algorithm) {
+      case SEPARABLE:
+        return Convolution.convolveSeparable(plane, kernel.getColumnFactor(),
+            kernel.getRowFactor());
+      case BOX:
+        return Convolution.convolveBox(plane, kernel.getSize(), kernel.getWeight(0, 0));
+      case FFT:
+        return kernel.getFftConvolution().convolve(plane);
+      default:
+        return kernel.convolve(plane);
+    }
+  }
+}
@@ -0,0 +1,333 @@
+package model.picture;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Convolves planes of channel values with a kernel through the fast Fourier transform, which takes
+ * time proportional to the logarithm of the kernel's size per pixel rather than its number of taps.
+ * The plane is split into square tiles which are each zero-padded to a power-of-two transform size
+ * with room for the kernel, transformed, multiplied with the kernel's transform, and transformed
+ * back, and the results of overlapping tiles are added together. Since both the plane and the
+ * kernel are real, two tiles are transformed at once, one as the real part and one as the
+ * imaginary part. The kernel's transform is computed once when constructed, the tables of sines,
+ * cosines, and bit reversals are shared by every instance with the same transform size, and the
+ * buffers for each tile are reused across a plane, so an instance can be shared between threads.
+ *
+ * <p>Sums are accumulated as {@code double} values and truncated once, after being moved away from
+ * zero by {@code TOLERANCE} so that sums which are integers are not truncated down by rounding
+ * error. A filtered value can therefore differ from filtering with the kernel by at most its
+ * number of taps.
+ */
+public final class FftConvolution {
+
+  // Amount sums are moved away from zero before being truncated, which is far larger than the
+  // rounding error of a transform and far smaller than the precision of any weight.
+  public static final double TOLERANCE = 1e-6;
+
+  // Largest transform size considered for a kernel.
+  private static final int MAX_SIZE = 1024;
+
+  // Tables of cosines and sines for each transform size, shared by every instance.
+  private static final Map<Integer, double[][]> TWIDDLES = new ConcurrentHashMap<>();
+
+  // Tables of bit-reversed indices for each transform size, shared by every instance.
+  private static final Map<Integer, int[]> REVERSALS = new ConcurrentHashMap<>();
+
+  private final int kernelSize;
+  private final int size;
+  private final int tile;
+  private final double[] kernelReal;
+  private final double[] kernelImaginary;
+  private final double[][] twiddles;
+  private final int[] reversal;
+
+  /**
+   * Constructs an {@code FftConvolution} for the given kernel, choosing the transform size which
+   * needs the least work per pixel of a large plane.
+   *
+   * @param kernel the kernel to convolve with
+   * @throws IllegalArgumentException if kernel is null or larger than 1023x1023
+   */
+  public FftConvolution(Kernel kernel) throws IllegalArgumentException {
+    if (kernel == null) {
+      throw new IllegalArgumentException("Kernel cannot be null");
+    } else if (kernel.getSize() >= MAX_SIZE) {
+      throw new IllegalArgumentException("Kernel is too large to transform");
+    }
+
+    this.kernelSize = kernel.getSize();
+    this.size = chooseSize(kernelSize);
+    this.tile = size - kernelSize + 1;
+    this.twiddles = TWIDDLES.computeIfAbsent(size, FftConvolution::createTwiddles);
+    this.reversal = REVERSALS.computeIfAbsent(size, FftConvolution::createReversal);
+    this.kernelReal = new double[size * size];
+    this.kernelImaginary = new double[size * size];
+
+    // Filtering correlates with the kernel, which is convolving with the kernel rotated half a
+    // turn.
+    for (int h = 0; h < kernelSize; h++) {
+      for (int w = 0; w < kernelSize; w++) {
+        kernelReal[h * size + w] = kernel.getWeight(kernelSize - 1 - h, kernelSize - 1 - w);
+      }
+    }
+
+    transform(kernelReal, kernelImaginary, false, new double[size], new double[size]);
+  }
+
+  // Returns the power-of-two transform size, with room for at least one pixel of tile beside the
+  // kernel, which minimizes the work of each pixel of a tile.
+  private static int chooseSize(int kernelSize) {
+    int best = 0;
+    double bestWork = Double.MAX_VALUE;
+
+    for (int size = Integer.highestOneBit(kernelSize) * 2; size <= MAX_SIZE; size *= 2) {
+      int tile = size - kernelSize + 1;
+      double work = (double) size * size * Integer.numberOfTrailingZeros(size) / tile / tile;
+
+      if (work < bestWork) {
+        best = size;
+        bestWork = work;
+      }
+    }
+
+    return best;
+  }
+
+  // Returns the cosines and sines of each multiple of a turn divided by the given size, up to half
+  // a turn.
+  private static double[][] createTwiddles(int size) {
+    double[][] table = new double[2][size / 2];
+
+    for (int i = 0; i < size / 2; i++) {
+      double angle = 2 * Math.PI * i / size;
+      table[0][i] = Math.cos(angle);
+      table[1][i] = Math.sin(angle);
+    }
+
+    return table;
+  }
+
+  // Returns the index with its bits reversed of each index below the given power of two.
+  private static int[] createReversal(int size) {
+    int bits = Integer.numberOfTrailingZeros(size);
+    int[] table = new int[size];
+
+    for (int i = 0; i < size; i++) {
+      table[i] = Integer.reverse(i) >>> (32 - bits);
+    }
+
+    return table;
+  }
+
+  /**
+   * Returns the side length of the transforms used by this convolution.
+   *
+   * @return the transform size
+   */
+  public int getTransformSize() {
+    return size;
+  }
+
+  /**
+   * Returns the number of butterflies computed to convolve a plane of the given size with a kernel
+   * of the given size, which the time taken is proportional to.
+   *
+   * @param kernelSize the side length of the kernel
+   * @param width      the width of the plane
+   * @param height     the height of the plane
+   * @return the number of butterflies
+   * @throws IllegalArgumentException if kernelSize is not positive or is 1024 or more
+   */
+  public static double getButterflies(int kernelSize, int width, int height)
+      throws IllegalArgumentException {
+    if (kernelSize <= 0 || kernelSize >= MAX_SIZE) {
+      throw new IllegalArgumentException("Kernel size must be positive and below 1024");
+    }
+
+    int size = chooseSize(kernelSize);
+    int tile = size - kernelSize + 1;
+    long tiles = (long) ((width + tile - 1) / tile) * ((height + tile - 1) / tile);
+
+    // Each pair of tiles is transformed forward and back, and each transform computes half a
+    // butterfly per value for each bit of the size along both dimensions.
+    return (tiles + 1) / 2 * 2.0 * size * size * Integer.numberOfTrailingZeros(size);
+  }
+
+  /**
+   * Convolves the given plane of channel values with this convolution's kernel. The returned sums
+   * are not clamped.
+   *
+   * @param plane the channel values to convolve, as rows of equal length
+   * @return the convolved sums, as rows matching the given plane
+   * @throws IllegalArgumentException if the plane is null or its rows differ in length
+   */
+  public int[][] convolve(int[][] plane) throws IllegalArgumentException {
+    if (plane == null) {
+      throw new IllegalArgumentException("Plane cannot be null");
+    }
+
+    int height = plane.length;
+    int width = height == 0 ? 0 : plane[0].length;
+
+    for (int[] row : plane) {
+      if (row == null || row.length != width) {
+        throw new IllegalArgumentException("Rows of the plane must be the same length");
+      }
+    }
+
+    double[][] accumulated = new double[height][width];
+    double[] real = new double[size * size];
+    double[] imaginary = new double[size * size];
+    double[] rowReal = new double[size];
+    double[] rowImaginary = new double[size];
+    int across = (width + tile - 1) / tile;
+    int tiles = across * ((height + tile - 1) / tile);
+
+    for (int t = 0; t < tiles; t += 2) {
+      Arrays.fill(real, 0);
+      Arrays.fill(imaginary, 0);
+      load(plane, real, t / across * tile, t % across * tile);
+
+      if (t + 1 < tiles) {
+        load(plane, imaginary, (t + 1) / across * tile, (t + 1) % across * tile);
+      }
+
+      transform(real, imaginary, false, rowReal, rowImaginary);
+
+      for (int i = 0; i < real.length; i++) {
+        double r = real[i] * kernelReal[i] - imaginary[i] * kernelImaginary[i];
+        imaginary[i] = real[i] * kernelImaginary[i] + imaginary[i] * kernelReal[i];
+        real[i] = r;
+      }
+
+      transform(real, imaginary, true, rowReal, rowImaginary);
+      store(real, accumulated, t / across * tile, t % across * tile);
+
+      if (t + 1 < tiles) {
+        store(imaginary, accumulated, (t + 1) / across * tile, (t + 1) % across * tile);
+      }
+    }
+
+    int[][] sums = new int[height][width];
+
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        double sum = accumulated[y][x];
+        sums[y][x] = (int) (sum + Math.copySign(TOLERANCE, sum));
+      }
+    }
+
+    return sums;
+  }
+
+  // Copies the tile of the plane starting at the given row and column into the top-left corner of
+  // the given transform buffer.
+  private void load(int[][] plane, double[] buffer, int top, int left) {
+    int bottom = Math.min(plane.length, top + tile);
+    int right = Math.min(plane[0].length, left + tile);
+
+    for (int y = top; y < bottom; y++) {
+      int offset = (y - top) * size - left;
+
+      for (int x = left; x < right; x++) {
+        buffer[offset + x] = plane[y][x];
+      }
+    }
+  }
+
+  // Adds the convolved tile in the given transform buffer, which extends past the tile starting at
+  // the given row and column by the kernel's radius on every side, to the accumulated sums.
+  private void store(double[] buffer, double[][] accumulated, int top, int left) {
+    int radius = kernelSize / 2;
+    int extent = tile + kernelSize - 1;
+    int startY = Math.max(0, top - radius);
+    int endY = Math.min(accumulated.length, top - radius + extent);
+    int startX = Math.max(0, left - radius);
+    int endX = Math.min(accumulated[0].length, left - radius + extent);
+
+    for (int y = startY; y < endY; y++) {
+      double[] row = accumulated[y];
+      int offset = (y - top + radius) * size - left + radius;
+
+      for (int x = startX; x < endX; x++) {
+        row[x] += buffer[offset + x];
+      }
+    }
+  }
+
+  // Transforms the given square of complex values in place along each row and then each column,
+  // scaling the inverse transform so that it undoes the forward transform.
+  private void transform(double[] real, double[] imaginary, boolean inverse, double[] lineReal,
+      double[] lineImaginary) {
+    for (int y = 0; y < size; y++) {
+      System.arraycopy(real, y * size, lineReal, 0, size);
+      System.arraycopy(imaginary, y * size, lineImaginary, 0, size);
+      transformLine(lineReal, lineImaginary, inverse);
+      System.arraycopy(lineReal, 0, real, y * size, size);
+      System.arraycopy(lineImaginary, 0, imaginary, y * size, size);
+    }
+
+    for (int x = 0; x < size; x++) {
+      for (int y = 0; y < size; y++) {
+        lineReal[y] = real[y * size + x];
+        lineImaginary[y] = imaginary[y * size + x];
+      }
+
+      transformLine(lineReal, lineImaginary, inverse);
+
+      for (int y = 0; y < size; y++) {
+        real[y * size + x] = lineReal[y];
+        imaginary[y * size + x] = lineImaginary[y];
+      }
+    }
+
+    if (inverse) {
+      double scale = 1.0 / ((double) size * size);
+
+      for (int i = 0; i < real.length; i++) {
+        real[i] *= scale;
+        imaginary[i] *= scale;
+      }
+    }
+  }
+
+  // Transforms the given line of complex values in place with an iterative radix-2 transform.
+  private void transformLine(double[] real, double[] imaginary, boolean inverse) {
+    for (int i = 0; i < size; i++) {
+      int j = reversal[i];
+
+      if (j > i) {
+        double swap = real[i];
+        real[i] = real[j];
+        real[j] = swap;
+        swap = imaginary[i];
+        imaginary[i] = imaginary[j];
+        imaginary[j] = swap;
+      }
+    }
+
+    double sign = inverse ? 1 : -1;
+
+    for (int half = 1; half < size; half *= 2) {
+      int step = size / (half * 2);
+
+      for (int start = 0; start < size; start += half * 2) {
+        for (int k = 0; k < half; k++) {
+          double cos = twiddles[0][k * step];
+          double sin = sign * twiddles[1][k * step];
+          int a = start + k;
+          int b = a + half;
+          double r = real[b] * cos - imaginary[b] * sin;
+          double i = real[b] * sin + imaginary[b] * cos;
+
+          real[b] = real[a] - r;
+          imaginary[b] = imaginary[a] - i;
+          real[a] += r;
+          imaginary[a] += i;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package model.picture;
+
+/**
+ * A kernel compiled into integer weights over a power-of-two denominator, which convolves planes of
+ * channel values with integer arithmetic only. Filtering adds each tap's product to a running sum
+ * and truncates the sum toward zero after every tap, so each tap is computed as
+ * {@code sum = trunc((sum * 2^shift + weight * value) / 2^shift)}. When every weight is
+ * non-negative the running sum never becomes negative, so the division becomes a shift of each
+ * product alone.
+ *
+ * <p>Kernels whose weights are all integers over a common power-of-two denominator of at most
+ * {@code 2^MAX_SHIFT}, such as the blur kernel's sixteenths and the sharpen kernel's eighths, are
+ * represented exactly and produce exactly the same sums as filtering with {@code double} weights.
+ * Any other kernel is scaled to fixed point with {@code MAX_SHIFT} fractional bits (fewer if a
+ * weight's magnitude is 128 or more), rounding each weight by at most {@code 2^-(shift + 1)}. For
+ * channel values of at most {@code v}, each tap's product then differs from the {@code double}
+ * product by at most {@code v * 2^-(shift + 1)}, which is below 0.00001 for 8-bit channels. A tap's
+ * truncated sum can only differ by one when its exact sum lies within that distance of an integer,
+ * so a filtered value differs from the {@code double} result by at most the number of taps. Such
+ * sums are common for decimal weights like 0.3, whose products with multiples of ten are integers
+ * which the {@code double} weight falls just short of, so these kernels should be filtered along
+ * {@code Convolution.Path.LEGACY} when results must match exactly.
+ */
+public final class FixedPointKernel {
+
+  // Largest number of fractional bits used to represent weights.
+  public static final int MAX_SHIFT = 24;
+
+  private final int[][] weights;
+  private final int shift;
+  private final boolean exact;
+  private final boolean nonNegative;
+
+  // Constructs a compiled kernel from its integer weights and shared shift.
+  private FixedPointKernel(int[][] weights, int shift, boolean exact) {
+    this.weights = weights;
+    this.shift = shift;
+    this.exact = exact;
+
+    boolean allNonNegative = true;
+
+    for (int[] row : weights) {
+      for (int weight : row) {
+        allNonNegative &= weight >= 0;
+      }
+    }
+
+    this.nonNegative = allNonNegative;
+  }
+
+  /**
+   * Compiles the given kernel, representing it exactly if its weights are all integers over a
+   * common power-of-two denominator and scaling it to fixed point otherwise.
+   *
+   * @param kernel the odd and square kernel to compile
+   * @return the compiled kernel
+   * @throws IllegalArgumentException if the kernel is null, not odd and square, or has a weight
+   *                                  which is not finite or whose magnitude is at least 2^31
+   */
+  public static FixedPointKernel compile(double[][] kernel) throws IllegalArgumentException {
+    if (kernel == null || kernel.length % 2 == 0 || kernel.length != kernel[0].length) {
+      throw new IllegalArgumentException("Given kernel is not odd and square");
+    }
+
+    double largest = 0;
+
+    for (double[] row : kernel) {
+      if (row == null || row.length != kernel.length) {
+        throw new IllegalArgumentException("Given kernel is not odd and square");
+      }
+
+      for (double weight : row) {
+        if (Double.isNaN(weight) || Math.abs(weight) >= 0x1p31) {
+          throw new IllegalArgumentException("Kernel weights must be finite and below 2^31");
+        }
+
+        largest = Math.max(largest, Math.abs(weight));
+      }
+    }
+
+    // Scaled weights must stay within an int.
+    int limit = MAX_SHIFT;
+
+    while (limit > 0 && Math.scalb(largest, limit) >= 0x1p31) {
+      limit--;
+    }
+
+    for (int shift = 0; shift <= limit; shift++) {
+      if (isExact(kernel, shift)) {
+        return new FixedPointKernel(scale(kernel, shift), shift, true);
+      }
+    }
+
+    return new FixedPointKernel(scale(kernel, limit), limit, false);
+  }
+
+  // Returns whether every weight of the given kernel is an integer once scaled by 2^shift.
+  private static boolean isExact(double[][] kernel, int shift) {
+    for (double[] row : kernel) {
+      for (double weight : row) {
+        double scaled = Math.scalb(weight, shift);
+
+        if (scaled != Math.rint(scaled)) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  // Returns the weights of the given kernel scaled by 2^shift and rounded to the nearest integer.
+  private static int[][] scale(double[][] kernel, int shift) {
+    int[][] result = new int[kernel.length][kernel.length];
+
+    for (int h = 0; h < kernel.length; h++) {
+      for (int w = 0; w < kernel.length; w++) {
+        result[h][w] = (int) Math.rint(Math.scalb(kernel[h][w], shift));
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns whether this kernel represents its weights exactly, in which case convolving produces
+   * exactly the same sums as filtering with the original {@code double} weights.
+   *
+   * @return whether this kernel is exact
+   */
+  public boolean isExact() {
+    return exact;
+  }
+
+  /**
+   * Returns the power of two which every weight of this kernel is divided by.
+   *
+   * @return the number of fractional bits of each weight
+   */
+  public int getShift() {
+    return shift;
+  }
+
+  /**
+   * Convolves the given plane of non-negative channel values with this kernel. Each output row is
+   * accumulated one tap at a time over the whole row, skipping taps which fall outside of the
+   * plane. The returned sums are not clamped.
+   *
+   * @param plane the channel values to convolve, as rows of equal length
+   * @return the convolved sums, as rows matching the given plane
+   * @throws IllegalArgumentException if the plane is null or its rows differ in length
+   */
+  public int[][] convolve(int[][] plane) throws IllegalArgumentException {
+    if (plane == null) {
+      throw new IllegalArgumentException("Plane cannot be null");
+    }
+
+    int height = plane.length;
+    int width = height == 0 ? 0 : plane[0].length;
+    int radius = weights.length / 2;
+    int[][] sums = new int[height][width];
+
+    for (int[] row : plane) {
+      if (row == null || row.length != width) {
+        throw new IllegalArgumentException("Rows of the plane must be the same length");
+      }
+    }
+
+    for (int y = 0; y < height; y++) {
+      int[] sum = sums[y];
+
+      for (int h = 0; h < weights.length; h++) {
+        int sourceY = y + h - radius;
+
+        if (sourceY < 0 || sourceY >= height) {
+          continue;
+        }
+
+        for (int w = 0; w < weights.length; w++) {
+          int offset = w - radius;
+
+          if (weights[h][w] != 0) {
+            addTap(sum, plane[sourceY], weights[h][w], offset, Math.max(0, -offset),
+                Math.min(width, width - offset));
+          }
+        }
+      }
+    }
+
+    return sums;
+  }
+
+  // Adds the product of the given weight and each source value, offset by the given number of
+  // columns, to the running sums between the given columns, truncating each sum toward zero.
+  private void addTap(int[] sum, int[] source, int weight, int offset, int start, int end) {
+    if (nonNegative) {
+      for (int x = start; x < end; x++) {
+        sum[x] += (int) ((long) weight * source[x + offset] >> shift);
+      }
+    } else {
+      for (int x = start; x < end; x++) {
+        long scaled = ((long) sum[x] << shift) + (long) weight * source[x + offset];
+        sum[x] = (int) (scaled >= 0 ? scaled >> shift : -(-scaled >> shift));
+      }
+    }
+  }
+}
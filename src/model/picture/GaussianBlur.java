@@ -0,0 +1,182 @@
+package model.picture;
+
+import java.util.stream.IntStream;
+
+/**
+ * Blurs planes of channel values with a Gaussian of any standard deviation through the recursive
+ * approximation of Young and van Vliet, which filters each row and then each column forwards and
+ * backwards with a third-order recursion. Each value costs the same few multiplies however large
+ * the standard deviation is, unlike a kernel whose taps grow with its radius. Rows are filtered in
+ * parallel, as are blocks of adjacent columns, which are filtered together so that every pass reads
+ * memory one row at a time. Values beyond the plane's edges are taken to repeat the nearest edge
+ * value, so blurring does not darken the edges the way zero-filled kernel taps do.
+ */
+public final class GaussianBlur {
+
+  // Smallest standard deviation the recursive approximation is accurate for.
+  public static final double MIN_SIGMA = 0.5;
+
+  // Number of adjacent columns filtered together by one task.
+  private static final int COLUMN_BLOCK = 64;
+
+  private final double sigma;
+  private final double gain;
+  private final double b1;
+  private final double b2;
+  private final double b3;
+
+  /**
+   * Constructs a {@code GaussianBlur} with the given standard deviation, in pixels.
+   *
+   * @param sigma the standard deviation of the Gaussian
+   * @throws IllegalArgumentException if sigma is below 0.5 or not finite
+   */
+  public GaussianBlur(double sigma) throws IllegalArgumentException {
+    if (!(sigma >= MIN_SIGMA) || Double.isInfinite(sigma)) {
+      throw new IllegalArgumentException("Sigma must be finite and at least 0.5");
+    }
+
+    double q = sigma >= 2.5 ? 0.98711 * sigma - 0.96330
+        : 3.97156 - 4.14554 * Math.sqrt(1 - 0.26891 * sigma);
+    double q2 = q * q;
+    double q3 = q2 * q;
+    double b0 = 1.57825 + 2.44413 * q + 1.4281 * q2 + 0.422205 * q3;
+
+    this.sigma = sigma;
+    this.b1 = (2.44413 * q + 2.85619 * q2 + 1.26661 * q3) / b0;
+    this.b2 = -(1.4281 * q2 + 1.26661 * q3) / b0;
+    this.b3 = 0.422205 * q3 / b0;
+    this.gain = 1 - b1 - b2 - b3;
+  }
+
+  /**
+   * Returns the standard deviation of this blur, in pixels.
+   *
+   * @return the standard deviation
+   */
+  public double getSigma() {
+    return sigma;
+  }
+
+  /**
+   * Blurs the given plane of channel values, rounding each blurred value to the nearest integer.
+   *
+   * @param plane the channel values to blur, as rows of equal length
+   * @return the blurred values, as rows matching the given plane
+   * @throws IllegalArgumentException if the plane is null or its rows differ in length
+   */
+  public int[][] blur(int[][] plane) throws IllegalArgumentException {
+    double[][] values = filter(plane);
+    int[][] result = new int[values.length][];
+
+    IntStream.range(0, values.length).parallel().forEach(y -> {
+      result[y] = new int[values[y].length];
+
+      for (int x = 0; x < values[y].length; x++) {
+        result[y][x] = (int) Math.round(values[y][x]);
+      }
+    });
+
+    return result;
+  }
+
+  // Blurs the given plane of channel values without rounding, for callers which combine the blurred
+  // values with others before rounding.
+  double[][] filter(int[][] plane) throws IllegalArgumentException {
+    if (plane == null) {
+      throw new IllegalArgumentException("Plane cannot be null");
+    }
+
+    int height = plane.length;
+    int width = height == 0 ? 0 : plane[0].length;
+
+    for (int[] row : plane) {
+      if (row == null || row.length != width) {
+        throw new IllegalArgumentException("Rows of the plane must be the same length");
+      }
+    }
+
+    double[][] values = new double[height][width];
+
+    IntStream.range(0, height).parallel().forEach(y -> {
+      for (int x = 0; x < width; x++) {
+        values[y][x] = plane[y][x];
+      }
+
+      filterRow(values[y]);
+    });
+
+    IntStream.range(0, (width + COLUMN_BLOCK - 1) / COLUMN_BLOCK).parallel().forEach(block -> {
+      int start = block * COLUMN_BLOCK;
+
+      filterColumns(values, start, Math.min(width, start + COLUMN_BLOCK));
+    });
+
+    return values;
+  }
+
+  // Filters the given row in place forwards and then backwards.
+  private void filterRow(double[] row) {
+    int length = row.length;
+
+    if (length == 0) {
+      return;
+    }
+
+    // The recursion starts as if the edge value extended forever, where it outputs that value.
+    double p1 = row[0];
+    double p2 = p1;
+    double p3 = p1;
+
+    for (int x = 0; x < length; x++) {
+      double value = gain * row[x] + b1 * p1 + b2 * p2 + b3 * p3;
+      p3 = p2;
+      p2 = p1;
+      p1 = value;
+      row[x] = value;
+    }
+
+    p1 = row[length - 1];
+    p2 = p1;
+    p3 = p1;
+
+    for (int x = length - 1; x >= 0; x--) {
+      double value = gain * row[x] + b1 * p1 + b2 * p2 + b3 * p3;
+      p3 = p2;
+      p2 = p1;
+      p1 = value;
+      row[x] = value;
+    }
+  }
+
+  // Filters the columns between the given indices in place forwards and then backwards, keeping
+  // the recursion's previous three outputs for every column of the block.
+  private void filterColumns(double[][] values, int start, int end) {
+    int height = values.length;
+    int count = end - start;
+    double[] p1 = new double[count];
+    double[] p2 = new double[count];
+    double[] p3 = new double[count];
+
+    for (int pass = 0; pass < 2; pass++) {
+      int first = pass == 0 ? 0 : height - 1;
+      int step = pass == 0 ? 1 : -1;
+
+      System.arraycopy(values[first], start, p1, 0, count);
+      System.arraycopy(p1, 0, p2, 0, count);
+      System.arraycopy(p1, 0, p3, 0, count);
+
+      for (int y = first; y >= 0 && y < height; y += step) {
+        double[] row = values[y];
+
+        for (int i = 0; i < count; i++) {
+          double value = gain * row[start + i] + b1 * p1[i] + b2 * p2[i] + b3 * p3[i];
+          p3[i] = p2[i];
+          p2[i] = p1[i];
+          p1[i] = value;
+          row[start + i] = value;
+        }
+      }
+    }
+  }
+}
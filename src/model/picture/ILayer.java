@@ -43,6 +43,39 @@ public interface ILayer<I> {
    */
   void setImage(IPicture<IPixel> image);
 
+  /**
+   * Returns how this layer's image is blended with the layers below it.
+   *
+   * @return this layer's blend mode
+   */
+  BlendMode getBlendMode();
+
+  /**
+   * Sets how this layer's image is blended with the layers below it.
+   *
+   * @param mode the desired blend mode
+   * @throws IllegalArgumentException if given mode is null
+   */
+  void setBlendMode(BlendMode mode) throws IllegalArgumentException;
+
+  /**
+   * Returns this layer's modification generation. Every change to the stored image gives the layer
+   * a new generation which is unique across all layers, and copies of a layer keep the generation
+   * of the layer they were copied from.
+   *
+   * @return the long representing this layer's current generation
+   */
+  long getGeneration();
+
+  /**
+   * Returns a hash for each square tile of this layer's image, ordered row by row from the top-left
+   * tile. Hashes are cached until the stored image changes. Returns an empty array if this layer is
+   * empty.
+   *
+   * @return the array of per-tile content hashes
+   */
+  long[] getTileHashes();
+
   /**
    * Returns a string representations of this layer.
    *
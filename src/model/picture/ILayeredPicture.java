@@ -11,10 +11,27 @@ import model.pixel.IPixel;
 public interface ILayeredPicture<I> extends IPicture<IPixel> {
 
   /**
-   * Returns a list of this layered image's layers from topmost to bottommost.
+   * Returns a list of this layered image's layers from bottommost to topmost.
    */
   List<I> getLayers();
 
+  /**
+   * Returns the names of this layered image's layers from bottommost to topmost. Unlike
+   * {@link #getLayers()}, the layers themselves are not read.
+   *
+   * @return the names of the layers
+   */
+  List<String> getLayerNames();
+
+  /**
+   * Returns the composite of this layered image's visible layers, drawn from bottommost to topmost.
+   * Parts of the composite are cached, so repeated calls only recomposite the layers which changed
+   * since the previous call.
+   *
+   * @return the composite image, or null if no visible layer contains an image
+   */
+  IPicture<IPixel> getComposite();
+
   /**
    * Returns the currently selected layer.
    */
@@ -49,9 +66,10 @@ public interface ILayeredPicture<I> extends IPicture<IPixel> {
    * Removes the specified layer from this layered image.
    *
    * @param name the name of the layer to be removed
+   * @return the removed layer
    * @throws IllegalArgumentException if name is null or is not an existing layer's name
    */
-  void removeLayer(String name) throws IllegalArgumentException;
+  I removeLayer(String name) throws IllegalArgumentException;
 
   /**
    * Removes the specified layer from this layered image.
@@ -61,6 +79,18 @@ public interface ILayeredPicture<I> extends IPicture<IPixel> {
    */
   void removeLayer(I layer) throws IllegalArgumentException;
 
+  /**
+   * Replaces the specified layer of this layered image with the given layer, which takes its
+   * position in the stack of layers.
+   *
+   * @param name  the name of the layer to be replaced
+   * @param layer the layer to put in its place
+   * @throws IllegalArgumentException if either argument is null, name is not an existing layer's
+   *                                  name, or the given layer's name matches a different
+   *                                  pre-existing layer's name
+   */
+  void replaceLayer(String name, I layer) throws IllegalArgumentException;
+
   /**
    * Sets whether this layer is visible to the given value.
    *
@@ -68,6 +98,15 @@ public interface ILayeredPicture<I> extends IPicture<IPixel> {
    */
   void setVisibility(boolean visibility);
 
+  /**
+   * Sets how the current layer is blended with the layers below it.
+   *
+   * @param mode the desired blend mode
+   * @throws IllegalArgumentException if given mode is null
+   * @throws IllegalStateException    if no layer has been selected
+   */
+  void setBlendMode(BlendMode mode) throws IllegalArgumentException, IllegalStateException;
+
   /**
    * Represents this layered image as a string.
    *
@@ -118,4 +157,4 @@ public interface ILayeredPicture<I> extends IPicture<IPixel> {
    * @param image image of desired layer
    */
   void setCurrentLayerTo(IPicture<IPixel> image);
-}
\ No newline at end of file
+}
\ No newline at end of file
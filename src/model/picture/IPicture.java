@@ -1,6 +1,7 @@
 package model.picture;
 
 import java.awt.Point;
+import java.awt.Rectangle;
 import model.pixel.ColorChannel;
 
 /**
@@ -49,6 +50,37 @@ public interface IPicture<P> {
    */
   int[][] getChannelValues(ColorChannel channel) throws IllegalArgumentException;
 
+  /**
+   * Writes each pixel in the given region of this image into the given array as a packed
+   * {@code 0xRRGGBB} int, with channel values above 255 clamped to 255. Rows are written one after
+   * another starting at the given offset, with the given stride between the starts of rows.
+   *
+   * @param region the region of this image to write
+   * @param out    the array to write into
+   * @param offset the index of the region's top-left pixel in the array
+   * @param stride the distance between the starts of consecutive rows in the array
+   * @throws IllegalArgumentException if the region or array is null, the region is not within this
+   *                                  image, or the array is too small
+   */
+  void getPackedRGB(Rectangle region, int[] out, int offset, int stride)
+      throws IllegalArgumentException;
+
+  /**
+   * Writes each pixel in the given region of this image into the given array as a packed
+   * {@code 0xAARRGGBB} int whose red, green, and blue values are premultiplied by its alpha value,
+   * with every channel scaled from this image's maximum value to 255. Rows are written one after
+   * another starting at the given offset, with the given stride between the starts of rows.
+   *
+   * @param region the region of this image to write
+   * @param out    the array to write into
+   * @param offset the index of the region's top-left pixel in the array
+   * @param stride the distance between the starts of consecutive rows in the array
+   * @throws IllegalArgumentException if the region or array is null, the region is not within this
+   *                                  image, or the array is too small
+   */
+  void getPackedARGB(Rectangle region, int[] out, int offset, int stride)
+      throws IllegalArgumentException;
+
   /**
    * Returns a 2D array representing a matrix consisting of the specified color channel values from
    * this image's sequence of pixels. Its size is determined by selecting a pixel to be its center
@@ -74,6 +106,15 @@ public interface IPicture<P> {
    */
   IPicture<P> filter(double[][] kernel) throws IllegalArgumentException;
 
+  /**
+   * Returns a copy of this image after applying the provided kernel to every pixel of this image,
+   * using the plan the kernel was compiled with.
+   *
+   * @param kernel the kernel with which to update all the pixel's color channel values
+   * @throws IllegalArgumentException if given kernel is null
+   */
+  IPicture<P> filter(Kernel kernel) throws IllegalArgumentException;
+
   /**
    * Returns a copy of this image after applying the provided matrix to every pixel of this image.
    *
@@ -84,6 +125,56 @@ public interface IPicture<P> {
    */
   IPicture<P> colorTransform(double[][] matrix) throws IllegalArgumentException;
 
+  /**
+   * Returns a copy of this image after blurring every pixel's color channel values with a Gaussian
+   * of the given standard deviation, taking the same time whatever the standard deviation.
+   *
+   * @param sigma the standard deviation of the Gaussian, in pixels
+   * @throws IllegalArgumentException if sigma is below 0.5 or not finite
+   */
+  IPicture<P> gaussianBlur(double sigma) throws IllegalArgumentException;
+
+  /**
+   * Returns a copy of this image after sharpening every pixel's color channel values with an
+   * unsharp mask, adding the given amount of each value's difference from a Gaussian blur whenever
+   * that difference is at least the given threshold.
+   *
+   * @param amount    the fraction of the difference from the blur which is added to each value
+   * @param radius    the standard deviation of the blur, in pixels
+   * @param threshold the smallest difference from the blur which is sharpened
+   * @throws IllegalArgumentException if amount is negative or not finite, radius is below 0.5 or
+   *                                  not finite, or threshold is negative
+   */
+  IPicture<P> unsharpMask(double amount, double radius, int threshold)
+      throws IllegalArgumentException;
+
+  /**
+   * Returns a copy of this image after replacing every pixel's color channel values with the
+   * median, minimum, or maximum of the square window of the given radius around it.
+   *
+   * @param rank   the rank to take from each window
+   * @param radius the number of pixels on each side of the center of the window
+   * @throws IllegalArgumentException if rank is null or radius is negative
+   */
+  IPicture<P> rankFilter(RankFilter.Rank rank, int radius) throws IllegalArgumentException;
+
+  /**
+   * Returns a copy of this image after smoothing every pixel's color channel values with those of
+   * nearby pixels of similar luminance, which preserves edges, through a bilateral grid.
+   *
+   * @param spatialSigma the standard deviation of the smoothing across positions, in pixels
+   * @param rangeSigma   the standard deviation of the smoothing across luminance values
+   * @throws IllegalArgumentException if either standard deviation is below 1 or not finite
+   */
+  IPicture<P> bilateralFilter(double spatialSigma, double rangeSigma)
+      throws IllegalArgumentException;
+
+  /**
+   * Returns a copy of this image where every pixel's color channel values are the magnitudes of the
+   * Sobel gradients of those values, so that edges are bright and flat areas are dark.
+   */
+  IPicture<P> detectEdges();
+
   /**
    * Represents this image as a string, detailing its width and height, maximum value, and each
    * pixel forming this image.
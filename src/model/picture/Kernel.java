@@ -0,0 +1,349 @@
+package model.picture;
+
+import java.util.Arrays;
+
+/**
+ * An immutable, odd and square kernel which analyzes its weights once when constructed and keeps
+ * the plan it is convolved with, so it can be reused across filters and shared between threads.
+ * The analysis finds whether the kernel is separable into a column and a row, whether it is
+ * symmetric, whether its weights are all equal, whether its weights are exactly representable as
+ * integers over a power of two, and how many of its taps are zero. Filtering truncates its running
+ * sum after every tap, which two one-dimensional passes cannot reproduce, so separability and
+ * uniformity are left to {@code ConvolutionPlanner} rather than used by the plan. Zero taps are
+ * skipped by every plan.
+ */
+public final class Kernel {
+
+  /**
+   * The plans a kernel can be convolved with. The identity plan copies each plane, the exact plan
+   * uses integer weights over a power of two which reproduce filtering with {@code double} weights,
+   * and the fixed-point plan uses weights rounded to {@code FixedPointKernel.MAX_SHIFT} fractional
+   * bits, within the error bounds documented by {@code FixedPointKernel}.
+   */
+  public enum Plan { IDENTITY, EXACT, FIXED_POINT }
+
+  // Largest difference relative to the largest weight squared for two products to be equal when
+  // checking separability.
+  private static final double SEPARABLE_TOLERANCE = 1e-12;
+
+  private final double[][] weights;
+  private final boolean separable;
+  private final double[] column;
+  private final double[] row;
+  private final boolean symmetric;
+  private final boolean uniform;
+  private final int nonZeroTaps;
+  private final Plan plan;
+  private final FixedPointKernel compiled;
+  private volatile FftConvolution fft;
+
+  /**
+   * Constructs a {@code Kernel} with a copy of the given weights.
+   *
+   * @param weights the weights of the kernel, indexed by row then column
+   * @throws IllegalArgumentException if weights is null, not odd and square, or has a weight which
+   *                                  is not finite or whose magnitude is at least 2^31
+   */
+  public Kernel(double[][] weights) throws IllegalArgumentException {
+    if (weights == null || weights.length % 2 == 0) {
+      throw new IllegalArgumentException("Given kernel is not odd and square");
+    }
+
+    this.weights = new double[weights.length][];
+
+    for (int i = 0; i < weights.length; i++) {
+      if (weights[i] == null || weights[i].length != weights.length) {
+        throw new IllegalArgumentException("Given kernel is not odd and square");
+      }
+
+      for (double weight : weights[i]) {
+        if (!Double.isFinite(weight)) {
+          throw new IllegalArgumentException("Kernel weights must be finite");
+        }
+      }
+
+      this.weights[i] = weights[i].clone();
+    }
+
+    this.compiled = FixedPointKernel.compile(this.weights);
+    this.column = new double[weights.length];
+    this.row = new double[weights.length];
+    this.separable = factor();
+    this.symmetric = findSymmetric();
+    this.uniform = findUniform();
+    this.nonZeroTaps = countNonZeroTaps();
+
+    int center = weights.length / 2;
+
+    if (nonZeroTaps == 1 && this.weights[center][center] == 1) {
+      this.plan = Plan.IDENTITY;
+    } else {
+      this.plan = compiled.isExact() ? Plan.EXACT : Plan.FIXED_POINT;
+    }
+  }
+
+  // Fills the column and row factors from the row and column holding the largest weight, returning
+  // whether their product is the weights, meaning every row is a multiple of that row.
+  private boolean factor() {
+    int pivotRow = 0;
+    int pivotColumn = 0;
+
+    for (int h = 0; h < weights.length; h++) {
+      for (int w = 0; w < weights.length; w++) {
+        if (Math.abs(weights[h][w]) > Math.abs(weights[pivotRow][pivotColumn])) {
+          pivotRow = h;
+          pivotColumn = w;
+        }
+      }
+    }
+
+    double pivot = weights[pivotRow][pivotColumn];
+    double tolerance = SEPARABLE_TOLERANCE * pivot * pivot;
+
+    for (int i = 0; i < weights.length; i++) {
+      column[i] = pivot == 0 ? 0 : weights[i][pivotColumn] / pivot;
+      row[i] = weights[pivotRow][i];
+    }
+
+    for (int h = 0; h < weights.length; h++) {
+      for (int w = 0; w < weights.length; w++) {
+        double difference = weights[h][w] * pivot
+            - weights[h][pivotColumn] * weights[pivotRow][w];
+
+        if (Math.abs(difference) > tolerance) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  // Returns whether the weights are unchanged when rotated half a turn.
+  private boolean findSymmetric() {
+    int last = weights.length - 1;
+
+    for (int h = 0; h < weights.length; h++) {
+      for (int w = 0; w < weights.length; w++) {
+        if (weights[h][w] != weights[last - h][last - w]) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  // Returns whether every weight is the same.
+  private boolean findUniform() {
+    for (double[] weightRow : weights) {
+      for (double weight : weightRow) {
+        if (weight != weights[0][0]) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  // Returns the number of weights which are not zero.
+  private int countNonZeroTaps() {
+    int count = 0;
+
+    for (double[] weightRow : weights) {
+      for (double weight : weightRow) {
+        if (weight != 0) {
+          count++;
+        }
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Returns the number of rows and columns of this kernel.
+   *
+   * @return the side length of this kernel
+   */
+  public int getSize() {
+    return weights.length;
+  }
+
+  /**
+   * Returns the weight at the given row and column of this kernel.
+   *
+   * @param row    the row of the weight
+   * @param column the column of the weight
+   * @return the weight at the given position
+   * @throws IllegalArgumentException if either index is negative or out of bounds
+   */
+  public double getWeight(int row, int column) throws IllegalArgumentException {
+    if (row < 0 || row >= weights.length || column < 0 || column >= weights.length) {
+      throw new IllegalArgumentException("Index cannot be negative or out of bounds");
+    }
+
+    return weights[row][column];
+  }
+
+  /**
+   * Returns a copy of the weights of this kernel, indexed by row then column.
+   *
+   * @return the weights of this kernel
+   */
+  public double[][] getWeights() {
+    double[][] copy = new double[weights.length][];
+
+    for (int i = 0; i < weights.length; i++) {
+      copy[i] = weights[i].clone();
+    }
+
+    return copy;
+  }
+
+  /**
+   * Returns whether this kernel is the product of one column and one row of weights, to within a
+   * relative tolerance of 10^-12.
+   *
+   * @return whether this kernel is separable
+   */
+  public boolean isSeparable() {
+    return separable;
+  }
+
+  /**
+   * Returns a copy of the column of this kernel's separable factors, such that each weight is the
+   * product of the column's value at its row and the row's value at its column.
+   *
+   * @return the column factor of this kernel
+   * @throws IllegalStateException if this kernel is not separable
+   */
+  public double[] getColumnFactor() throws IllegalStateException {
+    if (!separable) {
+      throw new IllegalStateException("Kernel is not separable");
+    }
+
+    return column.clone();
+  }
+
+  /**
+   * Returns a copy of the row of this kernel's separable factors, such that each weight is the
+   * product of the column's value at its row and the row's value at its column.
+   *
+   * @return the row factor of this kernel
+   * @throws IllegalStateException if this kernel is not separable
+   */
+  public double[] getRowFactor() throws IllegalStateException {
+    if (!separable) {
+      throw new IllegalStateException("Kernel is not separable");
+    }
+
+    return row.clone();
+  }
+
+  /**
+   * Returns whether every weight of this kernel is the same, as in a box blur.
+   *
+   * @return whether this kernel is uniform
+   */
+  public boolean isUniform() {
+    return uniform;
+  }
+
+  /**
+   * Returns whether this kernel is unchanged when rotated half a turn, in which case convolving
+   * and correlating with it are the same.
+   *
+   * @return whether this kernel is symmetric
+   */
+  public boolean isSymmetric() {
+    return symmetric;
+  }
+
+  /**
+   * Returns whether every weight of this kernel is an integer over a common power of two of at most
+   * {@code 2^FixedPointKernel.MAX_SHIFT}.
+   *
+   * @return whether this kernel is representable with integer weights
+   */
+  public boolean isIntegerRepresentable() {
+    return compiled.isExact();
+  }
+
+  /**
+   * Returns the number of weights of this kernel which are not zero.
+   *
+   * @return the number of non-zero taps
+   */
+  public int getNonZeroTaps() {
+    return nonZeroTaps;
+  }
+
+  /**
+   * Returns the plan this kernel is convolved with.
+   *
+   * @return the plan of this kernel
+   */
+  public Plan getPlan() {
+    return plan;
+  }
+
+  // Returns the convolution of this kernel through the fast Fourier transform, creating it the
+  // first time it is needed.
+  FftConvolution getFftConvolution() {
+    FftConvolution result = fft;
+
+    if (result == null) {
+      result = new FftConvolution(this);
+      fft = result;
+    }
+
+    return result;
+  }
+
+  /**
+   * Convolves the given plane of non-negative channel values with this kernel using its plan. The
+   * returned sums are not clamped.
+   *
+   * @param plane the channel values to convolve, as rows of equal length
+   * @return the convolved sums, as rows matching the given plane
+   * @throws IllegalArgumentException if the plane is null or its rows differ in length
+   */
+  public int[][] convolve(int[][] plane) throws IllegalArgumentException {
+    if (plan != Plan.IDENTITY) {
+      return compiled.convolve(plane);
+    } else if (plane == null) {
+      throw new IllegalArgumentException("Plane cannot be null");
+    }
+
+    int[][] sums = new int[plane.length][];
+
+    for (int y = 0; y < plane.length; y++) {
+      if (plane[y] == null || plane[y].length != plane[0].length) {
+        throw new IllegalArgumentException("Rows of the plane must be the same length");
+      }
+
+      sums[y] = plane[y].clone();
+    }
+
+    return sums;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Kernel)) {
+      return false;
+    }
+
+    return Arrays.deepEquals(weights, ((Kernel) o).weights);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.deepHashCode(weights);
+  }
+}
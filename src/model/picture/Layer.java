@@ -1,17 +1,29 @@
 package model.picture;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import model.pixel.ColorChannel;
 import model.pixel.IPixel;
 
 /**
- * Represents a layer which makes up a multi-layered image. Contains a name, visibility, and image
- * field. Parameterized over the {@code IPicture<IPixel} implementation of an image.
+ * Represents a layer which makes up a multi-layered image. Contains a name, visibility, blend mode,
+ * and image field. Layers blend normally unless given another blend mode. Parameterized over the
+ * {@code IPicture<IPixel} implementation of an image.
  */
 public class Layer implements ILayer<IPicture<IPixel>> {
 
+  // Side length in pixels of the square tiles used for content hashing.
+  public static final int TILE_SIZE = 64;
+
+  // Source of generations, shared by all layers so that a generation identifies one image.
+  private static final AtomicLong GENERATIONS = new AtomicLong();
+
   private final String name;
   private boolean visibility;
+  private BlendMode blendMode;
   private IPicture<IPixel> image;
+  private long generation;
+  private long[] tileHashes;
 
   /**
    * Constructs a {@code Layer} from the given {@code ILayer<IPicture<IPixel>>}.
@@ -26,7 +38,13 @@ public class Layer implements ILayer<IPicture<IPixel>> {
 
     name = other.getName();
     visibility = other.getVisibility();
-    image = new Picture(other.getImage());
+    blendMode = other.getBlendMode();
+    image = other.getImage();
+    generation = other.getGeneration();
+
+    if (other instanceof Layer) {
+      tileHashes = ((Layer) other).tileHashes;
+    }
   }
 
   /**
@@ -45,7 +63,9 @@ public class Layer implements ILayer<IPicture<IPixel>> {
 
     this.name = name;
     this.visibility = visibility;
+    this.blendMode = BlendMode.NORMAL;
     this.image = image;
+    this.generation = GENERATIONS.incrementAndGet();
   }
 
   /**
@@ -81,13 +101,10 @@ public class Layer implements ILayer<IPicture<IPixel>> {
     return visibility;
   }
 
+  // Images cannot be mutated once constructed, so the stored image is shared rather than copied.
   @Override
   public IPicture<IPixel> getImage() {
-    if (image == null) {
-      return null;
-    }
-
-    return new Picture(image);
+    return image;
   }
 
   @Override
@@ -98,6 +115,71 @@ public class Layer implements ILayer<IPicture<IPixel>> {
   @Override
   public void setImage(IPicture<IPixel> image) {
     this.image = image;
+    this.generation = GENERATIONS.incrementAndGet();
+    this.tileHashes = null;
+  }
+
+  @Override
+  public BlendMode getBlendMode() {
+    return blendMode;
+  }
+
+  @Override
+  public void setBlendMode(BlendMode mode) throws IllegalArgumentException {
+    if (mode == null) {
+      throw new IllegalArgumentException("Blend mode cannot be null");
+    }
+
+    this.blendMode = mode;
+  }
+
+  @Override
+  public long getGeneration() {
+    return generation;
+  }
+
+  @Override
+  public long[] getTileHashes() {
+    if (getImage() == null) {
+      return new long[0];
+    }
+
+    if (tileHashes == null) {
+      tileHashes = hashTiles(getImage());
+    }
+
+    return tileHashes.clone();
+  }
+
+  // Hashes the channel values of each TILE_SIZE x TILE_SIZE tile of the given image.
+  private static long[] hashTiles(IPicture<IPixel> image) {
+    int[][] red = image.getChannelValues(ColorChannel.RED);
+    int[][] green = image.getChannelValues(ColorChannel.GREEN);
+    int[][] blue = image.getChannelValues(ColorChannel.BLUE);
+    int[][] alpha = image.getChannelValues(ColorChannel.ALPHA);
+
+    int tilesAcross = (image.getWidth() + TILE_SIZE - 1) / TILE_SIZE;
+    int tilesDown = (image.getHeight() + TILE_SIZE - 1) / TILE_SIZE;
+    long[] hashes = new long[tilesAcross * tilesDown];
+
+    for (int ty = 0; ty < tilesDown; ty++) {
+      for (int tx = 0; tx < tilesAcross; tx++) {
+        long hash = 1125899906842597L;
+
+        for (int h = ty * TILE_SIZE; h < Math.min((ty + 1) * TILE_SIZE, image.getHeight()); h++) {
+          for (int w = tx * TILE_SIZE; w < Math.min((tx + 1) * TILE_SIZE, image.getWidth()); w++) {
+            hash = 31 * hash + red[h][w];
+            hash = 31 * hash + green[h][w];
+            hash = 31 * hash + blue[h][w];
+            hash = 31 * hash + alpha[h][w];
+          }
+        }
+
+        hashes[ty * tilesAcross + tx] = hash;
+      }
+    }
+
+    return hashes;
   }
 
   @Override
@@ -108,7 +190,7 @@ public class Layer implements ILayer<IPicture<IPixel>> {
     result.append(String.format("Name: %s\n", getName()));
     result.append(String.format("Visible: %b\n", getVisibility()));
 
-    if (image != null) {
+    if (getImage() != null) {
       result.append(getImage().toString()).append("\n");
     }
 
@@ -125,7 +207,7 @@ public class Layer implements ILayer<IPicture<IPixel>> {
 
     boolean sameImage;
 
-    if (image == null) {
+    if (getImage() == null) {
       sameImage = null == ((Layer) other).getImage();
     } else {
       sameImage = getImage().equals(((Layer) other).getImage());
@@ -133,11 +215,12 @@ public class Layer implements ILayer<IPicture<IPixel>> {
 
     return getName().equals(((Layer) other).getName())
         && getVisibility() == ((Layer) other).getVisibility()
+        && getBlendMode() == ((Layer) other).getBlendMode()
         && sameImage;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(name, visibility, image);
+    return Objects.hash(name, visibility, blendMode, getImage());
   }
 }
\ No newline at end of file
@@ -1,9 +1,10 @@
 package model.picture;
 
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -13,13 +14,16 @@ import model.pixel.IPixel;
 /**
  * Represents an image made up of several layers which each represent their own image. Offers the
  * same functionality as an {@code IPicture<IPixel>} in addition to the ability to add or remove
- * layers, choose a layer to operate on, or change the visibility of a layer. Parameterized over the
+ * layers, choose a layer to operate on, or change the visibility of a layer. Layers are stacked in
+ * the order they are added, with the most recently added layer being topmost, and the visible
+ * layers can be composited into a single image. Parameterized over the
  * {@code ILayer<IPicture<IPixel>>} implementation of a layer. Invariant: Each layer can only
  * contain images that match this {@code LayeredPicture}'s width and height.
  */
 public class LayeredPicture implements ILayeredPicture<ILayer<IPicture<IPixel>>> {
 
   private final Map<String, ILayer<IPicture<IPixel>>> layers;
+  private final Compositor compositor = new Compositor();
   private String currentLayer;
   private int width;
   private int height;
@@ -38,7 +42,7 @@ public class LayeredPicture implements ILayeredPicture<ILayer<IPicture<IPixel>>>
       throw new IllegalArgumentException("Other cannot be null");
     }
 
-    layers = new HashMap<>();
+    layers = new LinkedHashMap<>();
 
     for (ILayer<IPicture<IPixel>> layer : other.getLayers()) {
       layers.put(layer.getName(), new Layer(layer));
@@ -61,7 +65,7 @@ public class LayeredPicture implements ILayeredPicture<ILayer<IPicture<IPixel>>>
    * @throws IllegalArgumentException width or height are not positive, or maxVal is negative
    */
   public LayeredPicture(int width, int height, int maxVal) throws IllegalArgumentException {
-    this.layers = new HashMap<>();
+    this.layers = new LinkedHashMap<>();
 
     if (width < 0 || height < 0) {
       throw new IllegalArgumentException("Width and height must be positive");
@@ -171,6 +175,18 @@ public class LayeredPicture implements ILayeredPicture<ILayer<IPicture<IPixel>>>
     return getCurrentImage().getChannelValues(channel);
   }
 
+  @Override
+  public void getPackedRGB(Rectangle region, int[] out, int offset, int stride)
+      throws IllegalArgumentException {
+    getCurrentImage().getPackedRGB(region, out, offset, stride);
+  }
+
+  @Override
+  public void getPackedARGB(Rectangle region, int[] out, int offset, int stride)
+      throws IllegalArgumentException {
+    getCurrentImage().getPackedARGB(region, out, offset, stride);
+  }
+
   @Override
   public int[][] getImageSubset(int dimension, Point center, ColorChannel channel)
       throws IllegalArgumentException {
@@ -181,10 +197,10 @@ public class LayeredPicture implements ILayeredPicture<ILayer<IPicture<IPixel>>>
   public List<ILayer<IPicture<IPixel>>> getLayers() {
     List<ILayer<IPicture<IPixel>>> result = new ArrayList<>();
 
+    // Copies keep each layer's generation so that callers can tell which layers have changed.
     for (ILayer<IPicture<IPixel>> layer : layers.values()) {
       if (layer.getImage() != null) {
-        result.add(
-            new Layer(layer.getName(), layer.getVisibility(), new Picture(layer.getImage())));
+        result.add(new Layer(layer));
       } else {
         result.add(new Layer(layer.getName(), layer.getVisibility(), layer.getImage()));
       }
@@ -193,6 +209,19 @@ public class LayeredPicture implements ILayeredPicture<ILayer<IPicture<IPixel>>>
     return result;
   }
 
+  @Override
+  public List<String> getLayerNames() {
+    return new ArrayList<>(layers.keySet());
+  }
+
+  @Override
+  public IPicture<IPixel> getComposite() {
+    List<String> names = new ArrayList<>(layers.keySet());
+
+    return compositor.composite(new ArrayList<>(layers.values()), names.indexOf(currentLayer),
+        width, height);
+  }
+
   @Override
   public ILayer<IPicture<IPixel>> getCurrentLayer() {
     return layers.get(currentLayer);
@@ -203,11 +232,44 @@ public class LayeredPicture implements ILayeredPicture<ILayer<IPicture<IPixel>>>
     return getCurrentImage().filter(kernel);
   }
 
+  @Override
+  public IPicture<IPixel> filter(Kernel kernel) throws IllegalArgumentException {
+    return getCurrentImage().filter(kernel);
+  }
+
   @Override
   public IPicture<IPixel> colorTransform(double[][] matrix) throws IllegalArgumentException {
     return getCurrentImage().colorTransform(matrix);
   }
 
+  @Override
+  public IPicture<IPixel> gaussianBlur(double sigma) throws IllegalArgumentException {
+    return getCurrentImage().gaussianBlur(sigma);
+  }
+
+  @Override
+  public IPicture<IPixel> unsharpMask(double amount, double radius, int threshold)
+      throws IllegalArgumentException {
+    return getCurrentImage().unsharpMask(amount, radius, threshold);
+  }
+
+  @Override
+  public IPicture<IPixel> rankFilter(RankFilter.Rank rank, int radius)
+      throws IllegalArgumentException {
+    return getCurrentImage().rankFilter(rank, radius);
+  }
+
+  @Override
+  public IPicture<IPixel> bilateralFilter(double spatialSigma, double rangeSigma)
+      throws IllegalArgumentException {
+    return getCurrentImage().bilateralFilter(spatialSigma, rangeSigma);
+  }
+
+  @Override
+  public IPicture<IPixel> detectEdges() {
+    return getCurrentImage().detectEdges();
+  }
+
   @Override
   public void setCurrentLayer(String name) throws IllegalArgumentException {
     if (name == null || !layers.containsKey(name)) {
@@ -238,7 +300,7 @@ public class LayeredPicture implements ILayeredPicture<ILayer<IPicture<IPixel>>>
       throw new IllegalArgumentException("Layer is null or has pre-existing name");
     }
 
-    if (layer.getImage() != null && this.width == 0 && this.height == 0) {
+    if (this.width == 0 && this.height == 0 && layer.getImage() != null) {
       this.width = layer.getImage().getWidth();
       this.height = layer.getImage().getHeight();
     }
@@ -247,12 +309,12 @@ public class LayeredPicture implements ILayeredPicture<ILayer<IPicture<IPixel>>>
   }
 
   @Override
-  public void removeLayer(String name) throws IllegalArgumentException {
+  public ILayer<IPicture<IPixel>> removeLayer(String name) throws IllegalArgumentException {
     if (name == null || !layers.containsKey(name)) {
       throw new IllegalArgumentException("Layer name is null or doesn't exist");
     }
 
-    layers.remove(name);
+    return layers.remove(name);
   }
 
   @Override
@@ -264,6 +326,28 @@ public class LayeredPicture implements ILayeredPicture<ILayer<IPicture<IPixel>>>
     layers.remove(layer.getName());
   }
 
+  @Override
+  public void replaceLayer(String name, ILayer<IPicture<IPixel>> layer)
+      throws IllegalArgumentException {
+    if (name == null || layer == null || !layers.containsKey(name)) {
+      throw new IllegalArgumentException("Layer is null or name doesn't exist");
+    } else if (!name.equals(layer.getName()) && layers.containsKey(layer.getName())) {
+      throw new IllegalArgumentException("Layer has pre-existing name");
+    }
+
+    List<ILayer<IPicture<IPixel>>> stack = new ArrayList<>(layers.values());
+    layers.clear();
+
+    for (ILayer<IPicture<IPixel>> existing : stack) {
+      ILayer<IPicture<IPixel>> kept = existing.getName().equals(name) ? layer : existing;
+      layers.put(kept.getName(), kept);
+    }
+
+    if (name.equals(currentLayer)) {
+      currentLayer = layer.getName();
+    }
+  }
+
   @Override
   public void setVisibility(boolean visibility) {
     if (currentLayer == null) {
@@ -273,6 +357,16 @@ public class LayeredPicture implements ILayeredPicture<ILayer<IPicture<IPixel>>>
     layers.get(currentLayer).setVisibility(visibility);
   }
 
+  @Override
+  public void setBlendMode(BlendMode mode)
+      throws IllegalArgumentException, IllegalStateException {
+    if (currentLayer == null) {
+      throw new IllegalStateException("Layer has not been selected");
+    }
+
+    layers.get(currentLayer).setBlendMode(mode);
+  }
+
   @Override
   public String toString() {
     StringBuilder result;
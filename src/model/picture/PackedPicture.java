@@ -0,0 +1,209 @@
+package model.picture;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import model.pixel.ColorChannel;
+import model.pixel.IPixel;
+import model.pixel.Pixel;
+
+/**
+ * Represents an 8-bit image stored as premultiplied, packed ARGB values, such as the composite of
+ * a stack of layers. Packed pixel values are read straight from those values, so any region of
+ * the image can be displayed without creating a pixel for each of its values. Every other
+ * operation is performed on the equivalent {@code Picture}, which is only created the first time
+ * an operation needs it.
+ */
+public class PackedPicture implements IPicture<IPixel> {
+
+  private final int width;
+  private final int height;
+  private final int[] argb;
+  private IPicture<IPixel> unpacked;
+
+  /**
+   * Constructs a {@code PackedPicture} from the given premultiplied ARGB values, stored row by row.
+   * The values are not copied, so they must not be modified afterwards.
+   *
+   * @param width  the width of the image
+   * @param height the height of the image
+   * @param argb   the premultiplied, packed ARGB value of each pixel
+   * @throws IllegalArgumentException if argb is null, width or height are not positive, or argb
+   *                                  does not hold exactly one value for each pixel
+   */
+  public PackedPicture(int width, int height, int[] argb) throws IllegalArgumentException {
+    if (argb == null) {
+      throw new IllegalArgumentException("Values cannot be null");
+    } else if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Width and height must be positive");
+    } else if ((long) width * height != argb.length) {
+      throw new IllegalArgumentException("Values do not match the dimensions");
+    }
+
+    this.width = width;
+    this.height = height;
+    this.argb = argb;
+    this.unpacked = null;
+  }
+
+  // Returns the equivalent Picture, creating it the first time it is needed.
+  private synchronized IPicture<IPixel> unpack() {
+    if (unpacked == null) {
+      IPixel[][] pixels = new IPixel[height][width];
+
+      for (int h = 0; h < height; h++) {
+        for (int w = 0; w < width; w++) {
+          int value = argb[h * width + w];
+          int rgb = unpremultiply(value);
+
+          pixels[h][w] = new Pixel(new Point(w, h), 255, rgb >> 16 & 0xFF, rgb >> 8 & 0xFF,
+              rgb & 0xFF, value >>> 24);
+        }
+      }
+
+      unpacked = new Picture(width, height, 255, pixels);
+    }
+
+    return unpacked;
+  }
+
+  // Returns the packed RGB value of the given premultiplied ARGB value.
+  private static int unpremultiply(int value) {
+    int alpha = value >>> 24;
+
+    if (alpha == 0xFF) {
+      return value & 0xFFFFFF;
+    } else if (alpha == 0) {
+      return 0;
+    }
+
+    int rgb = 0;
+
+    for (int shift = 16; shift >= 0; shift -= 8) {
+      int channel = value >>> shift & 0xFF;
+      rgb |= Math.min(0xFF, (channel * 0xFF + alpha / 2) / alpha) << shift;
+    }
+
+    return rgb;
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public int getMaxVal() {
+    return 255;
+  }
+
+  @Override
+  public IPixel[][] getPixelSequence() {
+    return unpack().getPixelSequence();
+  }
+
+  @Override
+  public int[][] getChannelValues(ColorChannel channel) throws IllegalArgumentException {
+    return unpack().getChannelValues(channel);
+  }
+
+  @Override
+  public void getPackedRGB(Rectangle region, int[] out, int offset, int stride)
+      throws IllegalArgumentException {
+    Picture.checkPackedRegion(region, out, offset, stride, width, height);
+
+    for (int h = 0; h < region.height; h++) {
+      int from = (region.y + h) * width + region.x;
+      int index = offset + h * stride;
+
+      for (int w = 0; w < region.width; w++) {
+        out[index + w] = unpremultiply(argb[from + w]);
+      }
+    }
+  }
+
+  @Override
+  public void getPackedARGB(Rectangle region, int[] out, int offset, int stride)
+      throws IllegalArgumentException {
+    Picture.checkPackedRegion(region, out, offset, stride, width, height);
+
+    for (int h = 0; h < region.height; h++) {
+      System.arraycopy(argb, (region.y + h) * width + region.x, out, offset + h * stride,
+          region.width);
+    }
+  }
+
+  @Override
+  public int[][] getImageSubset(int dimension, Point center, ColorChannel channel)
+      throws IllegalArgumentException {
+    return unpack().getImageSubset(dimension, center, channel);
+  }
+
+  @Override
+  public IPicture<IPixel> filter(double[][] kernel) throws IllegalArgumentException {
+    return unpack().filter(kernel);
+  }
+
+  @Override
+  public IPicture<IPixel> filter(Kernel kernel) throws IllegalArgumentException {
+    return unpack().filter(kernel);
+  }
+
+  @Override
+  public IPicture<IPixel> colorTransform(double[][] matrix) throws IllegalArgumentException {
+    return unpack().colorTransform(matrix);
+  }
+
+  @Override
+  public IPicture<IPixel> gaussianBlur(double sigma) throws IllegalArgumentException {
+    return unpack().gaussianBlur(sigma);
+  }
+
+  @Override
+  public IPicture<IPixel> unsharpMask(double amount, double radius, int threshold)
+      throws IllegalArgumentException {
+    return unpack().unsharpMask(amount, radius, threshold);
+  }
+
+  @Override
+  public IPicture<IPixel> rankFilter(RankFilter.Rank rank, int radius)
+      throws IllegalArgumentException {
+    return unpack().rankFilter(rank, radius);
+  }
+
+  @Override
+  public IPicture<IPixel> bilateralFilter(double spatialSigma, double rangeSigma)
+      throws IllegalArgumentException {
+    return unpack().bilateralFilter(spatialSigma, rangeSigma);
+  }
+
+  @Override
+  public IPicture<IPixel> detectEdges() {
+    return unpack().detectEdges();
+  }
+
+  @Override
+  public String toString() {
+    return unpack().toString();
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof PackedPicture) {
+      return unpack().equals(((PackedPicture) other).unpack());
+    }
+
+    return unpack().equals(other);
+  }
+
+  @Override
+  public int hashCode() {
+    return unpack().hashCode();
+  }
+}
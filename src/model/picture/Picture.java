@@ -1,6 +1,7 @@
 package model.picture;
 
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.util.Arrays;
 import java.util.Objects;
 import model.pixel.ColorChannel;
@@ -14,6 +15,12 @@ import model.pixel.Pixel;
  */
 public class Picture implements IPicture<IPixel> {
 
+  // The number of channels a color transformation applies to, which excludes the alpha channel.
+  private static final int COLOR_CHANNELS = 3;
+
+  // Weights of the red, green, and blue channels in an image's luminance.
+  private static final double[] LUMINANCE = {0.2126, 0.7152, 0.0722};
+
   protected final int width;
   protected final int height;
   protected final int maxVal;
@@ -40,7 +47,9 @@ public class Picture implements IPicture<IPixel> {
   }
 
   /**
-   * Constructs a {@code Pixel} object with the given arguments.
+   * Constructs a {@code Pixel} object with the given arguments. The given pixel sequence is kept
+   * rather than copied, so neither it nor its pixels may be changed afterwards, since images are
+   * shared on the assumption that they never change.
    *
    * @param width  number of columns in terms of pixels
    * @param height number of rows in terms of pixels
@@ -112,6 +121,78 @@ public class Picture implements IPicture<IPixel> {
     return result;
   }
 
+  @Override
+  public void getPackedRGB(Rectangle region, int[] out, int offset, int stride)
+      throws IllegalArgumentException {
+    checkPackedRegion(region, out, offset, stride, width, height);
+
+    for (int h = 0; h < region.height; h++) {
+      IPixel[] row = pixels[region.y + h];
+      int index = offset + h * stride;
+
+      for (int w = 0; w < region.width; w++) {
+        IPixel pixel = row[region.x + w];
+
+        out[index + w] = Math.min(255, pixel.getChannelValue(ColorChannel.RED)) << 16
+            | Math.min(255, pixel.getChannelValue(ColorChannel.GREEN)) << 8
+            | Math.min(255, pixel.getChannelValue(ColorChannel.BLUE));
+      }
+    }
+  }
+
+  @Override
+  public void getPackedARGB(Rectangle region, int[] out, int offset, int stride)
+      throws IllegalArgumentException {
+    checkPackedRegion(region, out, offset, stride, width, height);
+
+    for (int h = 0; h < region.height; h++) {
+      IPixel[] row = pixels[region.y + h];
+      int index = offset + h * stride;
+
+      for (int w = 0; w < region.width; w++) {
+        IPixel pixel = row[region.x + w];
+        int alpha = pixel.getPremultipliedValue(ColorChannel.ALPHA);
+        int red = pixel.getPremultipliedValue(ColorChannel.RED);
+        int green = pixel.getPremultipliedValue(ColorChannel.GREEN);
+        int blue = pixel.getPremultipliedValue(ColorChannel.BLUE);
+
+        // 8-bit images are already in the packed range, so only other ranges need scaling.
+        if (maxVal != 255) {
+          alpha = maxVal == 0 ? 255 : toEightBit(alpha);
+          red = toEightBit(red);
+          green = toEightBit(green);
+          blue = toEightBit(blue);
+        }
+
+        out[index + w] = alpha << 24 | red << 16 | green << 8 | blue;
+      }
+    }
+  }
+
+  // Scales the given channel value from this image's maximum value to 255.
+  private int toEightBit(int value) {
+    if (maxVal == 0) {
+      return 0;
+    }
+
+    return (value * 255 + maxVal / 2) / maxVal;
+  }
+
+  // Throws an IllegalArgumentException if the given region and array cannot be used to write the
+  // packed pixel values of an image with the given dimensions.
+  static void checkPackedRegion(Rectangle region, int[] out, int offset, int stride, int width,
+      int height) throws IllegalArgumentException {
+    if (region == null || out == null) {
+      throw new IllegalArgumentException("Region and array cannot be null");
+    } else if (region.x < 0 || region.y < 0 || region.width < 0 || region.height < 0
+        || region.x + region.width > width || region.y + region.height > height) {
+      throw new IllegalArgumentException("Region is not within the image");
+    } else if (region.width > 0 && region.height > 0 && (offset < 0 || stride < region.width
+        || (long) offset + (long) (region.height - 1) * stride + region.width > out.length)) {
+      throw new IllegalArgumentException("Array is too small for the region");
+    }
+  }
+
   @Override
   public int[][] getImageSubset(int dimension, Point center, ColorChannel channel)
       throws IllegalArgumentException {
@@ -155,30 +236,112 @@ public class Picture implements IPicture<IPixel> {
 
   @Override
   public IPicture<IPixel> filter(double[][] kernel) throws IllegalArgumentException {
-    if (kernel.length != kernel[0].length || kernel.length % 2 == 0) {
-      throw new IllegalArgumentException("Given kernel is not odd and square");
+    return filter(new Kernel(kernel));
+  }
+
+  @Override
+  public IPicture<IPixel> filter(Kernel kernel) throws IllegalArgumentException {
+    return filter(kernel, Convolution.getDefaultPath());
+  }
+
+  /**
+   * Filters this image with the given kernel along the given path. Both paths produce the same
+   * image unless the kernel's plan is fixed point, in which case the planar path convolves with the
+   * algorithm chosen by {@code ConvolutionPlanner} and is within one per tap of the legacy path.
+   *
+   * @param kernel the odd and square kernel to filter with
+   * @param path   the path to filter along
+   * @return the filtered image
+   * @throws IllegalArgumentException if the kernel is not odd and square or the path is null
+   */
+  public IPicture<IPixel> filter(double[][] kernel, Convolution.Path path)
+      throws IllegalArgumentException {
+    return filter(new Kernel(kernel), path);
+  }
+
+  /**
+   * Filters this image with the given kernel along the given path. Both paths produce the same
+   * image unless the kernel's plan is fixed point, in which case the planar path convolves with the
+   * algorithm chosen by {@code ConvolutionPlanner} and is within one per tap of the legacy path.
+   *
+   * @param kernel the kernel to filter with
+   * @param path   the path to filter along
+   * @return the filtered image
+   * @throws IllegalArgumentException if the kernel or the path is null
+   */
+  public IPicture<IPixel> filter(Kernel kernel, Convolution.Path path)
+      throws IllegalArgumentException {
+    if (kernel == null || path == null) {
+      throw new IllegalArgumentException("Given kernel and path cannot be null");
+    } else if (path == Convolution.Path.PLANAR) {
+      return filter(kernel, ConvolutionPlanner.hasChoice(kernel)
+          ? ConvolutionPlanner.getDefault().choose(kernel, width, height)
+          : ConvolutionPlanner.Algorithm.DIRECT);
     }
 
-    IPixel[][] newSequence = new IPixel[height][width];
+    double[][] weights = kernel.getWeights();
+    int[][] red = new int[height][width];
+    int[][] green = new int[height][width];
+    int[][] blue = new int[height][width];
 
     for (int h = 0; h < height; h++) {
       for (int w = 0; w < width; w++) {
-        int red = applyKernel(kernel,
-            getImageSubset(kernel.length, pixels[h][w].getCoordinates(), ColorChannel.RED));
+        Point center = pixels[h][w].getCoordinates();
 
-        int green = applyKernel(kernel,
-            getImageSubset(kernel.length, pixels[h][w].getCoordinates(), ColorChannel.GREEN));
+        red[h][w] = applyKernel(weights, getImageSubset(weights.length, center, ColorChannel.RED));
+        green[h][w] = applyKernel(weights,
+            getImageSubset(weights.length, center, ColorChannel.GREEN));
+        blue[h][w] = applyKernel(weights,
+            getImageSubset(weights.length, center, ColorChannel.BLUE));
+      }
+    }
 
-        int blue = applyKernel(kernel,
-            getImageSubset(kernel.length, pixels[h][w].getCoordinates(), ColorChannel.BLUE));
+    return fromPlanes(red, green, blue);
+  }
+
+  // Returns an image with the given red, green, and blue planes and this image's coordinates,
+  // maximum value, and alpha channel.
+  private IPicture<IPixel> fromPlanes(int[][] red, int[][] green, int[][] blue) {
+    IPixel[][] newSequence = new IPixel[height][width];
 
-        newSequence[h][w] = new Pixel(pixels[h][w].getCoordinates(), maxVal, red, green, blue);
+    for (int h = 0; h < height; h++) {
+      for (int w = 0; w < width; w++) {
+        newSequence[h][w] = new Pixel(pixels[h][w].getCoordinates(), maxVal, red[h][w],
+            green[h][w], blue[h][w], pixels[h][w].getChannelValue(ColorChannel.ALPHA));
       }
     }
 
     return new Picture(width, height, maxVal, newSequence);
   }
 
+  /**
+   * Filters this image by convolving the plane of each color channel at once with the given
+   * algorithm, rather than the one chosen by the default {@code ConvolutionPlanner}. Algorithms
+   * other than the direct one truncate each sum once, so the result is within one per tap of the
+   * legacy path.
+   *
+   * @param kernel    the kernel to filter with
+   * @param algorithm the algorithm to convolve with
+   * @return the filtered image
+   * @throws IllegalArgumentException if either argument is null or the algorithm does not support
+   *                                  the kernel
+   */
+  public IPicture<IPixel> filter(Kernel kernel, ConvolutionPlanner.Algorithm algorithm)
+      throws IllegalArgumentException {
+    if (!ConvolutionPlanner.isSupported(algorithm, kernel)) {
+      throw new IllegalArgumentException("Given algorithm cannot filter with the given kernel");
+    }
+
+    int[][] red = ConvolutionPlanner.convolve(algorithm, kernel,
+        getChannelValues(ColorChannel.RED));
+    int[][] green = ConvolutionPlanner.convolve(algorithm, kernel,
+        getChannelValues(ColorChannel.GREEN));
+    int[][] blue = ConvolutionPlanner.convolve(algorithm, kernel,
+        getChannelValues(ColorChannel.BLUE));
+
+    return fromPlanes(red, green, blue);
+  }
+
   // Multiplies each value of the given kernel with the respective value from the given subset
   // of this image's pixels, adding these products together and returning the sum.
   protected int applyKernel(double[][] kernel, int[][] subset) {
@@ -193,9 +356,92 @@ public class Picture implements IPicture<IPixel> {
     return sum;
   }
 
+  @Override
+  public IPicture<IPixel> gaussianBlur(double sigma) throws IllegalArgumentException {
+    GaussianBlur blur = new GaussianBlur(sigma);
+    int[][] red = blur.blur(getChannelValues(ColorChannel.RED));
+    int[][] green = blur.blur(getChannelValues(ColorChannel.GREEN));
+    int[][] blue = blur.blur(getChannelValues(ColorChannel.BLUE));
+
+    return fromPlanes(red, green, blue);
+  }
+
+  @Override
+  public IPicture<IPixel> unsharpMask(double amount, double radius, int threshold)
+      throws IllegalArgumentException {
+    UnsharpMask mask = new UnsharpMask(amount, radius, threshold);
+    int[][] red = mask.sharpen(getChannelValues(ColorChannel.RED));
+    int[][] green = mask.sharpen(getChannelValues(ColorChannel.GREEN));
+    int[][] blue = mask.sharpen(getChannelValues(ColorChannel.BLUE));
+
+    return fromPlanes(red, green, blue);
+  }
+
+  @Override
+  public IPicture<IPixel> rankFilter(RankFilter.Rank rank, int radius)
+      throws IllegalArgumentException {
+    RankFilter filter = new RankFilter(rank, radius);
+    int[][] red = filter.filter(getChannelValues(ColorChannel.RED), maxVal);
+    int[][] green = filter.filter(getChannelValues(ColorChannel.GREEN), maxVal);
+    int[][] blue = filter.filter(getChannelValues(ColorChannel.BLUE), maxVal);
+
+    return fromPlanes(red, green, blue);
+  }
+
+  /**
+   * Returns the luminance of each value in the given red, green, and blue planes, rounded to the
+   * nearest integer. Used wherever an image is reduced to one plane, such as to guide bilateral
+   * filtering or to find the edges of a mosaic.
+   *
+   * @param red   the red plane
+   * @param green the green plane, of the same size as the red plane
+   * @param blue  the blue plane, of the same size as the red plane
+   * @return the luminance plane
+   * @throws IllegalArgumentException if any plane is null
+   */
+  public static int[][] luminance(int[][] red, int[][] green, int[][] blue)
+      throws IllegalArgumentException {
+    if (red == null || green == null || blue == null) {
+      throw new IllegalArgumentException("Planes cannot be null");
+    }
+
+    int[][] luminance = new int[red.length][];
+
+    for (int h = 0; h < red.length; h++) {
+      luminance[h] = new int[red[h].length];
+
+      for (int w = 0; w < red[h].length; w++) {
+        luminance[h][w] = (int) Math.round(LUMINANCE[0] * red[h][w]
+            + LUMINANCE[1] * green[h][w] + LUMINANCE[2] * blue[h][w]);
+      }
+    }
+
+    return luminance;
+  }
+
+  @Override
+  public IPicture<IPixel> bilateralFilter(double spatialSigma, double rangeSigma)
+      throws IllegalArgumentException {
+    BilateralGrid grid = new BilateralGrid(spatialSigma, rangeSigma);
+    int[][][] planes = {getChannelValues(ColorChannel.RED), getChannelValues(ColorChannel.GREEN),
+        getChannelValues(ColorChannel.BLUE)};
+    int[][][] smoothed = grid.filter(planes, luminance(planes[0], planes[1], planes[2]));
+
+    return fromPlanes(smoothed[0], smoothed[1], smoothed[2]);
+  }
+
+  @Override
+  public IPicture<IPixel> detectEdges() {
+    int[][] red = SobelEdges.magnitude(getChannelValues(ColorChannel.RED));
+    int[][] green = SobelEdges.magnitude(getChannelValues(ColorChannel.GREEN));
+    int[][] blue = SobelEdges.magnitude(getChannelValues(ColorChannel.BLUE));
+
+    return fromPlanes(red, green, blue);
+  }
+
   @Override
   public IPicture<IPixel> colorTransform(double[][] matrix) throws IllegalArgumentException {
-    if (matrix.length != matrix[0].length || matrix.length != ColorChannel.values().length) {
+    if (matrix.length != matrix[0].length || matrix.length != COLOR_CHANNELS) {
       throw new IllegalArgumentException("Given matrix is not the same dimensions"
           + " as the number of color channels");
     }
@@ -252,14 +498,15 @@ public class Picture implements IPicture<IPixel> {
   public boolean equals(Object other) {
     if (this == other) {
       return true;
-    } else if (!(other instanceof Picture)) {
+    } else if (!(other instanceof IPicture)) {
       return false;
     }
 
-    return width == ((Picture) other).getWidth()
-        && height == ((Picture) other).getHeight()
-        && maxVal == ((Picture) other).getMaxVal()
-        && Arrays.deepEquals(pixels, ((Picture) other).getPixelSequence());
+    // Other representations of an image, such as packed composites, are equal if their pixels are.
+    return width == ((IPicture<?>) other).getWidth()
+        && height == ((IPicture<?>) other).getHeight()
+        && maxVal == ((IPicture<?>) other).getMaxVal()
+        && Arrays.deepEquals(pixels, ((IPicture<?>) other).getPixelSequence());
   }
 
   @Override
@@ -0,0 +1,244 @@
+package model.picture;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.function.Supplier;
+import model.pixel.ColorChannel;
+import model.pixel.IPixel;
+
+/**
+ * Represents an image whose full-resolution pixels have not been decoded yet. Holds a
+ * reduced-resolution preview which can be displayed right away, along with the source of the
+ * full-resolution image. The full-resolution image is only decoded the first time an operation
+ * needs its pixels, after which every operation is performed on it. Until then, packed pixel
+ * values are read from the preview scaled up to the full resolution, so that the image can be
+ * composited and displayed without being decoded. Reports the dimensions of the full-resolution
+ * image.
+ */
+public class ProxyPicture implements IPicture<IPixel> {
+
+  private final IPicture<IPixel> preview;
+  private final int width;
+  private final int height;
+  private final Supplier<IPicture<IPixel>> source;
+  private IPicture<IPixel> resolved;
+
+  /**
+   * Constructs a {@code ProxyPicture} with the given preview and source of the full-resolution
+   * image.
+   *
+   * @param preview the reduced-resolution version of the image
+   * @param width   the width of the full-resolution image
+   * @param height  the height of the full-resolution image
+   * @param source  the supplier decoding the full-resolution image
+   * @throws IllegalArgumentException if preview or source is null, or width or height are not
+   *                                  positive
+   */
+  public ProxyPicture(IPicture<IPixel> preview, int width, int height,
+      Supplier<IPicture<IPixel>> source) throws IllegalArgumentException {
+    if (preview == null || source == null) {
+      throw new IllegalArgumentException("Preview and source cannot be null");
+    } else if (width <= 0 || height <= 0) {
+      throw new IllegalArgumentException("Width and height must be positive");
+    }
+
+    this.preview = preview;
+    this.width = width;
+    this.height = height;
+    this.source = source;
+    this.resolved = null;
+  }
+
+  /**
+   * Returns the reduced-resolution version of this image, or the full-resolution image if it has
+   * already been decoded.
+   *
+   * @return the image to display
+   */
+  public synchronized IPicture<IPixel> getPreview() {
+    return resolved == null ? preview : resolved;
+  }
+
+  /**
+   * Returns whether the full-resolution image has been decoded.
+   *
+   * @return true if the full-resolution image has been decoded
+   */
+  public synchronized boolean isResolved() {
+    return resolved != null;
+  }
+
+  /**
+   * Returns the full-resolution image, decoding it if it has not been decoded yet.
+   *
+   * @return the full-resolution image
+   * @throws IllegalStateException if the source cannot provide an image with the expected
+   *                               dimensions
+   */
+  public synchronized IPicture<IPixel> resolve() throws IllegalStateException {
+    if (resolved == null) {
+      IPicture<IPixel> full = source.get();
+
+      if (full == null || full.getWidth() != width || full.getHeight() != height) {
+        throw new IllegalStateException("Source no longer matches the previewed image");
+      }
+
+      resolved = full;
+    }
+
+    return resolved;
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public int getMaxVal() {
+    return preview.getMaxVal();
+  }
+
+  @Override
+  public IPixel[][] getPixelSequence() {
+    return resolve().getPixelSequence();
+  }
+
+  @Override
+  public int[][] getChannelValues(ColorChannel channel) throws IllegalArgumentException {
+    return resolve().getChannelValues(channel);
+  }
+
+  @Override
+  public void getPackedRGB(Rectangle region, int[] out, int offset, int stride)
+      throws IllegalArgumentException {
+    if (isResolved()) {
+      resolved.getPackedRGB(region, out, offset, stride);
+    } else {
+      getScaledPreview(region, out, offset, stride, false);
+    }
+  }
+
+  @Override
+  public void getPackedARGB(Rectangle region, int[] out, int offset, int stride)
+      throws IllegalArgumentException {
+    if (isResolved()) {
+      resolved.getPackedARGB(region, out, offset, stride);
+    } else {
+      getScaledPreview(region, out, offset, stride, true);
+    }
+  }
+
+  // Writes the packed values of the preview pixels nearest to each pixel of the given region of
+  // the full-resolution image, with or without alpha.
+  private void getScaledPreview(Rectangle region, int[] out, int offset, int stride,
+      boolean withAlpha) throws IllegalArgumentException {
+    Picture.checkPackedRegion(region, out, offset, stride, width, height);
+
+    int[] columns = new int[region.width];
+
+    for (int w = 0; w < region.width; w++) {
+      columns[w] = (int) ((long) (region.x + w) * preview.getWidth() / width);
+    }
+
+    int[] row = new int[preview.getWidth()];
+    Rectangle span = new Rectangle(0, 0, preview.getWidth(), 1);
+    int previous = -1;
+
+    for (int h = 0; h < region.height; h++) {
+      span.y = (int) ((long) (region.y + h) * preview.getHeight() / height);
+
+      // Neighbouring rows usually share a preview row, which is then only read once.
+      if (span.y != previous) {
+        if (withAlpha) {
+          preview.getPackedARGB(span, row, 0, row.length);
+        } else {
+          preview.getPackedRGB(span, row, 0, row.length);
+        }
+
+        previous = span.y;
+      }
+
+      int index = offset + h * stride;
+
+      for (int w = 0; w < region.width; w++) {
+        out[index + w] = row[columns[w]];
+      }
+    }
+  }
+
+  @Override
+  public int[][] getImageSubset(int dimension, Point center, ColorChannel channel)
+      throws IllegalArgumentException {
+    return resolve().getImageSubset(dimension, center, channel);
+  }
+
+  @Override
+  public IPicture<IPixel> filter(double[][] kernel) throws IllegalArgumentException {
+    return resolve().filter(kernel);
+  }
+
+  @Override
+  public IPicture<IPixel> filter(Kernel kernel) throws IllegalArgumentException {
+    return resolve().filter(kernel);
+  }
+
+  @Override
+  public IPicture<IPixel> colorTransform(double[][] matrix) throws IllegalArgumentException {
+    return resolve().colorTransform(matrix);
+  }
+
+  @Override
+  public IPicture<IPixel> gaussianBlur(double sigma) throws IllegalArgumentException {
+    return resolve().gaussianBlur(sigma);
+  }
+
+  @Override
+  public IPicture<IPixel> unsharpMask(double amount, double radius, int threshold)
+      throws IllegalArgumentException {
+    return resolve().unsharpMask(amount, radius, threshold);
+  }
+
+  @Override
+  public IPicture<IPixel> rankFilter(RankFilter.Rank rank, int radius)
+      throws IllegalArgumentException {
+    return resolve().rankFilter(rank, radius);
+  }
+
+  @Override
+  public IPicture<IPixel> bilateralFilter(double spatialSigma, double rangeSigma)
+      throws IllegalArgumentException {
+    return resolve().bilateralFilter(spatialSigma, rangeSigma);
+  }
+
+  @Override
+  public IPicture<IPixel> detectEdges() {
+    return resolve().detectEdges();
+  }
+
+  @Override
+  public String toString() {
+    return resolve().toString();
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    } else if (other instanceof ProxyPicture) {
+      return resolve().equals(((ProxyPicture) other).resolve());
+    }
+
+    return resolve().equals(other);
+  }
+
+  @Override
+  public int hashCode() {
+    return resolve().hashCode();
+  }
+}
@@ -0,0 +1,355 @@
+package model.picture;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Replaces each channel value with the median, minimum, or maximum of the square window of the
+ * given radius around it, which removes noise without smearing edges the way a blur does. Windows
+ * are clipped to the plane, so values beyond its edges are ignored rather than taken to be zero.
+ *
+ * <p>The median uses the constant-time algorithm of Perreault and Hebert, which keeps a histogram of
+ * each column of the window and slides a histogram of the whole window along each row by adding
+ * one column histogram and removing another. Histograms have a coarse level of sixteen values per
+ * bin and a fine level of one value per bin, and the fine level of the window's histogram is only
+ * brought up to date for the coarse bin holding the median, so the time per value does not grow
+ * with the radius. The histograms need values of at most {@code MAX_HISTOGRAM_VALUE}; planes with
+ * a larger maximum value are filtered by sorting each window instead. The minimum and maximum use
+ * the algorithm of van Herk and Gil and Werman along each row and then each column, which takes
+ * three comparisons per value whatever the radius. Both algorithms work on strips of adjacent
+ * columns in parallel.
+ */
+public final class RankFilter {
+
+  /**
+   * The ranks a filter can take from each window, where the minimum erodes bright areas and the
+   * maximum dilates them.
+   */
+  public enum Rank { MEDIAN, MIN, MAX }
+
+  // Largest maximum value whose planes are filtered with histograms.
+  public static final int MAX_HISTOGRAM_VALUE = 255;
+
+  // Number of values in each coarse bin of a histogram, and the shift which finds the bin.
+  private static final int COARSE_SIZE = 16;
+  private static final int COARSE_SHIFT = 4;
+
+  // Number of adjacent columns filtered together by one task.
+  private static final int COLUMN_STRIP = 128;
+
+  private final Rank rank;
+  private final int radius;
+
+  /**
+   * Constructs a {@code RankFilter} which takes the given rank of the square window of the given
+   * radius around each value, which is 2 * radius + 1 values across.
+   *
+   * @param rank   the rank to take from each window
+   * @param radius the number of values on each side of the center of the window
+   * @throws IllegalArgumentException if rank is null or radius is negative
+   */
+  public RankFilter(Rank rank, int radius) throws IllegalArgumentException {
+    if (rank == null) {
+      throw new IllegalArgumentException("Rank cannot be null");
+    } else if (radius < 0) {
+      throw new IllegalArgumentException("Radius cannot be negative");
+    }
+
+    this.rank = rank;
+    this.radius = radius;
+  }
+
+  /**
+   * Returns the rank this filter takes from each window.
+   *
+   * @return the rank of this filter
+   */
+  public Rank getRank() {
+    return rank;
+  }
+
+  /**
+   * Returns the number of values on each side of the center of this filter's window.
+   *
+   * @return the radius of this filter
+   */
+  public int getRadius() {
+    return radius;
+  }
+
+  /**
+   * Filters the given plane of channel values, each of which is between 0 and the given maximum
+   * value. The lower of the two middle values is taken as the median of windows with an even number
+   * of values, which are those clipped by the plane's edges.
+   *
+   * @param plane  the channel values to filter, as rows of equal length
+   * @param maxVal the maximum value of the channel
+   * @return the filtered values, as rows matching the given plane
+   * @throws IllegalArgumentException if the plane is null, its rows differ in length, or it has a
+   *                                  value which is negative or above the maximum value
+   */
+  public int[][] filter(int[][] plane, int maxVal) throws IllegalArgumentException {
+    if (plane == null) {
+      throw new IllegalArgumentException("Plane cannot be null");
+    }
+
+    int width = plane.length == 0 ? 0 : plane[0].length;
+
+    for (int[] row : plane) {
+      if (row == null || row.length != width) {
+        throw new IllegalArgumentException("Rows of the plane must be the same length");
+      }
+
+      for (int value : row) {
+        if (value < 0 || value > maxVal) {
+          throw new IllegalArgumentException("Values must be between 0 and the maximum value");
+        }
+      }
+    }
+
+    int[][] result = new int[plane.length][width];
+    int strips = (width + COLUMN_STRIP - 1) / COLUMN_STRIP;
+
+    if (rank != Rank.MEDIAN) {
+      extreme(plane, result, strips);
+    } else if (maxVal <= MAX_HISTOGRAM_VALUE) {
+      IntStream.range(0, strips).parallel().forEach(strip -> medianStrip(plane, result, maxVal,
+          strip * COLUMN_STRIP, Math.min(width, (strip + 1) * COLUMN_STRIP)));
+    } else {
+      IntStream.range(0, strips).parallel().forEach(strip -> sortedStrip(plane, result,
+          strip * COLUMN_STRIP, Math.min(width, (strip + 1) * COLUMN_STRIP)));
+    }
+
+    return result;
+  }
+
+  // Filters the columns between the given indices with the median of each window, sliding a
+  // histogram of the window along each row.
+  private void medianStrip(int[][] plane, int[][] result, int maxVal, int start, int end) {
+    int height = plane.length;
+    int width = plane[0].length;
+    int bins = maxVal + 1;
+    int coarseBins = (bins + COARSE_SIZE - 1) / COARSE_SIZE;
+
+    // Column histograms are kept for every column any window of the strip reaches.
+    int first = Math.max(0, start - radius);
+    int last = Math.min(width, end + radius);
+    int[] columnFine = new int[(last - first) * bins];
+    int[] columnCoarse = new int[(last - first) * coarseBins];
+    int[] windowFine = new int[bins];
+    int[] windowCoarse = new int[coarseBins];
+    int[] updated = new int[coarseBins];
+
+    for (int y = 0; y < Math.min(height, radius); y++) {
+      addRow(plane[y], first, last, columnFine, columnCoarse, bins, coarseBins, 1);
+    }
+
+    for (int y = 0; y < height; y++) {
+      if (y + radius < height) {
+        addRow(plane[y + radius], first, last, columnFine, columnCoarse, bins, coarseBins, 1);
+      }
+
+      if (y - radius - 1 >= 0) {
+        addRow(plane[y - radius - 1], first, last, columnFine, columnCoarse, bins, coarseBins,
+            -1);
+      }
+
+      int rows = Math.min(height, y + radius + 1) - Math.max(0, y - radius);
+
+      // The window's coarse histogram starts with every column it reaches from the first column of
+      // the strip, and its fine histogram is brought up to date one coarse bin at a time.
+      Arrays.fill(windowCoarse, 0);
+      Arrays.fill(updated, Integer.MIN_VALUE);
+
+      for (int c = Math.max(0, start - radius); c <= Math.min(width - 1, start + radius); c++) {
+        for (int b = 0; b < coarseBins; b++) {
+          windowCoarse[b] += columnCoarse[(c - first) * coarseBins + b];
+        }
+      }
+
+      for (int x = start; x < end; x++) {
+        if (x > start) {
+          if (x + radius < width) {
+            for (int b = 0; b < coarseBins; b++) {
+              windowCoarse[b] += columnCoarse[(x + radius - first) * coarseBins + b];
+            }
+          }
+
+          if (x - radius - 1 >= 0) {
+            for (int b = 0; b < coarseBins; b++) {
+              windowCoarse[b] -= columnCoarse[(x - radius - 1 - first) * coarseBins + b];
+            }
+          }
+        }
+
+        int columns = Math.min(width, x + radius + 1) - Math.max(0, x - radius);
+        int remaining = (rows * columns - 1) / 2;
+        int bin = 0;
+
+        while (remaining >= windowCoarse[bin]) {
+          remaining -= windowCoarse[bin];
+          bin++;
+        }
+
+        updateFine(windowFine, columnFine, bin, updated[bin], x, first, width, bins);
+        updated[bin] = x;
+
+        int value = bin * COARSE_SIZE;
+
+        while (remaining >= windowFine[value]) {
+          remaining -= windowFine[value];
+          value++;
+        }
+
+        result[y][x] = value;
+      }
+    }
+  }
+
+  // Adds the given row's values, between the given columns, to the column histograms the given
+  // number of times, which is -1 to remove them.
+  private static void addRow(int[] row, int first, int last, int[] columnFine,
+      int[] columnCoarse, int bins, int coarseBins, int count) {
+    for (int c = first; c < last; c++) {
+      int value = row[c];
+      columnFine[(c - first) * bins + value] += count;
+      columnCoarse[(c - first) * coarseBins + (value >> COARSE_SHIFT)] += count;
+    }
+  }
+
+  // Brings the fine histogram of the window centered on the given column up to date for the given
+  // coarse bin, which was last brought up to date for the window centered on the given previous
+  // column. Columns which left or entered the window since are removed or added, unless that is
+  // more work than summing the window's columns again.
+  private void updateFine(int[] windowFine, int[] columnFine, int bin, int previous, int x,
+      int first, int width, int bins) {
+    int low = bin * COARSE_SIZE;
+    int high = Math.min(bins, low + COARSE_SIZE);
+
+    if (previous == Integer.MIN_VALUE || x - previous > 2 * radius + 1) {
+      Arrays.fill(windowFine, low, high, 0);
+
+      for (int c = Math.max(0, x - radius); c <= Math.min(width - 1, x + radius); c++) {
+        addColumn(windowFine, columnFine, c - first, bins, low, high, 1);
+      }
+
+      return;
+    }
+
+    for (int c = previous - radius; c < x - radius; c++) {
+      if (c >= 0) {
+        addColumn(windowFine, columnFine, c - first, bins, low, high, -1);
+      }
+    }
+
+    for (int c = previous + radius + 1; c <= x + radius; c++) {
+      if (c < width) {
+        addColumn(windowFine, columnFine, c - first, bins, low, high, 1);
+      }
+    }
+  }
+
+  // Adds the given column's fine histogram between the given values to the window's the given
+  // number of times, which is -1 to remove it.
+  private static void addColumn(int[] windowFine, int[] columnFine, int column, int bins, int low,
+      int high, int count) {
+    int offset = column * bins;
+
+    for (int v = low; v < high; v++) {
+      windowFine[v] += count * columnFine[offset + v];
+    }
+  }
+
+  // Filters the columns between the given indices with the median of each window by sorting it,
+  // for planes whose maximum value is too large for histograms.
+  private void sortedStrip(int[][] plane, int[][] result, int start, int end) {
+    int height = plane.length;
+    int width = plane[0].length;
+    int side = 2 * radius + 1;
+    int[] window = new int[side * side];
+
+    for (int y = 0; y < height; y++) {
+      for (int x = start; x < end; x++) {
+        int count = 0;
+
+        for (int h = Math.max(0, y - radius); h <= Math.min(height - 1, y + radius); h++) {
+          for (int w = Math.max(0, x - radius); w <= Math.min(width - 1, x + radius); w++) {
+            window[count++] = plane[h][w];
+          }
+        }
+
+        Arrays.sort(window, 0, count);
+        result[y][x] = window[(count - 1) / 2];
+      }
+    }
+  }
+
+  // Filters the plane with the minimum or maximum of each window, along each row in parallel and
+  // then along each strip of columns in parallel.
+  private void extreme(int[][] plane, int[][] result, int strips) {
+    int height = plane.length;
+    int width = height == 0 ? 0 : plane[0].length;
+    boolean max = rank == Rank.MAX;
+
+    IntStream.range(0, height).parallel().forEach(y -> {
+      int[] line = new int[width + 2 * radius];
+      int[] forward = new int[line.length];
+      int[] backward = new int[line.length];
+
+      System.arraycopy(plane[y], 0, line, radius, width);
+      extremeLine(line, forward, backward, result[y], width, max);
+    });
+
+    IntStream.range(0, strips).parallel().forEach(strip -> {
+      int[] line = new int[height + 2 * radius];
+      int[] forward = new int[line.length];
+      int[] backward = new int[line.length];
+      int[] out = new int[height];
+
+      for (int x = strip * COLUMN_STRIP; x < Math.min(width, (strip + 1) * COLUMN_STRIP); x++) {
+        for (int y = 0; y < height; y++) {
+          line[y + radius] = result[y][x];
+        }
+
+        extremeLine(line, forward, backward, out, height, max);
+
+        for (int y = 0; y < height; y++) {
+          result[y][x] = out[y];
+        }
+      }
+    });
+  }
+
+  // Writes the minimum or maximum of each window of the given line, whose values start after the
+  // radius, with the algorithm of van Herk and Gil and Werman. The line is split into blocks the
+  // size of a window, each window spans the end of one block and the start of the next, and the
+  // running extremes forward and backward from the block boundaries give its extreme with one more
+  // comparison.
+  private void extremeLine(int[] line, int[] forward, int[] backward, int[] out, int length,
+      boolean max) {
+    int side = 2 * radius + 1;
+    int padding = max ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+
+    // Values beyond the edges never win, which clips the windows to the line.
+    Arrays.fill(line, 0, radius, padding);
+    Arrays.fill(line, radius + length, line.length, padding);
+
+    for (int i = 0; i < line.length; i++) {
+      forward[i] = i % side == 0 ? line[i] : pick(forward[i - 1], line[i], max);
+    }
+
+    for (int i = line.length - 1; i >= 0; i--) {
+      backward[i] = i % side == side - 1 || i == line.length - 1 ? line[i]
+          : pick(backward[i + 1], line[i], max);
+    }
+
+    for (int i = 0; i < length; i++) {
+      out[i] = pick(backward[i], forward[i + side - 1], max);
+    }
+  }
+
+  // Returns the larger of the given values if max is true, and the smaller otherwise.
+  private static int pick(int a, int b, boolean max) {
+    return max ? Math.max(a, b) : Math.min(a, b);
+  }
+}
@@ -0,0 +1,101 @@
+package model.picture;
+
+import java.awt.Rectangle;
+import java.util.function.Supplier;
+import model.pixel.IPixel;
+
+/**
+ * Represents a layer whose image is a rectangular region of a larger image file. Only the pixels
+ * within the region are decoded, and only when the layer's image is first needed, so operations
+ * and exports on this layer never touch the rest of the file. Once an image is set on this layer,
+ * it behaves like a regular layer holding the edited region.
+ */
+public class RegionLayer extends Layer {
+
+  private final String source;
+  private final Rectangle region;
+  private final Supplier<IPicture<IPixel>> decoder;
+  private IPicture<IPixel> decoded;
+  private boolean edited;
+
+  /**
+   * Constructs a {@code RegionLayer} with the given name and visibility referencing the given
+   * region of the given file.
+   *
+   * @param name       the desired name for this layer
+   * @param visibility whether or not this layer is visible
+   * @param source     the path of the file containing the region
+   * @param region     the region of the file's image, in pixels
+   * @param decoder    the supplier decoding the region of the file
+   * @throws IllegalArgumentException if name is null or empty, or any other argument is null
+   */
+  public RegionLayer(String name, boolean visibility, String source, Rectangle region,
+      Supplier<IPicture<IPixel>> decoder) throws IllegalArgumentException {
+    super(name, visibility, null);
+
+    if (source == null || region == null || decoder == null) {
+      throw new IllegalArgumentException("Source, region, and decoder cannot be null");
+    }
+
+    this.source = source;
+    this.region = new Rectangle(region);
+    this.decoder = decoder;
+    this.decoded = null;
+    this.edited = false;
+  }
+
+  /**
+   * Returns the path of the file containing this layer's region.
+   *
+   * @return the path of the backing file
+   */
+  public String getSource() {
+    return source;
+  }
+
+  /**
+   * Returns the region of the backing file's image referenced by this layer.
+   *
+   * @return a copy of the region, in pixels
+   */
+  public Rectangle getRegion() {
+    return new Rectangle(region);
+  }
+
+  /**
+   * Returns whether an image has been set on this layer, replacing the region of the backing file.
+   *
+   * @return true if this layer's image has been replaced
+   */
+  public synchronized boolean isEdited() {
+    return edited;
+  }
+
+  // Decodes the region of the backing file the first time it is needed.
+  @Override
+  public synchronized IPicture<IPixel> getImage() {
+    if (edited) {
+      return super.getImage();
+    }
+
+    if (decoded == null) {
+      IPicture<IPixel> image = decoder.get();
+
+      if (image == null || image.getWidth() != region.width
+          || image.getHeight() != region.height) {
+        throw new IllegalStateException("Decoded image does not match the region");
+      }
+
+      decoded = image;
+    }
+
+    return decoded;
+  }
+
+  @Override
+  public synchronized void setImage(IPicture<IPixel> image) {
+    edited = true;
+    decoded = null;
+    super.setImage(image);
+  }
+}
@@ -0,0 +1,109 @@
+package model.picture;
+
+import java.util.stream.IntStream;
+
+/**
+ * Detects edges in planes of channel values with the Sobel operator, computing the horizontal and
+ * vertical responses of each value and the magnitude of its gradient together in a single pass
+ * with integer arithmetic. Values beyond the plane's edges are taken to repeat the nearest edge
+ * value, so the edges of the plane are not detected as edges themselves. Square roots are read
+ * from a table for the small magnitudes most values have, and are otherwise found from the table
+ * with one integer Newton step, so no floating point is used. Rows are computed in parallel.
+ */
+public final class SobelEdges {
+
+  // Number of squared magnitudes whose square roots are kept in the table.
+  private static final int TABLE_SIZE = 1 << 16;
+
+  // Square roots of every squared magnitude below the table size, rounded down.
+  private static final int[] ROOTS = new int[TABLE_SIZE];
+
+  static {
+    for (int i = 0; i < TABLE_SIZE; i++) {
+      ROOTS[i] = (int) Math.sqrt(i);
+    }
+  }
+
+  private SobelEdges() {
+    // Only static methods are offered.
+  }
+
+  /**
+   * Returns the magnitude of the Sobel gradient of each of the given values, rounded down. The
+   * magnitude is not scaled, so it reaches {@code 4 * sqrt(2)} times the largest value at the
+   * sharpest edges.
+   *
+   * @param plane the channel values to detect edges in, as rows of equal length
+   * @return the gradient magnitudes, as rows matching the given plane
+   * @throws IllegalArgumentException if the plane is null or its rows differ in length
+   */
+  public static int[][] magnitude(int[][] plane) throws IllegalArgumentException {
+    if (plane == null) {
+      throw new IllegalArgumentException("Plane cannot be null");
+    }
+
+    int height = plane.length;
+    int width = height == 0 ? 0 : plane[0].length;
+
+    for (int[] row : plane) {
+      if (row == null || row.length != width) {
+        throw new IllegalArgumentException("Rows of the plane must be the same length");
+      }
+    }
+
+    int[][] result = new int[height][width];
+
+    IntStream.range(0, height).parallel().forEach(y -> {
+      int[] above = plane[Math.max(0, y - 1)];
+      int[] row = plane[y];
+      int[] below = plane[Math.min(height - 1, y + 1)];
+      int[] out = result[y];
+
+      for (int x = 0; x < width; x++) {
+        int left = Math.max(0, x - 1);
+        int right = Math.min(width - 1, x + 1);
+        long horizontal = (long) above[right] + 2L * row[right] + below[right]
+            - above[left] - 2L * row[left] - below[left];
+        long vertical = (long) below[left] + 2L * below[x] + below[right]
+            - above[left] - 2L * above[x] - above[right];
+
+        out[x] = squareRoot(horizontal * horizontal + vertical * vertical);
+      }
+    });
+
+    return result;
+  }
+
+  /**
+   * Returns the square root of the given value, rounded down, without floating point arithmetic.
+   *
+   * @param value the value to find the square root of
+   * @return the square root, rounded down
+   * @throws IllegalArgumentException if value is negative or at least 2^62
+   */
+  public static int squareRoot(long value) throws IllegalArgumentException {
+    if (value < 0 || value >= 1L << 62) {
+      throw new IllegalArgumentException("Value must be between 0 and 2^62");
+    } else if (value < TABLE_SIZE) {
+      return ROOTS[(int) value];
+    }
+
+    // Shifting by an even number of bits brings the value into the table, whose root shifted back
+    // by half as many bits is within a factor of 1 + 2^-8 of the answer, which one Newton step
+    // from above brings to within one.
+    int shift = (64 - Long.numberOfLeadingZeros(value) - 15) & ~1;
+    long root = (long) (ROOTS[(int) (value >>> shift)] + 1) << (shift / 2);
+
+    root = (root + value / root) / 2;
+
+    while (root * root > value) {
+      root--;
+    }
+
+    while ((root + 1) * (root + 1) <= value) {
+      root++;
+    }
+
+    return (int) root;
+  }
+}
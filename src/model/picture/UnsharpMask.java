@@ -0,0 +1,96 @@
+package model.picture;
+
+import java.util.stream.IntStream;
+
+/**
+ * Sharpens planes of channel values with an unsharp mask, which adds back the difference between
+ * each value and a Gaussian blur of its neighborhood, scaled by an amount. Differences smaller than
+ * a threshold are left alone, so flat areas and fine noise are not sharpened. The blur is a
+ * {@code GaussianBlur}, so the time taken does not grow with the radius, and the difference is
+ * scaled, thresholded, and rounded in a single pass over the blurred values.
+ */
+public final class UnsharpMask {
+
+  private final double amount;
+  private final GaussianBlur blur;
+  private final int threshold;
+
+  /**
+   * Constructs an {@code UnsharpMask} with the given amount, radius, and threshold.
+   *
+   * @param amount    the fraction of the difference from the blur which is added to each value
+   * @param radius    the standard deviation of the blur, in pixels
+   * @param threshold the smallest difference from the blur which is sharpened
+   * @throws IllegalArgumentException if amount is negative or not finite, radius is below 0.5 or
+   *                                  not finite, or threshold is negative
+   */
+  public UnsharpMask(double amount, double radius, int threshold)
+      throws IllegalArgumentException {
+    if (!(amount >= 0) || Double.isInfinite(amount)) {
+      throw new IllegalArgumentException("Amount must be finite and not negative");
+    } else if (threshold < 0) {
+      throw new IllegalArgumentException("Threshold cannot be negative");
+    }
+
+    this.amount = amount;
+    this.blur = new GaussianBlur(radius);
+    this.threshold = threshold;
+  }
+
+  /**
+   * Returns the fraction of the difference from the blur which is added to each value.
+   *
+   * @return the amount of sharpening
+   */
+  public double getAmount() {
+    return amount;
+  }
+
+  /**
+   * Returns the standard deviation of the blur, in pixels.
+   *
+   * @return the radius of sharpening
+   */
+  public double getRadius() {
+    return blur.getSigma();
+  }
+
+  /**
+   * Returns the smallest difference from the blur which is sharpened.
+   *
+   * @return the threshold of sharpening
+   */
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Sharpens the given plane of channel values, rounding each sharpened value to the nearest
+   * integer. The returned values are not clamped.
+   *
+   * @param plane the channel values to sharpen, as rows of equal length
+   * @return the sharpened values, as rows matching the given plane
+   * @throws IllegalArgumentException if the plane is null or its rows differ in length
+   */
+  public int[][] sharpen(int[][] plane) throws IllegalArgumentException {
+    double[][] blurred = blur.filter(plane);
+    int[][] result = new int[plane.length][];
+
+    IntStream.range(0, plane.length).parallel().forEach(y -> {
+      int[] row = plane[y];
+      double[] blurredRow = blurred[y];
+      int[] resultRow = new int[row.length];
+
+      for (int x = 0; x < row.length; x++) {
+        double difference = row[x] - blurredRow[x];
+
+        resultRow[x] = Math.abs(difference) < threshold ? row[x]
+            : (int) Math.round(row[x] + amount * difference);
+      }
+
+      result[y] = resultRow;
+    });
+
+    return result;
+  }
+}
@@ -1,6 +1,7 @@
 package model.pixel;
 
 /**
- * Represents the three different color channels that comprise a pixel's color.
+ * Represents the three different color channels that comprise a pixel's color, along with the alpha
+ * channel which represents a pixel's opacity.
  */
-public enum ColorChannel { RED, GREEN, BLUE }
+public enum ColorChannel { RED, GREEN, BLUE, ALPHA }
@@ -17,7 +17,7 @@ public interface IPixel {
   Point getCoordinates();
 
   /**
-   * Returns the maximum value that the red, green, and blue channels can have.
+   * Returns the maximum value that the red, green, blue, and alpha channels can have.
    *
    * @return an int representing the maximum value
    */
@@ -25,6 +25,7 @@ public interface IPixel {
 
   /**
    * Returns this pixel's color channel value depending on the given {@code ColorChannel} type.
+   * Color channel values are returned without being premultiplied by the alpha channel value.
    *
    * @param channel the desired color channel
    * @return an int representing the specified color channel's value
@@ -32,9 +33,21 @@ public interface IPixel {
    */
   int getChannelValue(ColorChannel channel) throws IllegalArgumentException;
 
+  /**
+   * Returns this pixel's color channel value premultiplied by its alpha channel value, scaled
+   * between 0 and this pixel's maximum value. The alpha channel's value is returned unchanged.
+   *
+   * @param channel the desired color channel
+   * @return an int representing the specified color channel's premultiplied value
+   * @throws IllegalArgumentException if given {@code ColorChannel} is null
+   */
+  int getPremultipliedValue(ColorChannel channel) throws IllegalArgumentException;
+
   /**
    * Sets the pixel's specified color channel to the provided value. Automatically clamps value
-   * between 0 and this pixel's maximum value.
+   * between 0 and this pixel's maximum value. Color channel values are given without being
+   * premultiplied by the alpha channel value. Pixels already held by an image must not be set,
+   * since images are shared on the assumption that they never change.
    *
    * @param channel desired color channel value to change
    * @param value   the desired red channel value
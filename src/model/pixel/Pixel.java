@@ -5,8 +5,11 @@ import java.util.Objects;
 
 /**
  * A {@code Pixel} is the base unit for an image, containing coordinates for its row and column, the
- * maximum value each color channel can have, and the three integer values for each of its red,
- * green, and blue color channels. This implementation disallows pixels with negative coordinates.
+ * maximum value each color channel can have, and the integer values for each of its red, green,
+ * blue, and alpha channels. The red, green, and blue values are stored premultiplied by the alpha
+ * value so that pixels can be blended without dividing, but are given and returned without being
+ * premultiplied. Pixels are fully opaque unless given an alpha value. This implementation disallows
+ * pixels with negative coordinates.
  */
 public class Pixel implements IPixel {
 
@@ -16,6 +19,7 @@ public class Pixel implements IPixel {
   protected int red;
   protected int green;
   protected int blue;
+  protected int alpha;
 
   /**
    * Constructs a {@code Pixel} by setting its fields to those of the provided {@code IPixel}.
@@ -32,25 +36,27 @@ public class Pixel implements IPixel {
     this.position = other.getCoordinates();
     this.maxVal = other.getMaxVal();
 
-    this.red = other.getChannelValue(ColorChannel.RED);
-    this.green = other.getChannelValue(ColorChannel.GREEN);
-    this.blue = other.getChannelValue(ColorChannel.BLUE);
+    this.red = other.getPremultipliedValue(ColorChannel.RED);
+    this.green = other.getPremultipliedValue(ColorChannel.GREEN);
+    this.blue = other.getPremultipliedValue(ColorChannel.BLUE);
+    this.alpha = other.getPremultipliedValue(ColorChannel.ALPHA);
   }
 
   /**
-   * Constructs a {@code Pixel} object with the given arguments. Each color channel value is
-   * automatically clamped between 0 and the provided maximum value. Throws an exception if given
-   * point contains negative values or maximum value is negative.
+   * Constructs a {@code Pixel} object with the given arguments. Each channel value is automatically
+   * clamped between 0 and the provided maximum value. Throws an exception if given point contains
+   * negative values or maximum value is negative.
    *
    * @param position the position of the pixel as a {@code Point}
-   * @param maxVal   the maximum value of each color channel (inclusive)
+   * @param maxVal   the maximum value of each channel (inclusive)
    * @param red      the integer value of the red channel
    * @param green    the integer value of the green channel
    * @param blue     the integer value of the blue channel
+   * @param alpha    the integer value of the alpha channel, where the maximum value is opaque
    * @throws IllegalArgumentException if the given point is null, the given point contains negative
    *                                  values, or maximum value is negative
    */
-  public Pixel(Point position, int maxVal, int red, int green, int blue)
+  public Pixel(Point position, int maxVal, int red, int green, int blue, int alpha)
       throws IllegalArgumentException {
     if (position == null) {
       throw new IllegalArgumentException("Position cannot be null");
@@ -63,14 +69,33 @@ public class Pixel implements IPixel {
     this.position = position;
     this.maxVal = maxVal;
 
-    this.red = clamp(red);
-    this.green = clamp(green);
-    this.blue = clamp(blue);
+    this.alpha = clamp(alpha);
+    this.red = premultiply(clamp(red));
+    this.green = premultiply(clamp(green));
+    this.blue = premultiply(clamp(blue));
+  }
+
+  /**
+   * Constructs an opaque {@code Pixel} object with the given arguments. Each color channel value is
+   * automatically clamped between 0 and the provided maximum value. Throws an exception if given
+   * point contains negative values or maximum value is negative.
+   *
+   * @param position the position of the pixel as a {@code Point}
+   * @param maxVal   the maximum value of each color channel (inclusive)
+   * @param red      the integer value of the red channel
+   * @param green    the integer value of the green channel
+   * @param blue     the integer value of the blue channel
+   * @throws IllegalArgumentException if the given point is null, the given point contains negative
+   *                                  values, or maximum value is negative
+   */
+  public Pixel(Point position, int maxVal, int red, int green, int blue)
+      throws IllegalArgumentException {
+    this(position, maxVal, red, green, blue, maxVal);
   }
 
   /**
-   * Constructs a {@code Pixel} object with the given arguments. Default maximum value is set to
-   * 255. Throws an exception if given point contains negative values.
+   * Constructs an opaque {@code Pixel} object with the given arguments. Default maximum value is
+   * set to 255. Throws an exception if given point contains negative values.
    *
    * @param position the position of the pixel as a {@code Point}
    * @param red      the integer value of the red channel
@@ -99,6 +124,28 @@ public class Pixel implements IPixel {
     return value;
   }
 
+  // Returns the given color channel value multiplied by this pixel's alpha value, rounded to the
+  // nearest integer. Opaque pixels keep their values unchanged.
+  private int premultiply(int value) {
+    if (alpha == maxVal) {
+      return value;
+    }
+
+    return (value * alpha + maxVal / 2) / maxVal;
+  }
+
+  // Returns the given premultiplied color channel value divided by this pixel's alpha value,
+  // rounded to the nearest integer. Fully transparent pixels have no color.
+  private int unpremultiply(int value) {
+    if (alpha == maxVal) {
+      return value;
+    } else if (alpha == 0) {
+      return 0;
+    }
+
+    return Math.min(maxVal, (value * maxVal + alpha / 2) / alpha);
+  }
+
   // Returns a copy of this pixel's position in order to prevent mutation of its field.
   @Override
   public Point getCoordinates() {
@@ -112,6 +159,15 @@ public class Pixel implements IPixel {
 
   @Override
   public int getChannelValue(ColorChannel channel) throws IllegalArgumentException {
+    if (channel == ColorChannel.ALPHA) {
+      return alpha;
+    }
+
+    return unpremultiply(getPremultipliedValue(channel));
+  }
+
+  @Override
+  public int getPremultipliedValue(ColorChannel channel) throws IllegalArgumentException {
     if (channel == null) {
       throw new IllegalArgumentException("Given channel cannot be null");
     }
@@ -123,6 +179,8 @@ public class Pixel implements IPixel {
         return green;
       case BLUE:
         return blue;
+      case ALPHA:
+        return alpha;
       default:
         throw new IllegalArgumentException("Invalid color channel");
     }
@@ -136,13 +194,20 @@ public class Pixel implements IPixel {
 
     switch (channel) {
       case RED:
-        red = clamp(value);
+        red = premultiply(clamp(value));
         break;
       case GREEN:
-        green = clamp(value);
+        green = premultiply(clamp(value));
         break;
       case BLUE:
-        blue = clamp(value);
+        blue = premultiply(clamp(value));
+        break;
+      case ALPHA:
+        int[] colors = {unpremultiply(red), unpremultiply(green), unpremultiply(blue)};
+        alpha = clamp(value);
+        red = premultiply(colors[0]);
+        green = premultiply(colors[1]);
+        blue = premultiply(colors[2]);
         break;
       default:
         throw new IllegalArgumentException("Invalid color channel");
@@ -156,9 +221,10 @@ public class Pixel implements IPixel {
 
     result.append(String.format("Coordinates: %s\n", position.toString()));
     result.append(String.format("Maximum Value: %d\n", maxVal));
-    result.append(String.format("Red Channel Value: %d\n", red));
-    result.append(String.format("Green Channel Value: %d\n", green));
-    result.append(String.format("Blue Channel Value: %d\n", blue));
+    result.append(String.format("Red Channel Value: %d\n", getChannelValue(ColorChannel.RED)));
+    result.append(String.format("Green Channel Value: %d\n", getChannelValue(ColorChannel.GREEN)));
+    result.append(String.format("Blue Channel Value: %d\n", getChannelValue(ColorChannel.BLUE)));
+    result.append(String.format("Alpha Channel Value: %d\n", alpha));
 
     return result.toString();
   }
@@ -173,13 +239,14 @@ public class Pixel implements IPixel {
 
     return this.position.equals(((Pixel) other).getCoordinates())
         && this.maxVal == ((Pixel) other).getMaxVal()
-        && this.red == ((Pixel) other).getChannelValue(ColorChannel.RED)
-        && this.green == ((Pixel) other).getChannelValue(ColorChannel.GREEN)
-        && this.blue == ((Pixel) other).getChannelValue(ColorChannel.BLUE);
+        && this.red == ((Pixel) other).getPremultipliedValue(ColorChannel.RED)
+        && this.green == ((Pixel) other).getPremultipliedValue(ColorChannel.GREEN)
+        && this.blue == ((Pixel) other).getPremultipliedValue(ColorChannel.BLUE)
+        && this.alpha == ((Pixel) other).getPremultipliedValue(ColorChannel.ALPHA);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(position, maxVal, red, green, blue);
+    return Objects.hash(position, maxVal, red, green, blue, alpha);
   }
-}
\ No newline at end of file
+}
@@ -45,8 +45,29 @@ public class ApplicationView implements IApplicationView {
     s.append("current \"nameOfLayer\": Sets the current layer to the layer with the given name\n");
     s.append(
         "load \"filePathOfImage\": Loads an image from the given file path to the current layer\n");
+    s.append("loadRegion \"x\" \"y\" \"width\" \"height\" \"filePathOfImage\": Replaces the "
+        + "current layer with the given region of the image at the given file path, decoding only "
+        + "that region\n");
     s.append("blur: Blurs the current layer's image\n");
+    s.append("blur \"sigma\": Blurs the current layer's image with a Gaussian whose standard "
+        + "deviation is 'sigma' pixels, at least 0.5\n");
     s.append("sharpen: Sharpens the current layer's image\n");
+    s.append("sharpen \"amount\" \"radius\" \"threshold\": Sharpens the current layer's image "
+        + "with an unsharp mask, adding 'amount' times each value's difference from a Gaussian "
+        + "blur of 'radius' pixels wherever it is at least 'threshold', which is optional\n");
+    s.append("filter \"filePathOfKernel\": Filters the current layer's image with the kernel in "
+        + "the given text file, one row per line with weights such as 0.25 or 1/16\n");
+    s.append("median \"radius\": Replaces each pixel of the current layer's image with the median "
+        + "of the pixels within 'radius' pixels of it, removing noise without blurring edges\n");
+    s.append("min \"radius\": Replaces each pixel of the current layer's image with the minimum "
+        + "of the pixels within 'radius' pixels of it, eroding bright areas\n");
+    s.append("max \"radius\": Replaces each pixel of the current layer's image with the maximum "
+        + "of the pixels within 'radius' pixels of it, dilating bright areas\n");
+    s.append("bilateral \"spatialSigma\" \"rangeSigma\": Smooths the current layer's image "
+        + "while keeping its edges, averaging pixels about 'spatialSigma' pixels apart whose "
+        + "luminance differs by about 'rangeSigma' or less\n");
+    s.append("edges: Replaces the current layer's image with the strength of its edges, found with "
+        + "the Sobel operator\n");
     s.append("sepia: Makes the current layer's image sepia tone\n");
     s.append("monochrome: Makes the current layer's image monochrome\n");
     s.append("checkerboard \"tileSize\" \"numOfTiles\": Creates a checkerboard with each tile's "
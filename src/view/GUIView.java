@@ -5,23 +5,33 @@ import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.GridLayout;
 import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
 import java.io.StringReader;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
+import javax.swing.DefaultComboBoxModel;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComboBox;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.filechooser.FileNameExtensionFilter;
+import model.picture.IPicture;
+import model.pixel.IPixel;
 
 /**
  * Represents a {@code IGUIView} using {@code JFrame} to represent an application as a GUI.
@@ -51,6 +61,9 @@ public class GUIView extends JFrame implements IGUIView {
   protected JButton openButton;
   protected JButton loadButton;
 
+  // Left check box.
+  protected JCheckBox livePreview;
+
   // Left drop downs.
   protected JComboBox<String> createOptions;
   protected JComboBox<String> operationOptions;
@@ -71,6 +84,16 @@ public class GUIView extends JFrame implements IGUIView {
   protected JLabel image;
   protected JLabel openedFilePath;
 
+  // Right strip of layer thumbnails.
+  protected JPanel thumbnailPanel;
+
+  // Right image display, showing either the image label or the tiled canvas.
+  protected JScrollPane imageScrollPane;
+  protected TiledCanvas canvas;
+
+  // Right progress bar.
+  protected JProgressBar progress;
+
   // File type filters
   protected FileNameExtensionFilter jpeg;
   protected FileNameExtensionFilter png;
@@ -260,10 +283,17 @@ public class GUIView extends JFrame implements IGUIView {
     }
     operationOptions.setSelectedItem("Blur");
 
+    operationOptions.setActionCommand("Filter Preview");
+
     applyOperationButton = new JButton("Apply");
     applyOperationButton.setActionCommand("Apply Button");
 
     layerOperationPanel.add(applyOperationButton);
+
+    livePreview = new JCheckBox("Live preview");
+    livePreview.setActionCommand("Live Preview");
+
+    layerOperationPanel.add(livePreview);
   }
 
   protected void initializeSaveAndSaveAll() {
@@ -306,19 +336,34 @@ public class GUIView extends JFrame implements IGUIView {
     layerOptions.setActionCommand("Layer Options");
 
     rightMainPanel.add(layerOptions);
+
+    thumbnailPanel = new JPanel();
+    thumbnailPanel.setLayout(new BoxLayout(thumbnailPanel, BoxLayout.X_AXIS));
+
+    JScrollPane thumbnailScrollPane = new JScrollPane(thumbnailPanel,
+        JScrollPane.VERTICAL_SCROLLBAR_NEVER, JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
+    thumbnailScrollPane.setBorder(BorderFactory.createTitledBorder("Layers"));
+    thumbnailScrollPane.setPreferredSize(new Dimension(580, 120));
+    rightMainPanel.add(thumbnailScrollPane);
   }
 
   protected void imageDisplay() {
     JPanel imageDisplayPanel = new JPanel();
-    imageDisplayPanel.setBorder(BorderFactory.createTitledBorder("Top-most visible layer"));
+    imageDisplayPanel.setBorder(BorderFactory.createTitledBorder("Visible layers"));
     imageDisplayPanel.setLayout(new GridLayout(1, 0, 10, 10));
     rightMainPanel.add(imageDisplayPanel);
 
     image = new JLabel();
+    canvas = new TiledCanvas();
 
-    JScrollPane imageScrollPane = new JScrollPane(image);
+    imageScrollPane = new JScrollPane(image);
     imageScrollPane.setPreferredSize(new Dimension(580, 380));
     imageDisplayPanel.add(imageScrollPane);
+
+    progress = new JProgressBar(0, 100);
+    progress.setValue(100);
+    progress.setStringPainted(true);
+    rightMainPanel.add(progress);
   }
 
   protected void loadPanel() {
@@ -364,6 +409,31 @@ public class GUIView extends JFrame implements IGUIView {
     setButtonListener(scriptButton, listener);
     setButtonListener(extraCreditButton, listener);
     setComboBoxListener(extraCreditOptions, listener);
+    setComboBoxListener(operationOptions, listener);
+    livePreview.addActionListener(listener);
+    setDocumentListener(mosaicTextArea, listener, "Extra Credit Preview");
+    setDocumentListener(newWidth, listener, "Extra Credit Preview");
+    setDocumentListener(newHeight, listener, "Extra Credit Preview");
+  }
+
+  // Notifies the given listener with the given action command whenever the text area is edited.
+  protected void setDocumentListener(JTextArea area, ActionListener listener, String command) {
+    area.getDocument().addDocumentListener(new DocumentListener() {
+      @Override
+      public void insertUpdate(DocumentEvent e) {
+        changedUpdate(e);
+      }
+
+      @Override
+      public void removeUpdate(DocumentEvent e) {
+        changedUpdate(e);
+      }
+
+      @Override
+      public void changedUpdate(DocumentEvent e) {
+        listener.actionPerformed(new ActionEvent(area, ActionEvent.ACTION_PERFORMED, command));
+      }
+    });
   }
 
   @Override
@@ -390,6 +460,91 @@ public class GUIView extends JFrame implements IGUIView {
     } else {
       image.setIcon(new ImageIcon(bf));
     }
+
+    canvas.setPicture(null);
+    imageScrollPane.setViewportView(image);
+  }
+
+  @Override
+  public void displayPicture(IPicture<IPixel> picture) {
+    image.setIcon(null);
+    canvas.setPicture(picture);
+    imageScrollPane.setViewportView(canvas);
+  }
+
+  @Override
+  public void displayThumbnails(Map<String, Image> thumbnails) {
+    thumbnailPanel.removeAll();
+
+    for (Map.Entry<String, Image> entry : thumbnails.entrySet()) {
+      String name = entry.getKey();
+      JButton thumbnail = new JButton(name);
+
+      if (entry.getValue() != null) {
+        thumbnail.setIcon(new ImageIcon(entry.getValue()));
+      }
+
+      thumbnail.setVerticalTextPosition(JButton.BOTTOM);
+      thumbnail.setHorizontalTextPosition(JButton.CENTER);
+
+      // Selecting the layer through the drop-down notifies the listener of the new current layer.
+      thumbnail.addActionListener(e -> {
+        if (((DefaultComboBoxModel<String>) layerOptions.getModel()).getIndexOf(name) < 0) {
+          layerOptions.addItem(name);
+        }
+
+        layerOptions.setSelectedItem(name);
+      });
+
+      thumbnailPanel.add(thumbnail);
+    }
+
+    thumbnailPanel.revalidate();
+    thumbnailPanel.repaint();
+  }
+
+  @Override
+  public boolean isLivePreview() {
+    return livePreview.isSelected();
+  }
+
+  @Override
+  public Readable previewFilter() {
+    return applyFilter();
+  }
+
+  @Override
+  public Readable previewExtraCredit() {
+    String s = Objects.requireNonNull(extraCreditOptions.getSelectedItem()).toString();
+
+    if (s.contains("Mosaic")) {
+      return new StringReader("mosaic " + mosaicTextArea.getText());
+    } else if (s.contains("Downsize")) {
+      return new StringReader("downsize " + newWidth.getText() + " " + newHeight.getText());
+    } else {
+      throw new IllegalArgumentException("Option Selected Is Not Possible");
+    }
+  }
+
+  @Override
+  public Rectangle getVisibleRegion() {
+    return canvas.getVisibleRegion();
+  }
+
+  @Override
+  public double getZoom() {
+    return canvas.getZoom();
+  }
+
+  @Override
+  public void displayPreview(IPicture<IPixel> preview, Rectangle region) {
+    canvas.setOverlay(preview, region);
+  }
+
+  @Override
+  public void renderProgress(int percent) {
+    progress.setValue(percent);
+    progress.setString(percent < 100 ? String.format("Working... %d%%", percent) : "Done");
   }
 
   @Override
@@ -1,7 +1,11 @@
 package view;
 
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.event.ActionListener;
+import java.util.Map;
+import model.picture.IPicture;
+import model.pixel.IPixel;
 
 /**
  * Interface representing a {@code IApplicationView} which represents an application through a GUI.
@@ -66,6 +70,75 @@ public interface IGUIView extends IApplicationView {
    */
   void displayImage(Image bf);
 
+  /**
+   * Displays the given image to the GUI, only drawing the parts of it which are visible at the
+   * current zoom level.
+   *
+   * @param image the desired image to display, or null to display nothing
+   */
+  void displayPicture(IPicture<IPixel> image);
+
+  /**
+   * Displays the given thumbnails of the current image's layers. Selecting a thumbnail makes its
+   * layer the current layer.
+   *
+   * @param thumbnails the thumbnail of each layer by name, or null for layers without an image
+   */
+  void displayThumbnails(Map<String, Image> thumbnails);
+
+  /**
+   * Returns whether operations should be previewed live as they are selected.
+   *
+   * @return true if live previews are enabled, otherwise false
+   */
+  boolean isLivePreview();
+
+  /**
+   * Provides a {@code Readable} containing the currently-selected filter command, without resetting
+   * any Java Swing components.
+   *
+   * @return the selected filter command
+   */
+  Readable previewFilter();
+
+  /**
+   * Provides a {@code Readable} containing the "mosaic" or "downsize" command with the relevant
+   * arguments from the appropriate Java Swing components, without resetting them.
+   *
+   * @return the mosaic or downsize command
+   */
+  Readable previewExtraCredit();
+
+  /**
+   * Returns the region of the displayed image which is currently visible.
+   *
+   * @return the visible region in image pixels, or null if no image is visible
+   */
+  Rectangle getVisibleRegion();
+
+  /**
+   * Returns the zoom level the image is displayed at, where 1 displays each pixel of the image as
+   * one screen pixel.
+   *
+   * @return the zoom level
+   */
+  double getZoom();
+
+  /**
+   * Displays the given preview stretched over the given region of the displayed image.
+   *
+   * @param preview the preview to display, or null to stop displaying a preview
+   * @param region  the region of the displayed image the preview covers
+   */
+  void displayPreview(IPicture<IPixel> preview, Rectangle region);
+
+  /**
+   * Displays how far along the operations running in the background are.
+   *
+   * @param percent the percentage of the operations which have finished
+   */
+  void renderProgress(int percent);
+
   /**
    * Provides a {@code Readable} containing the "save" or "save all" command with the relevant
    * arguments from the appropriate Java Swing components.
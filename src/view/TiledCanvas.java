@@ -0,0 +1,365 @@
+package view;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import model.picture.IPicture;
+import model.picture.ProxyPicture;
+import model.pixel.IPixel;
+
+/**
+ * Component displaying an image at any zoom level by splitting the zoomed image into square tiles
+ * and only drawing the tiles which intersect the visible area. Tiles are sampled from the image the
+ * first time they are painted and kept in a least-recently-used cache, so panning over large images
+ * only samples the tiles newly scrolled into view. Images which have not been decoded at full
+ * resolution yet are sampled from their reduced-resolution preview. Holding the control key while
+ * scrolling the mouse wheel zooms in or out around the pointer. An overlay, such as the preview of
+ * an operation, can be drawn stretched over a region of the image.
+ */
+public class TiledCanvas extends JComponent {
+
+  private static final long serialVersionUID = 1L;
+
+  // Width and height of each tile in screen pixels.
+  public static final int TILE_SIZE = 256;
+
+  // Maximum number of tiles kept in the cache, about 64MB of tiles.
+  public static final int MAX_TILES = 256;
+
+  // Zoom levels the mouse wheel steps between.
+  public static final double MIN_ZOOM = 1.0 / 64;
+  public static final double MAX_ZOOM = 32;
+  public static final double ZOOM_STEP = 1.25;
+
+  private IPicture<IPixel> picture;
+  private double zoom;
+  private final Map<Tile, BufferedImage> tiles;
+  private BufferedImage overlay;
+  private Rectangle overlayRegion;
+
+  /**
+   * A tile of the zoomed image, identified by its column, row, and zoom level.
+   */
+  private static class Tile {
+
+    private final int column;
+    private final int row;
+    private final double zoom;
+
+    private Tile(int column, int row, double zoom) {
+      this.column = column;
+      this.row = row;
+      this.zoom = zoom;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      } else if (!(other instanceof Tile)) {
+        return false;
+      }
+
+      Tile that = (Tile) other;
+
+      return column == that.column && row == that.row && zoom == that.zoom;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(column, row, zoom);
+    }
+  }
+
+  /**
+   * Constructs a {@code TiledCanvas} displaying no image at 100% zoom.
+   */
+  public TiledCanvas() {
+    this.picture = null;
+    this.zoom = 1;
+    this.overlay = null;
+    this.overlayRegion = null;
+    this.tiles = new LinkedHashMap<Tile, BufferedImage>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Tile, BufferedImage> eldest) {
+        return size() > MAX_TILES;
+      }
+    };
+
+    setOpaque(false);
+    addMouseWheelListener(this::zoomWithWheel);
+  }
+
+  /**
+   * Displays the given image, discarding the cached tiles if it differs from the displayed image.
+   *
+   * @param picture the image to display, or null to display nothing
+   */
+  public void setPicture(IPicture<IPixel> picture) {
+    if (picture != this.picture) {
+      this.picture = picture;
+      this.overlay = null;
+      this.overlayRegion = null;
+      tiles.clear();
+      revalidate();
+      repaint();
+    }
+  }
+
+  /**
+   * Returns the displayed image.
+   *
+   * @return the displayed image, or null if nothing is displayed
+   */
+  public IPicture<IPixel> getPicture() {
+    return picture;
+  }
+
+  /**
+   * Sets the zoom level, where 1 draws each pixel of the image as one screen pixel.
+   *
+   * @param zoom the new zoom level
+   * @throws IllegalArgumentException if the zoom level is outside of the supported range
+   */
+  public void setZoom(double zoom) throws IllegalArgumentException {
+    if (!(zoom >= MIN_ZOOM && zoom <= MAX_ZOOM)) {
+      throw new IllegalArgumentException("Zoom level is outside of the supported range");
+    }
+
+    this.zoom = zoom;
+    revalidate();
+    repaint();
+  }
+
+  /**
+   * Returns the zoom level.
+   *
+   * @return the zoom level
+   */
+  public double getZoom() {
+    return zoom;
+  }
+
+  /**
+   * Draws the given image stretched over the given region of the displayed image, in place of the
+   * tiles beneath it.
+   *
+   * @param overlay the image to draw, or null to remove the overlay
+   * @param region  the region of the displayed image to draw over, in image pixels
+   * @throws IllegalArgumentException if an overlay is given without a region
+   */
+  public void setOverlay(IPicture<IPixel> overlay, Rectangle region)
+      throws IllegalArgumentException {
+    if (overlay == null) {
+      this.overlay = null;
+      this.overlayRegion = null;
+    } else if (region == null) {
+      throw new IllegalArgumentException("Overlay region cannot be null");
+    } else {
+      BufferedImage image = new BufferedImage(overlay.getWidth(), overlay.getHeight(),
+          BufferedImage.TYPE_INT_RGB);
+      overlay.getPackedRGB(new Rectangle(overlay.getWidth(), overlay.getHeight()),
+          ((DataBufferInt) image.getRaster().getDataBuffer()).getData(), 0, overlay.getWidth());
+
+      this.overlay = image;
+      this.overlayRegion = new Rectangle(region);
+    }
+
+    repaint();
+  }
+
+  /**
+   * Returns whether an overlay is drawn.
+   *
+   * @return true if an overlay is drawn, otherwise false
+   */
+  public boolean hasOverlay() {
+    return overlay != null;
+  }
+
+  /**
+   * Returns the region of the displayed image which is currently visible, in image pixels.
+   *
+   * @return the visible region, or null if nothing is displayed or visible
+   */
+  public Rectangle getVisibleRegion() {
+    if (picture == null) {
+      return null;
+    }
+
+    Rectangle visible = getVisibleRect();
+    int left = (int) Math.floor(visible.x / zoom);
+    int top = (int) Math.floor(visible.y / zoom);
+    Rectangle region = new Rectangle(left, top,
+        (int) Math.ceil((visible.x + visible.width) / zoom) - left,
+        (int) Math.ceil((visible.y + visible.height) / zoom) - top)
+        .intersection(new Rectangle(picture.getWidth(), picture.getHeight()));
+
+    return region.isEmpty() ? null : region;
+  }
+
+  /**
+   * Returns the number of tiles currently cached.
+   *
+   * @return the number of cached tiles
+   */
+  public int getCachedTileCount() {
+    return tiles.size();
+  }
+
+  @Override
+  public Dimension getPreferredSize() {
+    if (picture == null) {
+      return new Dimension(0, 0);
+    }
+
+    return new Dimension((int) Math.ceil(picture.getWidth() * zoom),
+        (int) Math.ceil(picture.getHeight() * zoom));
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    super.paintComponent(g);
+
+    if (picture == null) {
+      return;
+    }
+
+    Dimension size = getPreferredSize();
+    Rectangle clip = g.getClipBounds();
+    Rectangle visible = clip == null ? new Rectangle(size)
+        : clip.intersection(new Rectangle(size));
+
+    if (visible.isEmpty()) {
+      return;
+    }
+
+    int firstColumn = visible.x / TILE_SIZE;
+    int lastColumn = (visible.x + visible.width - 1) / TILE_SIZE;
+    int firstRow = visible.y / TILE_SIZE;
+    int lastRow = (visible.y + visible.height - 1) / TILE_SIZE;
+
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int column = firstColumn; column <= lastColumn; column++) {
+        Tile key = new Tile(column, row, zoom);
+        BufferedImage tile = tiles.get(key);
+
+        if (tile == null) {
+          tile = sampleTile(column, row, size);
+          tiles.put(key, tile);
+        }
+
+        g.drawImage(tile, column * TILE_SIZE, row * TILE_SIZE, null);
+      }
+    }
+
+    if (overlay != null) {
+      int left = (int) Math.floor(overlayRegion.x * zoom);
+      int top = (int) Math.floor(overlayRegion.y * zoom);
+
+      g.drawImage(overlay, left, top,
+          (int) Math.ceil((overlayRegion.x + overlayRegion.width) * zoom) - left,
+          (int) Math.ceil((overlayRegion.y + overlayRegion.height) * zoom) - top, null);
+    }
+  }
+
+  // Samples the tile at the given column and row of the zoomed image of the given size, using the
+  // nearest pixel of the image for each screen pixel.
+  private BufferedImage sampleTile(int column, int row, Dimension size) {
+    int left = column * TILE_SIZE;
+    int top = row * TILE_SIZE;
+    int width = Math.min(TILE_SIZE, size.width - left);
+    int height = Math.min(TILE_SIZE, size.height - top);
+
+    IPicture<IPixel> source = picture;
+
+    if (source instanceof ProxyPicture && !((ProxyPicture) source).isResolved()) {
+      source = ((ProxyPicture) source).getPreview();
+    }
+
+    // Image pixels per screen pixel in each direction.
+    double scaleX = source.getWidth() / (picture.getWidth() * zoom);
+    double scaleY = source.getHeight() / (picture.getHeight() * zoom);
+
+    int[] columns = new int[width];
+
+    for (int x = 0; x < width; x++) {
+      columns[x] = Math.min(source.getWidth() - 1, (int) ((left + x) * scaleX));
+    }
+
+    BufferedImage tile = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    int[] data = ((DataBufferInt) tile.getRaster().getDataBuffer()).getData();
+
+    // Reading whole rows is cheaper unless most of each row would be skipped.
+    int span = columns[width - 1] - columns[0] + 1;
+    boolean readRows = span <= 4 * width;
+    int[] rowBuffer = readRows ? new int[span] : null;
+    Rectangle region = new Rectangle();
+    int previousRow = -1;
+
+    for (int y = 0; y < height; y++) {
+      int sourceRow = Math.min(source.getHeight() - 1, (int) ((top + y) * scaleY));
+
+      if (sourceRow == previousRow) {
+        System.arraycopy(data, (y - 1) * width, data, y * width, width);
+        continue;
+      }
+
+      if (readRows) {
+        region.setBounds(columns[0], sourceRow, span, 1);
+        source.getPackedRGB(region, rowBuffer, 0, span);
+
+        for (int x = 0; x < width; x++) {
+          data[y * width + x] = rowBuffer[columns[x] - columns[0]];
+        }
+      } else {
+        for (int x = 0; x < width; x++) {
+          region.setBounds(columns[x], sourceRow, 1, 1);
+          source.getPackedRGB(region, data, y * width + x, 1);
+        }
+      }
+
+      previousRow = sourceRow;
+    }
+
+    return tile;
+  }
+
+  // Zooms in or out around the pointer when the control key is held, otherwise lets the enclosing
+  // scroll pane scroll.
+  private void zoomWithWheel(MouseWheelEvent e) {
+    if ((e.getModifiersEx() & InputEvent.CTRL_DOWN_MASK) == 0 || picture == null) {
+      getParent().dispatchEvent(SwingUtilities.convertMouseEvent(this, e, getParent()));
+      return;
+    }
+
+    double newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM,
+        zoom * Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation())));
+    Point pointer = e.getPoint();
+    double factor = newZoom / zoom;
+
+    setZoom(newZoom);
+
+    // Keeps the image pixel under the pointer in place.
+    if (getParent() instanceof JViewport) {
+      JViewport viewport = (JViewport) getParent();
+      Point position = viewport.getViewPosition();
+
+      viewport.setViewSize(getPreferredSize());
+      viewport.setViewPosition(new Point(
+          Math.max(0, (int) (pointer.x * factor) - (pointer.x - position.x)),
+          Math.max(0, (int) (pointer.y * factor) - (pointer.y - position.y))));
+    }
+  }
+}
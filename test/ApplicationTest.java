@@ -161,6 +161,53 @@ public class ApplicationTest {
         application.blur(0));
   }
 
+  // Tests sharpen() method with an unsharp mask keeps a uniform image unchanged.
+  @Test
+  public void testUnsharpMask() {
+    IPixel[][] pixelSequence = new Pixel[3][4];
+
+    for (int h = 0; h < 3; h++) {
+      for (int w = 0; w < 4; w++) {
+        pixelSequence[h][w] = new Pixel(new Point(w, h), 16, 32, 64);
+      }
+    }
+
+    application.addImage(new Picture(4, 3, 255, pixelSequence));
+
+    assertEquals(new Picture(4, 3, 255, pixelSequence), application.sharpen(0, 2, 3, 0));
+  }
+
+  // Tests sharpen() method with an unsharp mask throws an exception when given an out of bounds
+  // index.
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsharpMaskIndexOutOfBounds() {
+    application.sharpen(0, 2, 3, 0);
+  }
+
+  // Tests blur() method with a standard deviation keeps a uniform image unchanged, since the edges
+  // repeat rather than fade to black.
+  @Test
+  public void testGaussianBlur() {
+    IPixel[][] pixelSequence = new Pixel[3][4];
+
+    for (int h = 0; h < 3; h++) {
+      for (int w = 0; w < 4; w++) {
+        pixelSequence[h][w] = new Pixel(new Point(w, h), 16, 32, 64);
+      }
+    }
+
+    application.addImage(new Picture(4, 3, 255, pixelSequence));
+
+    assertEquals(new Picture(4, 3, 255, pixelSequence), application.blur(0, 7.5));
+  }
+
+  // Tests blur() method with a standard deviation throws an exception when given an out of bounds
+  // index.
+  @Test(expected = IllegalArgumentException.class)
+  public void testGaussianBlurIndexOutOfBounds() {
+    application.blur(0, 2);
+  }
+
   // Tests blur() method throws an exception when given a negative index.
   @Test(expected = IllegalArgumentException.class)
   public void testBlurNegativeIndex() {
@@ -0,0 +1,158 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import controller.BackgroundTaskRunner;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code BackgroundTaskRunner} ensuring tasks run in order off the Event Dispatch
+ * Thread and superseded results are dropped.
+ */
+public class BackgroundTaskRunnerTest {
+
+  List<String> log;
+  List<Integer> progress;
+  BackgroundTaskRunner runner;
+
+  // Test fixture used for testing.
+  // Constructs a runner logging its progress and errors.
+  @Before
+  public void setupTestFixture() {
+    log = new ArrayList<>();
+    progress = new ArrayList<>();
+    runner = new BackgroundTaskRunner(progress::add, message -> log.add("error " + message));
+  }
+
+  // Waits for every submitted task to finish and for its result to be published.
+  private void flush() throws InterruptedException, InvocationTargetException {
+    long deadline = System.currentTimeMillis() + 5000;
+
+    while (runner.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+
+    SwingUtilities.invokeAndWait(() -> { });
+  }
+
+  // Tests submit() runs tasks in order off the Event Dispatch Thread and publishes the result of
+  // the last task on the Event Dispatch Thread.
+  @Test
+  public void testSubmit() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch published = new CountDownLatch(1);
+    List<String> ran = new ArrayList<>();
+
+    runner.submit(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      ran.add("first");
+    }, () -> "first", log::add);
+    Future<String> second = runner.submit(() -> {
+      assertFalse(SwingUtilities.isEventDispatchThread());
+      ran.add("second");
+    }, () -> "second", result -> {
+      log.add(result + " " + SwingUtilities.isEventDispatchThread());
+      published.countDown();
+    });
+
+    assertEquals(2, runner.getPendingCount());
+    release.countDown();
+
+    assertTrue(published.await(5, TimeUnit.SECONDS));
+    assertEquals("second", second.get());
+    flush();
+
+    assertEquals(List.of("first", "second"), ran);
+    assertEquals(List.of("second true"), log);
+    assertEquals(0, runner.getPendingCount());
+    assertEquals(Integer.valueOf(100), progress.get(progress.size() - 1));
+  }
+
+  // Tests cancelPending() keeps queued tasks from running and drops the running task's result.
+  @Test
+  public void testCancelPending() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> ran = new ArrayList<>();
+
+    Future<String> first = runner.submit(() -> {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      ran.add("first");
+    }, () -> "first", log::add);
+    Future<String> second = runner.submit(() -> ran.add("second"), () -> "second", log::add);
+
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    runner.cancelPending();
+    release.countDown();
+
+    assertTrue(second.isCancelled());
+    first.get(5, TimeUnit.SECONDS);
+    runner.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    flush();
+
+    assertEquals(List.of("first"), ran);
+    assertTrue(log.isEmpty());
+  }
+
+  // Tests exceptions thrown by tasks are reported as errors.
+  @Test
+  public void testError() throws Exception {
+    Future<?> failing = runner.submit(() -> {
+      throw new IllegalArgumentException("failed");
+    });
+
+    try {
+      failing.get(5, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      assertEquals("failed", e.getCause().getMessage());
+    }
+
+    flush();
+
+    assertEquals(List.of("error failed"), log);
+  }
+
+  // Tests exceptions thrown by superseded tasks are still reported, while their results are not.
+  @Test
+  public void testSupersededError() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+
+    runner.submit(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      throw new IllegalArgumentException("failed");
+    }, () -> "first", log::add);
+    runner.submit(() -> { }, () -> "second", log::add);
+    release.countDown();
+    flush();
+
+    assertEquals(List.of("error failed", "second"), log);
+  }
+
+  // Tests the runner cannot be constructed with null callbacks.
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullCallbacks() {
+    new BackgroundTaskRunner(null, null);
+  }
+}
@@ -0,0 +1,135 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Random;
+import model.picture.BilateralGrid;
+import model.picture.IPicture;
+import model.picture.Picture;
+import model.pixel.ColorChannel;
+import model.pixel.IPixel;
+import model.pixel.Pixel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code BilateralGrid} ensuring planes are smoothed without blurring across edges.
+ */
+public class BilateralGridTest {
+
+  int[][] noisyEdge;
+
+  // Test fixture used for testing.
+  // Constructs a 64x64 plane which is about 40 on the left half and about 210 on the right half,
+  // with noise of up to 8 either way.
+  @Before
+  public void setupTestFixture() {
+    Random random = new Random(49);
+    noisyEdge = new int[64][64];
+
+    for (int y = 0; y < 64; y++) {
+      for (int x = 0; x < 64; x++) {
+        noisyEdge[y][x] = (x < 32 ? 40 : 210) + random.nextInt(17) - 8;
+      }
+    }
+  }
+
+  // Returns the largest difference between any value of the given rows and the given value.
+  private static int spread(int[][] plane, int from, int to, int value) {
+    int result = 0;
+
+    for (int[] row : plane) {
+      for (int x = from; x < to; x++) {
+        result = Math.max(result, Math.abs(row[x] - value));
+      }
+    }
+
+    return result;
+  }
+
+  // Tests smoothing removes the noise on either side of the edge without moving the edge.
+  @Test
+  public void testPreservesEdge() {
+    int[][] smoothed = new BilateralGrid(8, 20).filter(new int[][][]{noisyEdge}, noisyEdge)[0];
+
+    assertTrue(spread(noisyEdge, 0, 32, 40) >= 7);
+    assertTrue(spread(smoothed, 0, 32, 40) <= 3);
+    assertTrue(spread(smoothed, 32, 64, 210) <= 3);
+  }
+
+  // Tests a uniform plane is unchanged.
+  @Test
+  public void testUniform() {
+    int[][] plane = new int[10][23];
+
+    for (int[] row : plane) {
+      Arrays.fill(row, 117);
+    }
+
+    int[][] smoothed = new BilateralGrid(3, 10).filter(new int[][][]{plane}, plane)[0];
+
+    for (int[] row : smoothed) {
+      assertArrayEquals(plane[0], row);
+    }
+  }
+
+  // Tests every plane is smoothed with the weights of the guide, so a plane matching the guide is
+  // smoothed the same way as the guide.
+  @Test
+  public void testGuide() {
+    int[][] doubled = new int[64][64];
+
+    for (int y = 0; y < 64; y++) {
+      for (int x = 0; x < 64; x++) {
+        doubled[y][x] = noisyEdge[y][x] * 2;
+      }
+    }
+
+    int[][][] smoothed = new BilateralGrid(4, 15).filter(new int[][][]{noisyEdge, doubled},
+        noisyEdge);
+
+    for (int y = 0; y < 64; y++) {
+      for (int x = 0; x < 64; x++) {
+        assertEquals(smoothed[0][y][x] * 2, smoothed[1][y][x], 1);
+      }
+    }
+  }
+
+  // Tests smoothing a picture keeps each pixel's alpha value and smooths across the whole image.
+  @Test
+  public void testPicture() {
+    IPixel[][] pixels = new IPixel[8][8];
+
+    for (int h = 0; h < 8; h++) {
+      for (int w = 0; w < 8; w++) {
+        int value = (h + w) % 2 == 0 ? 96 : 104;
+        pixels[h][w] = new Pixel(new Point(w, h), 255, value, value, value, 255 - h);
+      }
+    }
+
+    IPicture<IPixel> smoothed = new Picture(8, 8, 255, pixels).bilateralFilter(2, 30);
+
+    assertEquals(100, smoothed.getChannelValues(ColorChannel.GREEN)[4][4], 1);
+    assertEquals(251, smoothed.getChannelValues(ColorChannel.ALPHA)[4][4]);
+  }
+
+  // Tests an exception is thrown when the spatial standard deviation is too small.
+  @Test(expected = IllegalArgumentException.class)
+  public void testSmallSpatialSigma() {
+    new BilateralGrid(0.5, 10);
+  }
+
+  // Tests an exception is thrown when the range standard deviation is not a number.
+  @Test(expected = IllegalArgumentException.class)
+  public void testNaNRangeSigma() {
+    new BilateralGrid(4, Double.NaN);
+  }
+
+  // Tests an exception is thrown when a plane does not match the guide.
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedPlane() {
+    new BilateralGrid(4, 10).filter(new int[][][]{new int[3][4]}, new int[4][4]);
+  }
+}
@@ -0,0 +1,98 @@
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+import model.picture.BlendMode;
+import model.picture.Blender;
+import model.picture.Blender.Path;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code Blender} ensuring each blend mode produces the expected values and that the
+ * packed and planar paths produce identical results.
+ */
+public class BlenderTest {
+
+  int[] source;
+  int[] destination;
+
+  // Test fixture used for testing.
+  // Constructs rows of random premultiplied values longer than one planar block.
+  @Before
+  public void setupTestFixture() {
+    source = createRow(2500, new Random(3));
+    destination = createRow(2500, new Random(4));
+  }
+
+  // Returns a row of the given length holding random premultiplied values.
+  private int[] createRow(int length, Random random) {
+    int[] row = new int[length];
+
+    for (int i = 0; i < length; i++) {
+      int alpha = random.nextInt(256);
+      row[i] = alpha << 24 | random.nextInt(alpha + 1) << 16 | random.nextInt(alpha + 1) << 8
+          | random.nextInt(alpha + 1);
+    }
+
+    return row;
+  }
+
+  // Returns the result of blending the given opaque source color into the given opaque
+  // destination color along both paths, which must match.
+  private int blendOpaque(BlendMode mode, int source, int destination) {
+    int[] packed = {destination};
+    int[] planar = {destination};
+
+    Blender.blend(mode, new int[]{source}, packed, Path.PACKED);
+    Blender.blend(mode, new int[]{source}, planar, Path.PLANAR);
+
+    assertArrayEquals(packed, planar);
+    return packed[0];
+  }
+
+  // Tests each blend mode produces the expected values for opaque colors.
+  @Test
+  public void testOpaqueModes() {
+    int gray = 0xFF808080;
+    int red = 0xFFFF0000;
+
+    assertArrayEquals(new int[]{gray, 0xFF800000, 0xFFFF8080, 0xFFFF0000, 0xFFFF8080, 0xFF7F8080},
+        new int[]{blendOpaque(BlendMode.NORMAL, gray, red),
+            blendOpaque(BlendMode.MULTIPLY, gray, red),
+            blendOpaque(BlendMode.SCREEN, gray, red),
+            blendOpaque(BlendMode.OVERLAY, gray, red),
+            blendOpaque(BlendMode.ADD, gray, red),
+            blendOpaque(BlendMode.DIFFERENCE, gray, red)});
+  }
+
+  // Tests every blend mode leaves the source unchanged when blending into a transparent row.
+  @Test
+  public void testTransparentDestination() {
+    for (BlendMode mode : BlendMode.values()) {
+      int[] result = new int[source.length];
+      Blender.blend(mode, source, result);
+
+      assertArrayEquals(source, result);
+    }
+  }
+
+  // Tests the packed and planar paths produce identical results for every blend mode.
+  @Test
+  public void testPathsMatch() {
+    for (BlendMode mode : BlendMode.values()) {
+      int[] packed = destination.clone();
+      int[] planar = destination.clone();
+
+      Blender.blend(mode, source, packed, Path.PACKED);
+      Blender.blend(mode, source, planar, Path.PLANAR);
+
+      assertArrayEquals(packed, planar);
+    }
+  }
+
+  // Tests an exception is thrown when the rows differ in length.
+  @Test(expected = IllegalArgumentException.class)
+  public void testDifferentLengths() {
+    Blender.blend(BlendMode.NORMAL, new int[2], new int[3]);
+  }
+}
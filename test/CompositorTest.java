@@ -0,0 +1,204 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import model.picture.BlendMode;
+import model.picture.Compositor;
+import model.picture.ILayer;
+import model.picture.IPicture;
+import model.picture.Layer;
+import model.picture.Picture;
+import model.pixel.ColorChannel;
+import model.pixel.IPixel;
+import model.pixel.Pixel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code Compositor} ensuring visible layers are composited in stack order and only
+ * the parts of the stack which changed are blended again.
+ */
+public class CompositorTest {
+
+  Compositor compositor;
+  ILayer<IPicture<IPixel>> bottom;
+  ILayer<IPicture<IPixel>> middle;
+  ILayer<IPicture<IPixel>> top;
+  List<ILayer<IPicture<IPixel>>> layers;
+
+  // Test fixture used for testing.
+  // Constructs a stack of a red, a green, and a hidden blue 2x2 layer, from bottom to top.
+  @Before
+  public void setupTestFixture() {
+    compositor = new Compositor();
+    bottom = new Layer("bottom", solid(2, 2, 255, 0, 0));
+    middle = new Layer("middle", solid(2, 2, 0, 255, 0));
+    top = new Layer("top", false, solid(2, 2, 0, 0, 255));
+    layers = new ArrayList<>(Arrays.asList(bottom, middle, top));
+  }
+
+  // Returns a picture of the given size filled with the given color.
+  private IPicture<IPixel> solid(int width, int height, int red, int green, int blue) {
+    IPixel[][] pixels = new IPixel[height][width];
+
+    for (int h = 0; h < height; h++) {
+      for (int w = 0; w < width; w++) {
+        pixels[h][w] = new Pixel(new Point(w, h), 255, red, green, blue);
+      }
+    }
+
+    return new Picture(width, height, 255, pixels);
+  }
+
+  // Returns the packed RGB values of the given picture.
+  private int[] packed(IPicture<IPixel> image) {
+    int[] result = new int[image.getWidth() * image.getHeight()];
+    image.getPackedRGB(new Rectangle(0, 0, image.getWidth(), image.getHeight()), result, 0,
+        image.getWidth());
+    return result;
+  }
+
+  // Tests the topmost visible layer covers the layers below it.
+  @Test
+  public void testComposite() {
+    IPicture<IPixel> result = compositor.composite(layers, 1, 2, 2);
+
+    assertEquals(2, result.getWidth());
+    assertEquals(2, result.getHeight());
+    assertArrayEquals(new int[]{0x00FF00, 0x00FF00, 0x00FF00, 0x00FF00}, packed(result));
+    assertEquals(2, compositor.getBlendCount());
+  }
+
+  // Tests the same composite is returned while no layer changes.
+  @Test
+  public void testCachedComposite() {
+    IPicture<IPixel> result = compositor.composite(layers, 1, 2, 2);
+
+    assertSame(result, compositor.composite(layers, 1, 2, 2));
+    assertEquals(2, compositor.getBlendCount());
+  }
+
+  // Tests editing the current layer only blends the current layer again.
+  @Test
+  public void testEditCurrentLayer() {
+    compositor.composite(layers, 1, 2, 2);
+    middle.setImage(solid(2, 2, 10, 20, 30));
+
+    assertArrayEquals(new int[]{0x0A141E, 0x0A141E, 0x0A141E, 0x0A141E},
+        packed(compositor.composite(layers, 1, 2, 2)));
+    assertEquals(3, compositor.getBlendCount());
+  }
+
+  // Tests changing the visibility of a layer recomposites the part of the stack it belongs to.
+  @Test
+  public void testChangeVisibility() {
+    compositor.composite(layers, 1, 2, 2);
+    top.setVisibility(true);
+
+    assertArrayEquals(new int[]{0x0000FF, 0x0000FF, 0x0000FF, 0x0000FF},
+        packed(compositor.composite(layers, 1, 2, 2)));
+    assertEquals(5, compositor.getBlendCount());
+
+    top.setVisibility(false);
+    middle.setVisibility(false);
+
+    assertArrayEquals(new int[]{0xFF0000, 0xFF0000, 0xFF0000, 0xFF0000},
+        packed(compositor.composite(layers, 1, 2, 2)));
+    assertEquals(5, compositor.getBlendCount());
+
+    bottom.setVisibility(false);
+
+    assertNull(compositor.composite(layers, 1, 2, 2));
+  }
+
+  // Tests a layer smaller than the composite only covers the pixels of its own image.
+  @Test
+  public void testPartialCoverage() {
+    middle.setImage(solid(1, 1, 0, 255, 0));
+
+    assertArrayEquals(new int[]{0x00FF00, 0xFF0000, 0xFF0000, 0xFF0000},
+        packed(compositor.composite(layers, 1, 2, 2)));
+  }
+
+  // Tests translucent layers are blended with the layers below them.
+  @Test
+  public void testTranslucentBlend() {
+    IPixel[][] pixels = new IPixel[1][1];
+    pixels[0][0] = new Pixel(new Point(0, 0), 255, 0, 255, 0, 51);
+    middle.setImage(new Picture(1, 1, 255, pixels));
+
+    assertArrayEquals(new int[]{0xCC3300, 0xFF0000, 0xFF0000, 0xFF0000},
+        packed(compositor.composite(layers, 1, 2, 2)));
+
+    bottom.setVisibility(false);
+    IPicture<IPixel> result = compositor.composite(layers, 1, 2, 2);
+
+    assertEquals(51, result.getChannelValues(ColorChannel.ALPHA)[0][0]);
+    assertEquals(255, result.getChannelValues(ColorChannel.GREEN)[0][0]);
+    assertEquals(0, result.getChannelValues(ColorChannel.ALPHA)[1][1]);
+  }
+
+  // Tests composites are read straight from their premultiplied values, and are equal to pictures
+  // with the same pixels.
+  @Test
+  public void testPackedComposite() {
+    IPixel[][] pixels = new IPixel[1][1];
+    pixels[0][0] = new Pixel(new Point(0, 0), 255, 0, 255, 0, 51);
+    middle.setImage(new Picture(1, 1, 255, pixels));
+    bottom.setVisibility(false);
+
+    IPicture<IPixel> result = compositor.composite(layers, 1, 1, 1);
+    int[] argb = new int[1];
+    result.getPackedARGB(new Rectangle(0, 0, 1, 1), argb, 0, 1);
+
+    assertArrayEquals(new int[]{0x33003300}, argb);
+    assertArrayEquals(new int[]{0x00FF00}, packed(result));
+    assertEquals(middle.getImage(), result);
+    assertEquals(result, middle.getImage());
+    assertEquals(middle.getImage().hashCode(), result.hashCode());
+  }
+
+  // Tests layers above the current layer are blended with their own blend modes.
+  @Test
+  public void testBlendModeAbove() {
+    middle.setImage(solid(2, 2, 255, 255, 255));
+    top.setImage(solid(2, 2, 128, 128, 128));
+    top.setVisibility(true);
+    top.setBlendMode(BlendMode.MULTIPLY);
+
+    assertArrayEquals(new int[]{0x808080, 0x808080, 0x808080, 0x808080},
+        packed(compositor.composite(layers, 1, 2, 2)));
+
+    middle.setImage(solid(2, 2, 255, 0, 0));
+
+    assertArrayEquals(new int[]{0x800000, 0x800000, 0x800000, 0x800000},
+        packed(compositor.composite(layers, 1, 2, 2)));
+
+    top.setBlendMode(BlendMode.SCREEN);
+
+    assertArrayEquals(new int[]{0xFF8080, 0xFF8080, 0xFF8080, 0xFF8080},
+        packed(compositor.composite(layers, 1, 2, 2)));
+  }
+
+  // Tests every layer is composited when no layer is selected.
+  @Test
+  public void testNoCurrentLayer() {
+    top.setVisibility(true);
+
+    assertArrayEquals(new int[]{0x0000FF, 0x0000FF, 0x0000FF, 0x0000FF},
+        packed(compositor.composite(layers, -1, 2, 2)));
+    assertEquals(3, compositor.getBlendCount());
+  }
+
+  // Tests an exception is thrown when the current layer index is out of bounds.
+  @Test(expected = IllegalArgumentException.class)
+  public void testCurrentOutOfBounds() {
+    compositor.composite(layers, 3, 2, 2);
+  }
+}
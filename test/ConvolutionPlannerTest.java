@@ -0,0 +1,216 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import model.application.Application;
+import model.picture.Convolution;
+import model.picture.ConvolutionPlanner;
+import model.picture.ConvolutionPlanner.Algorithm;
+import model.picture.Kernel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code ConvolutionPlanner} ensuring algorithms are chosen from their estimated
+ * costs and eligibility, and convolve within one per tap of the direct algorithm.
+ */
+public class ConvolutionPlannerTest {
+
+  ConvolutionPlanner planner;
+  Kernel box;
+  Kernel separable;
+  int[][] plane;
+
+  // Test fixture used for testing.
+  // Constructs a planner where every algorithm but the FFT costs the same, a 5x5 box kernel, a 7x7
+  // separable kernel, and a 20x15 plane of random 8-bit values.
+  @Before
+  public void setupTestFixture() {
+    Map<Algorithm, Double> costs = new EnumMap<>(Algorithm.class);
+
+    for (Algorithm algorithm : Algorithm.values()) {
+      costs.put(algorithm, 1.0);
+    }
+
+    costs.put(Algorithm.FFT, 100.0);
+    planner = new ConvolutionPlanner(costs);
+
+    double[][] boxWeights = new double[5][5];
+
+    for (double[] row : boxWeights) {
+      Arrays.fill(row, 0.04);
+    }
+
+    box = new Kernel(boxWeights);
+
+    double[] factor = {0.1, 0.15, 0.2, 0.3, 0.2, 0.15, 0.1};
+    double[][] separableWeights = new double[7][7];
+
+    for (int h = 0; h < 7; h++) {
+      for (int w = 0; w < 7; w++) {
+        separableWeights[h][w] = factor[h] * factor[w];
+      }
+    }
+
+    separable = new Kernel(separableWeights);
+
+    Random random = new Random(9);
+    plane = new int[15][20];
+
+    for (int[] row : plane) {
+      for (int x = 0; x < row.length; x++) {
+        row[x] = random.nextInt(256);
+      }
+    }
+  }
+
+  // Tests kernels with exact plans are always convolved directly.
+  @Test
+  public void testExactKernelsDirect() {
+    assertTrue(Application.BLUR_KERNEL.isSeparable());
+    assertFalse(ConvolutionPlanner.isEligible(Algorithm.SEPARABLE, Application.BLUR_KERNEL));
+    assertEquals(Algorithm.DIRECT, planner.choose(Application.BLUR_KERNEL, 4000, 4000));
+    assertEquals(Algorithm.DIRECT, planner.choose(Application.SHARPEN_KERNEL, 4000, 4000));
+  }
+
+  // Tests the cheapest eligible algorithm is chosen.
+  @Test
+  public void testChoose() {
+    assertEquals(Algorithm.BOX, planner.choose(box, 100, 100));
+    assertEquals(Algorithm.SEPARABLE, planner.choose(separable, 100, 100));
+
+    Map<Algorithm, Double> costs = new EnumMap<>(Algorithm.class);
+    costs.put(Algorithm.DIRECT, 1.0);
+    costs.put(Algorithm.SEPARABLE, 100.0);
+    costs.put(Algorithm.BOX, 100.0);
+    costs.put(Algorithm.FFT, 100.0);
+    ConvolutionPlanner slow = new ConvolutionPlanner(costs);
+
+    assertEquals(Algorithm.DIRECT, slow.choose(box, 100, 100));
+    assertEquals(Algorithm.DIRECT, slow.choose(separable, 100, 100));
+    assertEquals(2 * 7 * 100 * 100 * 100.0,
+        slow.estimate(Algorithm.SEPARABLE, separable, 100, 100), 0);
+  }
+
+  // Tests large kernels are routed to the FFT when it costs the same as the direct algorithm, but
+  // only when their plan is fixed point.
+  @Test
+  public void testChooseFft() {
+    Map<Algorithm, Double> costs = new EnumMap<>(Algorithm.class);
+
+    for (Algorithm algorithm : Algorithm.values()) {
+      costs.put(algorithm, 1.0);
+    }
+
+    ConvolutionPlanner even = new ConvolutionPlanner(costs);
+    double[][] weights = new double[31][31];
+    Random random = new Random(4);
+
+    for (double[] row : weights) {
+      for (int x = 0; x < row.length; x++) {
+        row[x] = random.nextDouble() / 100;
+      }
+    }
+
+    assertEquals(Algorithm.FFT, even.choose(new Kernel(weights), 640, 480));
+    assertEquals(Algorithm.DIRECT, even.choose(Application.BLUR_KERNEL, 640, 480));
+
+    for (double[] row : weights) {
+      Arrays.fill(row, 0.0625);
+    }
+
+    weights[0][0] = 0.125;
+    assertFalse(ConvolutionPlanner.isEligible(Algorithm.FFT, new Kernel(weights)));
+    assertTrue(ConvolutionPlanner.isSupported(Algorithm.FFT, new Kernel(weights)));
+    assertEquals(Algorithm.DIRECT, even.choose(new Kernel(weights), 640, 480));
+  }
+
+  // Tests hasChoice() is false for exact kernels, which only the direct algorithm can convolve.
+  @Test
+  public void testHasChoice() {
+    assertFalse(ConvolutionPlanner.hasChoice(Application.BLUR_KERNEL));
+    assertTrue(ConvolutionPlanner.hasChoice(box));
+    assertTrue(ConvolutionPlanner.hasChoice(separable));
+  }
+
+  // Tests the separable, box, and FFT algorithms stay within one per tap of the direct algorithm.
+  @Test
+  public void testConvolveWithinBound() {
+    for (Algorithm algorithm : new Algorithm[]{Algorithm.SEPARABLE, Algorithm.BOX,
+        Algorithm.FFT}) {
+      Kernel kernel = algorithm == Algorithm.BOX ? box : separable;
+      int[][] direct = ConvolutionPlanner.convolve(Algorithm.DIRECT, kernel, plane);
+      int[][] result = ConvolutionPlanner.convolve(algorithm, kernel, plane);
+
+      for (int y = 0; y < plane.length; y++) {
+        for (int x = 0; x < plane[0].length; x++) {
+          assertTrue(Math.abs(direct[y][x] - result[y][x]) <= kernel.getNonZeroTaps());
+        }
+      }
+    }
+  }
+
+  // Tests the box algorithm sums each window clipped to the plane.
+  @Test
+  public void testConvolveBox() {
+    Kernel ones = new Kernel(new double[][]{{1, 1, 1}, {1, 1, 1}, {1, 1, 1}});
+
+    assertEquals(21, ConvolutionPlanner.convolve(Algorithm.DIRECT, ones,
+        new int[][]{{1, 2, 3}, {4, 5, 6}})[0][1]);
+    assertEquals(21, Convolution.convolveBox(new int[][]{{1, 2, 3}, {4, 5, 6}}, 3,
+        1)[0][1]);
+  }
+
+  // Tests costs are written to and read back from a calibration file.
+  @Test
+  public void testSaveLoad() throws IOException {
+    File file = File.createTempFile("calibration", ".properties");
+    Map<Algorithm, Double> costs = new EnumMap<>(Algorithm.class);
+    costs.put(Algorithm.DIRECT, 0.5);
+    costs.put(Algorithm.SEPARABLE, 0.75);
+    costs.put(Algorithm.BOX, 3.0);
+    costs.put(Algorithm.FFT, 0.25);
+
+    new ConvolutionPlanner(costs).save(file.getPath());
+    ConvolutionPlanner loaded = ConvolutionPlanner.load(file.getPath());
+
+    for (Algorithm algorithm : Algorithm.values()) {
+      assertEquals(costs.get(algorithm), loaded.getCost(algorithm), 0);
+    }
+
+    assertTrue(file.delete());
+  }
+
+  // Tests calibrating measures a positive cost for every algorithm.
+  @Test
+  public void testCalibrate() {
+    ConvolutionPlanner calibrated = ConvolutionPlanner.calibrate();
+
+    for (Algorithm algorithm : Algorithm.values()) {
+      assertTrue(calibrated.getCost(algorithm) > 0);
+    }
+  }
+
+  // Tests an exception is thrown when loading a calibration file missing a cost.
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadMissingCost() throws IOException {
+    File file = File.createTempFile("calibration", ".properties");
+    file.deleteOnExit();
+    Files.write(file.toPath(), "direct=1\nbox=2\n".getBytes());
+
+    ConvolutionPlanner.load(file.getPath());
+  }
+
+  // Tests an exception is thrown when convolving with an ineligible algorithm.
+  @Test(expected = IllegalArgumentException.class)
+  public void testConvolveIneligible() {
+    ConvolutionPlanner.convolve(Algorithm.BOX, Application.SHARPEN_KERNEL, plane);
+  }
+}
@@ -0,0 +1,78 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Point;
+import java.util.Random;
+import model.application.Application;
+import model.picture.Convolution;
+import model.picture.Convolution.Path;
+import model.picture.Picture;
+import model.pixel.IPixel;
+import model.pixel.Pixel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code Convolution} ensuring planes are convolved with the same sums as filtering
+ * one pixel at a time.
+ */
+public class ConvolutionTest {
+
+  Picture image;
+
+  // Test fixture used for testing.
+  // Constructs a 13x7 image with random colors and opacities.
+  @Before
+  public void setupTestFixture() {
+    Random random = new Random(5);
+    IPixel[][] pixels = new IPixel[7][13];
+
+    for (int h = 0; h < 7; h++) {
+      for (int w = 0; w < 13; w++) {
+        pixels[h][w] = new Pixel(new Point(w, h), 255, random.nextInt(256), random.nextInt(256),
+            random.nextInt(256), random.nextInt(256));
+      }
+    }
+
+    image = new Picture(13, 7, 255, pixels);
+  }
+
+  // Tests convolve() skips taps outside of the plane and truncates after every tap.
+  @Test
+  public void testConvolve() {
+    int[][] plane = {{10, 20}, {30, 40}};
+    double[][] kernel = {{0, 0, 0}, {0, 0.5, 0.5}, {0, 0.5, 0.5}};
+
+    assertArrayEquals(new int[]{50, 30}, Convolution.convolve(plane, kernel)[0]);
+    assertArrayEquals(new int[]{35, 20}, Convolution.convolve(plane, kernel)[1]);
+
+    // Adding the exact products would give 5 rather than 4.
+    assertArrayEquals(new int[]{4, 4},
+        Convolution.convolve(new int[][]{{7, 3}}, new double[][]{{0, 0, 0}, {0.5, 0.5, 0.5},
+            {0, 0, 0}})[0]);
+  }
+
+  // Tests filtering along the planar path matches the legacy path for blur, sharpen, and a kernel
+  // whose products need truncating.
+  @Test
+  public void testPathsMatch() {
+    double[][] uneven = {{0.375, -0.75, 0.125}, {0.875, 0.3125, -0.25}, {0.0625, 0.625, -0.5}};
+
+    for (double[][] kernel : new double[][][]{Application.BLUR_KERNEL.getWeights(),
+        Application.SHARPEN_KERNEL.getWeights(), uneven}) {
+      assertEquals(image.filter(kernel, Path.LEGACY), image.filter(kernel, Path.PLANAR));
+    }
+  }
+
+  // Tests an exception is thrown when convolving with an even kernel.
+  @Test(expected = IllegalArgumentException.class)
+  public void testEvenKernel() {
+    Convolution.convolve(new int[2][2], new double[2][2]);
+  }
+
+  // Tests an exception is thrown when the rows of the plane differ in length.
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnevenPlane() {
+    Convolution.convolve(new int[][]{{1, 2}, {3}}, new double[][]{{1}});
+  }
+}
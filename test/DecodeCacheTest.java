@@ -0,0 +1,63 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import model.application.DecodeCache;
+import model.application.ImportExportUtil;
+import model.application.ImportExportUtil.FileType;
+import model.picture.IPicture;
+import model.pixel.IPixel;
+import org.junit.Test;
+
+/**
+ * Test class for {@code DecodeCache} ensuring decoded images are shared between loads of the same
+ * file and evicted once the cache exceeds its capacity.
+ */
+public class DecodeCacheTest {
+
+  // Tests load() decodes the file correctly and returns the same image for repeated loads.
+  @Test
+  public void testLoad() throws IOException {
+    DecodeCache cache = new DecodeCache();
+
+    IPicture<IPixel> image = cache.load("res/SmallBoard.ppm", FileType.PPM);
+
+    assertEquals(ImportExportUtil.importImageRegular("res/SmallBoard.ppm", FileType.PPM), image);
+    assertSame(image, cache.load("res/SmallBoard.ppm", FileType.PPM));
+    assertSame(image, cache.load("res/../res/SmallBoard.ppm", FileType.PPM));
+  }
+
+  // Tests images are evicted once the cache exceeds its capacity in bytes.
+  @Test
+  public void testEviction() throws IOException {
+    DecodeCache cache = new DecodeCache(1);
+
+    IPicture<IPixel> image = cache.load("res/SmallBoard.ppm", FileType.PPM);
+
+    assertEquals(0, cache.getSize());
+    assertNotSame(image, cache.load("res/SmallBoard.ppm", FileType.PPM));
+
+    cache = new DecodeCache(Long.MAX_VALUE);
+    image = cache.load("res/SmallBoard.ppm", FileType.PPM);
+
+    assertEquals(4 * 64, cache.getSize());
+
+    cache.clear();
+
+    assertEquals(0, cache.getSize());
+    assertNotSame(image, cache.load("res/SmallBoard.ppm", FileType.PPM));
+  }
+
+  // Tests load() throws an exception when given a null file path.
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullName() throws IOException {
+    new DecodeCache().load(null, FileType.PPM);
+  }
+
+  // Tests load() throws an exception when given a null file type.
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullType() throws IOException {
+    new DecodeCache().load("res/SmallBoard.ppm", null);
+  }
+}
@@ -0,0 +1,95 @@
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import model.application.Application;
+import model.application.ExportRecord;
+import model.application.ImportExportUtil;
+import model.application.ImportExportUtil.FileType;
+import model.picture.ILayer;
+import model.picture.IPicture;
+import model.picture.Layer;
+import model.pixel.IPixel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code ExportRecord} ensuring written layers are only reused while the files they
+ * were written to still hold exactly their content.
+ */
+public class ExportRecordTest {
+
+  ExportRecord record;
+  ILayer<IPicture<IPixel>> layer;
+  File file;
+
+  // Sets up a test fixture used for testing.
+  // Constructs an empty record and a checkerboard layer written to a temporary file.
+  @Before
+  public void setupTestFixture() throws IOException {
+    record = new ExportRecord();
+    layer = new Layer("board", new Application().createCheckerBoard(1, 2));
+    file = new File(Files.createTempDirectory("record").toFile(), "board.ppm");
+
+    ImportExportUtil.exportImageRegular(layer.getImage(),
+        file.getPath().substring(0, file.getPath().length() - 4), FileType.PPM);
+  }
+
+  // Deletes the written file along with its directory.
+  @After
+  public void tearDown() {
+    assertTrue(file.delete());
+    assertTrue(file.getParentFile().delete());
+  }
+
+  // Tests isCurrent() reuses a written layer until it changes.
+  @Test
+  public void testIsCurrent() throws IOException {
+    assertFalse(record.isCurrent(layer, file, FileType.PPM));
+
+    record.record(layer, file);
+
+    assertTrue(record.isCurrent(layer, file, FileType.PPM));
+    assertFalse(record.isCurrent(new Layer("board", new Application().createCheckerBoard(2, 1)),
+        file, FileType.PPM));
+  }
+
+  // Tests isCurrent() reuses a file for a layer with a new generation once the file is found to
+  // hold exactly the layer's content.
+  @Test
+  public void testIsCurrentComparesContent() throws IOException {
+    record.record(layer, file);
+
+    assertTrue(record.isCurrent(new Layer("board", new Application().createCheckerBoard(1, 2)),
+        file, FileType.PPM));
+    assertFalse(record.isCurrent(new Layer("board", new Application().createCheckerBoard(1, 2)),
+        file, FileType.JPEG));
+  }
+
+  // Tests isCurrent() does not reuse files changed since they were written.
+  @Test
+  public void testIsCurrentFileChanged() throws IOException {
+    record.record(layer, file);
+
+    assertTrue(file.setLastModified(file.lastModified() - 10000));
+
+    assertFalse(record.isCurrent(layer, file, FileType.PPM));
+  }
+
+  // Tests layers written through one record are not reused by another.
+  @Test
+  public void testRecordsAreSeparate() throws IOException {
+    record.record(layer, file);
+
+    assertFalse(new ExportRecord().isCurrent(layer, file, FileType.PPM));
+  }
+
+  // Tests isCurrent() throws an exception when given a null layer.
+  @Test(expected = IllegalArgumentException.class)
+  public void testIsCurrentNullLayer() throws IOException {
+    record.isCurrent(null, file, FileType.PPM);
+  }
+}
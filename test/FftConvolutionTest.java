@@ -0,0 +1,172 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Random;
+import model.picture.Convolution.Path;
+import model.picture.ConvolutionPlanner.Algorithm;
+import model.picture.FftConvolution;
+import model.picture.Kernel;
+import model.picture.Picture;
+import model.pixel.ColorChannel;
+import model.pixel.IPixel;
+import model.pixel.Pixel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code FftConvolution} ensuring tiled transforms produce the same sums as adding
+ * each tap's product.
+ */
+public class FftConvolutionTest {
+
+  Random random;
+
+  // Test fixture used for testing.
+  // Constructs a seeded source of random values.
+  @Before
+  public void setupTestFixture() {
+    random = new Random(11);
+  }
+
+  // Returns a plane of the given size with random 8-bit values.
+  private int[][] createPlane(int width, int height) {
+    int[][] plane = new int[height][width];
+
+    for (int[] row : plane) {
+      for (int x = 0; x < width; x++) {
+        row[x] = random.nextInt(256);
+      }
+    }
+
+    return plane;
+  }
+
+  // Returns the exact sums of the given plane filtered with the given weights, where taps outside
+  // of the plane add nothing.
+  private static double[][] correlate(int[][] plane, double[][] weights) {
+    int radius = weights.length / 2;
+    double[][] sums = new double[plane.length][plane[0].length];
+
+    for (int y = 0; y < plane.length; y++) {
+      for (int x = 0; x < plane[0].length; x++) {
+        for (int h = 0; h < weights.length; h++) {
+          for (int w = 0; w < weights.length; w++) {
+            int sourceY = y + h - radius;
+            int sourceX = x + w - radius;
+
+            if (sourceY >= 0 && sourceY < plane.length && sourceX >= 0
+                && sourceX < plane[0].length) {
+              sums[y][x] += weights[h][w] * plane[sourceY][sourceX];
+            }
+          }
+        }
+      }
+    }
+
+    return sums;
+  }
+
+  // Tests sums match the truncated exact sums for kernels smaller and larger than a tile, on planes
+  // which need one tile and an odd number of tiles.
+  @Test
+  public void testConvolve() {
+    for (int size : new int[]{1, 3, 9, 31}) {
+      double[][] weights = new double[size][size];
+
+      for (double[] row : weights) {
+        for (int x = 0; x < size; x++) {
+          row[x] = random.nextDouble() - 0.3;
+        }
+      }
+
+      FftConvolution fft = new FftConvolution(new Kernel(weights));
+
+      for (int[] dimensions : new int[][]{{5, 4}, {70, 45}, {300, 130}}) {
+        int[][] plane = createPlane(dimensions[0], dimensions[1]);
+        double[][] expected = correlate(plane, weights);
+        int[][] actual = fft.convolve(plane);
+
+        for (int y = 0; y < plane.length; y++) {
+          for (int x = 0; x < plane[0].length; x++) {
+            assertTrue(Math.abs(expected[y][x] - actual[y][x]) < 1 + 1e-6);
+            assertEquals((int) expected[y][x], actual[y][x], 1);
+          }
+        }
+      }
+    }
+  }
+
+  // Tests sums of integer weights are exact despite rounding error in the transforms.
+  @Test
+  public void testConvolveIntegerWeights() {
+    double[][] weights = new double[5][5];
+
+    for (double[] row : weights) {
+      for (int x = 0; x < 5; x++) {
+        row[x] = random.nextInt(7) - 3;
+      }
+    }
+
+    int[][] plane = createPlane(90, 70);
+    double[][] expected = correlate(plane, weights);
+    int[][] actual = new FftConvolution(new Kernel(weights)).convolve(plane);
+
+    for (int y = 0; y < plane.length; y++) {
+      for (int x = 0; x < plane[0].length; x++) {
+        assertEquals((int) expected[y][x], actual[y][x]);
+      }
+    }
+  }
+
+  // Tests the transform size leaves room for the kernel and a tile.
+  @Test
+  public void testTransformSize() {
+    int size = new FftConvolution(new Kernel(new double[31][31])).getTransformSize();
+
+    assertEquals(0, size & (size - 1));
+    assertTrue(size > 31);
+    assertEquals(new FftConvolution(new Kernel(new double[31][31])).getTransformSize(), size);
+  }
+
+  // Tests filtering a picture explicitly with the FFT stays within one per tap of the legacy path.
+  @Test
+  public void testFilterExplicit() {
+    IPixel[][] pixels = new IPixel[12][17];
+
+    for (int h = 0; h < 12; h++) {
+      for (int w = 0; w < 17; w++) {
+        pixels[h][w] = new Pixel(new Point(w, h), 255, random.nextInt(256), random.nextInt(256),
+            random.nextInt(256));
+      }
+    }
+
+    Picture image = new Picture(17, 12, 255, pixels);
+    double[][] weights = new double[7][7];
+
+    for (double[] row : weights) {
+      Arrays.fill(row, 1.0 / 64);
+    }
+
+    Kernel kernel = new Kernel(weights);
+    int[][] legacy = image.filter(kernel, Path.LEGACY)
+        .getChannelValues(ColorChannel.GREEN);
+    int[][] fft = ((Picture) image.filter(kernel, Algorithm.FFT))
+        .getChannelValues(ColorChannel.GREEN);
+
+    for (int y = 0; y < 12; y++) {
+      for (int x = 0; x < 17; x++) {
+        assertTrue(Math.abs(legacy[y][x] - fft[y][x]) <= 49);
+      }
+    }
+
+    assertEquals(0, new FftConvolution(kernel).convolve(new int[0][]).length);
+  }
+
+  // Tests an exception is thrown when the rows of the plane differ in length.
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnevenPlane() {
+    new FftConvolution(new Kernel(new double[][]{{1}})).convolve(new int[][]{{1, 2}, {3}});
+  }
+}
@@ -0,0 +1,141 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import model.application.Application;
+import model.picture.FixedPointKernel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code FixedPointKernel} ensuring kernels are compiled exactly when their weights
+ * are integers over a power of two and convolve to the same sums as {@code double} weights.
+ */
+public class FixedPointKernelTest {
+
+  int[][] plane;
+
+  // Test fixture used for testing.
+  // Constructs a 9x6 plane of random 8-bit channel values.
+  @Before
+  public void setupTestFixture() {
+    Random random = new Random(7);
+    plane = new int[6][9];
+
+    for (int y = 0; y < 6; y++) {
+      for (int x = 0; x < 9; x++) {
+        plane[y][x] = random.nextInt(256);
+      }
+    }
+  }
+
+  // Returns the sums of convolving the given plane one tap at a time with double weights,
+  // truncating after every tap as filtering does.
+  private static int[][] convolveDouble(int[][] plane, double[][] kernel) {
+    int radius = kernel.length / 2;
+    int[][] sums = new int[plane.length][plane[0].length];
+
+    for (int y = 0; y < plane.length; y++) {
+      for (int x = 0; x < plane[0].length; x++) {
+        int sum = 0;
+
+        for (int h = 0; h < kernel.length; h++) {
+          for (int w = 0; w < kernel.length; w++) {
+            int sourceY = y + h - radius;
+            int sourceX = x + w - radius;
+
+            if (sourceY >= 0 && sourceY < plane.length && sourceX >= 0
+                && sourceX < plane[0].length) {
+              sum += kernel[h][w] * plane[sourceY][sourceX];
+            }
+          }
+        }
+
+        sums[y][x] = sum;
+      }
+    }
+
+    return sums;
+  }
+
+  // Tests compile() finds the smallest power-of-two denominator of the blur and sharpen kernels.
+  @Test
+  public void testCompileDyadic() {
+    FixedPointKernel blur = FixedPointKernel.compile(Application.BLUR_KERNEL.getWeights());
+    FixedPointKernel sharpen = FixedPointKernel.compile(Application.SHARPEN_KERNEL.getWeights());
+
+    assertTrue(blur.isExact());
+    assertEquals(4, blur.getShift());
+    assertTrue(sharpen.isExact());
+    assertEquals(3, sharpen.getShift());
+    assertTrue(FixedPointKernel.compile(new double[][]{{3}}).isExact());
+    assertEquals(0, FixedPointKernel.compile(new double[][]{{3}}).getShift());
+  }
+
+  // Tests compile() falls back to fixed point when a weight is not dyadic.
+  @Test
+  public void testCompileFixedPoint() {
+    FixedPointKernel kernel = FixedPointKernel.compile(new double[][]{{0.1}});
+
+    assertFalse(kernel.isExact());
+    assertEquals(FixedPointKernel.MAX_SHIFT, kernel.getShift());
+
+    // Large weights reduce the number of fractional bits to stay within an int.
+    assertEquals(FixedPointKernel.MAX_SHIFT - 1,
+        FixedPointKernel.compile(new double[][]{{200.1}}).getShift());
+  }
+
+  // Tests exact kernels convolve to the same sums as double weights, including kernels whose
+  // running sums become negative.
+  @Test
+  public void testConvolveExact() {
+    double[][] negative = {{-0.75, 0.125, -1}, {0.5, -2.25, 0.375}, {-0.0625, 1.5, -0.5}};
+
+    for (double[][] kernel : new double[][][]{Application.BLUR_KERNEL.getWeights(),
+        Application.SHARPEN_KERNEL.getWeights(), negative}) {
+      int[][] expected = convolveDouble(plane, kernel);
+      int[][] actual = FixedPointKernel.compile(kernel).convolve(plane);
+
+      for (int y = 0; y < plane.length; y++) {
+        assertArrayEquals(expected[y], actual[y]);
+      }
+    }
+  }
+
+  // Tests truncation toward zero of a negative running sum.
+  @Test
+  public void testConvolveNegativeSum() {
+    // -0.5 * 3 truncates to -1, then -1 + 0.5 * 3 = 0.5 truncates to 0.
+    assertArrayEquals(new int[]{-1, 0},
+        FixedPointKernel.compile(new double[][]{{0, 0, 0}, {0.5, -0.5, 0}, {0, 0, 0}})
+            .convolve(new int[][]{{3, 3}})[0]);
+  }
+
+  // Tests fixed-point kernels stay within one per tap of the sums of double weights.
+  @Test
+  public void testConvolveFixedPoint() {
+    double[][] kernel = {{0.3, -0.7, 0.1}, {0.9, 0.33, -0.2}, {0.05, 0.6, -0.4}};
+    int[][] expected = convolveDouble(plane, kernel);
+    int[][] actual = FixedPointKernel.compile(kernel).convolve(plane);
+
+    for (int y = 0; y < plane.length; y++) {
+      for (int x = 0; x < plane[0].length; x++) {
+        assertTrue(Math.abs(expected[y][x] - actual[y][x]) <= 9);
+      }
+    }
+  }
+
+  // Tests an exception is thrown when compiling a kernel with a non-finite weight.
+  @Test(expected = IllegalArgumentException.class)
+  public void testNaNWeight() {
+    FixedPointKernel.compile(new double[][]{{Double.NaN}});
+  }
+
+  // Tests an exception is thrown when compiling a kernel which is not square.
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotSquare() {
+    FixedPointKernel.compile(new double[][]{{1, 1, 1}});
+  }
+}
@@ -1,8 +1,11 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.awt.Color;
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
 import java.util.Arrays;
 import model.application.Application;
@@ -122,4 +125,21 @@ public class GUIModelTest {
   public void testNullImage() {
     assertNull(model.createBufferedImage(null));
   }
+
+  // Tests createBufferedImage() reuses its buffered image for images of the same dimensions, and
+  // only redraws the given dirty region.
+  @Test
+  public void testReuseBufferedImage() {
+    BufferedImage first = (BufferedImage) model.createBufferedImage(image1);
+    int[] before = first.getRGB(0, 0, 2, 2, null, 0, 2);
+    IPicture<IPixel> black = new Application().createCheckerBoard(1, 2)
+        .colorTransform(new double[][] {{0, 0, 0}, {0, 0, 0}, {0, 0, 0}});
+
+    assertSame(first, model.createBufferedImage(image1));
+    assertSame(first, model.createBufferedImage(black, new Rectangle(1, 0, 1, 1)));
+    assertEquals(before[0], first.getRGB(0, 0));
+    assertEquals(0, first.getRGB(1, 0) & 0xFFFFFF);
+    assertEquals(before[2], first.getRGB(0, 1));
+    assertNotSame(first, model.createBufferedImage(image2));
+  }
 }
\ No newline at end of file
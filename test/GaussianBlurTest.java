@@ -0,0 +1,116 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.util.Arrays;
+import model.picture.GaussianBlur;
+import model.picture.IPicture;
+import model.picture.Picture;
+import model.pixel.ColorChannel;
+import model.pixel.IPixel;
+import model.pixel.Pixel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code GaussianBlur} ensuring planes are blurred like a Gaussian of the given
+ * standard deviation.
+ */
+public class GaussianBlurTest {
+
+  int[][] impulse;
+
+  // Test fixture used for testing.
+  // Constructs a 201x201 plane which is zero but for a large value in the center.
+  @Before
+  public void setupTestFixture() {
+    impulse = new int[201][201];
+    impulse[100][100] = 100000000;
+  }
+
+  // Tests blurring an impulse keeps its total and gives it the height of a Gaussian with the given
+  // standard deviation.
+  @Test
+  public void testImpulseResponse() {
+    for (double sigma : new double[]{1, 3, 12}) {
+      int[][] blurred = new GaussianBlur(sigma).blur(impulse);
+      double sum = 0;
+
+      for (int[] row : blurred) {
+        for (int value : row) {
+          sum += value;
+        }
+      }
+
+      assertEquals(1, sum / 100000000, 0.001);
+
+      double peak = blurred[100][100] / 100000000.0;
+      double expected = 1 / (2 * Math.PI * sigma * sigma);
+
+      assertEquals(expected, peak, expected * 0.06);
+
+      // The response falls away evenly on either side of the center.
+      int offset = (int) sigma;
+
+      assertEquals(blurred[100][100 - offset], blurred[100][100 + offset], 1);
+      assertEquals(blurred[100 - offset][100], blurred[100][100 - offset], 1);
+    }
+  }
+
+  // Tests a uniform plane is unchanged, including at its edges.
+  @Test
+  public void testUniform() {
+    int[][] plane = new int[9][70];
+
+    for (int[] row : plane) {
+      Arrays.fill(row, 200);
+    }
+
+    int[][] blurred = new GaussianBlur(25).blur(plane);
+
+    for (int[] row : blurred) {
+      assertArrayEquals(plane[0], row);
+    }
+  }
+
+  // Tests blurring is repeatable despite running in parallel.
+  @Test
+  public void testRepeatable() {
+    int[][] first = new GaussianBlur(4).blur(impulse);
+    int[][] second = new GaussianBlur(4).blur(impulse);
+
+    for (int y = 0; y < first.length; y++) {
+      assertArrayEquals(first[y], second[y]);
+    }
+  }
+
+  // Tests blurring a picture keeps each pixel's alpha value.
+  @Test
+  public void testPictureKeepsAlpha() {
+    IPixel[][] pixels = new IPixel[2][3];
+
+    for (int h = 0; h < 2; h++) {
+      for (int w = 0; w < 3; w++) {
+        pixels[h][w] = new Pixel(new Point(w, h), 255, 40 * w, 40 * h, 90, 51 * (h + w));
+      }
+    }
+
+    IPicture<IPixel> blurred = new Picture(3, 2, 255, pixels).gaussianBlur(1);
+
+    assertArrayEquals(new int[]{0, 51, 102}, blurred.getChannelValues(ColorChannel.ALPHA)[0]);
+    assertTrue(blurred.getChannelValues(ColorChannel.RED)[1][0] > 0);
+  }
+
+  // Tests an exception is thrown when the standard deviation is too small.
+  @Test(expected = IllegalArgumentException.class)
+  public void testSmallSigma() {
+    new GaussianBlur(0.4);
+  }
+
+  // Tests an exception is thrown when the standard deviation is not a number.
+  @Test(expected = IllegalArgumentException.class)
+  public void testNaNSigma() {
+    new GaussianBlur(Double.NaN);
+  }
+}
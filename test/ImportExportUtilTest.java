@@ -1,7 +1,18 @@
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Objects;
 import model.application.ILayeredApplication;
+import model.application.Application;
+import model.application.ExportRecord;
 import model.application.IMultipleFormatApplication;
 import model.application.ImportExportUtil;
 import model.application.ImportExportUtil.FileType;
@@ -10,7 +21,12 @@ import model.application.MultipleFormatApplication;
 import model.picture.ILayer;
 import model.picture.ILayeredPicture;
 import model.picture.IPicture;
+import model.picture.Layer;
+import model.picture.LayeredPicture;
+import model.picture.Picture;
+import model.pixel.ColorChannel;
 import model.pixel.IPixel;
+import model.pixel.Pixel;
 import org.junit.Test;
 
 /**
@@ -41,6 +57,83 @@ public class ImportExportUtilTest {
     // Compression slightly changes RGB values, making JPEG tests inaccurate.
   }
 
+  // Tests importImagePreview() method keeps every n-th row and column of images too large for the
+  // given maximum dimension and imports smaller images at full resolution.
+  @Test
+  public void testImportImagePreview() throws IOException {
+    IPicture<IPixel> full = ImportExportUtil.importImageRegular("res/hedgehog.ppm", FileType.PPM);
+
+    assertEquals(full,
+        ImportExportUtil.importImagePreview("res/hedgehog.ppm", FileType.PPM, 10000));
+
+    IPicture<IPixel> preview =
+        ImportExportUtil.importImagePreview("res/hedgehog.ppm", FileType.PPM, 100);
+
+    assertTrue(preview.getWidth() <= 100 && preview.getHeight() <= 100);
+
+    int step = (full.getWidth() + preview.getWidth() - 1) / preview.getWidth();
+
+    assertEquals(full.getPixelSequence()[step][2 * step].getChannelValue(ColorChannel.RED),
+        preview.getPixelSequence()[1][2].getChannelValue(ColorChannel.RED));
+
+    IPicture<IPixel> jpeg =
+        ImportExportUtil.importImagePreview("res/hedgehog.jpeg", FileType.JPEG, 100);
+
+    assertTrue(jpeg.getWidth() <= 100 && jpeg.getHeight() <= 100);
+  }
+
+  // Tests importImageRegion() method imports exactly the pixels within the given region.
+  @Test
+  public void testImportImageRegion() throws IOException {
+    IPicture<IPixel> full = ImportExportUtil.importImageRegular("res/hedgehog.ppm", FileType.PPM);
+    IPicture<IPixel> region = ImportExportUtil.importImageRegion("res/hedgehog.ppm", FileType.PPM,
+        new Rectangle(5, 7, 3, 2));
+
+    assertEquals(3, region.getWidth());
+    assertEquals(2, region.getHeight());
+
+    for (ColorChannel channel : ColorChannel.values()) {
+      for (int h = 0; h < 2; h++) {
+        for (int w = 0; w < 3; w++) {
+          assertEquals(full.getChannelValues(channel)[7 + h][5 + w],
+              region.getChannelValues(channel)[h][w]);
+        }
+      }
+    }
+
+    IPicture<IPixel> jpeg = ImportExportUtil.importImageRegion("res/hedgehog.jpeg",
+        FileType.JPEG, new Rectangle(1, 1, 4, 4));
+
+    assertEquals(4, jpeg.getWidth());
+    assertEquals(4, jpeg.getHeight());
+  }
+
+  // Tests importImageRegion() method throws exception when given a region outside the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testImportRegionOutOfBounds() throws IOException {
+    ImportExportUtil.importImageRegion("res/SmallBoard.ppm", FileType.PPM,
+        new Rectangle(1, 1, 2, 2));
+  }
+
+  // Tests readDimensions() method reads the dimensions of an image without decoding it.
+  @Test
+  public void testReadDimensions() throws IOException {
+    assertEquals(new Dimension(2, 2), ImportExportUtil.readDimensions("res/SmallBoard.ppm",
+        FileType.PPM));
+
+    IPicture<IPixel> jpeg = ImportExportUtil.importImageRegular("res/hedgehog.jpeg",
+        FileType.JPEG);
+
+    assertEquals(new Dimension(jpeg.getWidth(), jpeg.getHeight()),
+        ImportExportUtil.readDimensions("res/hedgehog.jpeg", FileType.JPEG));
+  }
+
+  // Tests importImagePreview() method throws exception when given a non-positive dimension.
+  @Test(expected = IllegalArgumentException.class)
+  public void testImportPreviewZeroDimension() throws IOException {
+    ImportExportUtil.importImagePreview("res/SmallBoard.ppm", FileType.PPM, 0);
+  }
+
   // Tests importImageRegular() method throws exception when given a null file path.
   @Test(expected = IllegalArgumentException.class)
   public void testImportRegularNullName() throws IOException {
@@ -191,6 +284,61 @@ public class ImportExportUtilTest {
     assertEquals(jpegExpected, jpegOutput.toString());
   }
 
+  // Tests exportImageLayered() method only rewrites layers that changed since the last export to
+  // the same location, reporting how many layers were skipped.
+  @Test
+  public void testExportImageLayeredIncremental() throws IOException {
+    File dir = Files.createTempDirectory("incremental").toFile();
+    String first = new File(dir, "first").getPath();
+    String second = new File(dir, "second").getPath();
+    IPicture<IPixel> board = new MultipleFormatApplication().createCheckerBoard(1, 2);
+
+    ILayeredPicture<ILayer<IPicture<IPixel>>> image = new LayeredPicture(2, 2, 255,
+        Arrays.asList(new Layer(first, board), new Layer(second, board)));
+    String text = new File(dir, "layered").getPath();
+    ExportRecord record = new ExportRecord();
+
+    assertEquals(0, ImportExportUtil.exportImageLayered(image, text, FileType.PPM, record));
+    assertEquals(2, ImportExportUtil.exportImageLayered(image, text, FileType.PPM, record));
+
+    image.setCurrentLayer(first);
+    image.setCurrentLayerTo(new MultipleFormatApplication().createCheckerBoard(2, 1));
+
+    assertEquals(1, ImportExportUtil.exportImageLayered(image, text, FileType.PPM, record));
+    assertEquals(2, ImportExportUtil.exportImageLayered(image, text, FileType.PPM, record));
+
+    assertTrue(new File(first + ".ppm").delete());
+
+    assertEquals(1, ImportExportUtil.exportImageLayered(image, text, FileType.PPM, record));
+    assertEquals(0, ImportExportUtil.exportImageLayered(image, text, FileType.PPM,
+        new ExportRecord()));
+
+    for (File file : Objects.requireNonNull(dir.listFiles())) {
+      assertTrue(file.delete());
+    }
+    assertTrue(dir.delete());
+  }
+
+  // Tests exportImageRegular() method keeps each pixel's alpha channel value in PNG files.
+  @Test
+  public void testExportImageAlpha() throws IOException {
+    File dir = Files.createTempDirectory("alpha").toFile();
+    String name = new File(dir, "alpha").getPath();
+    IPixel[][] pixels = new IPixel[1][2];
+    pixels[0][0] = new Pixel(new Point(0, 0), 255, 200, 100, 50, 51);
+    pixels[0][1] = new Pixel(new Point(1, 0), 255, 1, 2, 3);
+
+    ImportExportUtil.exportImageRegular(new Picture(2, 1, 255, pixels), name, FileType.PNG);
+    IPicture<IPixel> imported = ImportExportUtil.importImageRegular(name + ".png", FileType.PNG);
+
+    assertArrayEquals(new int[]{51, 255}, imported.getChannelValues(ColorChannel.ALPHA)[0]);
+    assertArrayEquals(new int[]{200, 1}, imported.getChannelValues(ColorChannel.RED)[0]);
+    assertArrayEquals(new int[]{50, 3}, imported.getChannelValues(ColorChannel.BLUE)[0]);
+
+    assertTrue(new File(name + ".png").delete());
+    assertTrue(dir.delete());
+  }
+
   // Tests exportImageLayered() method throws an exception when given a null image.
   @Test(expected = IllegalArgumentException.class)
   public void testExportLayeredNullImage() {
@@ -224,4 +372,31 @@ public class ImportExportUtilTest {
     ImportExportUtil.exportImageLayered(
         new LIMEApplication().createCheckerBoard(1, 2), "test", null);
   }
+
+  // Tests importKernel() reads decimal and fractional weights, skipping comments and blank lines.
+  @Test
+  public void testImportKernel() throws IOException {
+    File file = File.createTempFile("kernel", ".txt");
+    Files.write(file.toPath(), ("# blur\n1/16 1/8 1/16\n\n0.125 0.25 0.125 # middle\n"
+        + "1/16 0.125 1/16\n").getBytes());
+
+    assertEquals(Application.BLUR_KERNEL, ImportExportUtil.importKernel(file.getPath()));
+    assertTrue(file.delete());
+  }
+
+  // Tests importKernel() throws an exception when a weight is not a number.
+  @Test(expected = IllegalArgumentException.class)
+  public void testImportKernelInvalidWeight() throws IOException {
+    File file = File.createTempFile("kernel", ".txt");
+    file.deleteOnExit();
+    Files.write(file.toPath(), "1 a/2 1\n1 1 1\n1 1 1\n".getBytes());
+
+    ImportExportUtil.importKernel(file.getPath());
+  }
+
+  // Tests importKernel() throws an exception when the file does not exist.
+  @Test(expected = IllegalArgumentException.class)
+  public void testImportKernelMissingFile() {
+    ImportExportUtil.importKernel("res/missing-kernel.txt");
+  }
 }
\ No newline at end of file
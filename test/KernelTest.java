@@ -0,0 +1,135 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.util.Random;
+import model.application.Application;
+import model.picture.Convolution.Path;
+import model.picture.Kernel;
+import model.picture.Kernel.Plan;
+import model.picture.Picture;
+import model.pixel.IPixel;
+import model.pixel.Pixel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code Kernel} ensuring kernels analyze their weights and pick the right plan.
+ */
+public class KernelTest {
+
+  Kernel uneven;
+  Picture image;
+
+  // Test fixture used for testing.
+  // Constructs a kernel with non-dyadic weights and a 6x5 image with random colors.
+  @Before
+  public void setupTestFixture() {
+    uneven = new Kernel(new double[][]{{0.3, -0.7, 0.1}, {0.9, 0.33, -0.2}, {0.05, 0.6, -0.4}});
+
+    Random random = new Random(3);
+    IPixel[][] pixels = new IPixel[5][6];
+
+    for (int h = 0; h < 5; h++) {
+      for (int w = 0; w < 6; w++) {
+        pixels[h][w] = new Pixel(new Point(w, h), 255, random.nextInt(256), random.nextInt(256),
+            random.nextInt(256));
+      }
+    }
+
+    image = new Picture(6, 5, 255, pixels);
+  }
+
+  // Tests the analysis of the blur, sharpen, and uneven kernels.
+  @Test
+  public void testAnalysis() {
+    assertTrue(Application.BLUR_KERNEL.isSeparable());
+    assertTrue(Application.BLUR_KERNEL.isSymmetric());
+    assertTrue(Application.BLUR_KERNEL.isIntegerRepresentable());
+    assertEquals(9, Application.BLUR_KERNEL.getNonZeroTaps());
+    assertEquals(Plan.EXACT, Application.BLUR_KERNEL.getPlan());
+
+    assertFalse(Application.SHARPEN_KERNEL.isSeparable());
+    assertTrue(Application.SHARPEN_KERNEL.isSymmetric());
+    assertEquals(Plan.EXACT, Application.SHARPEN_KERNEL.getPlan());
+
+    assertFalse(uneven.isSeparable());
+    assertFalse(uneven.isSymmetric());
+    assertFalse(uneven.isIntegerRepresentable());
+    assertEquals(Plan.FIXED_POINT, uneven.getPlan());
+  }
+
+  // Tests separability holds for an outer product of decimal weights.
+  @Test
+  public void testSeparable() {
+    double[] column = {0.1, 0.7, 0.2};
+    double[] row = {0.3, 0.3, 0.4};
+    double[][] weights = new double[3][3];
+
+    for (int h = 0; h < 3; h++) {
+      for (int w = 0; w < 3; w++) {
+        weights[h][w] = column[h] * row[w];
+      }
+    }
+
+    assertTrue(new Kernel(weights).isSeparable());
+    assertFalse(new Kernel(weights).isSymmetric());
+  }
+
+  // Tests a kernel with one centered tap of one is convolved by copying.
+  @Test
+  public void testIdentity() {
+    Kernel identity = new Kernel(new double[][]{{0, 0, 0}, {0, 1, 0}, {0, 0, 0}});
+
+    assertEquals(1, identity.getNonZeroTaps());
+    assertEquals(Plan.IDENTITY, identity.getPlan());
+    assertArrayEquals(new int[]{4, 7}, identity.convolve(new int[][]{{4, 7}})[0]);
+    assertEquals(image, image.filter(identity));
+    assertEquals(image.filter(identity, Path.LEGACY), image.filter(identity));
+  }
+
+  // Tests the kernel is unaffected by changes to the given or returned weights.
+  @Test
+  public void testImmutable() {
+    double[][] weights = {{2}};
+    Kernel kernel = new Kernel(weights);
+
+    weights[0][0] = 3;
+    kernel.getWeights()[0][0] = 4;
+
+    assertEquals(2, kernel.getWeight(0, 0), 0);
+    assertEquals(new Kernel(new double[][]{{2}}), kernel);
+    assertEquals(new Kernel(new double[][]{{2}}).hashCode(), kernel.hashCode());
+    assertNotEquals(new Kernel(new double[][]{{3}}), kernel);
+  }
+
+  // Tests filtering with a kernel matches filtering with its weights.
+  @Test
+  public void testFilter() {
+    assertEquals(image.filter(Application.BLUR_KERNEL.getWeights()),
+        image.filter(Application.BLUR_KERNEL));
+    assertEquals(image.filter(Application.SHARPEN_KERNEL, Path.LEGACY),
+        image.filter(Application.SHARPEN_KERNEL));
+  }
+
+  // Tests an exception is thrown when constructing an even kernel.
+  @Test(expected = IllegalArgumentException.class)
+  public void testEvenKernel() {
+    new Kernel(new double[2][2]);
+  }
+
+  // Tests an exception is thrown when constructing a kernel with an infinite weight.
+  @Test(expected = IllegalArgumentException.class)
+  public void testInfiniteWeight() {
+    new Kernel(new double[][]{{Double.POSITIVE_INFINITY}});
+  }
+
+  // Tests an exception is thrown when filtering with a null kernel.
+  @Test(expected = IllegalArgumentException.class)
+  public void testFilterNullKernel() {
+    image.filter((Kernel) null);
+  }
+}
@@ -1,22 +1,31 @@
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import model.application.Application;
 import model.application.ILayeredApplication;
 import model.application.ImportExportUtil.FileType;
 import model.application.LIMEApplication;
+import model.picture.BlendMode;
 import model.picture.ILayer;
 import model.picture.ILayeredPicture;
 import model.picture.IPicture;
 import model.picture.Layer;
 import model.picture.LayeredPicture;
 import model.picture.Picture;
+import model.picture.ProxyPicture;
+import model.picture.RegionLayer;
+import model.pixel.ColorChannel;
 import model.pixel.IPixel;
 import model.pixel.Pixel;
 import org.junit.Before;
@@ -580,6 +589,162 @@ public class LIMEApplicationTest {
     assertFalse(image.getLayers().contains(layer));
   }
 
+  // Tests removeLayer() and removeImage() methods do not decode regions which were never edited.
+  @Test
+  public void testRemoveUneditedRegions() {
+    int[] decodes = new int[1];
+
+    for (int i = 0; i < 2; i++) {
+      application.addImage(new LayeredPicture(2, 2, 255, Collections.singletonList(
+          new RegionLayer("region", true, "board.ppm", new Rectangle(0, 0, 2, 2), () -> {
+            decodes[0]++;
+            return new Application().createCheckerBoard(1, 2);
+          }))));
+    }
+
+    application.setCurrentPicture(0);
+    application.removeLayer("region");
+    application.removeImage(1);
+
+    assertEquals(0, decodes[0]);
+    assertEquals(0, application.getCurrentImage().getLayerNames().size());
+    assertEquals(1, application.getImages().size());
+  }
+
+  // Tests setImage() method shares the storage of identical images across layers and images.
+  @Test
+  public void testSetImageSharesIdenticalContent() {
+    application.addImage(new LayeredPicture(2, 2, 255, "first", "second"));
+    application.addImage(new LayeredPicture(2, 2, 255, "third"));
+
+    application.setCurrentPicture(0);
+    application.setCurrentLayer("first");
+    application.setImage(new Application().createCheckerBoard(1, 2));
+    application.setCurrentLayer("second");
+    application.setImage(new Application().createCheckerBoard(1, 2));
+    application.setCurrentPicture(1);
+    application.setCurrentLayer("third");
+    application.setImage(new Application().createCheckerBoard(1, 2));
+
+    IPicture<IPixel> shared = application.getImage(0).getLayer("first").getImage();
+
+    assertSame(shared, application.getImage(0).getLayer("second").getImage());
+    assertSame(shared, application.getImage(1).getLayer("third").getImage());
+
+    application.setImage(new Application().createCheckerBoard(2, 1));
+
+    assertNotSame(shared, application.getImage(1).getLayer("third").getImage());
+    assertSame(shared, application.getImage(0).getLayer("second").getImage());
+  }
+
+  // Tests loadPreview() method loads a preview which is only decoded at full resolution once an
+  // operation needs it.
+  @Test
+  public void testLoadPreview() {
+    application.addImage(new LayeredPicture(0, 0, 255, "preview"));
+    application.setCurrentPicture(0);
+    application.setCurrentLayer("preview");
+
+    application.loadPreview("res/SmallBoard.ppm", 1);
+
+    ProxyPicture proxy =
+        (ProxyPicture) application.getCurrentImage().getCurrentLayer().getImage();
+
+    assertFalse(proxy.isResolved());
+    assertEquals(1, proxy.getPreview().getWidth());
+    assertEquals(2, proxy.getWidth());
+    assertEquals(2, application.getCurrentImage().getWidth());
+
+    application.blur(0);
+
+    assertTrue(proxy.isResolved());
+    assertEquals(new Application().createCheckerBoard(1, 2), proxy.resolve());
+  }
+
+  // Tests the composite of a preview is drawn from the preview scaled to the full resolution
+  // without decoding the image, and is drawn again at full resolution once it has been decoded.
+  @Test
+  public void testLoadPreviewComposite() {
+    application.addImage(new LayeredPicture(0, 0, 255, "preview"));
+    application.setCurrentPicture(0);
+    application.setCurrentLayer("preview");
+
+    application.loadPreview("res/SmallBoard.ppm", 1);
+
+    ProxyPicture proxy =
+        (ProxyPicture) application.getCurrentImage().getCurrentLayer().getImage();
+    IPicture<IPixel> composite = application.getCurrentImage().getComposite();
+    int[] expected = new int[proxy.getWidth() * proxy.getHeight()];
+    int[] actual = new int[expected.length];
+    int[] previewed = new int[1];
+
+    proxy.getPreview().getPackedRGB(new Rectangle(1, 1), previewed, 0, 1);
+    Arrays.fill(expected, previewed[0]);
+    composite.getPackedRGB(new Rectangle(proxy.getWidth(), proxy.getHeight()), actual, 0,
+        proxy.getWidth());
+
+    assertFalse(proxy.isResolved());
+    assertEquals(proxy.getWidth(), composite.getWidth());
+    assertEquals(proxy.getHeight(), composite.getHeight());
+    assertArrayEquals(expected, actual);
+
+    proxy.resolve();
+
+    assertEquals(proxy.resolve(), application.getCurrentImage().getComposite());
+  }
+
+  // Tests loadRegion() method replaces the current layer with a layer referencing the region.
+  @Test
+  public void testLoadRegion() {
+    application.addImage(new LayeredPicture(0, 0, 255, "region"));
+    application.setCurrentPicture(0);
+    application.setCurrentLayer("region");
+    application.setVisibility(false);
+
+    application.loadRegion("res/SmallBoard.ppm", new Rectangle(1, 0, 1, 2));
+
+    ILayer<IPicture<IPixel>> current = application.getCurrentImage().getCurrentLayer();
+
+    assertTrue(current instanceof RegionLayer);
+    assertEquals("region", current.getName());
+    assertFalse(current.getVisibility());
+    assertEquals(1, application.getCurrentImage().getWidth());
+    assertEquals(2, application.getCurrentImage().getHeight());
+    assertEquals(0, current.getImage().getChannelValues(ColorChannel.RED)[0][0]);
+    assertEquals(255, current.getImage().getChannelValues(ColorChannel.RED)[1][0]);
+  }
+
+  // Tests loadRegion() method keeps the replaced layer's position and blend mode.
+  @Test
+  public void testLoadRegionKeepsPositionAndBlendMode() {
+    application.addImage(new LayeredPicture(0, 0, 255, "bottom", "region", "top"));
+    application.setCurrentPicture(0);
+    application.setCurrentLayer("region");
+    application.setBlendMode(BlendMode.MULTIPLY);
+
+    application.loadRegion("res/SmallBoard.ppm", new Rectangle(1, 0, 1, 2));
+
+    List<ILayer<IPicture<IPixel>>> layers = application.getCurrentImage().getLayers();
+
+    assertEquals(3, layers.size());
+    assertEquals("bottom", layers.get(0).getName());
+    assertEquals("region", layers.get(1).getName());
+    assertEquals("top", layers.get(2).getName());
+    assertEquals(BlendMode.MULTIPLY, layers.get(1).getBlendMode());
+    assertTrue(application.getCurrentImage().getCurrentLayer() instanceof RegionLayer);
+    assertEquals("region", application.getCurrentImage().getCurrentLayer().getName());
+  }
+
+  // Tests loadRegion() method throws an exception when given a region outside the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadRegionOutOfBounds() {
+    application.addImage(new LayeredPicture(0, 0, 255, "region"));
+    application.setCurrentPicture(0);
+    application.setCurrentLayer("region");
+
+    application.loadRegion("res/SmallBoard.ppm", new Rectangle(0, 0, 3, 3));
+  }
+
   // Tests setVisibility() method correctly updates the current image's current layer's visibility.
   @Test
   public void testSetVisibility() {
@@ -0,0 +1,93 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.util.HashSet;
+import java.util.Set;
+import model.application.IExtraCredit;
+import model.application.LIMEApplicationWithExtraCredit;
+import model.picture.IPicture;
+import model.picture.LayeredPicture;
+import model.picture.Picture;
+import model.pixel.ColorChannel;
+import model.pixel.IPixel;
+import model.pixel.Pixel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code LIMEApplicationWithExtraCredit} ensuring mosaics have the requested number
+ * of tiles, and that edge-aware mosaics place their tiles along edges.
+ */
+public class LIMEApplicationWithExtraCreditTest {
+
+  IExtraCredit application;
+
+  // Sets up a test fixture used for testing.
+  // Constructs an application whose current layer holds a 64x64 image with a sharp vertical edge
+  // down its middle. Every pixel has a different color, so every tile has a different average.
+  @Before
+  public void setupTestFixture() {
+    IPixel[][] pixels = new IPixel[64][64];
+
+    for (int y = 0; y < 64; y++) {
+      for (int x = 0; x < 64; x++) {
+        pixels[y][x] = new Pixel(new Point(x, y), 255, x, x < 32 ? 0 : 255, 4 * y);
+      }
+    }
+
+    application = new LIMEApplicationWithExtraCredit();
+    application.addImage(new LayeredPicture(64, 64, 255, "edge"));
+    application.setCurrentPicture(0);
+    application.setCurrentLayer("edge");
+    application.setImage(new Picture(64, 64, 255, pixels));
+  }
+
+  // Tests mosaic() makes one tile for each requested seed, with or without following edges.
+  @Test
+  public void testMosaicSeedCount() {
+    application.mosaic(20, true);
+
+    assertEquals(20, countColors(0, 64));
+
+    setupTestFixture();
+    application.mosaic(20);
+
+    assertEquals(20, countColors(0, 64));
+  }
+
+  // Tests mosaic() places more tiles along edges when asked to, so the columns around the edge
+  // are split into many more tiles than the same number of columns away from it.
+  @Test
+  public void testMosaicEdgesConcentrateSeeds() {
+    application.mosaic(200, true);
+
+    int nearEdge = countColors(28, 36);
+    int farFromEdge = countColors(0, 8);
+
+    assertTrue(nearEdge > 2 * farFromEdge);
+  }
+
+  // Tests mosaic() throws an exception when asked for more seeds than there are pixels.
+  @Test(expected = IllegalArgumentException.class)
+  public void testMosaicTooManySeeds() {
+    application.mosaic(64 * 64 + 1, true);
+  }
+
+  // Returns the number of distinct colors in the given columns of the current layer's image.
+  private int countColors(int fromColumn, int toColumn) {
+    IPicture<IPixel> image = application.getCurrentImage().getCurrentLayer().getImage();
+    int[][] red = image.getChannelValues(ColorChannel.RED);
+    int[][] green = image.getChannelValues(ColorChannel.GREEN);
+    int[][] blue = image.getChannelValues(ColorChannel.BLUE);
+    Set<Integer> colors = new HashSet<>();
+
+    for (int y = 0; y < red.length; y++) {
+      for (int x = fromColumn; x < toColumn; x++) {
+        colors.add(red[y][x] << 16 | green[y][x] << 8 | blue[y][x]);
+      }
+    }
+
+    return colors.size();
+  }
+}
@@ -1,3 +1,4 @@
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
@@ -5,6 +6,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 
 import java.awt.Point;
+import model.picture.BlendMode;
 import model.picture.ILayer;
 import model.picture.IPicture;
 import model.picture.Layer;
@@ -149,6 +151,47 @@ public class LayerTest {
     assertNull(layer.getImage());
   }
 
+  // Tests setBlendMode() correctly sets this layer's blend mode and copies keep the blend mode.
+  @Test
+  public void testSetBlendMode() {
+    assertEquals(BlendMode.NORMAL, layer.getBlendMode());
+
+    layer.setBlendMode(BlendMode.SCREEN);
+
+    assertEquals(BlendMode.SCREEN, layer.getBlendMode());
+    assertEquals(BlendMode.SCREEN, new Layer(layer).getBlendMode());
+    assertNotEquals(new Layer("test"), layer);
+  }
+
+  // Tests setBlendMode() throws an exception when given a null blend mode.
+  @Test(expected = IllegalArgumentException.class)
+  public void testSetNullBlendMode() {
+    layer.setBlendMode(null);
+  }
+
+  // Tests setImage() gives the layer a new generation and copies keep the original's generation.
+  @Test
+  public void testGeneration() {
+    long initial = layer.getGeneration();
+
+    layer.setImage(image);
+
+    assertNotEquals(initial, layer.getGeneration());
+    assertEquals(layer.getGeneration(), new Layer(layer).getGeneration());
+    assertNotEquals(layer.getGeneration(), new Layer("other", image).getGeneration());
+  }
+
+  // Tests getTileHashes() is empty for empty layers and matches for layers with equal images.
+  @Test
+  public void testTileHashes() {
+    assertEquals(0, layer.getTileHashes().length);
+
+    layer.setImage(image);
+
+    assertEquals(1, layer.getTileHashes().length);
+    assertArrayEquals(new Layer("other", image).getTileHashes(), layer.getTileHashes());
+  }
+
   // Tests toString() provides the correct string representation of an image.
   @Test
   public void testToString() {
@@ -7,6 +7,7 @@ import static org.junit.Assert.assertNull;
 
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import model.picture.ILayer;
@@ -243,9 +244,9 @@ public class LayeredPictureTest {
     assertEquals(initial, image.getLayers());
 
     List<ILayer<IPicture<IPixel>>> expected = new ArrayList<>();
-    expected.add(new Layer("Hi", subImage));
     expected.add(layer);
     expected.add(new Layer("Hello"));
+    expected.add(new Layer("Hi", subImage));
 
     image.addLayer("Hello");
     image.addLayer(new Layer("Hi", subImage));
@@ -253,6 +254,31 @@ public class LayeredPictureTest {
     assertEquals(expected, image.getLayers());
   }
 
+  // Tests getComposite() method draws the visible layers from bottommost to topmost.
+  @Test
+  public void testGetComposite() {
+    IPixel[][] pixels = new IPixel[1][1];
+    pixels[0][0] = new Pixel(new Point(0, 0), 255, 9, 8, 7);
+    IPicture<IPixel> topImage = new Picture(1, 1, 255, pixels);
+
+    assertEquals(subImage, image.getComposite());
+
+    image.addLayer(new Layer("top", topImage));
+    image.setCurrentLayer("test");
+
+    assertEquals(topImage, image.getComposite());
+
+    image.setCurrentLayer("top");
+    image.setVisibility(false);
+
+    assertEquals(subImage, image.getComposite());
+
+    image.setCurrentLayer("test");
+    image.setVisibility(false);
+
+    assertNull(image.getComposite());
+  }
+
   // Tests getCurrentLayer() method returns the correct layer.
   @Test
   public void testGetCurrentLayer() {
@@ -481,6 +507,16 @@ public class LayeredPictureTest {
     assertFalse(image.getLayers().contains(layer));
   }
 
+  // Tests removeLayer() returns the removed layer and getLayerNames() no longer lists it.
+  @Test
+  public void testRemoveLayerReturnsLayer() {
+    image.addLayer("top");
+
+    assertEquals(Arrays.asList("test", "top"), image.getLayerNames());
+    assertEquals(layer, image.removeLayer("test"));
+    assertEquals(Collections.singletonList("top"), image.getLayerNames());
+  }
+
   // Tests removeLayer() throws an exception when given a null name.
   @Test(expected = IllegalArgumentException.class)
   public void testRemoveNullName() {
@@ -516,6 +552,36 @@ public class LayeredPictureTest {
     image.removeLayer(new Layer("doesn't exist"));
   }
 
+  // Tests replaceLayer() puts the given layer in the replaced layer's position.
+  @Test
+  public void testReplaceLayer() {
+    image.addLayer("top");
+    image.setCurrentLayer("test");
+
+    ILayer<IPicture<IPixel>> replacement = new Layer("replacement", subImage);
+
+    image.replaceLayer("test", replacement);
+
+    assertEquals(2, image.getLayers().size());
+    assertEquals(replacement, image.getLayers().get(0));
+    assertEquals("top", image.getLayers().get(1).getName());
+    assertEquals(replacement, image.getCurrentLayer());
+  }
+
+  // Tests replaceLayer() throws an exception when given a name that doesn't exist.
+  @Test(expected = IllegalArgumentException.class)
+  public void testReplaceNonExistentLayer() {
+    image.replaceLayer("doesn't exist", new Layer("replacement"));
+  }
+
+  // Tests replaceLayer() throws an exception when the new layer's name belongs to another layer.
+  @Test(expected = IllegalArgumentException.class)
+  public void testReplaceLayerWithExistingName() {
+    image.addLayer("top");
+
+    image.replaceLayer("test", new Layer("top"));
+  }
+
   // Tests setVisibility() method correctly changes the current layer's visibility.
   @Test
   public void testSetVisibility() {
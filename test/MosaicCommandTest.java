@@ -0,0 +1,79 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import controller.commands.MosaicCommand;
+import model.application.Application;
+import model.application.IExtraCredit;
+import model.application.LIMEApplicationWithExtraCredit;
+import model.picture.IPicture;
+import model.picture.LayeredPicture;
+import model.pixel.IPixel;
+import org.junit.Before;
+import org.junit.Test;
+import view.IApplicationView;
+
+/**
+ * Test class for {@code MosaicCommand} ensuring mosaics may only be followed by the word edges and
+ * a seed.
+ */
+public class MosaicCommandTest {
+
+  IExtraCredit application;
+  IPicture<IPixel> board;
+  IApplicationView view;
+
+  // Sets up a test fixture used for testing.
+  // Constructs an application whose current layer holds a checkerboard, and a view ignoring
+  // messages.
+  @Before
+  public void setupTestFixture() {
+    board = new Application().createCheckerBoard(4, 4);
+    application = new LIMEApplicationWithExtraCredit();
+    application.addImage(new LayeredPicture(16, 16, 255, "board"));
+    application.setCurrentPicture(0);
+    application.setCurrentLayer("board");
+    application.setImage(board);
+    view = new IApplicationView() {
+      @Override
+      public void renderMessage(String s) {
+        // Messages are not checked.
+      }
+
+      @Override
+      public void visualizeCommands() {
+        // Commands are not visualized.
+      }
+    };
+  }
+
+  // Tests mosaics followed by the word edges are applied.
+  @Test
+  public void testMosaicEdges() {
+    new MosaicCommand("mosaic 4 edges", application).apply(view);
+
+    assertNotEquals(board, application.getCurrentImage().getCurrentLayer().getImage());
+  }
+
+  // Tests mosaics given the same seed place their tiles in the same places.
+  @Test
+  public void testMosaicSeed() {
+    new MosaicCommand("mosaic 4 edges 42", application).apply(view);
+    IPicture<IPixel> first = application.getCurrentImage().getCurrentLayer().getImage();
+
+    setupTestFixture();
+    new MosaicCommand("mosaic 4 edges 42", application).apply(view);
+
+    assertEquals(first, application.getCurrentImage().getCurrentLayer().getImage());
+
+    setupTestFixture();
+    new MosaicCommand("mosaic 4 42", application).apply(view);
+
+    assertNotEquals(board, application.getCurrentImage().getCurrentLayer().getImage());
+  }
+
+  // Tests mosaics followed by any word other than edges are rejected.
+  @Test(expected = IllegalArgumentException.class)
+  public void testMosaicOtherWord() {
+    new MosaicCommand("mosaic 4 sharp", application).apply(view);
+  }
+}
@@ -0,0 +1,93 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import model.application.Application;
+import model.application.PictureStore;
+import model.picture.IPicture;
+import model.picture.Picture;
+import model.pixel.ColorChannel;
+import model.pixel.IPixel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code PictureStore} ensuring images with identical content share storage and are
+ * dropped once they have no references left.
+ */
+public class PictureStoreTest {
+
+  PictureStore store;
+  IPicture<IPixel> board;
+  IPicture<IPixel> sameBoard;
+  IPicture<IPixel> otherBoard;
+
+  // Sets up a test fixture used for testing.
+  // Constructs an empty store and three checkerboards, two of which have the same content.
+  @Before
+  public void setupTestFixture() {
+    store = new PictureStore();
+    board = new Application().createCheckerBoard(1, 2);
+    sameBoard = new Application().createCheckerBoard(1, 2);
+    otherBoard = new Application().createCheckerBoard(2, 2);
+  }
+
+  // Tests acquire() shares images with identical content and counts references to them.
+  @Test
+  public void testAcquire() {
+    assertSame(board, store.acquire(board));
+    assertSame(board, store.acquire(sameBoard));
+    assertSame(otherBoard, store.acquire(otherBoard));
+
+    assertEquals(2, store.size());
+    assertEquals(2, store.getReferenceCount(board));
+    assertEquals(1, store.getReferenceCount(otherBoard));
+    assertEquals(0, store.getReferenceCount(sameBoard));
+  }
+
+  // Tests release() drops images once they have no references left.
+  @Test
+  public void testRelease() {
+    store.acquire(board);
+    store.acquire(sameBoard);
+
+    store.release(board);
+
+    assertEquals(1, store.size());
+    assertEquals(1, store.getReferenceCount(board));
+
+    store.release(board);
+    store.release(otherBoard);
+
+    assertEquals(0, store.size());
+    assertNotSame(board, store.acquire(sameBoard));
+  }
+
+  // Tests acquire() only reads an image's content once another image of the same size is stored.
+  @Test
+  public void testAcquireHashesLazily() {
+    int[] reads = new int[1];
+    IPicture<IPixel> counted = new Picture(board) {
+      @Override
+      public int[][] getChannelValues(ColorChannel channel) {
+        reads[0]++;
+        return super.getChannelValues(channel);
+      }
+    };
+
+    store.acquire(counted);
+    store.acquire(otherBoard);
+
+    assertEquals(0, reads[0]);
+
+    assertSame(counted, store.acquire(sameBoard));
+    assertTrue(reads[0] > 0);
+  }
+
+  // Tests acquire() throws an exception when given a null image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testAcquireNull() {
+    store.acquire(null);
+  }
+}
@@ -3,6 +3,7 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNotEquals;
 
 import java.awt.Point;
+import java.awt.Rectangle;
 import model.picture.IPicture;
 import model.picture.Picture;
 import model.pixel.ColorChannel;
@@ -366,4 +367,46 @@ public class PictureTest {
     assertEquals(picture.hashCode(),
         new Picture(4, 4, 255, this.pixels).hashCode());
   }
+
+  // Tests getPackedRGB() writes the packed colors of a region with the given offset and stride.
+  @Test
+  public void testGetPackedRGB() {
+    int[] out = new int[8];
+    picture.getPackedRGB(new Rectangle(1, 1, 2, 2), out, 1, 4);
+
+    assertArrayEquals(new int[] {0, 0x000102, 0x000102, 0, 0, 0x000102, 0x000102, 0}, out);
+  }
+
+  // Tests getPackedARGB() writes premultiplied values scaled to eight bits.
+  @Test
+  public void testGetPackedARGB() {
+    IPixel[][] translucent = new IPixel[1][2];
+    translucent[0][0] = new Pixel(new Point(0, 0), 255, 1, 2, 3);
+    translucent[0][1] = new Pixel(new Point(1, 0), 255, 200, 100, 50, 51);
+    IPixel[][] tenBit = new IPixel[1][1];
+    tenBit[0][0] = new Pixel(new Point(0, 0), 10, 10, 5, 0);
+
+    int[] out = new int[3];
+    new Picture(2, 1, 255, translucent).getPackedARGB(new Rectangle(0, 0, 2, 1), out, 0, 2);
+    new Picture(1, 1, 10, tenBit).getPackedARGB(new Rectangle(0, 0, 1, 1), out, 2, 1);
+
+    assertArrayEquals(new int[] {0xFF010203, 0x3328140A, 0xFFFF8000}, out);
+  }
+
+  // Tests getPackedRGB() throws an exception when the region is not within the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetPackedRGBOutOfBounds() {
+    picture.getPackedRGB(new Rectangle(3, 3, 2, 2), new int[16], 0, 4);
+  }
+
+  // Tests luminance() weighs each channel by its contribution to brightness and rounds.
+  @Test
+  public void testLuminance() {
+    int[][] zero = {{0, 0, 0, 0}};
+    int[][] full = {{255, 0, 0, 10}};
+
+    assertArrayEquals(new int[][] {{54, 0, 0, 2}}, Picture.luminance(full, zero, zero));
+    assertArrayEquals(new int[][] {{182, 0, 0, 7}}, Picture.luminance(zero, full, zero));
+    assertArrayEquals(new int[][] {{18, 0, 0, 1}}, Picture.luminance(zero, zero, full));
+  }
 }
\ No newline at end of file
@@ -149,6 +149,33 @@ public class PixelTest {
     assertEquals(255, pixel.getChannelValue(ColorChannel.BLUE));
   }
 
+  // Tests translucent pixels store their color channel values premultiplied by their alpha value
+  // while returning them unchanged.
+  @Test
+  public void testAlpha() {
+    IPixel translucent = new Pixel(new Point(), 255, 200, 100, 50, 51);
+
+    assertEquals(51, translucent.getChannelValue(ColorChannel.ALPHA));
+    assertEquals(200, translucent.getChannelValue(ColorChannel.RED));
+    assertEquals(40, translucent.getPremultipliedValue(ColorChannel.RED));
+    assertEquals(10, translucent.getPremultipliedValue(ColorChannel.BLUE));
+    assertEquals(255, pixel.getChannelValue(ColorChannel.ALPHA));
+
+    translucent.setChannelValue(ColorChannel.GREEN, 150);
+
+    assertEquals(150, translucent.getChannelValue(ColorChannel.GREEN));
+    assertEquals(30, translucent.getPremultipliedValue(ColorChannel.GREEN));
+
+    translucent.setChannelValue(ColorChannel.ALPHA, 255);
+
+    assertEquals(200, translucent.getPremultipliedValue(ColorChannel.RED));
+    assertEquals(new Pixel(new Point(), 200, 150, 50), translucent);
+
+    translucent.setChannelValue(ColorChannel.ALPHA, 0);
+
+    assertEquals(0, translucent.getChannelValue(ColorChannel.RED));
+  }
+
   // Tests toString() method correctly represents pixel as a string.
   @Test
   public void testToString() {
@@ -156,7 +183,8 @@ public class PixelTest {
         + "Maximum Value: 255\n"
         + "Red Channel Value: 0\n"
         + "Green Channel Value: 0\n"
-        + "Blue Channel Value: 0\n";
+        + "Blue Channel Value: 0\n"
+        + "Alpha Channel Value: 255\n";
 
     assertEquals(expected, pixel.toString());
   }
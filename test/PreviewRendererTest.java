@@ -0,0 +1,115 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import controller.PreviewRenderer;
+import controller.commands.ExtraCreditFactory;
+import java.awt.Rectangle;
+import model.application.Application;
+import model.application.IApplication;
+import model.application.ImageUtil;
+import model.picture.IPicture;
+import model.picture.RankFilter;
+import model.pixel.IPixel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code PreviewRenderer} ensuring previews are computed on the visible region at
+ * display resolution.
+ */
+public class PreviewRendererTest {
+
+  IPicture<IPixel> board;
+  PreviewRenderer renderer;
+
+  // Test fixture used for testing.
+  // Constructs a renderer and a 40x40 checkerboard to preview commands on.
+  @Before
+  public void setupTestFixture() {
+    board = new Application().createCheckerBoard(4, 10);
+    renderer = new PreviewRenderer(new ExtraCreditFactory());
+  }
+
+  // Tests render() runs the command on the region when displayed at full resolution.
+  @Test
+  public void testRenderFullResolution() {
+    IPicture<IPixel> preview = renderer.render(board, new Rectangle(4, 8, 12, 8), 2, "sepia");
+
+    IApplication<IPicture<IPixel>> app = new Application();
+    app.addImage(board);
+    IPicture<IPixel> sepia = app.sepiaTone(0);
+    int[] expected = new int[12 * 8];
+    int[] actual = new int[12 * 8];
+
+    sepia.getPackedRGB(new Rectangle(4, 8, 12, 8), expected, 0, 12);
+    preview.getPackedRGB(new Rectangle(0, 0, 12, 8), actual, 0, 12);
+
+    assertEquals(12, preview.getWidth());
+    assertEquals(8, preview.getHeight());
+    assertArrayEquals(expected, actual);
+  }
+
+  // Tests render() samples the region down to the displayed size and scales size-dependent
+  // arguments to the region.
+  @Test
+  public void testRenderScaled() {
+    IPicture<IPixel> preview = renderer.render(board, new Rectangle(0, 0, 20, 20), 0.5, "blur");
+
+    assertEquals(10, preview.getWidth());
+    assertEquals(10, preview.getHeight());
+
+    preview = renderer.render(board, new Rectangle(0, 0, 20, 20), 0.5, "downsize 10 30");
+
+    assertEquals(5, preview.getWidth());
+    assertEquals(10, preview.getHeight());
+
+    preview = renderer.render(board, new Rectangle(0, 0, 20, 20), 0.25, "mosaic 1600");
+
+    assertEquals(5, preview.getWidth());
+    assertEquals(5, preview.getHeight());
+
+    preview = renderer.render(board, new Rectangle(0, 0, 20, 20), 0.25, "mosaic 1600 edges");
+
+    assertEquals(5, preview.getWidth());
+    assertEquals(5, preview.getHeight());
+  }
+
+  // Tests render() scales the spatial arguments of filters to the sample, leaving their other
+  // arguments alone.
+  @Test
+  public void testRenderScalesSpatialArguments() {
+    Rectangle region = new Rectangle(0, 0, 20, 20);
+    IPicture<IPixel> sample = ImageUtil.sample(board, region, 10, 10);
+
+    assertEquals(sample.gaussianBlur(2), renderer.render(board, region, 0.5, "blur 4"));
+    assertEquals(sample.unsharpMask(1.5, 2, 10),
+        renderer.render(board, region, 0.5, "sharpen 1.5 4 10"));
+    assertEquals(sample.rankFilter(RankFilter.Rank.MIN, 2),
+        renderer.render(board, region, 0.5, "min 4"));
+    assertEquals(sample.bilateralFilter(2, 30),
+        renderer.render(board, region, 0.5, "bilateral 4 30"));
+  }
+
+  // Tests render() keeps scaled spatial arguments within the range the filters accept.
+  @Test
+  public void testRenderScalesToSmallestLength() {
+    Rectangle region = new Rectangle(0, 0, 20, 20);
+    IPicture<IPixel> sample = ImageUtil.sample(board, region, 5, 5);
+
+    assertEquals(sample.gaussianBlur(0.5), renderer.render(board, region, 0.25, "blur 1"));
+    assertEquals(sample.bilateralFilter(1, 30),
+        renderer.render(board, region, 0.25, "bilateral 2 30"));
+  }
+
+  // Tests render() still reports spatial arguments that were invalid before scaling.
+  @Test(expected = IllegalArgumentException.class)
+  public void testRenderInvalidSpatialArgument() {
+    renderer.render(board, new Rectangle(0, 0, 20, 20), 0.5, "blur 0.2");
+  }
+
+  // Tests render() throws an exception when the region is not within the image.
+  @Test(expected = IllegalArgumentException.class)
+  public void testRegionOutOfBounds() {
+    renderer.render(board, new Rectangle(30, 30, 20, 20), 1, "blur");
+  }
+}
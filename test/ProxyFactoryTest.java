@@ -0,0 +1,187 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import controller.Controller;
+import controller.commands.ExtraCreditFactory;
+import controller.commands.ProxyFactory;
+import java.awt.Rectangle;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Objects;
+import model.application.Application;
+import model.application.IApplication;
+import model.application.ILayeredApplication;
+import model.application.ImportExportUtil;
+import model.application.ImportExportUtil.FileType;
+import model.application.LIMEApplication;
+import model.picture.IPicture;
+import model.picture.LayeredPicture;
+import model.pixel.IPixel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code ProxyFactory} ensuring commands run on reduced-resolution proxies while
+ * exports are replayed at full resolution.
+ */
+public class ProxyFactoryTest {
+
+  ILayeredApplication proxy;
+  ILayeredApplication full;
+  ProxyFactory factory;
+  File dir;
+
+  // Test fixture used for testing.
+  // Constructs a proxy factory editing proxies no larger than 16 pixels.
+  @Before
+  public void setupTestFixture() throws IOException {
+    proxy = new LIMEApplication();
+    full = new LIMEApplication();
+    factory = new ProxyFactory(new ExtraCreditFactory(), full, 16);
+    dir = Files.createTempDirectory("proxy").toFile();
+  }
+
+  // Deletes the files written by the test along with their directory.
+  @After
+  public void tearDown() {
+    for (File file : Objects.requireNonNull(dir.listFiles())) {
+      assertTrue(file.delete());
+    }
+
+    assertTrue(dir.delete());
+  }
+
+  // Tests commands run on proxies, and saving replays them at full resolution.
+  @Test
+  public void testReplayOnSave() throws IOException {
+    String saved = new File(dir, "proxy").getPath();
+    String expected = new File(dir, "expected").getPath();
+    String script = "create layer a\ncurrent a\nload res/hedgehog.ppm\nblur\nsepia\n";
+
+    new Controller(proxy, new StringBuilder()).startApp(new StringReader(script), factory);
+
+    IPicture<IPixel> edited = proxy.getCurrentImage().getCurrentLayer().getImage();
+
+    assertTrue(edited.getWidth() <= 16 && edited.getHeight() <= 16);
+    assertEquals(Arrays.asList("create layer a", "current a", "load res/hedgehog.ppm", "blur",
+        "sepia"), factory.getHistory());
+
+    new Controller(proxy, new StringBuilder()).startApp(
+        new StringReader("save " + saved + " .ppm\n"), factory);
+
+    assertTrue(factory.getHistory().isEmpty());
+
+    new Controller(new LIMEApplication(), new StringBuilder()).startApp(
+        new StringReader(script + "save " + expected + " .ppm\n"), new ExtraCreditFactory());
+
+    assertEquals(ImportExportUtil.importImageRegular(expected + ".ppm", FileType.PPM),
+        ImportExportUtil.importImageRegular(saved + ".ppm", FileType.PPM));
+  }
+
+  // Tests commands are only replayed once across several saves.
+  @Test
+  public void testIncrementalReplay() throws IOException {
+    String first = new File(dir, "first").getPath();
+    String second = new File(dir, "second").getPath();
+
+    new Controller(proxy, new StringBuilder()).startApp(new StringReader(
+        "create layer a\ncurrent a\nload res/hedgehog.ppm\nsave " + first + " .ppm\n"
+            + "monochrome\nsave " + second + " .ppm\n"), factory);
+
+    IPicture<IPixel> original = ImportExportUtil.importImageRegular("res/hedgehog.ppm",
+        FileType.PPM);
+
+    IApplication<IPicture<IPixel>> app = new Application();
+    app.addImage(original);
+
+    assertEquals(original, ImportExportUtil.importImageRegular(first + ".ppm", FileType.PPM));
+    assertEquals(app.monochrome(0),
+        ImportExportUtil.importImageRegular(second + ".ppm", FileType.PPM));
+  }
+
+  // Tests a command that fails on the proxy is not recorded, even though it would succeed at
+  // full resolution.
+  @Test
+  public void testFailedCommandNotReplayed() throws IOException {
+    String saved = new File(dir, "unchanged").getPath();
+
+    new Controller(proxy, new StringBuilder()).startApp(new StringReader(
+        "create layer a\ncurrent a\nload res/hedgehog.ppm\ndownsize 320 200\n"), factory);
+
+    assertEquals(Arrays.asList("create layer a", "current a", "load res/hedgehog.ppm"),
+        factory.getHistory());
+
+    new Controller(proxy, new StringBuilder()).startApp(
+        new StringReader("save " + saved + " .ppm\n"), factory);
+
+    assertEquals(ImportExportUtil.importImageRegular("res/hedgehog.ppm", FileType.PPM),
+        ImportExportUtil.importImageRegular(saved + ".ppm", FileType.PPM));
+  }
+
+  // Tests a command that fails at full resolution stops the export and is reported, leaving the
+  // commands after it to be replayed by the next export.
+  @Test
+  public void testReplayFailureReported() {
+    File saved = new File(dir, "failed.ppm");
+    StringBuilder log = new StringBuilder();
+
+    full.addImage(new LayeredPicture(0, 0, 255, "a"));
+    full.setCurrentPicture(0);
+
+    new Controller(proxy, log).startApp(new StringReader(
+        "create layer a\ncurrent a\nload res/hedgehog.ppm\nsave "
+            + new File(dir, "failed").getPath() + " .ppm\n"), factory);
+
+    assertTrue(log.toString().contains("Could not apply \"create layer a\" at full resolution"));
+    assertFalse(saved.exists());
+    assertEquals(Arrays.asList("current a", "load res/hedgehog.ppm"), factory.getHistory());
+  }
+
+  // Tests loading a proxy sizes the layered image to the proxy, so that the composite shows the
+  // whole proxy.
+  @Test
+  public void testProxyComposite() {
+    new Controller(proxy, new StringBuilder()).startApp(new StringReader(
+        "create layer a\ncurrent a\nload res/hedgehog.ppm\n"), factory);
+
+    IPicture<IPixel> edited = proxy.getCurrentImage().getCurrentLayer().getImage();
+    IPicture<IPixel> composite = proxy.getCurrentImage().getComposite();
+    int width = edited.getWidth();
+    int height = edited.getHeight();
+    int[] expected = new int[width * height];
+    int[] actual = new int[width * height];
+
+    edited.getPackedARGB(new Rectangle(width, height), expected, 0, width);
+    composite.getPackedARGB(new Rectangle(width, height), actual, 0, width);
+
+    assertEquals(width, proxy.getCurrentImage().getWidth());
+    assertEquals(height, proxy.getCurrentImage().getHeight());
+    assertEquals(width, composite.getWidth());
+    assertEquals(height, composite.getHeight());
+    assertArrayEquals(expected, actual);
+  }
+
+  // Tests mosaics are recorded with a random seed, so that replaying them places the tiles where
+  // they were placed on the proxies.
+  @Test
+  public void testMosaicSeedRecorded() {
+    new Controller(proxy, new StringBuilder()).startApp(new StringReader(
+        "create layer a\ncurrent a\nload res/hedgehog.ppm\nmosaic 10\nmosaic 10 edges 7\n"),
+        factory);
+
+    assertTrue(factory.getHistory().get(3).matches("mosaic 10 -?[0-9]+"));
+    assertEquals("mosaic 10 edges 7", factory.getHistory().get(4));
+  }
+
+  // Tests a ProxyFactory cannot be constructed with a non-positive size.
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new ProxyFactory(new ExtraCreditFactory(), full, 0);
+  }
+}
@@ -0,0 +1,161 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.Random;
+import model.picture.IPicture;
+import model.picture.Picture;
+import model.picture.RankFilter;
+import model.picture.RankFilter.Rank;
+import model.pixel.ColorChannel;
+import model.pixel.IPixel;
+import model.pixel.Pixel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code RankFilter} ensuring each value is replaced with the median, minimum, or
+ * maximum of its window, as found by sorting the window.
+ */
+public class RankFilterTest {
+
+  int[][] noise;
+
+  // Test fixture used for testing.
+  // Constructs a 37x300 plane of random values, wider than one strip of columns.
+  @Before
+  public void setupTestFixture() {
+    Random random = new Random(48);
+    noise = new int[37][300];
+
+    for (int[] row : noise) {
+      for (int x = 0; x < row.length; x++) {
+        row[x] = random.nextInt(256);
+      }
+    }
+  }
+
+  // Returns the given rank of the window of the given radius around the given position, clipped to
+  // the plane, by sorting it.
+  private static int sortedRank(int[][] plane, int y, int x, int radius, Rank rank) {
+    int[] window = new int[(2 * radius + 1) * (2 * radius + 1)];
+    int count = 0;
+
+    for (int h = Math.max(0, y - radius); h <= Math.min(plane.length - 1, y + radius); h++) {
+      for (int w = Math.max(0, x - radius); w <= Math.min(plane[0].length - 1, x + radius); w++) {
+        window[count++] = plane[h][w];
+      }
+    }
+
+    Arrays.sort(window, 0, count);
+
+    if (rank == Rank.MIN) {
+      return window[0];
+    } else if (rank == Rank.MAX) {
+      return window[count - 1];
+    }
+
+    return window[(count - 1) / 2];
+  }
+
+  // Asserts filtering the given plane matches sorting each window, for several radii.
+  private static void assertMatchesSorting(int[][] plane, int maxVal, Rank rank) {
+    for (int radius : new int[]{0, 1, 2, 5, 40}) {
+      int[][] filtered = new RankFilter(rank, radius).filter(plane, maxVal);
+
+      for (int y = 0; y < plane.length; y++) {
+        for (int x = 0; x < plane[0].length; x++) {
+          assertEquals(sortedRank(plane, y, x, radius, rank), filtered[y][x]);
+        }
+      }
+    }
+  }
+
+  // Tests the median of each window matches sorting it.
+  @Test
+  public void testMedian() {
+    assertMatchesSorting(noise, 255, Rank.MEDIAN);
+  }
+
+  // Tests the minimum of each window matches sorting it.
+  @Test
+  public void testMin() {
+    assertMatchesSorting(noise, 255, Rank.MIN);
+  }
+
+  // Tests the maximum of each window matches sorting it.
+  @Test
+  public void testMax() {
+    assertMatchesSorting(noise, 255, Rank.MAX);
+  }
+
+  // Tests the median of planes whose maximum value is too large for histograms, or which use only
+  // part of the histogram, matches sorting each window.
+  @Test
+  public void testMedianOtherMaxVal() {
+    Random random = new Random(7);
+    int[][] wide = new int[20][30];
+    int[][] narrow = new int[20][30];
+
+    for (int y = 0; y < 20; y++) {
+      for (int x = 0; x < 30; x++) {
+        wide[y][x] = random.nextInt(1001);
+        narrow[y][x] = random.nextInt(21);
+      }
+    }
+
+    assertMatchesSorting(wide, 1000, Rank.MEDIAN);
+    assertMatchesSorting(narrow, 20, Rank.MEDIAN);
+  }
+
+  // Tests the median removes a single bright pixel while keeping an edge sharp.
+  @Test
+  public void testMedianRemovesNoise() {
+    int[][] plane = new int[5][6];
+
+    for (int[] row : plane) {
+      Arrays.fill(row, 3, 6, 200);
+    }
+
+    plane[2][1] = 255;
+    int[][] filtered = new RankFilter(Rank.MEDIAN, 1).filter(plane, 255);
+
+    for (int[] row : filtered) {
+      assertArrayEquals(new int[]{0, 0, 0, 200, 200, 200}, row);
+    }
+  }
+
+  // Tests filtering a picture filters each color channel and keeps each pixel's alpha value.
+  @Test
+  public void testPicture() {
+    IPixel[][] pixels = new IPixel[1][3];
+
+    for (int w = 0; w < 3; w++) {
+      pixels[0][w] = new Pixel(new Point(w, 0), 255, 60 * w, 10, 30 * w, 255 - w);
+    }
+
+    IPicture<IPixel> filtered = new Picture(3, 1, 255, pixels).rankFilter(Rank.MAX, 1);
+
+    assertArrayEquals(new int[]{60, 120, 120}, filtered.getChannelValues(ColorChannel.RED)[0]);
+    assertArrayEquals(new int[]{255, 254, 253}, filtered.getChannelValues(ColorChannel.ALPHA)[0]);
+  }
+
+  // Tests an exception is thrown when the radius is negative.
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeRadius() {
+    new RankFilter(Rank.MEDIAN, -1);
+  }
+
+  // Tests an exception is thrown when the rank is null.
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullRank() {
+    new RankFilter(null, 1);
+  }
+
+  // Tests an exception is thrown when a value is above the maximum value.
+  @Test(expected = IllegalArgumentException.class)
+  public void testValueAboveMaxVal() {
+    new RankFilter(Rank.MEDIAN, 1).filter(new int[][]{{1, 2}, {3, 300}}, 255);
+  }
+}
@@ -0,0 +1,68 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Rectangle;
+import model.application.Application;
+import model.picture.IPicture;
+import model.picture.RegionLayer;
+import model.pixel.IPixel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for the {@code RegionLayer} class. Ensures the region is only decoded once it is
+ * needed and that setting an image replaces the region.
+ */
+public class RegionLayerTest {
+
+  int decodes;
+  IPicture<IPixel> board;
+  RegionLayer layer;
+
+  // Sets up a test fixture used for testing.
+  // Constructs a region layer whose decoder counts the number of times it is used.
+  @Before
+  public void setupTestFixture() {
+    decodes = 0;
+    board = new Application().createCheckerBoard(1, 2);
+    layer = new RegionLayer("region", true, "board.ppm", new Rectangle(0, 0, 2, 2), () -> {
+      decodes++;
+      return board;
+    });
+  }
+
+  // Tests the region is decoded only once, the first time the layer's image is needed.
+  @Test
+  public void testLazyDecode() {
+    assertEquals(0, decodes);
+    assertEquals("board.ppm", layer.getSource());
+    assertEquals(new Rectangle(0, 0, 2, 2), layer.getRegion());
+
+    assertSame(board, layer.getImage());
+    assertSame(board, layer.getImage());
+    assertEquals(1, decodes);
+  }
+
+  // Tests setting an image replaces the region without decoding it.
+  @Test
+  public void testSetImage() {
+    IPicture<IPixel> other = new Application().createCheckerBoard(2, 1);
+
+    assertFalse(layer.isEdited());
+
+    layer.setImage(other);
+
+    assertTrue(layer.isEdited());
+    assertSame(other, layer.getImage());
+    assertEquals(0, decodes);
+  }
+
+  // Tests an exception is thrown when the decoded image does not match the region.
+  @Test(expected = IllegalStateException.class)
+  public void testMismatchedRegion() {
+    new RegionLayer("region", true, "board.ppm", new Rectangle(0, 0, 3, 3), () -> board)
+        .getImage();
+  }
+}
@@ -0,0 +1,127 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Point;
+import java.util.Random;
+import model.picture.IPicture;
+import model.picture.Picture;
+import model.picture.SobelEdges;
+import model.pixel.ColorChannel;
+import model.pixel.IPixel;
+import model.pixel.Pixel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code SobelEdges} ensuring gradient magnitudes match the Sobel operator.
+ */
+public class SobelEdgesTest {
+
+  int[][] noise;
+
+  // Test fixture used for testing.
+  // Constructs a 23x31 plane of random values.
+  @Before
+  public void setupTestFixture() {
+    Random random = new Random(50);
+    noise = new int[23][31];
+
+    for (int[] row : noise) {
+      for (int x = 0; x < row.length; x++) {
+        row[x] = random.nextInt(256);
+      }
+    }
+  }
+
+  // Returns the value of the given plane at the given position, repeating the nearest edge value
+  // beyond the plane.
+  private static int at(int[][] plane, int y, int x) {
+    return plane[Math.max(0, Math.min(plane.length - 1, y))]
+        [Math.max(0, Math.min(plane[0].length - 1, x))];
+  }
+
+  // Tests each magnitude is the rounded down square root of the sum of the squared Sobel responses.
+  @Test
+  public void testMagnitude() {
+    int[][] edges = SobelEdges.magnitude(noise);
+
+    for (int y = 0; y < noise.length; y++) {
+      for (int x = 0; x < noise[0].length; x++) {
+        int horizontal = at(noise, y - 1, x + 1) + 2 * at(noise, y, x + 1) + at(noise, y + 1, x + 1)
+            - at(noise, y - 1, x - 1) - 2 * at(noise, y, x - 1) - at(noise, y + 1, x - 1);
+        int vertical = at(noise, y + 1, x - 1) + 2 * at(noise, y + 1, x) + at(noise, y + 1, x + 1)
+            - at(noise, y - 1, x - 1) - 2 * at(noise, y - 1, x) - at(noise, y - 1, x + 1);
+
+        assertEquals((int) Math.sqrt(horizontal * horizontal + vertical * vertical),
+            edges[y][x]);
+      }
+    }
+  }
+
+  // Tests a vertical edge is found only beside it, and the edges of the plane are not edges.
+  @Test
+  public void testStep() {
+    int[][] step = new int[4][6];
+
+    for (int[] row : step) {
+      row[3] = 100;
+      row[4] = 100;
+      row[5] = 100;
+    }
+
+    int[][] edges = SobelEdges.magnitude(step);
+
+    for (int[] row : edges) {
+      assertArrayEquals(new int[]{0, 0, 400, 400, 0, 0}, row);
+    }
+  }
+
+  // Tests square roots are rounded down, both within and beyond the table.
+  @Test
+  public void testSquareRoot() {
+    Random random = new Random(2);
+
+    assertEquals(0, SobelEdges.squareRoot(0));
+    assertEquals(255, SobelEdges.squareRoot(65535));
+    assertEquals(256, SobelEdges.squareRoot(65536));
+    assertEquals(1442, SobelEdges.squareRoot(2080800));
+    assertEquals(2147483647, SobelEdges.squareRoot(2147483647L * 2147483647L));
+
+    for (int i = 0; i < 100000; i++) {
+      long value = (long) (random.nextDouble() * (1L << (i % 62)));
+      long root = SobelEdges.squareRoot(value);
+
+      assertEquals(true, root * root <= value && (root + 1) * (root + 1) > value);
+    }
+  }
+
+  // Tests detecting edges in a picture finds the edges of each color channel and keeps each pixel's
+  // alpha value.
+  @Test
+  public void testPicture() {
+    IPixel[][] pixels = new IPixel[1][4];
+
+    for (int w = 0; w < 4; w++) {
+      pixels[0][w] = new Pixel(new Point(w, 0), 255, w < 2 ? 0 : 50, 10, 0, 255 - w);
+    }
+
+    IPicture<IPixel> edges = new Picture(4, 1, 255, pixels).detectEdges();
+
+    assertArrayEquals(new int[]{0, 200, 200, 0}, edges.getChannelValues(ColorChannel.RED)[0]);
+    assertArrayEquals(new int[]{0, 0, 0, 0}, edges.getChannelValues(ColorChannel.GREEN)[0]);
+    assertArrayEquals(new int[]{255, 254, 253, 252},
+        edges.getChannelValues(ColorChannel.ALPHA)[0]);
+  }
+
+  // Tests an exception is thrown when finding the square root of a negative value.
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeSquareRoot() {
+    SobelEdges.squareRoot(-1);
+  }
+
+  // Tests an exception is thrown when the rows of the plane differ in length.
+  @Test(expected = IllegalArgumentException.class)
+  public void testJaggedPlane() {
+    SobelEdges.magnitude(new int[][]{{1, 2}, {3}});
+  }
+}
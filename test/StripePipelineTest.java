@@ -0,0 +1,114 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Objects;
+import java.util.Random;
+import model.application.Application;
+import model.application.IApplication;
+import model.application.StripePipeline;
+import model.picture.IPicture;
+import model.pixel.IPixel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code StripePipeline} ensuring streamed images match the images produced by
+ * applying the same operations to a loaded image.
+ */
+public class StripePipelineTest {
+
+  private File dir;
+  private String source;
+
+  // Test fixture used for testing.
+  // Writes a random 13x9 image to a temporary directory.
+  @Before
+  public void setupTestFixture() throws IOException {
+    dir = Files.createTempDirectory("stripes").toFile();
+    source = new File(dir, "source.ppm").getPath();
+
+    Random random = new Random(7);
+    StringBuilder contents = new StringBuilder("P3\n# random image\n13 9\n255\n");
+
+    for (int i = 0; i < 13 * 9 * 3; i++) {
+      contents.append(random.nextInt(256)).append(i % 3 == 2 ? "\n" : " ");
+    }
+
+    try (FileWriter writer = new FileWriter(source)) {
+      writer.write(contents.toString());
+    }
+  }
+
+  // Deletes the files written by the test along with their directory.
+  @After
+  public void tearDown() {
+    for (File file : Objects.requireNonNull(dir.listFiles())) {
+      assertTrue(file.delete());
+    }
+
+    assertTrue(dir.delete());
+  }
+
+  // Tests run() produces the same file as blurring, sepia toning, sharpening, and making the image
+  // monochrome in the application.
+  @Test
+  public void testRunMatchesApplication() throws IOException {
+    StripePipeline pipeline = new StripePipeline();
+    pipeline.addBlur();
+    pipeline.addSepiaTone();
+    pipeline.addSharpen();
+    pipeline.addMonochrome();
+
+    assertEquals(4, pipeline.size());
+
+    String streamed = new File(dir, "streamed.ppm").getPath();
+    pipeline.run(source, streamed);
+
+    IApplication<IPicture<IPixel>> app = new Application();
+    app.addImage(app.importImage(source));
+    app.addImage(app.blur(0));
+    app.addImage(app.sepiaTone(1));
+    app.addImage(app.sharpen(2));
+    app.addImage(app.monochrome(3));
+
+    String loaded = new File(dir, "loaded.ppm").getPath();
+    app.exportImage(4, loaded);
+
+    assertEquals(new String(Files.readAllBytes(new File(loaded).toPath())),
+        new String(Files.readAllBytes(new File(streamed).toPath())));
+  }
+
+  // Tests run() copies the image when the chain is empty.
+  @Test
+  public void testRunEmpty() throws IOException {
+    String streamed = new File(dir, "copy.ppm").getPath();
+    new StripePipeline().run(source, streamed);
+
+    IApplication<IPicture<IPixel>> app = new Application();
+
+    assertEquals(app.importImage(source), app.importImage(streamed));
+  }
+
+  // Tests addKernel() throws an exception when given an even kernel.
+  @Test(expected = IllegalArgumentException.class)
+  public void testEvenKernel() {
+    new StripePipeline().addKernel(new double[][] {{1, 0}, {0, 1}});
+  }
+
+  // Tests addMatrix() throws an exception when given a matrix that is not 3x3.
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidMatrix() {
+    new StripePipeline().addMatrix(new double[][] {{1, 0}, {0, 1}});
+  }
+
+  // Tests run() throws an exception when given a null destination.
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullDestination() throws IOException {
+    new StripePipeline().run(source, null);
+  }
+}
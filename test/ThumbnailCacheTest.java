@@ -0,0 +1,69 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Image;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import model.application.Application;
+import model.application.ThumbnailCache;
+import model.picture.ILayer;
+import model.picture.IPicture;
+import model.picture.Layer;
+import model.picture.Picture;
+import model.pixel.IPixel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code ThumbnailCache} ensuring thumbnails are only created again when their
+ * layer's image changes.
+ */
+public class ThumbnailCacheTest {
+
+  ThumbnailCache cache;
+  ILayer<IPicture<IPixel>> board;
+  ILayer<IPicture<IPixel>> empty;
+
+  // Test fixture used for testing.
+  // Constructs a cache of 16 pixel thumbnails and a layer holding a 40x20 image.
+  @Before
+  public void setupTestFixture() {
+    cache = new ThumbnailCache(16);
+    IPicture<IPixel> image = new Application().createCheckerBoard(20, 2);
+    board = new Layer("board",
+        new Picture(40, 20, 255, Arrays.copyOf(image.getPixelSequence(), 20)));
+    empty = new Layer("empty");
+  }
+
+  // Tests thumbnails fit within the maximum size and keep the image's aspect ratio.
+  @Test
+  public void testThumbnailSize() {
+    Map<String, Image> thumbnails = cache.getThumbnails(Arrays.asList(board, empty));
+
+    assertEquals(Arrays.asList("board", "empty"), new ArrayList<>(thumbnails.keySet()));
+    assertEquals(16, thumbnails.get("board").getWidth(null));
+    assertEquals(8, thumbnails.get("board").getHeight(null));
+    assertNull(thumbnails.get("empty"));
+  }
+
+  // Tests thumbnails are reused until their layer's image changes.
+  @Test
+  public void testGenerations() {
+    List<ILayer<IPicture<IPixel>>> layers = Collections.singletonList(board);
+    Image first = cache.getThumbnails(layers).get("board");
+
+    assertSame(first, cache.getThumbnails(layers).get("board"));
+    assertSame(first, cache.getThumbnails(
+        Collections.singletonList(new Layer(board))).get("board"));
+    assertEquals(1, cache.getCreatedCount());
+
+    board.setImage(new Application().createCheckerBoard(1, 2));
+
+    assertEquals(2, cache.getThumbnails(layers).get("board").getWidth(null));
+    assertEquals(2, cache.getCreatedCount());
+  }
+}
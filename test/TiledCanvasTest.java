@@ -0,0 +1,121 @@
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import model.application.Application;
+import model.picture.IPicture;
+import model.picture.Picture;
+import model.pixel.IPixel;
+import model.pixel.Pixel;
+import org.junit.Before;
+import org.junit.Test;
+import view.TiledCanvas;
+
+/**
+ * Test class for {@code TiledCanvas} ensuring only visible tiles are drawn at the correct zoom
+ * level.
+ */
+public class TiledCanvasTest {
+
+  IPicture<IPixel> board;
+  TiledCanvas canvas;
+
+  // Test fixture used for testing.
+  // Constructs a canvas displaying a 300x300 checkerboard.
+  @Before
+  public void setupTestFixture() {
+    board = new Application().createCheckerBoard(30, 10);
+    canvas = new TiledCanvas();
+    canvas.setPicture(board);
+  }
+
+  // Paints the given region of the canvas, returning the painted image.
+  private BufferedImage paint(Rectangle region) {
+    Dimension size = canvas.getPreferredSize();
+    BufferedImage painted = new BufferedImage(size.width, size.height,
+        BufferedImage.TYPE_INT_RGB);
+    Graphics g = painted.getGraphics();
+
+    g.setClip(region);
+    canvas.setSize(size);
+    canvas.paint(g);
+    g.dispose();
+
+    return painted;
+  }
+
+  // Returns the packed color of the board's pixel at the given coordinates.
+  private int color(int x, int y) {
+    int[] out = new int[1];
+    board.getPackedRGB(new Rectangle(x, y, 1, 1), out, 0, 1);
+    return out[0];
+  }
+
+  // Tests the canvas samples the nearest pixel for each screen pixel when zoomed in and out.
+  @Test
+  public void testZoom() {
+    canvas.setZoom(2);
+    assertEquals(new Dimension(600, 600), canvas.getPreferredSize());
+
+    BufferedImage painted = paint(new Rectangle(0, 0, 600, 600));
+
+    for (int y = 0; y < 600; y += 7) {
+      for (int x = 0; x < 600; x += 11) {
+        assertEquals(color(x / 2, y / 2), painted.getRGB(x, y) & 0xFFFFFF);
+      }
+    }
+
+    canvas.setZoom(0.25);
+    painted = paint(new Rectangle(0, 0, 75, 75));
+
+    for (int y = 0; y < 75; y++) {
+      for (int x = 0; x < 75; x++) {
+        assertEquals(color(x * 4, y * 4), painted.getRGB(x, y) & 0xFFFFFF);
+      }
+    }
+  }
+
+  // Tests only the tiles intersecting the painted region are sampled and cached.
+  @Test
+  public void testVisibleTiles() {
+    canvas.setZoom(4);
+    paint(new Rectangle(300, 300, 10, 10));
+
+    assertEquals(1, canvas.getCachedTileCount());
+
+    paint(new Rectangle(250, 250, 10, 10));
+
+    assertEquals(4, canvas.getCachedTileCount());
+
+    canvas.setPicture(new Application().createCheckerBoard(1, 2));
+
+    assertEquals(0, canvas.getCachedTileCount());
+  }
+
+  // Tests setZoom() throws an exception when given a zoom level outside of the supported range.
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidZoom() {
+    canvas.setZoom(0);
+  }
+
+  // Tests overlays are drawn stretched over their region of the image, in place of its tiles.
+  @Test
+  public void testOverlay() {
+    canvas.setZoom(2);
+    canvas.setSize(canvas.getPreferredSize());
+
+    assertEquals(new Rectangle(0, 0, 300, 300), canvas.getVisibleRegion());
+
+    IPicture<IPixel> white = new Picture(1, 1, 255,
+        new IPixel[][] {{new Pixel(new Point(0, 0), 255, 255, 255, 255)}});
+    canvas.setOverlay(white, new Rectangle(40, 40, 20, 20));
+    BufferedImage painted = paint(new Rectangle(0, 0, 600, 600));
+
+    assertEquals(0xFFFFFF, painted.getRGB(80, 80) & 0xFFFFFF);
+    assertEquals(0xFFFFFF, painted.getRGB(119, 119) & 0xFFFFFF);
+    assertEquals(color(60, 60), painted.getRGB(120, 120) & 0xFFFFFF);
+  }
+}
@@ -0,0 +1,99 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import model.picture.GaussianBlur;
+import model.picture.UnsharpMask;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@code UnsharpMask} ensuring planes are sharpened by their difference from a
+ * Gaussian blur.
+ */
+public class UnsharpMaskTest {
+
+  int[][] edge;
+
+  // Test fixture used for testing.
+  // Constructs a 5x40 plane which is dark on the left half and bright on the right half.
+  @Before
+  public void setupTestFixture() {
+    edge = new int[5][40];
+
+    for (int[] row : edge) {
+      Arrays.fill(row, 20, 40, 200);
+      Arrays.fill(row, 0, 20, 50);
+    }
+  }
+
+  // Tests sharpening adds the given amount of each value's difference from the blur.
+  @Test
+  public void testSharpen() {
+    int[][] blurred = new GaussianBlur(2).blur(edge);
+    int[][] sharpened = new UnsharpMask(1.5, 2, 0).sharpen(edge);
+
+    for (int y = 0; y < edge.length; y++) {
+      for (int x = 0; x < edge[0].length; x++) {
+        double expected = edge[y][x] + 1.5 * (edge[y][x] - blurred[y][x]);
+
+        assertEquals(expected, sharpened[y][x], 1.5);
+      }
+    }
+
+    // The edge overshoots on both sides, beyond the values of the original plane.
+    assertTrue(sharpened[2][19] < 50);
+    assertTrue(sharpened[2][20] > 200);
+  }
+
+  // Tests values far from the edge, which differ from the blur by less than the threshold, are
+  // unchanged.
+  @Test
+  public void testThreshold() {
+    int[][] sharpened = new UnsharpMask(3, 2, 5).sharpen(edge);
+
+    assertEquals(50, sharpened[2][0]);
+    assertEquals(50, sharpened[2][10]);
+    assertEquals(200, sharpened[2][39]);
+    assertTrue(sharpened[2][19] < 40);
+  }
+
+  // Tests an amount of zero leaves the plane unchanged.
+  @Test
+  public void testNoAmount() {
+    int[][] sharpened = new UnsharpMask(0, 4, 0).sharpen(edge);
+
+    for (int y = 0; y < edge.length; y++) {
+      assertArrayEquals(edge[y], sharpened[y]);
+    }
+  }
+
+  // Tests the getters return the values the mask was constructed with.
+  @Test
+  public void testGetters() {
+    UnsharpMask mask = new UnsharpMask(0.8, 3.5, 2);
+
+    assertEquals(0.8, mask.getAmount(), 0);
+    assertEquals(3.5, mask.getRadius(), 0);
+    assertEquals(2, mask.getThreshold());
+  }
+
+  // Tests an exception is thrown when the amount is negative.
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeAmount() {
+    new UnsharpMask(-1, 2, 0);
+  }
+
+  // Tests an exception is thrown when the radius is too small.
+  @Test(expected = IllegalArgumentException.class)
+  public void testSmallRadius() {
+    new UnsharpMask(1, 0.25, 0);
+  }
+
+  // Tests an exception is thrown when the threshold is negative.
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeThreshold() {
+    new UnsharpMask(1, 2, -1);
+  }
+}